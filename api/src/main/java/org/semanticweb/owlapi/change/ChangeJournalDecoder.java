@@ -0,0 +1,539 @@
+package org.semanticweb.owlapi.change;
+
+import static org.semanticweb.owlapi.change.ChangeJournalFormat.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/** Decodes the payloads of journal frames; see {@link ChangeJournalFormat}.
+ * The decoder rebuilds the IRI dictionary as frames are read, and keeps the
+ * entities it has created indexed by dictionary id and type, so that entities
+ * are created only once per replay. Not thread safe.
+ *
+ * @since 3.4.6 */
+final class ChangeJournalDecoder {
+    private final OWLDataFactory dataFactory;
+    private final List<IRI> dictionary = new ArrayList<IRI>();
+    /** entities by type tag (minus one) and dictionary id */
+    private final OWLEntity[][] entities = new OWLEntity[6][];
+    private byte[] bytes;
+    private int position;
+    private int end;
+
+    /** @param dataFactory
+     *            the factory used to create the decoded objects */
+    ChangeJournalDecoder(OWLDataFactory dataFactory) {
+        this.dataFactory = dataFactory;
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = new OWLEntity[256];
+        }
+    }
+
+    /** @return the IRI dictionary read so far */
+    List<IRI> getDictionary() {
+        return dictionary;
+    }
+
+    /** Reads the dictionary entries of a frame, skipping its records.
+     *
+     * @param payload
+     *            the frame payload
+     * @param length
+     *            the payload length */
+    void readDictionary(byte[] payload, int length) {
+        start(payload, length);
+        readDictionaryEntries();
+    }
+
+    /** Reads a frame, adding its dictionary entries and records.
+     *
+     * @param payload
+     *            the frame payload
+     * @param length
+     *            the payload length
+     * @param records
+     *            the list to add the records to */
+    void readFrame(byte[] payload, int length, List<OWLOntologyChangeRecord> records) {
+        start(payload, length);
+        readDictionaryEntries();
+        int count = readVarint();
+        OWLOntologyID ontologyID = null;
+        for (int i = 0; i < count; i++) {
+            int kind = readByte();
+            int flags = readByte();
+            if ((flags & SAME_ONTOLOGY) == 0) {
+                IRI ontologyIRI = readIRI();
+                IRI versionIRI = (flags & HAS_VERSION_IRI) == 0 ? null : readIRI();
+                ontologyID = new OWLOntologyID(ontologyIRI, versionIRI);
+            }
+            records.add(new OWLOntologyChangeRecord(ontologyID, readData(kind)));
+        }
+        if (position != end) {
+            throw new IllegalStateException("Corrupt journal frame: " + (end - position)
+                    + " trailing bytes");
+        }
+    }
+
+    private void start(byte[] payload, int length) {
+        bytes = payload;
+        position = 0;
+        end = length;
+    }
+
+    private void readDictionaryEntries() {
+        int count = readVarint();
+        for (int i = 0; i < count; i++) {
+            dictionary.add(IRI.create(readString()));
+        }
+    }
+
+    private OWLOntologyChangeData readData(int kind) {
+        switch (kind) {
+            case ADD_AXIOM:
+                return new AddAxiomData((OWLAxiom) readObject());
+            case REMOVE_AXIOM:
+                return new RemoveAxiomData((OWLAxiom) readObject());
+            case ADD_ONTOLOGY_ANNOTATION:
+                return new AddOntologyAnnotationData(readAnnotation());
+            case REMOVE_ONTOLOGY_ANNOTATION:
+                return new RemoveOntologyAnnotationData(readAnnotation());
+            case SET_ONTOLOGY_ID:
+                IRI ontologyIRI = readOptionalIRI();
+                IRI versionIRI = readOptionalIRI();
+                return new SetOntologyIDData(ontologyIRI == null ? new OWLOntologyID()
+                        : new OWLOntologyID(ontologyIRI, versionIRI));
+            case ADD_IMPORT:
+                return new AddImportData(dataFactory.getOWLImportsDeclaration(readIRI()));
+            case REMOVE_IMPORT:
+                return new RemoveImportData(
+                        dataFactory.getOWLImportsDeclaration(readIRI()));
+            default:
+                throw new IllegalStateException("Unknown change kind in journal: " + kind);
+        }
+    }
+
+    private int readByte() {
+        if (position >= end) {
+            throw new IllegalStateException("Corrupt journal frame: unexpected end");
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    private int readVarint() {
+        int value = 0;
+        int shift = 0;
+        int b = readByte();
+        while ((b & 0x80) != 0) {
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+            b = readByte();
+        }
+        return value | b << shift;
+    }
+
+    private String readString() {
+        int length = readVarint();
+        if (length > end - position) {
+            throw new IllegalStateException("Corrupt journal frame: unexpected end");
+        }
+        String s = new String(bytes, position, length, ChangeJournalEncoder.UTF8);
+        position += length;
+        return s;
+    }
+
+    private IRI readIRI() {
+        return dictionary.get(readVarint());
+    }
+
+    private IRI readOptionalIRI() {
+        return readByte() == 0 ? null : readIRI();
+    }
+
+    private OWLEntity readEntity(int tag) {
+        int id = readVarint();
+        OWLEntity[] cache = entities[tag - 1];
+        if (id >= cache.length) {
+            OWLEntity[] grown = new OWLEntity[Math.max(cache.length * 2, id + 1)];
+            System.arraycopy(cache, 0, grown, 0, cache.length);
+            entities[tag - 1] = grown;
+            cache = grown;
+        }
+        OWLEntity entity = cache[id];
+        if (entity == null) {
+            entity = dataFactory.getOWLEntity(EntityType.values().get(tag - 1),
+                    dictionary.get(id));
+            cache[id] = entity;
+        }
+        return entity;
+    }
+
+    private OWLLiteral readLiteral() {
+        String literal = readString();
+        String lang = readString();
+        OWLDatatype datatype = (OWLDatatype) readEntity(DATATYPE);
+        if (lang.length() > 0 || datatype.isRDFPlainLiteral()) {
+            return dataFactory.getOWLLiteral(literal, lang);
+        }
+        return dataFactory.getOWLLiteral(literal, datatype);
+    }
+
+    private Set<OWLAnnotation> readAnnotations() {
+        int count = readVarint();
+        if (count == 0) {
+            return Collections.emptySet();
+        }
+        Set<OWLAnnotation> annotations = new HashSet<OWLAnnotation>();
+        for (int i = 0; i < count; i++) {
+            annotations.add(readAnnotation());
+        }
+        return annotations;
+    }
+
+    private OWLAnnotation readAnnotation() {
+        OWLAnnotationProperty property = (OWLAnnotationProperty) readEntity(ANNOTATION_PROPERTY);
+        OWLAnnotationValue value = (OWLAnnotationValue) readObject();
+        return dataFactory.getOWLAnnotation(property, value, readAnnotations());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Set<T> readSet() {
+        int count = readVarint();
+        Set<T> set = new HashSet<T>();
+        for (int i = 0; i < count; i++) {
+            set.add((T) readObject());
+        }
+        return set;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> readList() {
+        int count = readVarint();
+        List<T> list = new ArrayList<T>(count);
+        for (int i = 0; i < count; i++) {
+            list.add((T) readObject());
+        }
+        return list;
+    }
+
+    private OWLClassExpression readClassExpression() {
+        return (OWLClassExpression) readObject();
+    }
+
+    private OWLObjectPropertyExpression readObjectProperty() {
+        return (OWLObjectPropertyExpression) readObject();
+    }
+
+    private OWLDataPropertyExpression readDataProperty() {
+        return (OWLDataPropertyExpression) readObject();
+    }
+
+    private OWLDataRange readDataRange() {
+        return (OWLDataRange) readObject();
+    }
+
+    private OWLIndividual readIndividual() {
+        return (OWLIndividual) readObject();
+    }
+
+    private SWRLIArgument readIArgument() {
+        return (SWRLIArgument) readObject();
+    }
+
+    private SWRLDArgument readDArgument() {
+        return (SWRLDArgument) readObject();
+    }
+
+    private OWLObject readObject() {
+        int tag = readByte();
+        switch (tag) {
+            case CLASS:
+            case OBJECT_PROPERTY:
+            case DATA_PROPERTY:
+            case ANNOTATION_PROPERTY:
+            case NAMED_INDIVIDUAL:
+            case DATATYPE:
+                return readEntity(tag);
+            case IRI_VALUE:
+                return readIRI();
+            case ANONYMOUS_INDIVIDUAL:
+                return dataFactory.getOWLAnonymousIndividual(readString());
+            case LITERAL:
+                return readLiteral();
+            case OBJECT_INVERSE_OF:
+                return dataFactory.getOWLObjectInverseOf(readObjectProperty());
+            case OBJECT_INTERSECTION_OF:
+                return dataFactory.getOWLObjectIntersectionOf(this
+                        .<OWLClassExpression> readSet());
+            case OBJECT_UNION_OF:
+                return dataFactory.getOWLObjectUnionOf(this.<OWLClassExpression> readSet());
+            case OBJECT_COMPLEMENT_OF:
+                return dataFactory.getOWLObjectComplementOf(readClassExpression());
+            case OBJECT_ONE_OF:
+                return dataFactory.getOWLObjectOneOf(this.<OWLIndividual> readSet());
+            case OBJECT_SOME_VALUES_FROM:
+                return dataFactory.getOWLObjectSomeValuesFrom(readObjectProperty(),
+                        readClassExpression());
+            case OBJECT_ALL_VALUES_FROM:
+                return dataFactory.getOWLObjectAllValuesFrom(readObjectProperty(),
+                        readClassExpression());
+            case OBJECT_HAS_VALUE:
+                return dataFactory.getOWLObjectHasValue(readObjectProperty(),
+                        readIndividual());
+            case OBJECT_MIN_CARDINALITY:
+                return dataFactory.getOWLObjectMinCardinality(readVarint(),
+                        readObjectProperty(), readClassExpression());
+            case OBJECT_EXACT_CARDINALITY:
+                return dataFactory.getOWLObjectExactCardinality(readVarint(),
+                        readObjectProperty(), readClassExpression());
+            case OBJECT_MAX_CARDINALITY:
+                return dataFactory.getOWLObjectMaxCardinality(readVarint(),
+                        readObjectProperty(), readClassExpression());
+            case OBJECT_HAS_SELF:
+                return dataFactory.getOWLObjectHasSelf(readObjectProperty());
+            case DATA_SOME_VALUES_FROM:
+                return dataFactory.getOWLDataSomeValuesFrom(readDataProperty(),
+                        readDataRange());
+            case DATA_ALL_VALUES_FROM:
+                return dataFactory.getOWLDataAllValuesFrom(readDataProperty(),
+                        readDataRange());
+            case DATA_HAS_VALUE:
+                return dataFactory.getOWLDataHasValue(readDataProperty(), readLiteral());
+            case DATA_MIN_CARDINALITY:
+                return dataFactory.getOWLDataMinCardinality(readVarint(),
+                        readDataProperty(), readDataRange());
+            case DATA_EXACT_CARDINALITY:
+                return dataFactory.getOWLDataExactCardinality(readVarint(),
+                        readDataProperty(), readDataRange());
+            case DATA_MAX_CARDINALITY:
+                return dataFactory.getOWLDataMaxCardinality(readVarint(),
+                        readDataProperty(), readDataRange());
+            case DATA_ONE_OF:
+                return dataFactory.getOWLDataOneOf(this.<OWLLiteral> readSet());
+            case DATA_COMPLEMENT_OF:
+                return dataFactory.getOWLDataComplementOf(readDataRange());
+            case DATA_INTERSECTION_OF:
+                return dataFactory.getOWLDataIntersectionOf(this.<OWLDataRange> readSet());
+            case DATA_UNION_OF:
+                return dataFactory.getOWLDataUnionOf(this.<OWLDataRange> readSet());
+            case DATATYPE_RESTRICTION:
+                return dataFactory.getOWLDatatypeRestriction(
+                        (OWLDatatype) readEntity(DATATYPE),
+                        this.<OWLFacetRestriction> readSet());
+            case FACET_RESTRICTION:
+                return dataFactory.getOWLFacetRestriction(OWLFacet.getFacet(readIRI()),
+                        readLiteral());
+            case ANNOTATION:
+                return readAnnotation();
+            default:
+                return readAxiomOrAtom(tag);
+        }
+    }
+
+    private OWLObject readAxiomOrAtom(int tag) {
+        switch (tag) {
+            case SWRL_CLASS_ATOM:
+                return dataFactory.getSWRLClassAtom(readClassExpression(), readIArgument());
+            case SWRL_DATA_RANGE_ATOM:
+                return dataFactory.getSWRLDataRangeAtom(readDataRange(), readDArgument());
+            case SWRL_OBJECT_PROPERTY_ATOM:
+                return dataFactory.getSWRLObjectPropertyAtom(readObjectProperty(),
+                        readIArgument(), readIArgument());
+            case SWRL_DATA_PROPERTY_ATOM:
+                return dataFactory.getSWRLDataPropertyAtom(readDataProperty(),
+                        readIArgument(), readDArgument());
+            case SWRL_BUILT_IN_ATOM:
+                return dataFactory.getSWRLBuiltInAtom(readIRI(),
+                        this.<SWRLDArgument> readList());
+            case SWRL_SAME_INDIVIDUAL_ATOM:
+                return dataFactory.getSWRLSameIndividualAtom(readIArgument(),
+                        readIArgument());
+            case SWRL_DIFFERENT_INDIVIDUALS_ATOM:
+                return dataFactory.getSWRLDifferentIndividualsAtom(readIArgument(),
+                        readIArgument());
+            case SWRL_VARIABLE:
+                return dataFactory.getSWRLVariable(readIRI());
+            case SWRL_INDIVIDUAL_ARGUMENT:
+                return dataFactory.getSWRLIndividualArgument(readIndividual());
+            case SWRL_LITERAL_ARGUMENT:
+                return dataFactory.getSWRLLiteralArgument(readLiteral());
+            default:
+                return readAxiom(tag);
+        }
+    }
+
+    private OWLAxiom readAxiom(int tag) {
+        // annotations are written before the components of an axiom
+        Set<OWLAnnotation> a;
+        switch (tag) {
+            case DECLARATION:
+                a = readAnnotations();
+                return dataFactory.getOWLDeclarationAxiom((OWLEntity) readObject(), a);
+            case SUB_CLASS_OF:
+                a = readAnnotations();
+                return dataFactory.getOWLSubClassOfAxiom(readClassExpression(),
+                        readClassExpression(), a);
+            case EQUIVALENT_CLASSES:
+                a = readAnnotations();
+                return dataFactory.getOWLEquivalentClassesAxiom(
+                        this.<OWLClassExpression> readSet(), a);
+            case DISJOINT_CLASSES:
+                a = readAnnotations();
+                return dataFactory.getOWLDisjointClassesAxiom(
+                        this.<OWLClassExpression> readSet(), a);
+            case DISJOINT_UNION:
+                a = readAnnotations();
+                return dataFactory.getOWLDisjointUnionAxiom((OWLClass) readEntity(CLASS),
+                        this.<OWLClassExpression> readSet(), a);
+            case SUB_OBJECT_PROPERTY_OF:
+                a = readAnnotations();
+                return dataFactory.getOWLSubObjectPropertyOfAxiom(readObjectProperty(),
+                        readObjectProperty(), a);
+            case SUB_PROPERTY_CHAIN_OF:
+                a = readAnnotations();
+                return dataFactory.getOWLSubPropertyChainOfAxiom(
+                        this.<OWLObjectPropertyExpression> readList(),
+                        readObjectProperty(), a);
+            case EQUIVALENT_OBJECT_PROPERTIES:
+                a = readAnnotations();
+                return dataFactory.getOWLEquivalentObjectPropertiesAxiom(
+                        this.<OWLObjectPropertyExpression> readSet(), a);
+            case DISJOINT_OBJECT_PROPERTIES:
+                a = readAnnotations();
+                return dataFactory.getOWLDisjointObjectPropertiesAxiom(
+                        this.<OWLObjectPropertyExpression> readSet(), a);
+            case INVERSE_OBJECT_PROPERTIES:
+                a = readAnnotations();
+                return dataFactory.getOWLInverseObjectPropertiesAxiom(
+                        readObjectProperty(), readObjectProperty(), a);
+            case OBJECT_PROPERTY_DOMAIN:
+                a = readAnnotations();
+                return dataFactory.getOWLObjectPropertyDomainAxiom(readObjectProperty(),
+                        readClassExpression(), a);
+            case OBJECT_PROPERTY_RANGE:
+                a = readAnnotations();
+                return dataFactory.getOWLObjectPropertyRangeAxiom(readObjectProperty(),
+                        readClassExpression(), a);
+            case FUNCTIONAL_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLFunctionalObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case INVERSE_FUNCTIONAL_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLInverseFunctionalObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case REFLEXIVE_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLReflexiveObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case IRREFLEXIVE_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLIrreflexiveObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case SYMMETRIC_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLSymmetricObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case ASYMMETRIC_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLAsymmetricObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case TRANSITIVE_OBJECT_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLTransitiveObjectPropertyAxiom(
+                        readObjectProperty(), a);
+            case SUB_DATA_PROPERTY_OF:
+                a = readAnnotations();
+                return dataFactory.getOWLSubDataPropertyOfAxiom(readDataProperty(),
+                        readDataProperty(), a);
+            case EQUIVALENT_DATA_PROPERTIES:
+                a = readAnnotations();
+                return dataFactory.getOWLEquivalentDataPropertiesAxiom(
+                        this.<OWLDataPropertyExpression> readSet(), a);
+            case DISJOINT_DATA_PROPERTIES:
+                a = readAnnotations();
+                return dataFactory.getOWLDisjointDataPropertiesAxiom(
+                        this.<OWLDataPropertyExpression> readSet(), a);
+            case DATA_PROPERTY_DOMAIN:
+                a = readAnnotations();
+                return dataFactory.getOWLDataPropertyDomainAxiom(readDataProperty(),
+                        readClassExpression(), a);
+            case DATA_PROPERTY_RANGE:
+                a = readAnnotations();
+                return dataFactory.getOWLDataPropertyRangeAxiom(readDataProperty(),
+                        readDataRange(), a);
+            case FUNCTIONAL_DATA_PROPERTY:
+                a = readAnnotations();
+                return dataFactory.getOWLFunctionalDataPropertyAxiom(readDataProperty(),
+                        a);
+            case HAS_KEY:
+                a = readAnnotations();
+                return dataFactory.getOWLHasKeyAxiom(readClassExpression(),
+                        this.<OWLPropertyExpression<?, ?>> readSet(), a);
+            case DATATYPE_DEFINITION:
+                a = readAnnotations();
+                return dataFactory.getOWLDatatypeDefinitionAxiom(
+                        (OWLDatatype) readEntity(DATATYPE), readDataRange(), a);
+            case SAME_INDIVIDUAL:
+                a = readAnnotations();
+                return dataFactory.getOWLSameIndividualAxiom(
+                        this.<OWLIndividual> readSet(), a);
+            case DIFFERENT_INDIVIDUALS:
+                a = readAnnotations();
+                return dataFactory.getOWLDifferentIndividualsAxiom(
+                        this.<OWLIndividual> readSet(), a);
+            case CLASS_ASSERTION:
+                a = readAnnotations();
+                return dataFactory.getOWLClassAssertionAxiom(readClassExpression(),
+                        readIndividual(), a);
+            case OBJECT_PROPERTY_ASSERTION:
+                a = readAnnotations();
+                return dataFactory.getOWLObjectPropertyAssertionAxiom(
+                        readObjectProperty(), readIndividual(), readIndividual(), a);
+            case NEGATIVE_OBJECT_PROPERTY_ASSERTION:
+                a = readAnnotations();
+                return dataFactory.getOWLNegativeObjectPropertyAssertionAxiom(
+                        readObjectProperty(), readIndividual(), readIndividual(), a);
+            case DATA_PROPERTY_ASSERTION:
+                a = readAnnotations();
+                return dataFactory.getOWLDataPropertyAssertionAxiom(readDataProperty(),
+                        readIndividual(), readLiteral(), a);
+            case NEGATIVE_DATA_PROPERTY_ASSERTION:
+                a = readAnnotations();
+                return dataFactory.getOWLNegativeDataPropertyAssertionAxiom(
+                        readDataProperty(), readIndividual(), readLiteral(), a);
+            case ANNOTATION_ASSERTION:
+                a = readAnnotations();
+                return dataFactory.getOWLAnnotationAssertionAxiom(
+                        (OWLAnnotationProperty) readEntity(ANNOTATION_PROPERTY),
+                        (OWLAnnotationSubject) readObject(),
+                        (OWLAnnotationValue) readObject(), a);
+            case ANNOTATION_PROPERTY_DOMAIN:
+                a = readAnnotations();
+                return dataFactory.getOWLAnnotationPropertyDomainAxiom(
+                        (OWLAnnotationProperty) readEntity(ANNOTATION_PROPERTY),
+                        readIRI(), a);
+            case ANNOTATION_PROPERTY_RANGE:
+                a = readAnnotations();
+                return dataFactory.getOWLAnnotationPropertyRangeAxiom(
+                        (OWLAnnotationProperty) readEntity(ANNOTATION_PROPERTY),
+                        readIRI(), a);
+            case SUB_ANNOTATION_PROPERTY_OF:
+                a = readAnnotations();
+                return dataFactory.getOWLSubAnnotationPropertyOfAxiom(
+                        (OWLAnnotationProperty) readEntity(ANNOTATION_PROPERTY),
+                        (OWLAnnotationProperty) readEntity(ANNOTATION_PROPERTY), a);
+            case SWRL_RULE:
+                a = readAnnotations();
+                return dataFactory.getSWRLRule(this.<SWRLAtom> readSet(),
+                        this.<SWRLAtom> readSet(), a);
+            default:
+                throw new IllegalStateException("Unknown object tag in journal: " + tag);
+        }
+    }
+}
@@ -0,0 +1,823 @@
+package org.semanticweb.owlapi.change;
+
+import static org.semanticweb.owlapi.change.ChangeJournalFormat.*;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.semanticweb.owlapi.model.*;
+
+/** Encodes change records into journal frames; see {@link ChangeJournalFormat}.
+ * The encoder owns the IRI dictionary of the journal, so frames must be
+ * written to the journal in the order in which they are encoded. Not thread
+ * safe.
+ *
+ * @since 3.4.6 */
+final class ChangeJournalEncoder implements OWLObjectVisitor,
+        OWLOntologyChangeDataVisitor<Void, RuntimeException> {
+    static final Charset UTF8 = Charset.forName("UTF-8");
+    private final Map<IRI, Integer> dictionary = new HashMap<IRI, Integer>();
+    private final List<IRI> added = new ArrayList<IRI>();
+    private final Buffer body = new Buffer();
+    private final Buffer header = new Buffer();
+    private final CRC32 crc = new CRC32();
+    private OWLOntologyID lastOntologyID;
+    private int recordCount;
+
+    /** @param iri
+     *            an IRI already in the journal dictionary; IRIs must be added
+     *            in dictionary order */
+    void addDictionaryEntry(IRI iri) {
+        dictionary.put(iri, Integer.valueOf(dictionary.size()));
+    }
+
+    /** Empties the dictionary, when the journal is truncated. */
+    void clearDictionary() {
+        dictionary.clear();
+    }
+
+    /** Starts a new frame. */
+    void beginFrame() {
+        added.clear();
+        body.reset();
+        lastOntologyID = null;
+        recordCount = 0;
+    }
+
+    /** @param ontologyID
+     *            the id of the changed ontology
+     * @param data
+     *            the change */
+    void writeRecord(OWLOntologyID ontologyID, OWLOntologyChangeData data) {
+        if (ontologyID.isAnonymous()) {
+            throw new IllegalArgumentException(
+                    "Changes to anonymous ontologies cannot be journaled: " + ontologyID);
+        }
+        data.accept(this);
+        if (ontologyID.equals(lastOntologyID)) {
+            body.write(SAME_ONTOLOGY);
+        } else {
+            IRI versionIRI = ontologyID.getVersionIRI();
+            body.write(versionIRI == null ? HAS_ONTOLOGY_IRI : HAS_ONTOLOGY_IRI
+                    | HAS_VERSION_IRI);
+            writeIRI(ontologyID.getOntologyIRI());
+            if (versionIRI != null) {
+                writeIRI(versionIRI);
+            }
+            lastOntologyID = ontologyID;
+        }
+        writeData(data);
+        recordCount++;
+    }
+
+    /** Appends the frame to the output: the payload length, the dictionary
+     * entries added by the frame, the records and the checksum.
+     *
+     * @param out
+     *            the buffer to append to */
+    void endFrame(Buffer out) {
+        header.reset();
+        header.writeVarint(added.size());
+        for (IRI iri : added) {
+            header.writeString(iri.toString());
+        }
+        header.writeVarint(recordCount);
+        crc.reset();
+        crc.update(header.bytes, 0, header.length);
+        crc.update(body.bytes, 0, body.length);
+        out.writeVarint(header.length + body.length);
+        out.write(header.bytes, 0, header.length);
+        out.write(body.bytes, 0, body.length);
+        out.writeInt((int) crc.getValue());
+        added.clear();
+    }
+
+    /** Discards the frame being encoded, removing its IRIs from the
+     * dictionary. */
+    void abortFrame() {
+        for (IRI iri : added) {
+            dictionary.remove(iri);
+        }
+        added.clear();
+        body.reset();
+    }
+
+    // the change kind is written by the visit methods, the rest by writeData
+    private void writeData(OWLOntologyChangeData data) {
+        if (data instanceof AxiomChangeData) {
+            writeObject(((AxiomChangeData) data).getAxiom());
+        } else if (data instanceof OntologyAnnotationChangeData) {
+            writeAnnotation(((OntologyAnnotationChangeData) data).getAnnotation());
+        } else if (data instanceof ImportChangeData) {
+            writeIRI(((ImportChangeData) data).getDeclaration().getIRI());
+        } else {
+            OWLOntologyID newId = ((SetOntologyIDData) data).getNewId();
+            writeOptionalIRI(newId.getOntologyIRI());
+            writeOptionalIRI(newId.getVersionIRI());
+        }
+    }
+
+    @Override
+    public Void visit(AddAxiomData data) {
+        body.write(ADD_AXIOM);
+        return null;
+    }
+
+    @Override
+    public Void visit(RemoveAxiomData data) {
+        body.write(REMOVE_AXIOM);
+        return null;
+    }
+
+    @Override
+    public Void visit(AddOntologyAnnotationData data) {
+        body.write(ADD_ONTOLOGY_ANNOTATION);
+        return null;
+    }
+
+    @Override
+    public Void visit(RemoveOntologyAnnotationData data) {
+        body.write(REMOVE_ONTOLOGY_ANNOTATION);
+        return null;
+    }
+
+    @Override
+    public Void visit(SetOntologyIDData data) {
+        body.write(SET_ONTOLOGY_ID);
+        return null;
+    }
+
+    @Override
+    public Void visit(AddImportData data) {
+        body.write(ADD_IMPORT);
+        return null;
+    }
+
+    @Override
+    public Void visit(RemoveImportData data) {
+        body.write(REMOVE_IMPORT);
+        return null;
+    }
+
+    private void writeIRI(IRI iri) {
+        Integer id = dictionary.get(iri);
+        if (id == null) {
+            id = Integer.valueOf(dictionary.size());
+            dictionary.put(iri, id);
+            added.add(iri);
+        }
+        body.writeVarint(id.intValue());
+    }
+
+    private void writeOptionalIRI(IRI iri) {
+        if (iri == null) {
+            body.write(0);
+        } else {
+            body.write(1);
+            writeIRI(iri);
+        }
+    }
+
+    private void writeObject(OWLObject object) {
+        object.accept(this);
+    }
+
+    private void writeObjects(Collection<? extends OWLObject> objects) {
+        body.writeVarint(objects.size());
+        for (OWLObject o : objects) {
+            o.accept(this);
+        }
+    }
+
+    private void writeAnnotation(OWLAnnotation annotation) {
+        writeIRI(annotation.getProperty().getIRI());
+        writeObject(annotation.getValue());
+        writeAnnotations(annotation.getAnnotations());
+    }
+
+    private void writeAnnotations(Collection<OWLAnnotation> annotations) {
+        body.writeVarint(annotations.size());
+        for (OWLAnnotation a : annotations) {
+            writeAnnotation(a);
+        }
+    }
+
+    private void writeLiteral(OWLLiteral literal) {
+        body.writeString(literal.getLiteral());
+        body.writeString(literal.getLang());
+        writeIRI(literal.getDatatype().getIRI());
+    }
+
+    private void writeAxiom(int tag, OWLAxiom axiom) {
+        body.write(tag);
+        writeAnnotations(axiom.getAnnotations());
+    }
+
+    private void writeEntity(int tag, OWLEntity entity) {
+        body.write(tag);
+        writeIRI(entity.getIRI());
+    }
+
+    private void writeCardinality(int tag, OWLCardinalityRestriction<?, ?, ?> ce) {
+        body.write(tag);
+        body.writeVarint(ce.getCardinality());
+        writeObject(ce.getProperty());
+        writeObject(ce.getFiller());
+    }
+
+    private void writeRestriction(int tag, OWLQuantifiedRestriction<?, ?, ?> ce) {
+        body.write(tag);
+        writeObject(ce.getProperty());
+        writeObject(ce.getFiller());
+    }
+
+    @Override
+    public void visit(OWLOntology ontology) {
+        throw new IllegalArgumentException("Ontologies cannot be journaled");
+    }
+
+    // entities and primaries
+    @Override
+    public void visit(OWLClass ce) {
+        writeEntity(CLASS, ce);
+    }
+
+    @Override
+    public void visit(OWLObjectProperty property) {
+        writeEntity(OBJECT_PROPERTY, property);
+    }
+
+    @Override
+    public void visit(OWLDataProperty property) {
+        writeEntity(DATA_PROPERTY, property);
+    }
+
+    @Override
+    public void visit(OWLAnnotationProperty property) {
+        writeEntity(ANNOTATION_PROPERTY, property);
+    }
+
+    @Override
+    public void visit(OWLNamedIndividual individual) {
+        writeEntity(NAMED_INDIVIDUAL, individual);
+    }
+
+    @Override
+    public void visit(OWLDatatype node) {
+        writeEntity(DATATYPE, node);
+    }
+
+    @Override
+    public void visit(IRI iri) {
+        body.write(IRI_VALUE);
+        writeIRI(iri);
+    }
+
+    @Override
+    public void visit(OWLAnonymousIndividual individual) {
+        body.write(ANONYMOUS_INDIVIDUAL);
+        body.writeString(individual.getID().getID());
+    }
+
+    @Override
+    public void visit(OWLLiteral node) {
+        body.write(LITERAL);
+        writeLiteral(node);
+    }
+
+    @Override
+    public void visit(OWLObjectInverseOf property) {
+        body.write(OBJECT_INVERSE_OF);
+        writeObject(property.getInverse());
+    }
+
+    // class expressions
+    @Override
+    public void visit(OWLObjectIntersectionOf ce) {
+        body.write(OBJECT_INTERSECTION_OF);
+        writeObjects(ce.getOperands());
+    }
+
+    @Override
+    public void visit(OWLObjectUnionOf ce) {
+        body.write(OBJECT_UNION_OF);
+        writeObjects(ce.getOperands());
+    }
+
+    @Override
+    public void visit(OWLObjectComplementOf ce) {
+        body.write(OBJECT_COMPLEMENT_OF);
+        writeObject(ce.getOperand());
+    }
+
+    @Override
+    public void visit(OWLObjectOneOf ce) {
+        body.write(OBJECT_ONE_OF);
+        writeObjects(ce.getIndividuals());
+    }
+
+    @Override
+    public void visit(OWLObjectSomeValuesFrom ce) {
+        writeRestriction(OBJECT_SOME_VALUES_FROM, ce);
+    }
+
+    @Override
+    public void visit(OWLObjectAllValuesFrom ce) {
+        writeRestriction(OBJECT_ALL_VALUES_FROM, ce);
+    }
+
+    @Override
+    public void visit(OWLObjectHasValue ce) {
+        body.write(OBJECT_HAS_VALUE);
+        writeObject(ce.getProperty());
+        writeObject(ce.getValue());
+    }
+
+    @Override
+    public void visit(OWLObjectMinCardinality ce) {
+        writeCardinality(OBJECT_MIN_CARDINALITY, ce);
+    }
+
+    @Override
+    public void visit(OWLObjectExactCardinality ce) {
+        writeCardinality(OBJECT_EXACT_CARDINALITY, ce);
+    }
+
+    @Override
+    public void visit(OWLObjectMaxCardinality ce) {
+        writeCardinality(OBJECT_MAX_CARDINALITY, ce);
+    }
+
+    @Override
+    public void visit(OWLObjectHasSelf ce) {
+        body.write(OBJECT_HAS_SELF);
+        writeObject(ce.getProperty());
+    }
+
+    @Override
+    public void visit(OWLDataSomeValuesFrom ce) {
+        writeRestriction(DATA_SOME_VALUES_FROM, ce);
+    }
+
+    @Override
+    public void visit(OWLDataAllValuesFrom ce) {
+        writeRestriction(DATA_ALL_VALUES_FROM, ce);
+    }
+
+    @Override
+    public void visit(OWLDataHasValue ce) {
+        body.write(DATA_HAS_VALUE);
+        writeObject(ce.getProperty());
+        writeLiteral(ce.getValue());
+    }
+
+    @Override
+    public void visit(OWLDataMinCardinality ce) {
+        writeCardinality(DATA_MIN_CARDINALITY, ce);
+    }
+
+    @Override
+    public void visit(OWLDataExactCardinality ce) {
+        writeCardinality(DATA_EXACT_CARDINALITY, ce);
+    }
+
+    @Override
+    public void visit(OWLDataMaxCardinality ce) {
+        writeCardinality(DATA_MAX_CARDINALITY, ce);
+    }
+
+    // data ranges
+    @Override
+    public void visit(OWLDataOneOf node) {
+        body.write(DATA_ONE_OF);
+        writeObjects(node.getValues());
+    }
+
+    @Override
+    public void visit(OWLDataComplementOf node) {
+        body.write(DATA_COMPLEMENT_OF);
+        writeObject(node.getDataRange());
+    }
+
+    @Override
+    public void visit(OWLDataIntersectionOf node) {
+        body.write(DATA_INTERSECTION_OF);
+        writeObjects(node.getOperands());
+    }
+
+    @Override
+    public void visit(OWLDataUnionOf node) {
+        body.write(DATA_UNION_OF);
+        writeObjects(node.getOperands());
+    }
+
+    @Override
+    public void visit(OWLDatatypeRestriction node) {
+        body.write(DATATYPE_RESTRICTION);
+        writeIRI(node.getDatatype().getIRI());
+        writeObjects(node.getFacetRestrictions());
+    }
+
+    @Override
+    public void visit(OWLFacetRestriction node) {
+        body.write(FACET_RESTRICTION);
+        writeIRI(node.getFacet().getIRI());
+        writeLiteral(node.getFacetValue());
+    }
+
+    @Override
+    public void visit(OWLAnnotation node) {
+        body.write(ANNOTATION);
+        writeAnnotation(node);
+    }
+
+    // axioms
+    @Override
+    public void visit(OWLDeclarationAxiom axiom) {
+        writeAxiom(DECLARATION, axiom);
+        writeObject(axiom.getEntity());
+    }
+
+    @Override
+    public void visit(OWLSubClassOfAxiom axiom) {
+        writeAxiom(SUB_CLASS_OF, axiom);
+        writeObject(axiom.getSubClass());
+        writeObject(axiom.getSuperClass());
+    }
+
+    @Override
+    public void visit(OWLEquivalentClassesAxiom axiom) {
+        writeAxiom(EQUIVALENT_CLASSES, axiom);
+        writeObjects(axiom.getClassExpressions());
+    }
+
+    @Override
+    public void visit(OWLDisjointClassesAxiom axiom) {
+        writeAxiom(DISJOINT_CLASSES, axiom);
+        writeObjects(axiom.getClassExpressions());
+    }
+
+    @Override
+    public void visit(OWLDisjointUnionAxiom axiom) {
+        writeAxiom(DISJOINT_UNION, axiom);
+        writeIRI(axiom.getOWLClass().getIRI());
+        writeObjects(axiom.getClassExpressions());
+    }
+
+    @Override
+    public void visit(OWLSubObjectPropertyOfAxiom axiom) {
+        writeAxiom(SUB_OBJECT_PROPERTY_OF, axiom);
+        writeObject(axiom.getSubProperty());
+        writeObject(axiom.getSuperProperty());
+    }
+
+    @Override
+    public void visit(OWLSubPropertyChainOfAxiom axiom) {
+        writeAxiom(SUB_PROPERTY_CHAIN_OF, axiom);
+        writeObjects(axiom.getPropertyChain());
+        writeObject(axiom.getSuperProperty());
+    }
+
+    @Override
+    public void visit(OWLEquivalentObjectPropertiesAxiom axiom) {
+        writeAxiom(EQUIVALENT_OBJECT_PROPERTIES, axiom);
+        writeObjects(axiom.getProperties());
+    }
+
+    @Override
+    public void visit(OWLDisjointObjectPropertiesAxiom axiom) {
+        writeAxiom(DISJOINT_OBJECT_PROPERTIES, axiom);
+        writeObjects(axiom.getProperties());
+    }
+
+    @Override
+    public void visit(OWLInverseObjectPropertiesAxiom axiom) {
+        writeAxiom(INVERSE_OBJECT_PROPERTIES, axiom);
+        writeObject(axiom.getFirstProperty());
+        writeObject(axiom.getSecondProperty());
+    }
+
+    @Override
+    public void visit(OWLObjectPropertyDomainAxiom axiom) {
+        writeAxiom(OBJECT_PROPERTY_DOMAIN, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getDomain());
+    }
+
+    @Override
+    public void visit(OWLObjectPropertyRangeAxiom axiom) {
+        writeAxiom(OBJECT_PROPERTY_RANGE, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getRange());
+    }
+
+    @Override
+    public void visit(OWLFunctionalObjectPropertyAxiom axiom) {
+        writeAxiom(FUNCTIONAL_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLInverseFunctionalObjectPropertyAxiom axiom) {
+        writeAxiom(INVERSE_FUNCTIONAL_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLReflexiveObjectPropertyAxiom axiom) {
+        writeAxiom(REFLEXIVE_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLIrreflexiveObjectPropertyAxiom axiom) {
+        writeAxiom(IRREFLEXIVE_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLSymmetricObjectPropertyAxiom axiom) {
+        writeAxiom(SYMMETRIC_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLAsymmetricObjectPropertyAxiom axiom) {
+        writeAxiom(ASYMMETRIC_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLTransitiveObjectPropertyAxiom axiom) {
+        writeAxiom(TRANSITIVE_OBJECT_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLSubDataPropertyOfAxiom axiom) {
+        writeAxiom(SUB_DATA_PROPERTY_OF, axiom);
+        writeObject(axiom.getSubProperty());
+        writeObject(axiom.getSuperProperty());
+    }
+
+    @Override
+    public void visit(OWLEquivalentDataPropertiesAxiom axiom) {
+        writeAxiom(EQUIVALENT_DATA_PROPERTIES, axiom);
+        writeObjects(axiom.getProperties());
+    }
+
+    @Override
+    public void visit(OWLDisjointDataPropertiesAxiom axiom) {
+        writeAxiom(DISJOINT_DATA_PROPERTIES, axiom);
+        writeObjects(axiom.getProperties());
+    }
+
+    @Override
+    public void visit(OWLDataPropertyDomainAxiom axiom) {
+        writeAxiom(DATA_PROPERTY_DOMAIN, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getDomain());
+    }
+
+    @Override
+    public void visit(OWLDataPropertyRangeAxiom axiom) {
+        writeAxiom(DATA_PROPERTY_RANGE, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getRange());
+    }
+
+    @Override
+    public void visit(OWLFunctionalDataPropertyAxiom axiom) {
+        writeAxiom(FUNCTIONAL_DATA_PROPERTY, axiom);
+        writeObject(axiom.getProperty());
+    }
+
+    @Override
+    public void visit(OWLHasKeyAxiom axiom) {
+        writeAxiom(HAS_KEY, axiom);
+        writeObject(axiom.getClassExpression());
+        writeObjects(axiom.getPropertyExpressions());
+    }
+
+    @Override
+    public void visit(OWLDatatypeDefinitionAxiom axiom) {
+        writeAxiom(DATATYPE_DEFINITION, axiom);
+        writeIRI(axiom.getDatatype().getIRI());
+        writeObject(axiom.getDataRange());
+    }
+
+    @Override
+    public void visit(OWLSameIndividualAxiom axiom) {
+        writeAxiom(SAME_INDIVIDUAL, axiom);
+        writeObjects(axiom.getIndividuals());
+    }
+
+    @Override
+    public void visit(OWLDifferentIndividualsAxiom axiom) {
+        writeAxiom(DIFFERENT_INDIVIDUALS, axiom);
+        writeObjects(axiom.getIndividuals());
+    }
+
+    @Override
+    public void visit(OWLClassAssertionAxiom axiom) {
+        writeAxiom(CLASS_ASSERTION, axiom);
+        writeObject(axiom.getClassExpression());
+        writeObject(axiom.getIndividual());
+    }
+
+    @Override
+    public void visit(OWLObjectPropertyAssertionAxiom axiom) {
+        writeAxiom(OBJECT_PROPERTY_ASSERTION, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getSubject());
+        writeObject(axiom.getObject());
+    }
+
+    @Override
+    public void visit(OWLNegativeObjectPropertyAssertionAxiom axiom) {
+        writeAxiom(NEGATIVE_OBJECT_PROPERTY_ASSERTION, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getSubject());
+        writeObject(axiom.getObject());
+    }
+
+    @Override
+    public void visit(OWLDataPropertyAssertionAxiom axiom) {
+        writeAxiom(DATA_PROPERTY_ASSERTION, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getSubject());
+        writeLiteral(axiom.getObject());
+    }
+
+    @Override
+    public void visit(OWLNegativeDataPropertyAssertionAxiom axiom) {
+        writeAxiom(NEGATIVE_DATA_PROPERTY_ASSERTION, axiom);
+        writeObject(axiom.getProperty());
+        writeObject(axiom.getSubject());
+        writeLiteral(axiom.getObject());
+    }
+
+    @Override
+    public void visit(OWLAnnotationAssertionAxiom axiom) {
+        writeAxiom(ANNOTATION_ASSERTION, axiom);
+        writeIRI(axiom.getProperty().getIRI());
+        writeObject(axiom.getSubject());
+        writeObject(axiom.getValue());
+    }
+
+    @Override
+    public void visit(OWLAnnotationPropertyDomainAxiom axiom) {
+        writeAxiom(ANNOTATION_PROPERTY_DOMAIN, axiom);
+        writeIRI(axiom.getProperty().getIRI());
+        writeIRI(axiom.getDomain());
+    }
+
+    @Override
+    public void visit(OWLAnnotationPropertyRangeAxiom axiom) {
+        writeAxiom(ANNOTATION_PROPERTY_RANGE, axiom);
+        writeIRI(axiom.getProperty().getIRI());
+        writeIRI(axiom.getRange());
+    }
+
+    @Override
+    public void visit(OWLSubAnnotationPropertyOfAxiom axiom) {
+        writeAxiom(SUB_ANNOTATION_PROPERTY_OF, axiom);
+        writeIRI(axiom.getSubProperty().getIRI());
+        writeIRI(axiom.getSuperProperty().getIRI());
+    }
+
+    @Override
+    public void visit(SWRLRule rule) {
+        writeAxiom(SWRL_RULE, rule);
+        writeObjects(rule.getBody());
+        writeObjects(rule.getHead());
+    }
+
+    // rules
+    @Override
+    public void visit(SWRLClassAtom node) {
+        body.write(SWRL_CLASS_ATOM);
+        writeObject(node.getPredicate());
+        writeObject(node.getArgument());
+    }
+
+    @Override
+    public void visit(SWRLDataRangeAtom node) {
+        body.write(SWRL_DATA_RANGE_ATOM);
+        writeObject(node.getPredicate());
+        writeObject(node.getArgument());
+    }
+
+    @Override
+    public void visit(SWRLObjectPropertyAtom node) {
+        body.write(SWRL_OBJECT_PROPERTY_ATOM);
+        writeObject(node.getPredicate());
+        writeObject(node.getFirstArgument());
+        writeObject(node.getSecondArgument());
+    }
+
+    @Override
+    public void visit(SWRLDataPropertyAtom node) {
+        body.write(SWRL_DATA_PROPERTY_ATOM);
+        writeObject(node.getPredicate());
+        writeObject(node.getFirstArgument());
+        writeObject(node.getSecondArgument());
+    }
+
+    @Override
+    public void visit(SWRLBuiltInAtom node) {
+        body.write(SWRL_BUILT_IN_ATOM);
+        writeIRI(node.getPredicate());
+        writeObjects(node.getArguments());
+    }
+
+    @Override
+    public void visit(SWRLSameIndividualAtom node) {
+        body.write(SWRL_SAME_INDIVIDUAL_ATOM);
+        writeObject(node.getFirstArgument());
+        writeObject(node.getSecondArgument());
+    }
+
+    @Override
+    public void visit(SWRLDifferentIndividualsAtom node) {
+        body.write(SWRL_DIFFERENT_INDIVIDUALS_ATOM);
+        writeObject(node.getFirstArgument());
+        writeObject(node.getSecondArgument());
+    }
+
+    @Override
+    public void visit(SWRLVariable node) {
+        body.write(SWRL_VARIABLE);
+        writeIRI(node.getIRI());
+    }
+
+    @Override
+    public void visit(SWRLIndividualArgument node) {
+        body.write(SWRL_INDIVIDUAL_ARGUMENT);
+        writeObject(node.getIndividual());
+    }
+
+    @Override
+    public void visit(SWRLLiteralArgument node) {
+        body.write(SWRL_LITERAL_ARGUMENT);
+        writeLiteral(node.getLiteral());
+    }
+
+    /** A growable byte array with varint and string writers. */
+    static final class Buffer {
+        byte[] bytes = new byte[4096];
+        int length = 0;
+
+        void reset() {
+            length = 0;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                byte[] grown = new byte[Math.max(bytes.length * 2, length + extra)];
+                System.arraycopy(bytes, 0, grown, 0, length);
+                bytes = grown;
+            }
+        }
+
+        void write(int b) {
+            ensure(1);
+            bytes[length++] = (byte) b;
+        }
+
+        void write(byte[] b, int offset, int count) {
+            ensure(count);
+            System.arraycopy(b, offset, bytes, length, count);
+            length += count;
+        }
+
+        void writeVarint(int value) {
+            ensure(5);
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                bytes[length++] = (byte) (v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            bytes[length++] = (byte) v;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            bytes[length++] = (byte) (value >>> 24);
+            bytes[length++] = (byte) (value >>> 16);
+            bytes[length++] = (byte) (value >>> 8);
+            bytes[length++] = (byte) value;
+        }
+
+        void writeString(String s) {
+            byte[] b = s.getBytes(UTF8);
+            writeVarint(b.length);
+            write(b, 0, b.length);
+        }
+    }
+}
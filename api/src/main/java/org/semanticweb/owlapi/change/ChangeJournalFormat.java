@@ -0,0 +1,119 @@
+package org.semanticweb.owlapi.change;
+
+/** Constants of the binary encoding used by {@link OWLOntologyChangeJournal}.
+ * A journal starts with {@link #MAGIC} and {@link #VERSION}, followed by
+ * frames; each frame holds one transaction and is written as the varint
+ * length of its payload, the payload and the CRC32 of the payload. A payload
+ * starts with the IRIs that the frame adds to the dictionary, followed by the
+ * change records of the transaction. Entities are written as a type tag and
+ * the dictionary id of their IRI; other objects as a tag and their
+ * components.
+ *
+ * @since 3.4.6 */
+final class ChangeJournalFormat {
+    static final byte[] MAGIC = { 'O', 'W', 'L', 'J' };
+    static final int VERSION = 1;
+    // change kinds
+    static final int ADD_AXIOM = 0;
+    static final int REMOVE_AXIOM = 1;
+    static final int ADD_ONTOLOGY_ANNOTATION = 2;
+    static final int REMOVE_ONTOLOGY_ANNOTATION = 3;
+    static final int SET_ONTOLOGY_ID = 4;
+    static final int ADD_IMPORT = 5;
+    static final int REMOVE_IMPORT = 6;
+    // ontology id flags, written after the change kind
+    static final int HAS_ONTOLOGY_IRI = 1;
+    static final int HAS_VERSION_IRI = 2;
+    static final int SAME_ONTOLOGY = 4;
+    // entities; the order matches EntityType.values()
+    static final int CLASS = 1;
+    static final int OBJECT_PROPERTY = 2;
+    static final int DATA_PROPERTY = 3;
+    static final int ANNOTATION_PROPERTY = 4;
+    static final int NAMED_INDIVIDUAL = 5;
+    static final int DATATYPE = 6;
+    // other primaries
+    static final int IRI_VALUE = 7;
+    static final int ANONYMOUS_INDIVIDUAL = 8;
+    static final int LITERAL = 9;
+    static final int OBJECT_INVERSE_OF = 10;
+    // class expressions
+    static final int OBJECT_INTERSECTION_OF = 11;
+    static final int OBJECT_UNION_OF = 12;
+    static final int OBJECT_COMPLEMENT_OF = 13;
+    static final int OBJECT_ONE_OF = 14;
+    static final int OBJECT_SOME_VALUES_FROM = 15;
+    static final int OBJECT_ALL_VALUES_FROM = 16;
+    static final int OBJECT_HAS_VALUE = 17;
+    static final int OBJECT_MIN_CARDINALITY = 18;
+    static final int OBJECT_EXACT_CARDINALITY = 19;
+    static final int OBJECT_MAX_CARDINALITY = 20;
+    static final int OBJECT_HAS_SELF = 21;
+    static final int DATA_SOME_VALUES_FROM = 22;
+    static final int DATA_ALL_VALUES_FROM = 23;
+    static final int DATA_HAS_VALUE = 24;
+    static final int DATA_MIN_CARDINALITY = 25;
+    static final int DATA_EXACT_CARDINALITY = 26;
+    static final int DATA_MAX_CARDINALITY = 27;
+    // data ranges
+    static final int DATA_ONE_OF = 28;
+    static final int DATA_COMPLEMENT_OF = 29;
+    static final int DATA_INTERSECTION_OF = 30;
+    static final int DATA_UNION_OF = 31;
+    static final int DATATYPE_RESTRICTION = 32;
+    static final int FACET_RESTRICTION = 33;
+    static final int ANNOTATION = 34;
+    // axioms
+    static final int DECLARATION = 40;
+    static final int SUB_CLASS_OF = 41;
+    static final int EQUIVALENT_CLASSES = 42;
+    static final int DISJOINT_CLASSES = 43;
+    static final int DISJOINT_UNION = 44;
+    static final int SUB_OBJECT_PROPERTY_OF = 45;
+    static final int SUB_PROPERTY_CHAIN_OF = 46;
+    static final int EQUIVALENT_OBJECT_PROPERTIES = 47;
+    static final int DISJOINT_OBJECT_PROPERTIES = 48;
+    static final int INVERSE_OBJECT_PROPERTIES = 49;
+    static final int OBJECT_PROPERTY_DOMAIN = 50;
+    static final int OBJECT_PROPERTY_RANGE = 51;
+    static final int FUNCTIONAL_OBJECT_PROPERTY = 52;
+    static final int INVERSE_FUNCTIONAL_OBJECT_PROPERTY = 53;
+    static final int REFLEXIVE_OBJECT_PROPERTY = 54;
+    static final int IRREFLEXIVE_OBJECT_PROPERTY = 55;
+    static final int SYMMETRIC_OBJECT_PROPERTY = 56;
+    static final int ASYMMETRIC_OBJECT_PROPERTY = 57;
+    static final int TRANSITIVE_OBJECT_PROPERTY = 58;
+    static final int SUB_DATA_PROPERTY_OF = 59;
+    static final int EQUIVALENT_DATA_PROPERTIES = 60;
+    static final int DISJOINT_DATA_PROPERTIES = 61;
+    static final int DATA_PROPERTY_DOMAIN = 62;
+    static final int DATA_PROPERTY_RANGE = 63;
+    static final int FUNCTIONAL_DATA_PROPERTY = 64;
+    static final int HAS_KEY = 65;
+    static final int DATATYPE_DEFINITION = 66;
+    static final int SAME_INDIVIDUAL = 67;
+    static final int DIFFERENT_INDIVIDUALS = 68;
+    static final int CLASS_ASSERTION = 69;
+    static final int OBJECT_PROPERTY_ASSERTION = 70;
+    static final int NEGATIVE_OBJECT_PROPERTY_ASSERTION = 71;
+    static final int DATA_PROPERTY_ASSERTION = 72;
+    static final int NEGATIVE_DATA_PROPERTY_ASSERTION = 73;
+    static final int ANNOTATION_ASSERTION = 74;
+    static final int ANNOTATION_PROPERTY_DOMAIN = 75;
+    static final int ANNOTATION_PROPERTY_RANGE = 76;
+    static final int SUB_ANNOTATION_PROPERTY_OF = 77;
+    static final int SWRL_RULE = 78;
+    // rule atoms and arguments
+    static final int SWRL_CLASS_ATOM = 90;
+    static final int SWRL_DATA_RANGE_ATOM = 91;
+    static final int SWRL_OBJECT_PROPERTY_ATOM = 92;
+    static final int SWRL_DATA_PROPERTY_ATOM = 93;
+    static final int SWRL_BUILT_IN_ATOM = 94;
+    static final int SWRL_SAME_INDIVIDUAL_ATOM = 95;
+    static final int SWRL_DIFFERENT_INDIVIDUALS_ATOM = 96;
+    static final int SWRL_VARIABLE = 97;
+    static final int SWRL_INDIVIDUAL_ARGUMENT = 98;
+    static final int SWRL_LITERAL_ARGUMENT = 99;
+
+    private ChangeJournalFormat() {}
+}
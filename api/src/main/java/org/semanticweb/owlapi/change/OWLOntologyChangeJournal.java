@@ -0,0 +1,569 @@
+package org.semanticweb.owlapi.change;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.SetOntologyID;
+
+/** A write-ahead journal of ontology changes. Each call to
+ * {@link #append(List)} or {@link #appendChanges(List)} is one transaction,
+ * stored as a frame of {@link OWLOntologyChangeRecord}s in a compact binary
+ * encoding: IRIs are written once, in a dictionary that grows with the
+ * journal, and referred to by varint ids afterwards; see
+ * {@link ChangeJournalFormat}. Transactions appended concurrently are written
+ * together by a single write and a single {@code force} of the file (group
+ * commit); when the journal forces on commit, a transaction is durable when
+ * the append returns.<br>
+ * On startup, {@link #replay(OWLOntologyManager)} applies the journaled
+ * changes to a manager in large batches. After the ontologies have been saved,
+ * {@link #truncate()} discards the journal. A frame that was only partially
+ * written, for example because of a crash, is ignored and removed when the
+ * journal is opened.<br>
+ * The journal can be registered as a change listener, so that every change
+ * applied by a manager is journaled. Only changes to named ontologies can be
+ * journaled.
+ *
+ * @since 3.4.6 */
+public class OWLOntologyChangeJournal implements OWLOntologyChangeListener {
+    private static final Logger logger = Logger.getLogger(OWLOntologyChangeJournal.class
+            .getName());
+    private static final int HEADER_LENGTH = ChangeJournalFormat.MAGIC.length + 1;
+    /** number of changes applied at once during replay */
+    private static final int REPLAY_BATCH_SIZE = 10000;
+    private final File file;
+    private final OWLDataFactory dataFactory;
+    private final boolean forceOnCommit;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private final ChangeJournalEncoder encoder = new ChangeJournalEncoder();
+    /** frames encoded but not yet written */
+    private ChangeJournalEncoder.Buffer pending = new ChangeJournalEncoder.Buffer();
+    private ChangeJournalEncoder.Buffer spare = new ChangeJournalEncoder.Buffer();
+    // all guarded by this
+    private long length;
+    private long appended = 0;
+    private long written = 0;
+    private boolean writing = false;
+    private boolean closed = false;
+    private IOException failure;
+    private long writes = 0;
+    private long forces = 0;
+    /** the thread replaying the journal; changes it applies are not journaled */
+    private volatile Thread replayingThread;
+
+    /** Opens a journal that forces every commit to disk.
+     *
+     * @param file
+     *            the journal file; created if it does not exist
+     * @param dataFactory
+     *            the data factory used to read the existing journal
+     * @throws IOException
+     *             if the file cannot be opened or is not a journal */
+    public OWLOntologyChangeJournal(File file, OWLDataFactory dataFactory)
+            throws IOException {
+        this(file, dataFactory, true);
+    }
+
+    /** @param file
+     *            the journal file; created if it does not exist
+     * @param dataFactory
+     *            the data factory used to read the existing journal
+     * @param forceOnCommit
+     *            true if appends should wait for the journal to be forced to
+     *            disk; if false, transactions are written to the file on
+     *            append, and forced only by {@link #sync()} and
+     *            {@link #close()}
+     * @throws IOException
+     *             if the file cannot be opened or is not a journal */
+    public OWLOntologyChangeJournal(File file, OWLDataFactory dataFactory,
+            boolean forceOnCommit) throws IOException {
+        this.file = file;
+        this.dataFactory = dataFactory;
+        this.forceOnCommit = forceOnCommit;
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        channel = randomAccessFile.getChannel();
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                header.put(ChangeJournalFormat.MAGIC).put(
+                        (byte) ChangeJournalFormat.VERSION);
+                header.flip();
+                write(header, 0);
+                channel.force(true);
+                length = HEADER_LENGTH;
+            } else {
+                length = recover();
+            }
+        } catch (IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /** Rebuilds the dictionary from the existing frames and removes a
+     * partially written last frame.
+     *
+     * @return the length of the valid frames */
+    private long recover() throws IOException {
+        FrameReader reader = new FrameReader(channel.size());
+        try {
+            ChangeJournalDecoder decoder = new ChangeJournalDecoder(dataFactory);
+            while (reader.next()) {
+                decoder.readDictionary(reader.payload, reader.length);
+            }
+            for (IRI iri : decoder.getDictionary()) {
+                encoder.addDictionaryEntry(iri);
+            }
+        } finally {
+            reader.close();
+        }
+        if (reader.offset < channel.size()) {
+            logger.warning("Discarding " + (channel.size() - reader.offset)
+                    + " bytes of incomplete transactions at the end of " + file);
+            channel.truncate(reader.offset);
+            channel.force(true);
+        }
+        return reader.offset;
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        long p = position;
+        while (buffer.hasRemaining()) {
+            p += channel.write(buffer, p);
+        }
+    }
+
+    /** Appends a transaction. If the journal forces on commit, the transaction
+     * is on disk when this method returns.
+     *
+     * @param records
+     *            the records of the transaction
+     * @throws IOException
+     *             if the journal cannot be written */
+    public void append(List<OWLOntologyChangeRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        long transaction;
+        synchronized (this) {
+            checkOpen();
+            encoder.beginFrame();
+            try {
+                for (OWLOntologyChangeRecord record : records) {
+                    encoder.writeRecord(record.getOntologyID(), record.getData());
+                }
+            } catch (RuntimeException e) {
+                encoder.abortFrame();
+                throw e;
+            }
+            encoder.endFrame(pending);
+            transaction = ++appended;
+        }
+        commit(transaction);
+    }
+
+    /** Appends a transaction made of the specified changes.
+     *
+     * @param changes
+     *            the changes
+     * @throws IOException
+     *             if the journal cannot be written */
+    public void appendChanges(List<? extends OWLOntologyChange> changes)
+            throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long transaction;
+        synchronized (this) {
+            checkOpen();
+            encoder.beginFrame();
+            try {
+                // the ids of renamed ontologies are tracked through the list,
+                // whether or not the changes have been applied yet
+                Map<OWLOntology, OWLOntologyID> ids = new IdentityHashMap<OWLOntology, OWLOntologyID>();
+                for (OWLOntologyChange change : changes) {
+                    if (change instanceof SetOntologyID
+                            && !ids.containsKey(change.getOntology())) {
+                        ids.put(change.getOntology(),
+                                ((SetOntologyID) change).getOriginalOntologyID());
+                    }
+                }
+                for (OWLOntologyChange change : changes) {
+                    OWLOntologyID id = ids.get(change.getOntology());
+                    if (id == null) {
+                        id = change.getOntology().getOntologyID();
+                    }
+                    encoder.writeRecord(id, change.getChangeData());
+                    if (change instanceof SetOntologyID) {
+                        ids.put(change.getOntology(),
+                                ((SetOntologyID) change).getNewOntologyID());
+                    }
+                }
+            } catch (RuntimeException e) {
+                encoder.abortFrame();
+                throw e;
+            }
+            encoder.endFrame(pending);
+            transaction = ++appended;
+        }
+        commit(transaction);
+    }
+
+    /** Journals the changes applied by a manager; the changes applied by
+     * {@link #replay(OWLOntologyManager)} are ignored. */
+    @Override
+    public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        if (Thread.currentThread() == replayingThread) {
+            return;
+        }
+        try {
+            appendChanges(changes);
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    /** Waits until the transaction has been written. The first thread to find
+     * no write in progress writes all the pending transactions. */
+    private void commit(long transaction) throws IOException {
+        ChangeJournalEncoder.Buffer toWrite;
+        long upTo;
+        long position;
+        synchronized (this) {
+            while (true) {
+                if (failure != null) {
+                    throw new IOException("Journal write failed: " + file, failure);
+                }
+                if (written >= transaction) {
+                    return;
+                }
+                if (!writing) {
+                    break;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for commit");
+                }
+            }
+            writing = true;
+            toWrite = pending;
+            pending = spare;
+            spare = null;
+            upTo = appended;
+            position = length;
+        }
+        IOException error = null;
+        try {
+            write(ByteBuffer.wrap(toWrite.bytes, 0, toWrite.length), position);
+            if (forceOnCommit) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+        synchronized (this) {
+            writing = false;
+            if (error == null) {
+                length += toWrite.length;
+                written = upTo;
+                writes++;
+                if (forceOnCommit) {
+                    forces++;
+                }
+            } else {
+                // the dictionary no longer matches the file
+                failure = error;
+            }
+            toWrite.reset();
+            spare = toWrite;
+            notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Journal closed: " + file);
+        }
+        if (failure != null) {
+            throw new IOException("Journal write failed: " + file, failure);
+        }
+    }
+
+    /** Writes the pending transactions and forces the journal to disk.
+     *
+     * @throws IOException
+     *             if the journal cannot be written */
+    public void sync() throws IOException {
+        long transaction;
+        synchronized (this) {
+            checkOpen();
+            transaction = appended;
+        }
+        commit(transaction);
+        channel.force(false);
+        synchronized (this) {
+            forces++;
+        }
+    }
+
+    /** Discards all the transactions in the journal, typically after the
+     * journaled ontologies have been saved.
+     *
+     * @throws IOException
+     *             if the journal cannot be written */
+    public void truncate() throws IOException {
+        while (true) {
+            long transaction;
+            synchronized (this) {
+                checkOpen();
+                if (!writing && written == appended) {
+                    encoder.clearDictionary();
+                    channel.truncate(HEADER_LENGTH);
+                    channel.force(true);
+                    length = HEADER_LENGTH;
+                    return;
+                }
+                transaction = appended;
+            }
+            // transactions appended before the truncation are written first
+            commit(transaction);
+        }
+    }
+
+    /** Writes the pending transactions, forces the journal to disk and closes
+     * the file.
+     *
+     * @throws IOException
+     *             if the journal cannot be written */
+    public void close() throws IOException {
+        boolean failed;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            failed = failure != null;
+        }
+        try {
+            if (!failed) {
+                sync();
+            }
+        } finally {
+            synchronized (this) {
+                closed = true;
+                randomAccessFile.close();
+            }
+        }
+    }
+
+    /** @return the number of transactions appended */
+    public synchronized long getTransactionCount() {
+        return appended;
+    }
+
+    /** @return the number of writes to the file; lower than the number of
+     *         transactions when transactions are committed together */
+    public synchronized long getWriteCount() {
+        return writes;
+    }
+
+    /** @return the number of times the file has been forced to disk */
+    public synchronized long getForceCount() {
+        return forces;
+    }
+
+    /** @return the length of the journal file, in bytes, including the
+     *         transactions not written yet */
+    public synchronized long getLength() {
+        return length + pending.length;
+    }
+
+    /** Reads the records of all the transactions written so far.
+     *
+     * @return the records, in the order in which they were appended
+     * @throws IOException
+     *             if the journal cannot be read */
+    public List<OWLOntologyChangeRecord> readRecords() throws IOException {
+        final List<OWLOntologyChangeRecord> records = new ArrayList<OWLOntologyChangeRecord>();
+        FrameReader reader = openReader();
+        try {
+            ChangeJournalDecoder decoder = new ChangeJournalDecoder(dataFactory);
+            while (reader.next()) {
+                decoder.readFrame(reader.payload, reader.length, records);
+            }
+        } finally {
+            reader.close();
+        }
+        return records;
+    }
+
+    /** Applies the journaled changes to the ontologies in a manager, in batches
+     * of up to 10000 changes. Ontologies that the manager does not contain are
+     * created. Changes applied by the replay are not journaled again if the
+     * journal listens to the manager.
+     *
+     * @param manager
+     *            the manager to apply the changes to
+     * @return the number of changes applied
+     * @throws IOException
+     *             if the journal cannot be read
+     * @throws OWLOntologyCreationException
+     *             if a journaled ontology cannot be created */
+    public int replay(OWLOntologyManager manager) throws IOException,
+            OWLOntologyCreationException {
+        int count = 0;
+        FrameReader reader = openReader();
+        replayingThread = Thread.currentThread();
+        try {
+            ChangeJournalDecoder decoder = new ChangeJournalDecoder(
+                    manager.getOWLDataFactory());
+            List<OWLOntologyChangeRecord> records = new ArrayList<OWLOntologyChangeRecord>();
+            List<OWLOntologyChange> batch = new ArrayList<OWLOntologyChange>();
+            OWLOntologyID lastID = null;
+            OWLOntology ontology = null;
+            while (reader.next()) {
+                records.clear();
+                decoder.readFrame(reader.payload, reader.length, records);
+                for (OWLOntologyChangeRecord record : records) {
+                    if (!record.getOntologyID().equals(lastID)) {
+                        lastID = record.getOntologyID();
+                        ontology = manager.getOntology(lastID);
+                        if (ontology == null) {
+                            ontology = manager.createOntology(lastID);
+                        }
+                    }
+                    batch.add(record.getData().createOntologyChange(ontology));
+                    count++;
+                    // later records refer to the ontology by its new id
+                    boolean renamed = record.getData() instanceof SetOntologyIDData;
+                    if (renamed || batch.size() >= REPLAY_BATCH_SIZE) {
+                        manager.applyChanges(batch);
+                        batch.clear();
+                    }
+                    if (renamed) {
+                        lastID = null;
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                manager.applyChanges(batch);
+            }
+        } finally {
+            replayingThread = null;
+            reader.close();
+        }
+        return count;
+    }
+
+    private FrameReader openReader() throws IOException {
+        long limit;
+        synchronized (this) {
+            checkOpen();
+            limit = length;
+        }
+        return new FrameReader(limit);
+    }
+
+    /** Reads the frames of the journal file up to a limit, stopping at the
+     * first incomplete or corrupt frame. */
+    private class FrameReader {
+        private final DataInputStream in;
+        private final long limit;
+        private final CRC32 crc = new CRC32();
+        byte[] payload = new byte[4096];
+        int length;
+        long offset;
+
+        FrameReader(long limit) throws IOException {
+            this.limit = limit;
+            InputStream stream = new FileInputStream(file);
+            in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+            byte[] header = new byte[HEADER_LENGTH];
+            try {
+                in.readFully(header);
+            } catch (EOFException e) {
+                in.close();
+                throw new IOException("Not an ontology change journal: " + file);
+            }
+            if (!Arrays.equals(Arrays.copyOf(header, ChangeJournalFormat.MAGIC.length),
+                    ChangeJournalFormat.MAGIC)
+                    || header[ChangeJournalFormat.MAGIC.length] != ChangeJournalFormat.VERSION) {
+                in.close();
+                throw new IOException("Not an ontology change journal: " + file);
+            }
+            offset = HEADER_LENGTH;
+        }
+
+        boolean next() throws IOException {
+            long position = offset;
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (position >= limit || shift > 28) {
+                    return false;
+                }
+                b = in.read();
+                if (b < 0) {
+                    return false;
+                }
+                position++;
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (value < 0 || position + value + 4 > limit) {
+                return false;
+            }
+            if (value > payload.length) {
+                payload = new byte[Math.max(value, payload.length * 2)];
+            }
+            try {
+                in.readFully(payload, 0, value);
+                int checksum = in.readInt();
+                crc.reset();
+                crc.update(payload, 0, value);
+                if ((int) crc.getValue() != checksum) {
+                    return false;
+                }
+            } catch (EOFException e) {
+                return false;
+            }
+            length = value;
+            offset = position + value + 4;
+            return true;
+        }
+
+        void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -53,6 +53,28 @@ public class OWLFunctionalSyntaxOntologyFormat extends PrefixOWLOntologyFormat {
 
 	private static final long serialVersionUID = 30402L;
 
+    /** parameter key for the number of threads used to render an ontology */
+    public static final String RENDERING_THREADS = "renderingThreads";
+
+    /** @return the number of threads used to render an ontology in this
+     *         format; zero or one means the ontology is rendered on the calling
+     *         thread
+     * @since 3.4.6 */
+    public int getRenderingThreads() {
+        return (Integer) getParameter(RENDERING_THREADS, 0);
+    }
+
+    /** Rendering with more than one thread produces the same output as
+     * rendering on the calling thread.
+     * 
+     * @param threads
+     *            the number of threads used to render an ontology in this
+     *            format
+     * @since 3.4.6 */
+    public void setRenderingThreads(int threads) {
+        setParameter(RENDERING_THREADS, threads);
+    }
+
     @Override
 	public String toString() {
         return "OWL Functional Syntax";
@@ -0,0 +1,50 @@
+package org.semanticweb.owlapi.io;
+
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+/** A callback for {@link OWLStreamingParser}s. Parsers push the components of
+ * an ontology document to the handler as soon as they are recognised, instead
+ * of adding them to an ontology; this allows documents to be filtered,
+ * counted or transformed without keeping all of their axioms in memory.
+ * 
+ * @since 3.4.6 */
+public interface OWLParserStreamHandler {
+    /** @param prefixName
+     *            the prefix name, e.g., <code>owl:</code>
+     * @param prefix
+     *            the namespace the prefix name stands for */
+    void handlePrefix(String prefixName, String prefix);
+
+    /** @param id
+     *            the id of the ontology being parsed. Some parsers might call
+     *            this method more than once, e.g., when the version IRI is
+     *            found after the ontology IRI; the last value received is the
+     *            one to use */
+    void handleOntologyID(OWLOntologyID id);
+
+    /** @param declaration
+     *            an imports declaration of the ontology being parsed */
+    void handleImportsDeclaration(OWLImportsDeclaration declaration);
+
+    /** @param annotation
+     *            an annotation on the ontology being parsed */
+    void handleOntologyAnnotation(OWLAnnotation annotation);
+
+    /** @param axiom
+     *            an axiom parsed from the document */
+    void handleAxiom(OWLAxiom axiom);
+
+    /** Called when an axiom previously passed to {@link #handleAxiom(OWLAxiom)}
+     * turns out not to be part of the ontology. This only happens with RDF
+     * based syntaxes, where the triple of an annotated axiom can be translated
+     * before its annotations are found; the annotated axiom is passed to
+     * {@link #handleAxiom(OWLAxiom)} and the axiom without annotations is
+     * retracted.
+     * 
+     * @param axiom
+     *            the retracted axiom */
+    void handleAxiomRetraction(OWLAxiom axiom);
+}
@@ -0,0 +1,30 @@
+package org.semanticweb.owlapi.io;
+
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+/** An {@link OWLParserStreamHandler} that ignores everything; subclasses
+ * override the methods they are interested in.
+ * 
+ * @since 3.4.6 */
+public class OWLParserStreamHandlerAdapter implements OWLParserStreamHandler {
+    @Override
+    public void handlePrefix(String prefixName, String prefix) {}
+
+    @Override
+    public void handleOntologyID(OWLOntologyID id) {}
+
+    @Override
+    public void handleImportsDeclaration(OWLImportsDeclaration declaration) {}
+
+    @Override
+    public void handleOntologyAnnotation(OWLAnnotation annotation) {}
+
+    @Override
+    public void handleAxiom(OWLAxiom axiom) {}
+
+    @Override
+    public void handleAxiomRetraction(OWLAxiom axiom) {}
+}
@@ -0,0 +1,46 @@
+package org.semanticweb.owlapi.io;
+
+import java.io.IOException;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyFormat;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+
+/** An {@link OWLParser} that can push the content of an ontology document to
+ * an {@link OWLParserStreamHandler} rather than adding it to an ontology.
+ * 
+ * @since 3.4.6 */
+public interface OWLStreamingParser extends OWLParser {
+    /** Parses an ontology document, pushing its content to the handler. The
+     * header of the document (ontology id, imports declarations and ontology
+     * annotations) is applied to the ontology as well as passed to the
+     * handler, so that the ontology can be used to resolve imports; axioms are
+     * not added to the ontology and are only passed to the handler. Imports
+     * are loaded through the manager of the ontology as usual; RDF based
+     * parsers need the imports closure to interpret the triples correctly,
+     * other parsers only need it if the imported ontologies are required by
+     * the caller. Add the imports to the ignored imports of the configuration
+     * to avoid loading them.
+     * 
+     * @param documentSource
+     *            the document to parse
+     * @param ontology
+     *            an ontology, usually empty, that receives the header of the
+     *            document
+     * @param handler
+     *            the handler that receives prefixes, header and axioms
+     * @param configuration
+     *            the loader configuration
+     * @return the format of the parsed document
+     * @throws OWLParserException
+     *             if the document cannot be parsed
+     * @throws IOException
+     *             if the document cannot be read
+     * @throws UnloadableImportException
+     *             if an import cannot be loaded */
+    OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource,
+            OWLOntology ontology, OWLParserStreamHandler handler,
+            OWLOntologyLoaderConfiguration configuration) throws OWLParserException,
+            IOException, UnloadableImportException;
+}
@@ -0,0 +1,375 @@
+package org.semanticweb.owlapi.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** A change broadcast strategy that delivers changes to listeners on a
+ * dedicated executor, so that slow listeners do not hold up the thread that
+ * applies the changes. Each listener has its own queue, and changes are
+ * delivered to a listener by one task at a time, in the order in which they
+ * were applied; changes that are broadcast while a listener is busy are
+ * coalesced into a single call of
+ * {@link OWLOntologyChangeListener#ontologiesChanged(List)}. The queues are
+ * bounded: when the changes queued for a listener exceed the capacity, the
+ * thread that applies changes waits for the listener to catch up. Exceptions
+ * thrown by listeners are logged and counted in the listener's
+ * {@link ListenerMetrics}.
+ * <p>
+ * A queue holds its listener only while changes are pending, so that the
+ * queues of listeners that have been removed are discarded. A deserialized
+ * strategy has no queues and runs listeners on a new thread pool.
+ *
+ * @since 3.4.6 */
+public class AsynchronousChangeBroadcastStrategy implements
+        OWLOntologyChangeBroadcastStrategy {
+    private static final long serialVersionUID = 30402L;
+    private static final Logger logger = Logger
+            .getLogger(AsynchronousChangeBroadcastStrategy.class.getName());
+    /** default maximum number of changes queued for a listener */
+    public static final int DEFAULT_QUEUE_CAPACITY = 100000;
+    /** true on the threads delivering changes; these never wait for a queue */
+    private static final ThreadLocal<Boolean> delivering = new ThreadLocal<Boolean>();
+    private transient ExecutorService executor;
+    private final int queueCapacity;
+    private transient Map<OWLOntologyChangeListener, ListenerQueue> queues = new WeakHashMap<OWLOntologyChangeListener, ListenerQueue>();
+
+    /** Creates a strategy with the default queue capacity and a thread pool of
+     * daemon threads. */
+    public AsynchronousChangeBroadcastStrategy() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /** @param queueCapacity
+     *            the maximum number of changes queued for a listener */
+    public AsynchronousChangeBroadcastStrategy(int queueCapacity) {
+        this(createExecutor(), queueCapacity);
+    }
+
+    private static ExecutorService createExecutor() {
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "OWLAPI change broadcast");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /** @param executor
+     *            the executor that runs the listeners; each listener occupies
+     *            at most one thread at a time
+     * @param queueCapacity
+     *            the maximum number of changes queued for a listener */
+    public AsynchronousChangeBroadcastStrategy(ExecutorService executor,
+            int queueCapacity) {
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void broadcastChanges(OWLOntologyChangeListener listener,
+            List<? extends OWLOntologyChange> changes) throws OWLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        getQueue(listener).enqueue(changes);
+    }
+
+    private synchronized ListenerQueue getQueue(OWLOntologyChangeListener listener) {
+        ListenerQueue queue = queues.get(listener);
+        if (queue == null) {
+            queue = new ListenerQueue(listener);
+            queues.put(listener, queue);
+        }
+        return queue;
+    }
+
+    private synchronized List<ListenerQueue> getQueues() {
+        return new ArrayList<ListenerQueue>(queues.values());
+    }
+
+    /** @param listener
+     *            the listener
+     * @return the metrics for the listener, or null if no changes have been
+     *         broadcast to the listener */
+    public ListenerMetrics getMetrics(OWLOntologyChangeListener listener) {
+        ListenerQueue queue;
+        synchronized (this) {
+            queue = queues.get(listener);
+        }
+        if (queue == null) {
+            return null;
+        }
+        return queue.getMetrics();
+    }
+
+    /** Waits until all changes broadcast so far have been delivered.
+     *
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting */
+    public void flush() throws InterruptedException {
+        for (ListenerQueue queue : getQueues()) {
+            queue.flush();
+        }
+    }
+
+    /** Delivers the changes already broadcast, then stops the executor.
+     *
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting */
+    public void shutdown() throws InterruptedException {
+        flush();
+        executor.shutdown();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        executor = createExecutor();
+        queues = new WeakHashMap<OWLOntologyChangeListener, ListenerQueue>();
+    }
+
+    /** A snapshot of the delivery statistics for a listener. Latencies are
+     * measured from the time changes are broadcast to the time the listener
+     * returns. */
+    public static class ListenerMetrics {
+        private final long broadcasts;
+        private final long deliveredBroadcasts;
+        private final long deliveries;
+        private final long deliveredChanges;
+        private final int queuedChanges;
+        private final long totalLatencyNanos;
+        private final long maxLatencyNanos;
+        private final long failures;
+
+        ListenerMetrics(long broadcasts, long deliveredBroadcasts, long deliveries,
+                long deliveredChanges, int queuedChanges, long totalLatencyNanos,
+                long maxLatencyNanos, long failures) {
+            this.broadcasts = broadcasts;
+            this.deliveredBroadcasts = deliveredBroadcasts;
+            this.deliveries = deliveries;
+            this.deliveredChanges = deliveredChanges;
+            this.queuedChanges = queuedChanges;
+            this.totalLatencyNanos = totalLatencyNanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+            this.failures = failures;
+        }
+
+        /** @return the number of change lists broadcast to the listener */
+        public long getBroadcasts() {
+            return broadcasts;
+        }
+
+        /** @return the number of calls to the listener; lower than the number
+         *         of broadcasts if changes were coalesced */
+        public long getDeliveries() {
+            return deliveries;
+        }
+
+        /** @return the number of changes delivered to the listener */
+        public long getDeliveredChanges() {
+            return deliveredChanges;
+        }
+
+        /** @return the number of changes broadcast but not yet delivered */
+        public int getQueuedChanges() {
+            return queuedChanges;
+        }
+
+        /** @return the average latency of a broadcast, in nanoseconds */
+        public long getAverageLatencyNanos() {
+            return deliveredBroadcasts == 0 ? 0 : totalLatencyNanos
+                    / deliveredBroadcasts;
+        }
+
+        /** @return the maximum latency of a broadcast, in nanoseconds */
+        public long getMaxLatencyNanos() {
+            return maxLatencyNanos;
+        }
+
+        /** @return the number of calls in which the listener threw an
+         *         exception */
+        public long getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return "broadcasts: " + broadcasts + " deliveries: " + deliveries
+                    + " changes: " + deliveredChanges + " queued: " + queuedChanges
+                    + " average latency (ns): " + getAverageLatencyNanos()
+                    + " max latency (ns): " + maxLatencyNanos + " failures: "
+                    + failures;
+        }
+    }
+
+    /** A list of changes and the time it was broadcast. */
+    private static class Batch {
+        final List<? extends OWLOntologyChange> changes;
+        final long time;
+
+        Batch(List<? extends OWLOntologyChange> changes, long time) {
+            this.changes = changes;
+            this.time = time;
+        }
+    }
+
+    /** The changes waiting for one listener. All fields are guarded by the
+     * queue monitor; {@link #size} includes the changes being delivered. The
+     * listener is referenced strongly only while the queue is scheduled, since
+     * the queues are values of a weak map keyed by listener. */
+    private class ListenerQueue implements Runnable {
+        private final WeakReference<OWLOntologyChangeListener> listenerReference;
+        private OWLOntologyChangeListener listener;
+        private final LinkedList<Batch> batches = new LinkedList<Batch>();
+        private int size = 0;
+        private boolean scheduled = false;
+        private long broadcasts = 0;
+        private long deliveredBroadcasts = 0;
+        private long deliveries = 0;
+        private long deliveredChanges = 0;
+        private long totalLatencyNanos = 0;
+        private long maxLatencyNanos = 0;
+        private long failures = 0;
+
+        ListenerQueue(OWLOntologyChangeListener listener) {
+            listenerReference = new WeakReference<OWLOntologyChangeListener>(listener);
+        }
+
+        void enqueue(List<? extends OWLOntologyChange> changes) {
+            boolean execute;
+            synchronized (this) {
+                // a listener applying changes must not wait for itself
+                boolean interrupted = false;
+                while (size > 0 && size + changes.size() > queueCapacity
+                        && delivering.get() == null && !interrupted) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                batches.add(new Batch(new ArrayList<OWLOntologyChange>(changes), System
+                        .nanoTime()));
+                size += changes.size();
+                broadcasts++;
+                execute = !scheduled;
+                scheduled = true;
+                listener = listenerReference.get();
+            }
+            if (execute) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // the executor has been shut down; deliver on this thread
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Boolean previous = delivering.get();
+            delivering.set(Boolean.TRUE);
+            boolean idle = false;
+            try {
+                List<Batch> taken = take();
+                while (taken != null) {
+                    deliver(taken);
+                    taken = take();
+                }
+                idle = true;
+            } finally {
+                if (!idle) {
+                    // a listener threw an error; the next broadcast reschedules
+                    unschedule();
+                }
+                if (previous == null) {
+                    delivering.remove();
+                }
+            }
+        }
+
+        private synchronized List<Batch> take() {
+            if (batches.isEmpty()) {
+                unschedule();
+                return null;
+            }
+            List<Batch> taken = new ArrayList<Batch>(batches);
+            batches.clear();
+            return taken;
+        }
+
+        private void deliver(List<Batch> taken) {
+            OWLOntologyChangeListener target;
+            synchronized (this) {
+                target = listener;
+            }
+            List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
+            for (Batch batch : taken) {
+                changes.addAll(batch.changes);
+            }
+            boolean failed = true;
+            try {
+                target.ontologiesChanged(changes);
+                failed = false;
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "BADLY BEHAVING LISTENER: " + e, e);
+            } finally {
+                // errors propagate, but the changes are accounted for
+                delivered(taken, changes.size(), failed);
+            }
+        }
+
+        private synchronized void delivered(List<Batch> taken, int changes,
+                boolean failed) {
+            long now = System.nanoTime();
+            for (Batch batch : taken) {
+                long latency = now - batch.time;
+                totalLatencyNanos += latency;
+                maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            }
+            deliveredBroadcasts += taken.size();
+            deliveries++;
+            deliveredChanges += changes;
+            if (failed) {
+                failures++;
+            }
+            size -= changes;
+            notifyAll();
+        }
+
+        private synchronized void unschedule() {
+            scheduled = false;
+            listener = null;
+            notifyAll();
+        }
+
+        synchronized void flush() throws InterruptedException {
+            while (scheduled) {
+                wait();
+            }
+        }
+
+        synchronized ListenerMetrics getMetrics() {
+            return new ListenerMetrics(broadcasts, deliveredBroadcasts, deliveries,
+                    deliveredChanges, size, totalLatencyNanos, maxLatencyNanos, failures);
+        }
+    }
+}
@@ -91,6 +91,13 @@ public class AxiomType<C extends OWLAxiom> implements Serializable {
         return new AxiomType<O>(i, name, owl2Axiom, nonSyntacticOWL2Axiom, isLogical);
     }
 
+    /** axiom types are compared by identity, so deserialization must return the
+     * constants */
+    private Object readResolve() {
+        AxiomType<?> type = NAME_TYPE_MAP.get(name);
+        return type == null ? this : type;
+    }
+
     @Override
     public String toString() {
         return name;
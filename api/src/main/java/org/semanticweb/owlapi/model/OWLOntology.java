@@ -1006,6 +1006,50 @@ public interface OWLOntology extends OWLObject {
      */
     Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxioms(OWLAnnotationSubject entity);
 
+    /**
+     * Gets the annotation assertions with the specified property and value, such as the entities labelled with a
+     * given literal. The index answering this is built on first use.
+     *
+     * @param property The property of the returned axioms.
+     * @param value The value of the returned axioms.
+     * @return The set of annotation assertion axioms. Note that this set will be a copy and will not be updated if the
+     *         ontology changes.
+     * @since 3.4.6
+     */
+    Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxioms(OWLAnnotationProperty property,
+            OWLAnnotationValue value);
+
+    /**
+     * Gets the annotation assertions with the specified property whose value is a literal with the specified lexical
+     * form, whatever its datatype or language. The index answering this is built on first use; the case insensitive
+     * keys are only built if a case insensitive lookup is made.
+     *
+     * @param property The property of the returned axioms.
+     * @param lexicalForm The lexical form of the values of the returned axioms.
+     * @param ignoreCase true if lexical forms should be compared ignoring case.
+     * @return The set of annotation assertion axioms. Note that this set will be a copy and will not be updated if the
+     *         ontology changes.
+     * @since 3.4.6
+     */
+    Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxiomsByLexicalForm(OWLAnnotationProperty property,
+            String lexicalForm, boolean ignoreCase);
+
+    /**
+     * Gets the annotation assertions with the specified property whose value is a literal with a lexical form that
+     * starts with the specified prefix, such as for autocompletion of labels. Axioms are collected in the order of
+     * their lexical forms until the limit is reached.
+     *
+     * @param property The property of the returned axioms.
+     * @param prefix The prefix of the lexical forms of the values of the returned axioms.
+     * @param ignoreCase true if lexical forms should be compared ignoring case.
+     * @param limit The maximum number of axioms to return.
+     * @return The set of annotation assertion axioms. Note that this set will be a copy and will not be updated if the
+     *         ontology changes.
+     * @since 3.4.6
+     */
+    Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxiomsByPrefix(OWLAnnotationProperty property,
+            String prefix, boolean ignoreCase, int limit);
+
     //////////////////////////////////////////////////////////////////////////////////////////////
     //
     // Classes
@@ -1389,6 +1433,30 @@ public interface OWLOntology extends OWLObject {
      */
     Set<OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(OWLIndividual individual);
 
+    /**
+     * Gets the {@link org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom}s contained in this ontology that
+     * have the specified literal as their value. The index answering this is built on first use.
+     * @param value The literal that the returned axioms have as their object.
+     * @return A set of {@link org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom}s such that each axiom in
+     * the set is of the form <code>DataPropertyAssertion(dp, i, value)</code>. The set that is
+     * returned is a copy - it will not be updated if the ontology changes.
+     * @since 3.4.6
+     */
+    Set<OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(OWLLiteral value);
+
+    /**
+     * Gets the {@link org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom}s contained in this ontology that
+     * have the specified property and value. The index answering this is built on first use.
+     * @param property The property of the returned axioms.
+     * @param value The literal that the returned axioms have as their object.
+     * @return A set of {@link org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom}s such that each axiom in
+     * the set is of the form <code>DataPropertyAssertion(property, i, value)</code>. The set that is
+     * returned is a copy - it will not be updated if the ontology changes.
+     * @since 3.4.6
+     */
+    Set<OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(
+            OWLDataPropertyExpression property, OWLLiteral value);
+
 
     /**
      * Gets the {@link org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom}s contained in this ontology that
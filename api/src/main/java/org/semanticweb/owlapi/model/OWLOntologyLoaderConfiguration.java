@@ -89,12 +89,20 @@ public final class OWLOntologyLoaderConfiguration {
      */
     public static final MissingOntologyHeaderStrategy DEFAULT_MISSING_ONTOLOGY_HEADER_STRATEGY = MissingOntologyHeaderStrategy.INCLUDE_GRAPH;
 
+    /**
+     * default triple spill threshold: triples are never spilled to disk
+     */
+    public static final int DEFAULT_TRIPLE_SPILL_THRESHOLD = 0;
+
     private boolean loadAnnotations = DEFAULT_LOAD_ANNOTATIONS_FLAG_VALUE;
 
     private MissingOntologyHeaderStrategy missingOntologyHeaderStrategy = DEFAULT_MISSING_ONTOLOGY_HEADER_STRATEGY;
 
     private boolean strict = false;
     private boolean followRedirects = true;
+    private int tripleSpillThreshold = DEFAULT_TRIPLE_SPILL_THRESHOLD;
+    private boolean prefetchDeclarations = false;
+    private int importsLoadingThreads = 0;
 
     private MissingImportHandlingStrategy missingImportHandlingStrategy = MissingImportHandlingStrategy.THROW_EXCEPTION;
 
@@ -279,6 +287,95 @@ public final class OWLOntologyLoaderConfiguration {
         return copy;
     }
 
+    /**
+     * RDF parsers keep the triples that cannot be translated while streaming until the end of the document. If more
+     * than this number of triples are kept, part of them are moved to a temporary file, trading loading time for
+     * lower memory usage. By default triples are never moved to disk.
+     * <p>
+     * The threshold applies separately to the unconsumed triples and to the rdf:first/rdf:rest list triples. Memory is
+     * not bounded as a whole: the parsers also keep, without limit, one entry per entity in the type indexes, the IRI
+     * dictionaries of the triple stores, and the translated objects, such as the translations of shared anonymous
+     * nodes and of class expressions.
+     * @return the number of triples kept in memory while parsing RDF documents, or zero (or a negative number) if
+     *         there is no limit
+     * @since 3.4.6
+     */
+    public int getTripleSpillThreshold() {
+        return tripleSpillThreshold;
+    }
+
+    /**
+     * @param threshold the number of triples kept in memory while parsing RDF documents; zero or a negative number
+     * means no limit. This bounds the triples held in memory, not the memory of the parser as a whole; see
+     * {@link #getTripleSpillThreshold()}
+     * @return copy of the configuration with the new threshold
+     * @since 3.4.6
+     */
+    public OWLOntologyLoaderConfiguration setTripleSpillThreshold(int threshold) {
+        // do not make copies if setting the same value
+        if (tripleSpillThreshold == threshold) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.tripleSpillThreshold = threshold;
+        return copy;
+    }
+
+    /**
+     * RDF parsers can only translate most triples at the end of the document, once the types of all IRIs are known.
+     * If declarations are prefetched, the document is read twice: the first pass only collects the explicitly typed
+     * entities, and the second pass translates property assertions between named resources as soon as they are
+     * parsed, so that they are not kept in memory until the end of the document. This requires a document source that
+     * can be read more than once.
+     * @return true if RDF parsers should prefetch declarations
+     * @since 3.4.6
+     */
+    public boolean isPrefetchDeclarations() {
+        return prefetchDeclarations;
+    }
+
+    /**
+     * @param b true if RDF parsers should prefetch declarations
+     * @return copy of the configuration with the new value
+     * @since 3.4.6
+     */
+    public OWLOntologyLoaderConfiguration setPrefetchDeclarations(boolean b) {
+        // do not make copies if setting the same value
+        if (prefetchDeclarations == b) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.prefetchDeclarations = b;
+        return copy;
+    }
+
+    /**
+     * Imported ontologies are normally loaded one at a time, while the importing ontology is being parsed. If a
+     * positive number of threads is set, the imported documents are fetched and parsed concurrently, and added to the
+     * manager before the importing ontology is complete.
+     * @return the number of threads used to load imported ontologies; zero means imports are loaded serially
+     * @since 3.4.6
+     */
+    public int getImportsLoadingThreads() {
+        return importsLoadingThreads;
+    }
+
+    /**
+     * @param threads the number of threads used to load imported ontologies; zero or a negative number means imports
+     * are loaded serially
+     * @return copy of the configuration with the new value
+     * @since 3.4.6
+     */
+    public OWLOntologyLoaderConfiguration setImportsLoadingThreads(int threads) {
+        // do not make copies if setting the same value
+        if (importsLoadingThreads == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.importsLoadingThreads = threads;
+        return copy;
+    }
+
     /**
      * @param iri iri to check
      * @return true if iri should be ignored
@@ -348,6 +445,9 @@ public final class OWLOntologyLoaderConfiguration {
         copy.missingImportHandlingStrategy = missingImportHandlingStrategy;
         copy.missingOntologyHeaderStrategy = missingOntologyHeaderStrategy;
         copy.followRedirects = followRedirects;
+        copy.tripleSpillThreshold = tripleSpillThreshold;
+        copy.prefetchDeclarations = prefetchDeclarations;
+        copy.importsLoadingThreads = importsLoadingThreads;
         return copy;
     }
 
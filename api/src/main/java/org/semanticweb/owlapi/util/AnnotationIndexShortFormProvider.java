@@ -0,0 +1,150 @@
+package org.semanticweb.owlapi.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologySetProvider;
+
+/** A bidirectional short form provider that maps entities to annotation values,
+ * such as labels and synonyms, using the annotation indexes kept by the
+ * ontologies instead of a separate map of all short forms. Nothing needs to be
+ * rebuilt when the ontologies change, and lookups by case insensitive key or by
+ * prefix are supported for autocompletion.<br>
+ * The short form of an entity is chosen as by
+ * {@link AnnotationValueShortFormProvider}; every literal value of one of the
+ * annotation properties maps back to the entities it annotates, so that an
+ * entity can be found by any of its synonyms.
+ *
+ * @since 3.4.6 */
+public class AnnotationIndexShortFormProvider implements BidirectionalShortFormProvider {
+    private final OWLOntologySetProvider ontologySetProvider;
+    private final List<OWLAnnotationProperty> annotationProperties;
+    private final AnnotationValueShortFormProvider shortFormProvider;
+
+    /** @param annotationProperties
+     *            the annotation properties whose values are short forms, in
+     *            order of preference
+     * @param ontologySetProvider
+     *            provides the ontologies to search */
+    public AnnotationIndexShortFormProvider(
+            List<OWLAnnotationProperty> annotationProperties,
+            OWLOntologySetProvider ontologySetProvider) {
+        this.annotationProperties = annotationProperties;
+        this.ontologySetProvider = ontologySetProvider;
+        shortFormProvider = new AnnotationValueShortFormProvider(annotationProperties,
+                Collections.<OWLAnnotationProperty, List<String>> emptyMap(),
+                ontologySetProvider);
+    }
+
+    @Override
+    public String getShortForm(OWLEntity entity) {
+        return shortFormProvider.getShortForm(entity);
+    }
+
+    @Override
+    public Set<OWLEntity> getEntities(String shortForm) {
+        return getEntities(shortForm, false);
+    }
+
+    /** @param shortForm
+     *            the short form of the entities
+     * @param ignoreCase
+     *            true if short forms should be compared ignoring case
+     * @return the entities annotated with the short form */
+    public Set<OWLEntity> getEntities(String shortForm, boolean ignoreCase) {
+        Set<OWLEntity> toReturn = CollectionFactory.createSet();
+        for (OWLOntology ont : ontologySetProvider.getOntologies()) {
+            for (OWLAnnotationProperty p : annotationProperties) {
+                addSubjects(
+                        ont.getAnnotationAssertionAxiomsByLexicalForm(p, shortForm,
+                                ignoreCase), toReturn, Integer.MAX_VALUE);
+            }
+        }
+        return toReturn;
+    }
+
+    /** @param prefix
+     *            the prefix of the short forms
+     * @param ignoreCase
+     *            true if short forms should be compared ignoring case
+     * @param limit
+     *            the maximum number of entities to return
+     * @return entities annotated with a short form starting with the prefix,
+     *         up to the limit */
+    public Set<OWLEntity> getEntitiesByPrefix(String prefix, boolean ignoreCase, int limit) {
+        Set<OWLEntity> toReturn = CollectionFactory.createSet();
+        for (OWLOntology ont : ontologySetProvider.getOntologies()) {
+            for (OWLAnnotationProperty p : annotationProperties) {
+                if (toReturn.size() >= limit) {
+                    return toReturn;
+                }
+                addSubjects(ont.getAnnotationAssertionAxiomsByPrefix(p, prefix,
+                        ignoreCase, limit - toReturn.size()), toReturn, limit);
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public OWLEntity getEntity(String shortForm) {
+        Set<OWLEntity> entities = getEntities(shortForm);
+        if (entities.isEmpty()) {
+            return null;
+        }
+        return entities.iterator().next();
+    }
+
+    /** Collects the literal values of the annotation properties; this scans the
+     * annotation assertions of all ontologies. */
+    @Override
+    public Set<String> getShortForms() {
+        Set<String> toReturn = CollectionFactory.createSet();
+        for (OWLOntology ont : ontologySetProvider.getOntologies()) {
+            for (OWLAnnotationAssertionAxiom ax : ont
+                    .getAxioms(AxiomType.ANNOTATION_ASSERTION)) {
+                if (ax.getValue() instanceof OWLLiteral
+                        && annotationProperties.contains(ax.getProperty())
+                        && ax.getSubject() instanceof IRI
+                        && !getEntities((IRI) ax.getSubject()).isEmpty()) {
+                    toReturn.add(((OWLLiteral) ax.getValue()).getLiteral());
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public void dispose() {
+        shortFormProvider.dispose();
+    }
+
+    private void addSubjects(Set<OWLAnnotationAssertionAxiom> axioms,
+            Set<OWLEntity> toReturn, int limit) {
+        for (OWLAnnotationAssertionAxiom ax : axioms) {
+            if (ax.getSubject() instanceof IRI) {
+                for (OWLEntity e : getEntities((IRI) ax.getSubject())) {
+                    if (toReturn.size() >= limit) {
+                        return;
+                    }
+                    toReturn.add(e);
+                }
+            }
+        }
+    }
+
+    private Set<OWLEntity> getEntities(IRI iri) {
+        Set<OWLEntity> toReturn = CollectionFactory.createSet();
+        for (OWLOntology ont : ontologySetProvider.getOntologies()) {
+            toReturn.addAll(ont.getEntitiesInSignature(iri));
+        }
+        return toReturn;
+    }
+}
@@ -0,0 +1,347 @@
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/** A map from strings to sets of values, stored as a radix trie, supporting
+ * exact and prefix lookups. The trie is persistent: updates copy the nodes on
+ * the path to the changed key and then publish a new root, so lookups never
+ * block and always see a consistent trie, while updates are serialized. This
+ * suits indexes of names that are read far more often than they change.
+ *
+ * @param <V>
+ *            the value type
+ * @since 3.4.6 */
+public class ConcurrentTrie<V> {
+    private volatile Node root = new Node("", Node.NO_CHILDREN, Node.NO_VALUES);
+    private volatile int size = 0;
+
+    /** @param key
+     *            the key
+     * @param value
+     *            the value to add to the values of the key
+     * @return true if the value was not already associated with the key */
+    public synchronized boolean put(String key, V value) {
+        Node newRoot = put(root, key, 0, value);
+        if (newRoot == root) {
+            return false;
+        }
+        root = newRoot;
+        size++;
+        return true;
+    }
+
+    /** @param key
+     *            the key
+     * @param value
+     *            the value to remove from the values of the key
+     * @return true if the value was associated with the key */
+    public synchronized boolean remove(String key, V value) {
+        Node newRoot = remove(root, key, 0, value);
+        if (newRoot == root) {
+            return false;
+        }
+        // the root is never removed, only emptied
+        root = newRoot == null ? new Node("", Node.NO_CHILDREN, Node.NO_VALUES) : newRoot;
+        size--;
+        return true;
+    }
+
+    /** Removes all keys and values. */
+    public synchronized void clear() {
+        root = new Node("", Node.NO_CHILDREN, Node.NO_VALUES);
+        size = 0;
+    }
+
+    /** @return the number of key and value pairs */
+    public int size() {
+        return size;
+    }
+
+    /** @param key
+     *            the key
+     * @return the values associated with the key; empty if there are none */
+    @SuppressWarnings("unchecked")
+    public Set<V> get(String key) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null || !key.startsWith(child.label, pos)) {
+                return Collections.emptySet();
+            }
+            pos += child.label.length();
+            node = child;
+        }
+        Set<V> toReturn = new LinkedHashSet<V>();
+        for (Object o : node.values) {
+            toReturn.add((V) o);
+        }
+        return toReturn;
+    }
+
+    /** @param prefix
+     *            the prefix
+     * @param limit
+     *            the maximum number of values to return
+     * @return the values associated with keys starting with the prefix, in the
+     *         order of the keys, up to the limit */
+    public Set<V> getByPrefix(String prefix, int limit) {
+        Set<V> toReturn = new LinkedHashSet<V>();
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            Node child = node.child(prefix.charAt(pos));
+            if (child == null) {
+                return toReturn;
+            }
+            int common = commonPrefix(child.label, prefix, pos);
+            if (pos + common == prefix.length()) {
+                // the prefix ends at or inside the label of the child
+                node = child;
+                break;
+            }
+            if (common < child.label.length()) {
+                return toReturn;
+            }
+            pos += common;
+            node = child;
+        }
+        collect(node, toReturn, limit);
+        return toReturn;
+    }
+
+    /** @param prefix
+     *            the prefix
+     * @param limit
+     *            the maximum number of keys to return
+     * @return the keys starting with the prefix that have values, in order, up
+     *         to the limit */
+    public List<String> getKeysByPrefix(String prefix, int limit) {
+        List<String> toReturn = new ArrayList<String>();
+        Node node = root;
+        int pos = 0;
+        StringBuilder path = new StringBuilder();
+        while (pos < prefix.length()) {
+            Node child = node.child(prefix.charAt(pos));
+            if (child == null) {
+                return toReturn;
+            }
+            int common = commonPrefix(child.label, prefix, pos);
+            if (pos + common < prefix.length() && common < child.label.length()) {
+                return toReturn;
+            }
+            path.append(child.label);
+            pos += child.label.length();
+            node = child;
+        }
+        collectKeys(node, path, toReturn, limit);
+        return toReturn;
+    }
+
+    /** @return all values, in the order of their keys */
+    public Collection<V> values() {
+        return getByPrefix("", Integer.MAX_VALUE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(Node node, Set<V> toReturn, int limit) {
+        // iterative depth first walk, children in key order
+        List<Node> stack = new ArrayList<Node>();
+        stack.add(node);
+        while (!stack.isEmpty()) {
+            Node n = stack.remove(stack.size() - 1);
+            for (Object o : n.values) {
+                if (toReturn.size() >= limit) {
+                    return;
+                }
+                toReturn.add((V) o);
+            }
+            for (int i = n.children.length - 1; i >= 0; i--) {
+                stack.add(n.children[i]);
+            }
+        }
+    }
+
+    private void collectKeys(Node node, StringBuilder path, List<String> toReturn,
+            int limit) {
+        if (toReturn.size() >= limit) {
+            return;
+        }
+        if (node.values.length > 0) {
+            toReturn.add(path.toString());
+        }
+        for (Node child : node.children) {
+            int length = path.length();
+            path.append(child.label);
+            collectKeys(child, path, toReturn, limit);
+            path.setLength(length);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /** @return the node with the value added under the remaining key, or the
+     *         same node if the value was already there */
+    private Node put(Node node, String key, int pos, Object value) {
+        if (pos == key.length()) {
+            for (Object o : node.values) {
+                if (o.equals(value)) {
+                    return node;
+                }
+            }
+            Object[] values = Arrays.copyOf(node.values, node.values.length + 1);
+            values[node.values.length] = value;
+            return new Node(node.label, node.children, values);
+        }
+        int index = node.indexOf(key.charAt(pos));
+        if (index < 0) {
+            Node leaf = new Node(key.substring(pos), Node.NO_CHILDREN,
+                    new Object[] { value });
+            return node.insertChild(-index - 1, leaf);
+        }
+        Node child = node.children[index];
+        int common = commonPrefix(child.label, key, pos);
+        if (common < child.label.length()) {
+            // split the edge of the child at the end of the common prefix
+            Node tail = new Node(child.label.substring(common), child.children,
+                    child.values);
+            child = new Node(child.label.substring(0, common), new Node[] { tail },
+                    Node.NO_VALUES);
+        }
+        Node newChild = put(child, key, pos + common, value);
+        if (newChild == node.children[index]) {
+            return node;
+        }
+        return node.replaceChild(index, newChild);
+    }
+
+    /** @return the node with the value removed, the same node if the value was
+     *         not there, or null if the node is left without values and
+     *         children */
+    private Node remove(Node node, String key, int pos, Object value) {
+        if (pos == key.length()) {
+            int index = -1;
+            for (int i = 0; i < node.values.length; i++) {
+                if (node.values[i].equals(value)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return node;
+            }
+            Object[] values = new Object[node.values.length - 1];
+            System.arraycopy(node.values, 0, values, 0, index);
+            System.arraycopy(node.values, index + 1, values, index, values.length
+                    - index);
+            return compact(new Node(node.label, node.children, values));
+        }
+        int index = node.indexOf(key.charAt(pos));
+        if (index < 0) {
+            return node;
+        }
+        Node child = node.children[index];
+        if (!key.startsWith(child.label, pos)) {
+            return node;
+        }
+        Node newChild = remove(child, key, pos + child.label.length(), value);
+        if (newChild == child) {
+            return node;
+        }
+        if (newChild == null) {
+            return compact(node.removeChild(index));
+        }
+        return node.replaceChild(index, newChild);
+    }
+
+    /** removes nodes without values and children, and merges nodes without
+     * values into their only child; the root is kept */
+    private static Node compact(Node node) {
+        if (node.values.length > 0 || node.label.length() == 0) {
+            return node;
+        }
+        if (node.children.length == 0) {
+            return null;
+        }
+        if (node.children.length == 1) {
+            Node child = node.children[0];
+            return new Node(node.label + child.label, child.children, child.values);
+        }
+        return node;
+    }
+
+    private static final class Node {
+        static final Node[] NO_CHILDREN = new Node[0];
+        static final Object[] NO_VALUES = new Object[0];
+        final String label;
+        // sorted by the first character of their labels, which are distinct
+        final Node[] children;
+        final Object[] values;
+
+        Node(String label, Node[] children, Object[] values) {
+            this.label = label;
+            this.children = children;
+            this.values = values;
+        }
+
+        /** @return the index of the child whose label starts with c, or
+         *         (-(insertion point) - 1) */
+        int indexOf(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        Node child(char c) {
+            int index = indexOf(c);
+            return index < 0 ? null : children[index];
+        }
+
+        Node insertChild(int index, Node child) {
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length
+                    - index);
+            return new Node(label, newChildren, values);
+        }
+
+        Node replaceChild(int index, Node child) {
+            Node[] newChildren = children.clone();
+            newChildren[index] = child;
+            return new Node(label, newChildren, values);
+        }
+
+        Node removeChild(int index) {
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index,
+                    newChildren.length - index);
+            return new Node(label, newChildren, values);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.semanticweb.owlapi.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/** A dictionary assigning each IRI a stable int id, so that indexes,
+ * serialisers and reasoners can key their structures by int. Ids are dense,
+ * starting at 0, in order of first use; they are never reused, and the
+ * dictionary keeps the IRIs it has numbered, so it grows with every distinct
+ * IRI given an id. The ids are held in an open addressing table of ints
+ * rather than in a map of boxed values. The dictionary is an addition to the
+ * IRIs and entities it numbers, not a replacement; it does not reduce their
+ * memory.
+ * <p>
+ * Namespaces, i.e., IRI prefixes, are numbered as well and kept in a trie, so
+ * that the namespaces under a common base can be found by prefix.
+ *
+ * @since 3.4.6 */
+public class IRIDictionary implements Serializable {
+    private static final long serialVersionUID = 30402L;
+    /** the id returned for IRIs without an id */
+    public static final int NO_ID = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    private IRI[] iris = new IRI[INITIAL_CAPACITY];
+    private int[] namespaceIds = new int[INITIAL_CAPACITY];
+    /** ids by hash slot; NO_ID for empty slots. Twice the size of iris */
+    private int[] table = newTable(INITIAL_CAPACITY * 2);
+    private int size = 0;
+    private final List<String> namespaces = new ArrayList<String>();
+    private transient ConcurrentTrie<Integer> namespaceTrie = new ConcurrentTrie<Integer>();
+
+    private static int[] newTable(int length) {
+        int[] t = new int[length];
+        Arrays.fill(t, NO_ID);
+        return t;
+    }
+
+    private static int slot(IRI iri, int length) {
+        int h = iri.hashCode();
+        // spread the bits, the table length is a power of two
+        h ^= h >>> 16;
+        return h & length - 1;
+    }
+
+    /** @return the position of the IRI in the table, or of the empty slot
+     *         where it would be */
+    private int find(IRI iri) {
+        int mask = table.length - 1;
+        int i = slot(iri, table.length);
+        while (table[i] != NO_ID && !iris[table[i]].equals(iri)) {
+            i = i + 1 & mask;
+        }
+        return i;
+    }
+
+    /** @param iri
+     *            the IRI
+     * @return the id of the IRI, assigning the next free id if the IRI has
+     *         none */
+    public synchronized int getId(IRI iri) {
+        int i = find(iri);
+        if (table[i] != NO_ID) {
+            return table[i];
+        }
+        if (size == iris.length) {
+            grow();
+            i = find(iri);
+        }
+        int id = size++;
+        iris[id] = iri;
+        String namespace = iri.getNamespace();
+        namespaceIds[id] = getNamespaceId(namespace == null ? "" : namespace);
+        table[i] = id;
+        return id;
+    }
+
+    /** @param iri
+     *            the IRI
+     * @return the id of the IRI, or {@link #NO_ID} if it has none; no id is
+     *         assigned */
+    public synchronized int findId(IRI iri) {
+        return table[find(iri)];
+    }
+
+    /** @param id
+     *            the id
+     * @return the IRI with the id
+     * @throws IndexOutOfBoundsException
+     *             if no IRI has the id */
+    public synchronized IRI getIRI(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No IRI with id " + id);
+        }
+        return iris[id];
+    }
+
+    /** @param id
+     *            the id of an IRI
+     * @return the id of the namespace of the IRI
+     * @throws IndexOutOfBoundsException
+     *             if no IRI has the id */
+    public synchronized int getNamespaceId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No IRI with id " + id);
+        }
+        return namespaceIds[id];
+    }
+
+    /** @param namespaceId
+     *            the id of a namespace
+     * @return the namespace; the empty string for IRIs without one
+     * @throws IndexOutOfBoundsException
+     *             if no namespace has the id */
+    public synchronized String getNamespace(int namespaceId) {
+        return namespaces.get(namespaceId);
+    }
+
+    /** @param prefix
+     *            the start of the namespaces to find
+     * @return the ids of the namespaces starting with the prefix, in the order
+     *         of the namespaces */
+    public Set<Integer> getNamespaceIds(String prefix) {
+        return namespaceTrie.getByPrefix(prefix, Integer.MAX_VALUE);
+    }
+
+    /** @return the number of IRIs with ids */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** @return the number of namespaces with ids */
+    public synchronized int getNamespaceCount() {
+        return namespaces.size();
+    }
+
+    private int getNamespaceId(String namespace) {
+        Set<Integer> ids = namespaceTrie.get(namespace);
+        if (!ids.isEmpty()) {
+            return ids.iterator().next();
+        }
+        int id = namespaces.size();
+        namespaces.add(namespace);
+        namespaceTrie.put(namespace, id);
+        return id;
+    }
+
+    private void grow() {
+        iris = Arrays.copyOf(iris, iris.length * 2);
+        namespaceIds = Arrays.copyOf(namespaceIds, namespaceIds.length * 2);
+        int[] oldTable = table;
+        table = newTable(oldTable.length * 2);
+        int mask = table.length - 1;
+        for (int id : oldTable) {
+            if (id != NO_ID) {
+                int i = slot(iris[id], table.length);
+                while (table[i] != NO_ID) {
+                    i = i + 1 & mask;
+                }
+                table[i] = id;
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        namespaceTrie = new ConcurrentTrie<Integer>();
+        for (int i = 0; i < namespaces.size(); i++) {
+            namespaceTrie.put(namespaces.get(i), i);
+        }
+    }
+}
@@ -39,8 +39,12 @@
 
 package org.semanticweb.owlapi.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
@@ -90,6 +94,7 @@ import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
 import org.semanticweb.owlapi.model.OWLObjectComplementOf;
 import org.semanticweb.owlapi.model.OWLObjectExactCardinality;
@@ -122,6 +127,9 @@ import org.semanticweb.owlapi.model.SWRLRule;
  */
 public class NNF implements OWLClassExpressionVisitorEx<OWLClassExpression>, OWLDataVisitorEx<OWLDataRange>, OWLAxiomVisitorEx<OWLAxiom> {
 
+    /** maximum number of objects converted by each task of a parallel conversion */
+    private static final int PARTITION_SIZE = 2000;
+
     private boolean negated;
 
     private final OWLDataFactory dataFactory;
@@ -142,6 +150,89 @@ public class NNF implements OWLClassExpressionVisitorEx<OWLClassExpression>, OWL
     }
 
 
+    /**
+     * Converts axioms to negation normal form on several threads. The axioms
+     * are partitioned, and each partition is converted by its own converter,
+     * since converters are not thread safe.
+     * @param axioms the axioms to convert
+     * @param threads the number of threads to use; 1 or less converts the
+     *            axioms in the calling thread
+     * @return the converted axioms
+     */
+    public Set<OWLAxiom> getNNF(Collection<? extends OWLAxiom> axioms, int threads) {
+        Set<OWLAxiom> toReturn = new HashSet<OWLAxiom>();
+        for (List<OWLObject> result : convert(axioms, threads)) {
+            for (OWLObject o : result) {
+                toReturn.add((OWLAxiom) o);
+            }
+        }
+        return toReturn;
+    }
+
+
+    /**
+     * Converts class expressions to negation normal form on several threads,
+     * as {@link #getNNF(Collection, int)} does for axioms.
+     * @param classExpressions the class expressions to convert
+     * @param threads the number of threads to use; 1 or less converts the
+     *            class expressions in the calling thread
+     * @return the converted class expressions, in the order of the input
+     */
+    public List<OWLClassExpression> getNNFClassExpressions(List<? extends OWLClassExpression> classExpressions, int threads) {
+        List<OWLClassExpression> toReturn = new ArrayList<OWLClassExpression>(classExpressions.size());
+        for (List<OWLObject> result : convert(classExpressions, threads)) {
+            for (OWLObject o : result) {
+                toReturn.add((OWLClassExpression) o);
+            }
+        }
+        return toReturn;
+    }
+
+
+    private List<List<OWLObject>> convert(Collection<? extends OWLObject> objects, int threads) {
+        List<NNFTask> tasks = new ArrayList<NNFTask>();
+        int slices = ParallelTasks.sliceCount(objects.size(), PARTITION_SIZE, Integer.MAX_VALUE);
+        for (Collection<? extends OWLObject> slice : ParallelTasks.slices(objects, slices)) {
+            tasks.add(new NNFTask(slice, dataFactory));
+        }
+        return ParallelTasks.run(tasks, threads, "OWLAPI NNF");
+    }
+
+
+    /**
+     * Converts a partition of axioms or class expressions with its own
+     * converter.
+     */
+    private static class NNFTask implements Callable<List<OWLObject>> {
+
+        private final Collection<? extends OWLObject> objects;
+
+        private final OWLDataFactory dataFactory;
+
+
+        NNFTask(Collection<? extends OWLObject> objects, OWLDataFactory dataFactory) {
+            this.objects = objects;
+            this.dataFactory = dataFactory;
+        }
+
+
+        @Override
+        public List<OWLObject> call() {
+            NNF nnf = new NNF(dataFactory);
+            List<OWLObject> toReturn = new ArrayList<OWLObject>(objects.size());
+            for (OWLObject o : objects) {
+                nnf.reset();
+                if (o instanceof OWLAxiom) {
+                    toReturn.add(((OWLAxiom) o).accept(nnf));
+                } else {
+                    toReturn.add(((OWLClassExpression) o).accept(nnf));
+                }
+            }
+            return toReturn;
+        }
+    }
+
+
     private OWLClassExpression getNegation(OWLClassExpression classExpression) {
         return dataFactory.getOWLObjectComplementOf(classExpression);
     }
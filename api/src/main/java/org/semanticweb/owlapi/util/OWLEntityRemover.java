@@ -41,6 +41,7 @@ package org.semanticweb.owlapi.util;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -79,6 +80,8 @@ public class OWLEntityRemover implements OWLEntityVisitor {
 
     private final Collection<OWLOntology> ontologies;
 
+    private final OWLOntologyManager owlOntologyManager;
+
 
     /**
      * Creates an entity remover, which will remove entities (axioms referring to the entities
@@ -87,10 +90,11 @@ public class OWLEntityRemover implements OWLEntityVisitor {
      * @param owlOntologyManager The <code>OWLOntologyManager</code> which contains the ontologies
      *                           that contain entities to be removed.
      * @param ontologies         The set of ontologies that contain references to axioms to be removed.
-     */  @SuppressWarnings("unused")
+     */
     public OWLEntityRemover(OWLOntologyManager owlOntologyManager, Set<OWLOntology> ontologies) {
         changes = new ArrayList<OWLOntologyChange>();
         this.ontologies = new ArrayList<OWLOntology>(ontologies);
+        this.owlOntologyManager = owlOntologyManager;
     }
 
 
@@ -113,6 +117,45 @@ public class OWLEntityRemover implements OWLEntityVisitor {
         changes.clear();
     }
 
+    /**
+     * Bulk version of visiting each entity: for each ontology, the axioms
+     * referring to any of the entities are collected once, so that an axiom
+     * referring to several removed entities is removed only once, and the
+     * removals are added to the accumulated changes.
+     *
+     * @param entities the entities to remove
+     */
+    public void removeEntities(Collection<? extends OWLEntity> entities) {
+        for (OWLOntology ont : ontologies) {
+            Set<OWLAxiom> axioms = new LinkedHashSet<OWLAxiom>();
+            for (OWLEntity entity : entities) {
+                axioms.addAll(ont.getReferencingAxioms(entity));
+                axioms.addAll(ont.getAnnotationAssertionAxioms(entity.getIRI()));
+            }
+            for (OWLAxiom ax : axioms) {
+                changes.add(new RemoveAxiom(ont, ax));
+            }
+        }
+    }
+
+    /**
+     * Applies the accumulated changes through the manager in batches of at
+     * most the specified size, then clears them.
+     *
+     * @param batchSize the maximum number of changes applied at once
+     * @return the changes applied
+     */
+    public List<OWLOntologyChange> applyChanges(int batchSize) {
+        int size = Math.max(1, batchSize);
+        List<OWLOntologyChange> applied = new ArrayList<OWLOntologyChange>();
+        for (int i = 0; i < changes.size(); i += size) {
+            applied.addAll(owlOntologyManager.applyChanges(changes.subList(i,
+                    Math.min(i + size, changes.size()))));
+        }
+        changes.clear();
+        return applied;
+    }
+
     private void generateChanges(OWLEntity entity) {
         for (OWLOntology ont : ontologies) {
             for (OWLAxiom ax : ont.getReferencingAxioms(entity)) {
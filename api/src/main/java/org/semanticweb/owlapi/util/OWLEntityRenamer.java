@@ -40,15 +40,19 @@
 package org.semanticweb.owlapi.util;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
@@ -68,6 +72,9 @@ import org.semanticweb.owlapi.model.RemoveAxiom;
  */
 public class OWLEntityRenamer {
 
+    /** minimum number of axioms duplicated by each task of a bulk rename */
+    private static final int PARTITION_SIZE = 2000;
+
     private final OWLOntologyManager owlOntologyManager;
 
     private final Set<OWLOntology> ontologies;
@@ -136,6 +143,96 @@ public class OWLEntityRenamer {
         return changes;
     }
 
+    /**
+     * Bulk version of {@link #changeIRI(Map)}: for each ontology, the axioms
+     * affected by any of the renamings are collected once, so that axioms
+     * referring to several renamed entities are rewritten only once, and the
+     * axioms are then rewritten in a single pass, split between the specified
+     * number of threads. Axioms left unchanged by the renaming are skipped.
+     * The changes are returned in a deterministic order, each
+     * <code>RemoveAxiom</code> followed by the matching <code>AddAxiom</code>.
+     * @param entity2IRIMap map of entities to rename to their new IRIs
+     * @param threads the number of threads to use; 1 or less rewrites the
+     *            axioms in the calling thread
+     * @return list of changes
+     */
+    public List<OWLOntologyChange> changeIRI(Map<OWLEntity, IRI> entity2IRIMap, int threads) {
+        List<RenameTask> tasks = new ArrayList<RenameTask>();
+        for (OWLOntology ont : ontologies) {
+            Set<OWLAxiom> union = new LinkedHashSet<OWLAxiom>();
+            for (OWLEntity ent : entity2IRIMap.keySet()) {
+                union.addAll(getAxioms(ont, ent));
+            }
+            // a duplicator copies the renaming map, so use no more partitions
+            // than threads
+            int partitions = ParallelTasks.sliceCount(union.size(), PARTITION_SIZE, threads);
+            for (Collection<OWLAxiom> partition : ParallelTasks.slices(union, partitions)) {
+                tasks.add(new RenameTask(ont, partition, entity2IRIMap,
+                        owlOntologyManager.getOWLDataFactory()));
+            }
+        }
+        List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
+        for (List<OWLOntologyChange> result : ParallelTasks.run(tasks, threads, "OWLAPI entity renamer")) {
+            changes.addAll(result);
+        }
+        return changes;
+    }
+
+    /**
+     * Computes the changes for a bulk renaming with
+     * {@link #changeIRI(Map, int)} and applies them through the manager in
+     * batches, rather than in a single list or one change at a time. A batch
+     * never separates the removal of an axiom from the addition of its
+     * renamed version.
+     * @param entity2IRIMap map of entities to rename to their new IRIs
+     * @param threads the number of threads used to rewrite the axioms
+     * @param batchSize the maximum number of changes applied at once
+     * @return the changes applied
+     */
+    public List<OWLOntologyChange> applyChangeIRI(Map<OWLEntity, IRI> entity2IRIMap, int threads, int batchSize) {
+        List<OWLOntologyChange> changes = changeIRI(entity2IRIMap, threads);
+        // changes come in pairs; keep each pair in one batch
+        int size = Math.max(2, batchSize + batchSize % 2);
+        List<OWLOntologyChange> applied = new ArrayList<OWLOntologyChange>();
+        for (int i = 0; i < changes.size(); i += size) {
+            applied.addAll(owlOntologyManager.applyChanges(changes.subList(i,
+                    Math.min(i + size, changes.size()))));
+        }
+        return applied;
+    }
+
+    /**
+     * Rewrites a partition of the affected axioms of an ontology; duplicators
+     * are not thread safe, so each task uses its own.
+     */
+    private static class RenameTask implements Callable<List<OWLOntologyChange>> {
+        private final OWLOntology ont;
+        private final Collection<OWLAxiom> axioms;
+        private final Map<OWLEntity, IRI> entity2IRIMap;
+        private final OWLDataFactory dataFactory;
+
+        RenameTask(OWLOntology ont, Collection<OWLAxiom> axioms, Map<OWLEntity, IRI> entity2IRIMap, OWLDataFactory dataFactory) {
+            this.ont = ont;
+            this.axioms = axioms;
+            this.entity2IRIMap = entity2IRIMap;
+            this.dataFactory = dataFactory;
+        }
+
+        @Override
+        public List<OWLOntologyChange> call() {
+            OWLObjectDuplicator duplicator = new OWLObjectDuplicator(entity2IRIMap, dataFactory);
+            List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>(axioms.size() * 2);
+            for (OWLAxiom ax : axioms) {
+                OWLAxiom dupAx = duplicator.duplicateObject(ax);
+                if (!dupAx.equals(ax)) {
+                    changes.add(new RemoveAxiom(ont, ax));
+                    changes.add(new AddAxiom(ont, dupAx));
+                }
+            }
+            return changes;
+        }
+    }
+
     private static Set<OWLAxiom> getAxioms(OWLOntology ont, OWLEntity entity) {
         Set<OWLAxiom> axioms = ont.getReferencingAxioms(entity);
         axioms.addAll(ont.getDeclarationAxioms(entity));
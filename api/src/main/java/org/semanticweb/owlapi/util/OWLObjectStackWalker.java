@@ -0,0 +1,825 @@
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLDataComplementOf;
+import org.semanticweb.owlapi.model.OWLDataExactCardinality;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
+import org.semanticweb.owlapi.model.OWLDataIntersectionOf;
+import org.semanticweb.owlapi.model.OWLDataMaxCardinality;
+import org.semanticweb.owlapi.model.OWLDataMinCardinality;
+import org.semanticweb.owlapi.model.OWLDataOneOf;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLDataSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLDataUnionOf;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
+import org.semanticweb.owlapi.model.OWLDatatypeRestriction;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFacetRestriction;
+import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectExactCardinality;
+import org.semanticweb.owlapi.model.OWLObjectHasSelf;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectInverseOf;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectMinCardinality;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+
+/** A lower overhead alternative to {@link OWLObjectWalker}. Objects are walked
+ * depth first, components in the same order as {@link OWLObjectWalker}, using
+ * an explicit stack that is kept and reused between walks instead of
+ * recursion; operand sets are iterated in place, and no set of visited objects
+ * or path copies are kept. Each object reached is passed to a
+ * {@link OWLObjectWalkerCallback}, which decides whether the components of the
+ * object are walked, so whole subtrees can be skipped.<br>
+ * Compared with {@link OWLObjectWalker}, the IRIs of all entities (datatypes
+ * and SWRL variables included), the annotations of axioms and the predicates
+ * of built in atoms are walked as well. Objects reached more than once are
+ * passed to the callback each time.<br>
+ * A walker is not thread safe; {@link #walk(OWLOntology, int)} walks the
+ * axioms of an ontology on several threads, each with its own walker and all
+ * sharing the callback.
+ *
+ * @since 3.4.6 */
+public class OWLObjectStackWalker {
+    /** axiom types with more axioms than this are split between threads */
+    private static final int PARTITION_SIZE = 10000;
+    private final OWLObjectWalkerCallback callback;
+    private final ComponentPusher pusher = new ComponentPusher();
+    private OWLObject[] stack = new OWLObject[64];
+    private int[] depths = new int[64];
+    private int size;
+    private OWLObject[] path = new OWLObject[16];
+    private int depth;
+    private OWLOntology ontology;
+    private OWLAxiom axiom;
+
+    /** @param callback
+     *            the callback receiving the objects walked */
+    public OWLObjectStackWalker(OWLObjectWalkerCallback callback) {
+        this.callback = callback;
+    }
+
+    /** Walks an object and, unless pruned, its components. Ontologies are
+     * walked with their annotations and axioms.
+     *
+     * @param object
+     *            the object to walk */
+    public void walk(OWLObject object) {
+        if (object instanceof OWLOntology) {
+            walk((OWLOntology) object, 1);
+        } else {
+            ontology = null;
+            walkTree(object, 0);
+        }
+    }
+
+    /** @param objects
+     *            the objects to walk, in iteration order */
+    public void walk(Collection<? extends OWLObject> objects) {
+        for (OWLObject o : objects) {
+            walk(o);
+        }
+    }
+
+    /** Walks an ontology, its annotations and its axioms. The ontology,
+     * its annotations and the axioms are walked on the calling thread if
+     * {@code threads} is 1 or less; otherwise, the axioms are walked by
+     * {@code threads} threads, in no particular order, and the callback must
+     * be thread safe. The ontology must not be changed during the walk.
+     *
+     * @param ont
+     *            the ontology to walk
+     * @param threads
+     *            the number of threads walking the axioms */
+    public void walk(OWLOntology ont, int threads) {
+        ontology = ont;
+        axiom = null;
+        depth = 0;
+        path[0] = ont;
+        if (!callback.visit(ont, this)) {
+            return;
+        }
+        for (OWLAnnotation a : ont.getAnnotations()) {
+            walkTree(a, 1);
+        }
+        if (threads <= 1) {
+            for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+                for (OWLAxiom ax : ont.getAxioms(type)) {
+                    walkTree(ax, 1);
+                }
+            }
+            return;
+        }
+        List<AxiomWalk> tasks = new ArrayList<AxiomWalk>();
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            Set<? extends OWLAxiom> axioms = ont.getAxioms(type);
+            int slices = ParallelTasks.sliceCount(axioms.size(), PARTITION_SIZE, threads);
+            for (Collection<? extends OWLAxiom> slice : ParallelTasks.slices(axioms, slices)) {
+                tasks.add(new AxiomWalk(ont, slice));
+            }
+        }
+        ParallelTasks.run(tasks, threads, "OWLAPI object walker");
+    }
+
+    /** @return the ontology being walked, or null if the walk did not start
+     *         from an ontology */
+    public OWLOntology getOntology() {
+        return ontology;
+    }
+
+    /** @return the axiom containing the current object, or null if the current
+     *         object is not an axiom or part of one */
+    public OWLAxiom getAxiom() {
+        return axiom;
+    }
+
+    /** @return the depth of the current object; the object a walk starts from
+     *         is at depth 0, and the annotations and axioms of an ontology at
+     *         depth 1 */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** @param level
+     *            a depth between 0 and the depth of the current object
+     * @return the object at the given depth on the path from the start of the
+     *         walk to the current object */
+    public OWLObject getAncestor(int level) {
+        if (level < 0 || level > depth) {
+            throw new IndexOutOfBoundsException("No ancestor at depth " + level
+                    + ", current depth " + depth);
+        }
+        return path[level];
+    }
+
+    /** @return the object whose component is the current object, or null if
+     *         the current object is the start of the walk */
+    public OWLObject getParent() {
+        return depth == 0 ? null : path[depth - 1];
+    }
+
+    private void walkTree(OWLObject root, int rootDepth) {
+        // drop what an aborted walk left on the stack
+        while (size > 0) {
+            stack[--size] = null;
+        }
+        axiom = null;
+        push(root, rootDepth);
+        while (size > 0) {
+            size--;
+            OWLObject o = stack[size];
+            stack[size] = null;
+            depth = depths[size];
+            if (depth >= path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[depth] = o;
+            if (o instanceof OWLAxiom) {
+                axiom = (OWLAxiom) o;
+            }
+            if (callback.visit(o, this)) {
+                int start = size;
+                pusher.childDepth = depth + 1;
+                o.accept(pusher);
+                // components were pushed in order; reverse them so that the
+                // first one is popped first
+                for (int i = start, j = size - 1; i < j; i++, j--) {
+                    OWLObject t = stack[i];
+                    stack[i] = stack[j];
+                    stack[j] = t;
+                }
+            }
+        }
+        path[depth] = null;
+    }
+
+    private void push(OWLObject o, int d) {
+        if (size == stack.length) {
+            stack = Arrays.copyOf(stack, size * 2);
+            depths = Arrays.copyOf(depths, size * 2);
+        }
+        stack[size] = o;
+        depths[size] = d;
+        size++;
+    }
+
+    /** Walks a set of axioms, or a slice of it, with a walker of its own. */
+    private class AxiomWalk implements Callable<Void> {
+        private final OWLOntology ont;
+        private final Collection<? extends OWLAxiom> axioms;
+
+        AxiomWalk(OWLOntology ont, Collection<? extends OWLAxiom> axioms) {
+            this.ont = ont;
+            this.axioms = axioms;
+        }
+
+        @Override
+        public Void call() {
+            OWLObjectStackWalker walker = new OWLObjectStackWalker(callback);
+            walker.ontology = ont;
+            walker.path[0] = ont;
+            for (OWLAxiom ax : axioms) {
+                walker.walkTree(ax, 1);
+            }
+            return null;
+        }
+    }
+
+    /** Pushes the components of the visited object on the stack. */
+    private class ComponentPusher implements OWLObjectVisitor {
+        int childDepth;
+
+        private void push(OWLObject o) {
+            OWLObjectStackWalker.this.push(o, childDepth);
+        }
+
+        private void pushAll(Collection<? extends OWLObject> objects) {
+            for (OWLObject o : objects) {
+                push(o);
+            }
+        }
+
+        private void pushAnnotations(OWLAxiom ax) {
+            pushAll(ax.getAnnotations());
+        }
+
+        @Override
+        public void visit(OWLOntology ont) {
+            // ontologies are only walked at the start of a walk
+        }
+
+        @Override
+        public void visit(IRI iri) {}
+
+        @Override
+        public void visit(OWLAnnotation node) {
+            push(node.getProperty());
+            push(node.getValue());
+            pushAll(node.getAnnotations());
+        }
+
+        @Override
+        public void visit(OWLDeclarationAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getEntity());
+        }
+
+        @Override
+        public void visit(OWLSubClassOfAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubClass());
+            push(ax.getSuperClass());
+        }
+
+        @Override
+        public void visit(OWLNegativeObjectPropertyAssertionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubject());
+            push(ax.getProperty());
+            push(ax.getObject());
+        }
+
+        @Override
+        public void visit(OWLAsymmetricObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLReflexiveObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLDisjointClassesAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getClassExpressions());
+        }
+
+        @Override
+        public void visit(OWLDataPropertyDomainAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getDomain());
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyDomainAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getDomain());
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLEquivalentObjectPropertiesAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getProperties());
+        }
+
+        @Override
+        public void visit(OWLNegativeDataPropertyAssertionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubject());
+            push(ax.getProperty());
+            push(ax.getObject());
+        }
+
+        @Override
+        public void visit(OWLDifferentIndividualsAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getIndividuals());
+        }
+
+        @Override
+        public void visit(OWLDisjointDataPropertiesAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getProperties());
+        }
+
+        @Override
+        public void visit(OWLDisjointObjectPropertiesAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getProperties());
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyRangeAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+            push(ax.getRange());
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyAssertionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubject());
+            push(ax.getProperty());
+            push(ax.getObject());
+        }
+
+        @Override
+        public void visit(OWLFunctionalObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLSubObjectPropertyOfAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubProperty());
+            push(ax.getSuperProperty());
+        }
+
+        @Override
+        public void visit(OWLDisjointUnionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getOWLClass());
+            pushAll(ax.getClassExpressions());
+        }
+
+        @Override
+        public void visit(OWLSymmetricObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLDataPropertyRangeAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getRange());
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLFunctionalDataPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLEquivalentDataPropertiesAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getProperties());
+        }
+
+        @Override
+        public void visit(OWLClassAssertionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getIndividual());
+            push(ax.getClassExpression());
+        }
+
+        @Override
+        public void visit(OWLEquivalentClassesAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getClassExpressions());
+        }
+
+        @Override
+        public void visit(OWLDataPropertyAssertionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubject());
+            push(ax.getProperty());
+            push(ax.getObject());
+        }
+
+        @Override
+        public void visit(OWLTransitiveObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLIrreflexiveObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLSubDataPropertyOfAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubProperty());
+            push(ax.getSuperProperty());
+        }
+
+        @Override
+        public void visit(OWLInverseFunctionalObjectPropertyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+        }
+
+        @Override
+        public void visit(OWLSameIndividualAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getIndividuals());
+        }
+
+        @Override
+        public void visit(OWLSubPropertyChainOfAxiom ax) {
+            pushAnnotations(ax);
+            pushAll(ax.getPropertyChain());
+            push(ax.getSuperProperty());
+        }
+
+        @Override
+        public void visit(OWLInverseObjectPropertiesAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getFirstProperty());
+            push(ax.getSecondProperty());
+        }
+
+        @Override
+        public void visit(OWLHasKeyAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getClassExpression());
+            // the property expressions, without the filtered copies made by
+            // getObjectPropertyExpressions() and getDataPropertyExpressions()
+            pushAll(ax.getPropertyExpressions());
+        }
+
+        @Override
+        public void visit(OWLDatatypeDefinitionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getDatatype());
+            push(ax.getDataRange());
+        }
+
+        @Override
+        public void visit(SWRLRule rule) {
+            pushAnnotations(rule);
+            pushAll(rule.getBody());
+            pushAll(rule.getHead());
+        }
+
+        @Override
+        public void visit(OWLAnnotationAssertionAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubject());
+            push(ax.getAnnotation());
+        }
+
+        @Override
+        public void visit(OWLSubAnnotationPropertyOfAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getSubProperty());
+            push(ax.getSuperProperty());
+        }
+
+        @Override
+        public void visit(OWLAnnotationPropertyDomainAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+            push(ax.getDomain());
+        }
+
+        @Override
+        public void visit(OWLAnnotationPropertyRangeAxiom ax) {
+            pushAnnotations(ax);
+            push(ax.getProperty());
+            push(ax.getRange());
+        }
+
+        @Override
+        public void visit(OWLClass ce) {
+            push(ce.getIRI());
+        }
+
+        @Override
+        public void visit(OWLObjectIntersectionOf ce) {
+            pushAll(ce.getOperands());
+        }
+
+        @Override
+        public void visit(OWLObjectUnionOf ce) {
+            pushAll(ce.getOperands());
+        }
+
+        @Override
+        public void visit(OWLObjectComplementOf ce) {
+            push(ce.getOperand());
+        }
+
+        @Override
+        public void visit(OWLObjectSomeValuesFrom ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectAllValuesFrom ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectHasValue ce) {
+            push(ce.getProperty());
+            push(ce.getValue());
+        }
+
+        @Override
+        public void visit(OWLObjectMinCardinality ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectExactCardinality ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectMaxCardinality ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectHasSelf ce) {
+            push(ce.getProperty());
+        }
+
+        @Override
+        public void visit(OWLObjectOneOf ce) {
+            pushAll(ce.getIndividuals());
+        }
+
+        @Override
+        public void visit(OWLDataSomeValuesFrom ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataAllValuesFrom ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataHasValue ce) {
+            push(ce.getProperty());
+            push(ce.getValue());
+        }
+
+        @Override
+        public void visit(OWLDataMinCardinality ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataExactCardinality ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataMaxCardinality ce) {
+            push(ce.getProperty());
+            push(ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDatatype node) {
+            push(node.getIRI());
+        }
+
+        @Override
+        public void visit(OWLDataComplementOf node) {
+            push(node.getDataRange());
+        }
+
+        @Override
+        public void visit(OWLDataOneOf node) {
+            pushAll(node.getValues());
+        }
+
+        @Override
+        public void visit(OWLDataIntersectionOf node) {
+            pushAll(node.getOperands());
+        }
+
+        @Override
+        public void visit(OWLDataUnionOf node) {
+            pushAll(node.getOperands());
+        }
+
+        @Override
+        public void visit(OWLDatatypeRestriction node) {
+            push(node.getDatatype());
+            pushAll(node.getFacetRestrictions());
+        }
+
+        @Override
+        public void visit(OWLLiteral node) {
+            push(node.getDatatype());
+        }
+
+        @Override
+        public void visit(OWLFacetRestriction node) {
+            push(node.getFacetValue());
+        }
+
+        @Override
+        public void visit(OWLObjectProperty property) {
+            push(property.getIRI());
+        }
+
+        @Override
+        public void visit(OWLObjectInverseOf property) {
+            push(property.getInverse());
+        }
+
+        @Override
+        public void visit(OWLDataProperty property) {
+            push(property.getIRI());
+        }
+
+        @Override
+        public void visit(OWLAnnotationProperty property) {
+            push(property.getIRI());
+        }
+
+        @Override
+        public void visit(OWLNamedIndividual individual) {
+            push(individual.getIRI());
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {}
+
+        @Override
+        public void visit(SWRLClassAtom node) {
+            push(node.getArgument());
+            push(node.getPredicate());
+        }
+
+        @Override
+        public void visit(SWRLDataRangeAtom node) {
+            push(node.getArgument());
+            push(node.getPredicate());
+        }
+
+        @Override
+        public void visit(SWRLObjectPropertyAtom node) {
+            push(node.getPredicate());
+            push(node.getFirstArgument());
+            push(node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLDataPropertyAtom node) {
+            push(node.getPredicate());
+            push(node.getFirstArgument());
+            push(node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLBuiltInAtom node) {
+            push(node.getPredicate());
+            pushAll(node.getArguments());
+        }
+
+        @Override
+        public void visit(SWRLVariable node) {
+            push(node.getIRI());
+        }
+
+        @Override
+        public void visit(SWRLIndividualArgument node) {
+            push(node.getIndividual());
+        }
+
+        @Override
+        public void visit(SWRLLiteralArgument node) {
+            push(node.getLiteral());
+        }
+
+        @Override
+        public void visit(SWRLSameIndividualAtom node) {
+            push(node.getFirstArgument());
+            push(node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLDifferentIndividualsAtom node) {
+            push(node.getFirstArgument());
+            push(node.getSecondArgument());
+        }
+    }
+}
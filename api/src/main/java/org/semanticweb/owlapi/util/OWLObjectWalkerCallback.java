@@ -0,0 +1,18 @@
+package org.semanticweb.owlapi.util;
+
+import org.semanticweb.owlapi.model.OWLObject;
+
+/** Callback of an {@link OWLObjectStackWalker}, called once for each object
+ * reached by the walk.
+ *
+ * @since 3.4.6 */
+public interface OWLObjectWalkerCallback {
+    /** @param object
+     *            the object reached
+     * @param walker
+     *            the walker, which gives the position of the object in the
+     *            walk; only valid during this call
+     * @return true if the components of the object should be walked, false to
+     *         skip them */
+    boolean visit(OWLObject object, OWLObjectStackWalker walker);
+}
@@ -0,0 +1,186 @@
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+
+/** Computes the minimal list of changes that turns one ontology into another:
+ * the axioms, ontology annotations and imports declarations to remove and to
+ * add. Only the contents of the ontologies are compared: not their ids, and
+ * not their imports closures.<br>
+ * Axioms are compared one axiom type at a time, looking each axiom of one
+ * ontology up in the axioms of the same type of the other ontology. With more
+ * than one thread, the axiom types are compared in parallel, and the axioms of
+ * large types are copied to an array and split into at most one slice per
+ * thread, each compared by a separate task. The ontologies
+ * must not be changed while the diff is computed. Within an axiom type, the
+ * order of the changes is unspecified.
+ *
+ * @since 3.4.6 */
+public class OWLOntologyDiff {
+    /** axiom types with more axioms than this are split into slices */
+    private static final int PARTITION_SIZE = 50000;
+    private final int threads;
+
+    /** Creates a diff that compares the ontologies on the calling thread. */
+    public OWLOntologyDiff() {
+        this(1);
+    }
+
+    /** @param threads
+     *            the number of threads comparing axioms; 1 or less to compare
+     *            on the calling thread */
+    public OWLOntologyDiff(int threads) {
+        this.threads = threads;
+    }
+
+    /** @param from
+     *            the ontology to change
+     * @param to
+     *            the ontology to obtain
+     * @return the changes that, applied to {@code from}, make its content
+     *         equal to the content of {@code to}: axiom removals first, then
+     *         axiom additions, then annotation and imports changes */
+    public List<OWLOntologyChange> getChanges(OWLOntology from, OWLOntology to) {
+        List<Task> tasks = new ArrayList<Task>();
+        for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+            addTasks(tasks, from, to, type, true);
+            addTasks(tasks, to, from, type, false);
+        }
+        ParallelTasks.run(tasks, threads, "OWLAPI ontology diff");
+        List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
+        for (Task task : tasks) {
+            if (task.removals) {
+                for (OWLAxiom ax : task.result) {
+                    changes.add(new RemoveAxiom(from, ax));
+                }
+            }
+        }
+        for (Task task : tasks) {
+            if (!task.removals) {
+                for (OWLAxiom ax : task.result) {
+                    changes.add(new AddAxiom(from, ax));
+                }
+            }
+        }
+        Set<OWLAnnotation> toAnnotations = to.getAnnotations();
+        Set<OWLAnnotation> fromAnnotations = from.getAnnotations();
+        for (OWLAnnotation annotation : fromAnnotations) {
+            if (!toAnnotations.contains(annotation)) {
+                changes.add(new RemoveOntologyAnnotation(from, annotation));
+            }
+        }
+        for (OWLAnnotation annotation : toAnnotations) {
+            if (!fromAnnotations.contains(annotation)) {
+                changes.add(new AddOntologyAnnotation(from, annotation));
+            }
+        }
+        Set<OWLImportsDeclaration> toImports = to.getImportsDeclarations();
+        Set<OWLImportsDeclaration> fromImports = from.getImportsDeclarations();
+        for (OWLImportsDeclaration declaration : fromImports) {
+            if (!toImports.contains(declaration)) {
+                changes.add(new RemoveImport(from, declaration));
+            }
+        }
+        for (OWLImportsDeclaration declaration : toImports) {
+            if (!fromImports.contains(declaration)) {
+                changes.add(new AddImport(from, declaration));
+            }
+        }
+        return changes;
+    }
+
+    /** Loads an ontology document and computes the changes that turn an
+     * ontology into the loaded ontology. The loaded ontology is removed from
+     * the loading manager afterwards.
+     *
+     * @param from
+     *            the ontology to change
+     * @param source
+     *            the document to compare with
+     * @param loader
+     *            the manager that loads the document; it must not contain an
+     *            ontology with the id of the document, so usually it is not
+     *            the manager of {@code from}
+     * @return the changes that, applied to {@code from}, make its content
+     *         equal to the content of the document
+     * @throws OWLOntologyCreationException
+     *             if the document cannot be loaded */
+    public List<OWLOntologyChange> getChanges(OWLOntology from,
+            OWLOntologyDocumentSource source, OWLOntologyManager loader)
+            throws OWLOntologyCreationException {
+        OWLOntology to = loader.loadOntologyFromOntologyDocument(source);
+        try {
+            return getChanges(from, to);
+        } finally {
+            loader.removeOntology(to);
+        }
+    }
+
+    /** Adds the tasks that find the axioms of a type in {@code source} that
+     * are not in {@code target}. */
+    private void addTasks(List<Task> tasks, OWLOntology source, OWLOntology target,
+            AxiomType<?> type, boolean removals) {
+        Set<? extends OWLAxiom> axioms = source.getAxioms(type);
+        int size = axioms.size();
+        if (size == 0) {
+            return;
+        }
+        Set<? extends OWLAxiom> other = target.getAxioms(type);
+        int slices = 1;
+        if (threads > 1 && !other.isEmpty()) {
+            slices = ParallelTasks.sliceCount(size, PARTITION_SIZE, threads);
+        }
+        for (Collection<? extends OWLAxiom> slice : ParallelTasks.slices(axioms, slices)) {
+            tasks.add(new Task(slice, other, removals));
+        }
+    }
+
+    /** Finds the axioms of a set, or of a slice of it, that are missing from
+     * another set. */
+    private static class Task implements Callable<List<OWLAxiom>> {
+        private final Collection<? extends OWLAxiom> axioms;
+        private final Set<? extends OWLAxiom> other;
+        final boolean removals;
+        final List<OWLAxiom> result = new ArrayList<OWLAxiom>();
+
+        Task(Collection<? extends OWLAxiom> axioms, Set<? extends OWLAxiom> other,
+                boolean removals) {
+            this.axioms = axioms;
+            this.other = other;
+            this.removals = removals;
+        }
+
+        @Override
+        public List<OWLAxiom> call() {
+            if (other.isEmpty()) {
+                result.addAll(axioms);
+                return result;
+            }
+            for (OWLAxiom ax : axioms) {
+                if (!other.contains(ax)) {
+                    result.add(ax);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -40,10 +40,13 @@
 package org.semanticweb.owlapi.util;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -62,6 +65,9 @@ import org.semanticweb.owlapi.model.OWLOntologySetProvider;
  */
 public class OWLOntologyMerger implements OWLAxiomFilter {
 
+    /** number of axioms added to the merged ontology at once when streaming */
+    private static final int BATCH_SIZE = 10000;
+
     private final OWLOntologySetProvider setProvider;
 
     private final OWLAxiomFilter axiomFilter;
@@ -129,6 +135,94 @@ public class OWLOntologyMerger implements OWLAxiomFilter {
     }
 
 
+    /**
+     * Streaming version of {@link #createMergedOntology(OWLOntologyManager, IRI)}:
+     * the axioms of each ontology are read one axiom type at a time, without
+     * collecting all the axioms of the ontologies, and added to the merged
+     * ontology in batches. Axioms already in the merged ontology are dropped
+     * through a lookup in its axiom index before each batch is applied, so
+     * axioms shared between ontologies are added once. Ontologies are read in
+     * parallel by the specified number of threads; batches are applied one at
+     * a time.
+     *
+     * @param ontologyManager the manager containing the ontologies
+     * @param ontologyIRI the new ontology IRI
+     * @param threads the number of threads reading the ontologies; 1 or less
+     *            reads them in the calling thread
+     * @return the new ontology
+     * @throws OWLOntologyCreationException if any creation exception arises
+     */
+    public OWLOntology createMergedOntology(OWLOntologyManager ontologyManager, IRI ontologyIRI, int threads) throws
+                                                                                                 OWLOntologyCreationException {
+        OWLOntology ontology;
+        if(ontologyIRI != null) {
+            ontology =  ontologyManager.createOntology(ontologyIRI);
+        }
+        else {
+             ontology = ontologyManager.createOntology();
+        }
+        List<MergeTask> tasks = new ArrayList<MergeTask>();
+        for (OWLOntology ont : setProvider.getOntologies()) {
+            if (ont != ontology) {
+                tasks.add(new MergeTask(ont, ontology, ontologyManager));
+            }
+        }
+        ParallelTasks.run(tasks, threads, "OWLAPI ontology merger");
+        return ontology;
+    }
+
+    /**
+     * Streams the axioms of one ontology into the merged ontology; the merged
+     * ontology is locked while a batch is filtered and applied.
+     */
+    private class MergeTask implements Callable<Object> {
+        private final OWLOntology source;
+        private final OWLOntology target;
+        private final OWLOntologyManager manager;
+
+        MergeTask(OWLOntology source, OWLOntology target, OWLOntologyManager manager) {
+            this.source = source;
+            this.target = target;
+            this.manager = manager;
+        }
+
+        @Override
+        public Object call() {
+            Set<OWLAxiom> batch = new LinkedHashSet<OWLAxiom>();
+            for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+                if (mergeOnlyLogicalAxioms && !type.isLogical()) {
+                    continue;
+                }
+                for (OWLAxiom ax : source.getAxioms(type)) {
+                    if (axiomFilter.passes(ax)) {
+                        batch.add(ax);
+                        if (batch.size() >= BATCH_SIZE) {
+                            flush(batch);
+                        }
+                    }
+                }
+            }
+            flush(batch);
+            return null;
+        }
+
+        private void flush(Set<OWLAxiom> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            synchronized (target) {
+                List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>(batch.size());
+                for (OWLAxiom ax : batch) {
+                    if (!target.containsAxiom(ax)) {
+                        changes.add(new AddAxiom(target, ax));
+                    }
+                }
+                manager.applyChanges(changes);
+            }
+            batch.clear();
+        }
+    }
+
     private Set<? extends OWLAxiom> getAxioms(OWLOntology ont) {
         if (mergeOnlyLogicalAxioms) {
             return ont.getLogicalAxioms();
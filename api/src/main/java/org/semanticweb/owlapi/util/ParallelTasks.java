@@ -0,0 +1,117 @@
+package org.semanticweb.owlapi.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/** Splits the work of the bulk utilities of this package into slices and runs
+ * the tasks for the slices on a pool of daemon threads.
+ *
+ * @since 3.4.6 */
+final class ParallelTasks {
+    private ParallelTasks() {}
+
+    /** @param size
+     *            the number of elements to split
+     * @param partitionSize
+     *            the number of elements that make a slice worth a task
+     * @param maxSlices
+     *            the maximum number of slices
+     * @return the number of slices for the elements; zero if there are none */
+    static int sliceCount(int size, int partitionSize, int maxSlices) {
+        int slices = (int) (((long) size + partitionSize - 1) / partitionSize);
+        return Math.max(Math.min(slices, maxSlices), size == 0 ? 0 : 1);
+    }
+
+    /** Splits elements, in iteration order, into slices of nearly equal size.
+     * The elements are copied to an array once and the slices are views of
+     * it; a single slice is the collection itself.
+     *
+     * @param elements
+     *            the elements to split
+     * @param count
+     *            the number of slices
+     * @return the slices; none if there are no elements */
+    @SuppressWarnings("unchecked")
+    static <E> List<Collection<E>> slices(Collection<E> elements, int count) {
+        int size = elements.size();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        if (count <= 1) {
+            return Collections.singletonList(elements);
+        }
+        List<E> array = Arrays.asList((E[]) elements.toArray());
+        List<Collection<E>> slices = new ArrayList<Collection<E>>(count);
+        for (int i = 0; i < count; i++) {
+            int start = (int) ((long) size * i / count);
+            int end = (int) ((long) size * (i + 1) / count);
+            slices.add(array.subList(start, end));
+        }
+        return slices;
+    }
+
+    /** Runs tasks on up to {@code threads} daemon threads, or on the calling
+     * thread if {@code threads} is 1 or less or there are fewer than two
+     * tasks. A runtime exception thrown by a task is rethrown as is; other
+     * exceptions are wrapped in an {@link OWLRuntimeException}.
+     *
+     * @param tasks
+     *            the tasks to run
+     * @param threads
+     *            the number of threads
+     * @param threadName
+     *            the name of the threads
+     * @return the results of the tasks, in the order of the tasks */
+    static <T> List<T> run(List<? extends Callable<T>> tasks, int threads,
+            final String threadName) {
+        List<T> results = new ArrayList<T>(tasks.size());
+        if (threads <= 1 || tasks.size() < 2) {
+            try {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new OWLRuntimeException(e);
+            }
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(threads, tasks.size()), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+        try {
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
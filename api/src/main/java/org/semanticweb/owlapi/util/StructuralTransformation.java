@@ -39,10 +39,12 @@
 package org.semanticweb.owlapi.util;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
@@ -118,20 +120,29 @@ import org.semanticweb.owlapi.model.SWRLRule;
  * Date: 01-Aug-2008<br>
  * <br> */
 public class StructuralTransformation {
+    /** maximum number of axioms transformed by each task of a parallel transformation */
+    private static final int PARTITION_SIZE = 2000;
     protected final OWLDataFactory df;
     private int nameCounter = 0;
+    private final String namePrefix;
     protected final Set<OWLEntity> signature;
 
     /** @param dataFactory
      *            factory to use */
     public StructuralTransformation(OWLDataFactory dataFactory) {
+        this(dataFactory, new HashSet<OWLEntity>(), "");
+    }
+
+    private StructuralTransformation(OWLDataFactory dataFactory,
+            Set<OWLEntity> signature, String namePrefix) {
         df = dataFactory;
-        signature = new HashSet<OWLEntity>();
+        this.signature = signature;
+        this.namePrefix = namePrefix;
     }
 
     protected OWLClass createNewName() {
         OWLClass cls = df.getOWLClass(IRI.create("http://www.semanticweb.org/ontology#", "X"
-                + nameCounter));
+                + namePrefix + nameCounter));
         nameCounter++;
         return cls;
     }
@@ -144,6 +155,45 @@ public class StructuralTransformation {
         for (OWLAxiom ax : axioms) {
             signature.addAll(ax.getSignature());
         }
+        return transform(axioms);
+    }
+
+    /** Transforms axioms on several threads. The axioms are split, in
+     * iteration order, into partitions of nearly equal size, bounded by a
+     * fixed size and depending only on the number of axioms; each partition
+     * is transformed by its own transformation. The fresh names introduced for
+     * partition {@code p} are {@code Xp_0}, {@code Xp_1}, and so on, so names
+     * never collide between partitions and the result does not depend on the
+     * number of threads or on scheduling. Names are created by this class, so
+     * overrides of {@link #createNewName()} are not used.
+     *
+     * @param axioms
+     *            axioms to transform
+     * @param threads
+     *            the number of threads to use; 1 or less transforms the
+     *            partitions in the calling thread
+     * @return transformed axioms */
+    public Set<OWLAxiom> getTransformedAxioms(Set<OWLAxiom> axioms, int threads) {
+        signature.clear();
+        for (OWLAxiom ax : axioms) {
+            signature.addAll(ax.getSignature());
+        }
+        List<TransformationTask> tasks = new ArrayList<TransformationTask>();
+        int partitions = ParallelTasks.sliceCount(axioms.size(), PARTITION_SIZE, Integer.MAX_VALUE);
+        for (Collection<OWLAxiom> partition : ParallelTasks.slices(axioms, partitions)) {
+            tasks.add(new TransformationTask(new StructuralTransformation(df, signature,
+                    tasks.size() + "_"), partition));
+        }
+        Set<OWLAxiom> transformedAxioms = new HashSet<OWLAxiom>();
+        for (Set<OWLAxiom> result : ParallelTasks.run(tasks, threads,
+                "OWLAPI structural transformation")) {
+            transformedAxioms.addAll(result);
+        }
+        return transformedAxioms;
+    }
+
+    /** transforms the axioms; the signature must have been computed */
+    private Set<OWLAxiom> transform(Collection<OWLAxiom> axioms) {
         AxiomRewriter rewriter = new AxiomRewriter();
         Set<OWLAxiom> transformedAxioms = new HashSet<OWLAxiom>();
         for (OWLAxiom ax : axioms) {
@@ -165,6 +215,23 @@ public class StructuralTransformation {
         return transformedAxioms;
     }
 
+    /** Transforms a partition of the axioms with its own transformation, which
+     * shares the signature of all the axioms but has its own fresh names. */
+    private static class TransformationTask implements Callable<Set<OWLAxiom>> {
+        private final StructuralTransformation transformation;
+        private final Collection<OWLAxiom> axioms;
+
+        TransformationTask(StructuralTransformation transformation, Collection<OWLAxiom> axioms) {
+            this.transformation = transformation;
+            this.axioms = axioms;
+        }
+
+        @Override
+        public Set<OWLAxiom> call() {
+            return transformation.transform(axioms);
+        }
+    }
+
     private class AxiomFlattener implements
             OWLClassExpressionVisitorEx<OWLClassExpression> {
         private final OWLDataFactory ldf;
@@ -0,0 +1,224 @@
+package org.semanticweb.owlapi.util;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomChange;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/** A bidirectional short form provider for the entities referenced in a set of
+ * ontologies that keeps short forms in {@link ConcurrentTrie}s, one keyed by
+ * the short forms and one by their lower case forms. Lookups by exact or case
+ * insensitive short form or prefix do not block and do not depend on the
+ * number of entities, and the tries are updated entity by entity as the
+ * ontologies change, rather than rebuilt.<br>
+ * Short forms are regenerated when annotation assertions about an entity are
+ * added or removed, so that providers based on annotation values stay in
+ * sync. Updates are serialized; lookups may run concurrently with them.
+ *
+ * @since 3.4.6 */
+public class TrieBidirectionalShortFormProvider implements BidirectionalShortFormProvider {
+    private final ShortFormProvider shortFormProvider;
+    private final Set<OWLOntology> ontologies;
+    private final OWLOntologyManager man;
+    private final ConcurrentHashMap<OWLEntity, String> shortForms = new ConcurrentHashMap<OWLEntity, String>();
+    private final ConcurrentTrie<OWLEntity> exact = new ConcurrentTrie<OWLEntity>();
+    private final ConcurrentTrie<OWLEntity> folded = new ConcurrentTrie<OWLEntity>();
+    private final OWLOntologyChangeListener changeListener = new OWLOntologyChangeListener() {
+        @Override
+        public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
+                throws OWLException {
+            handleChanges(changes);
+        }
+    };
+
+    /** Maps the entities referenced in the ontologies; the mapping is not
+     * updated when the ontologies change.
+     *
+     * @param ontologies
+     *            the ontologies referencing the entities to map
+     * @param shortFormProvider
+     *            the short form provider generating the short forms */
+    public TrieBidirectionalShortFormProvider(Set<OWLOntology> ontologies,
+            ShortFormProvider shortFormProvider) {
+        this(null, ontologies, shortFormProvider);
+    }
+
+    /** Maps the entities referenced in the ontologies, and listens to the
+     * manager to keep the mapping in sync with changes;
+     * {@link #dispose()} must be called to stop listening.
+     *
+     * @param man
+     *            the manager of the ontologies
+     * @param ontologies
+     *            the ontologies referencing the entities to map
+     * @param shortFormProvider
+     *            the short form provider generating the short forms */
+    public TrieBidirectionalShortFormProvider(OWLOntologyManager man,
+            Set<OWLOntology> ontologies, ShortFormProvider shortFormProvider) {
+        this.shortFormProvider = shortFormProvider;
+        this.ontologies = new HashSet<OWLOntology>(ontologies);
+        this.man = man;
+        for (OWLOntology ont : this.ontologies) {
+            for (OWLEntity entity : ont.getSignature()) {
+                add(entity);
+            }
+        }
+        if (man != null) {
+            man.addOntologyChangeListener(changeListener);
+        }
+    }
+
+    private static String fold(String shortForm) {
+        return shortForm.toLowerCase(Locale.ROOT);
+    }
+
+    /** Adds an entity, or regenerates its short form if it was already added.
+     *
+     * @param entity
+     *            the entity to add */
+    public synchronized void add(OWLEntity entity) {
+        String shortForm = shortFormProvider.getShortForm(entity);
+        String old = shortForms.put(entity, shortForm);
+        if (shortForm.equals(old)) {
+            return;
+        }
+        if (old != null) {
+            exact.remove(old, entity);
+            folded.remove(fold(old), entity);
+        }
+        exact.put(shortForm, entity);
+        folded.put(fold(shortForm), entity);
+    }
+
+    /** @param entity
+     *            the entity to remove */
+    public synchronized void remove(OWLEntity entity) {
+        String old = shortForms.remove(entity);
+        if (old != null) {
+            exact.remove(old, entity);
+            folded.remove(fold(old), entity);
+        }
+    }
+
+    @Override
+    public String getShortForm(OWLEntity entity) {
+        String shortForm = shortForms.get(entity);
+        if (shortForm != null) {
+            return shortForm;
+        }
+        return shortFormProvider.getShortForm(entity);
+    }
+
+    @Override
+    public Set<OWLEntity> getEntities(String shortForm) {
+        return exact.get(shortForm);
+    }
+
+    /** @param shortForm
+     *            the short form
+     * @param ignoreCase
+     *            true if short forms should be compared ignoring case
+     * @return the entities with the short form */
+    public Set<OWLEntity> getEntities(String shortForm, boolean ignoreCase) {
+        if (ignoreCase) {
+            return folded.get(fold(shortForm));
+        }
+        return exact.get(shortForm);
+    }
+
+    /** @param prefix
+     *            the prefix
+     * @param ignoreCase
+     *            true if short forms should be compared ignoring case
+     * @param limit
+     *            the maximum number of entities to return
+     * @return the entities whose short forms start with the prefix, in the
+     *         order of their short forms, up to the limit */
+    public Set<OWLEntity> getEntitiesByPrefix(String prefix, boolean ignoreCase,
+            int limit) {
+        if (ignoreCase) {
+            return folded.getByPrefix(fold(prefix), limit);
+        }
+        return exact.getByPrefix(prefix, limit);
+    }
+
+    /** @param prefix
+     *            the prefix
+     * @param limit
+     *            the maximum number of short forms to return
+     * @return the short forms starting with the prefix, in order, up to the
+     *         limit */
+    public List<String> getShortFormsByPrefix(String prefix, int limit) {
+        return exact.getKeysByPrefix(prefix, limit);
+    }
+
+    @Override
+    public OWLEntity getEntity(String shortForm) {
+        Set<OWLEntity> entities = exact.get(shortForm);
+        if (entities.isEmpty()) {
+            return null;
+        }
+        return entities.iterator().next();
+    }
+
+    @Override
+    public Set<String> getShortForms() {
+        return new HashSet<String>(shortForms.values());
+    }
+
+    @Override
+    public void dispose() {
+        if (man != null) {
+            man.removeOntologyChangeListener(changeListener);
+        }
+    }
+
+    void handleChanges(List<? extends OWLOntologyChange> changes) {
+        Set<OWLEntity> processed = new HashSet<OWLEntity>();
+        for (OWLOntologyChange chg : changes) {
+            if (!chg.isAxiomChange() || !ontologies.contains(chg.getOntology())) {
+                continue;
+            }
+            for (OWLEntity ent : ((OWLAxiomChange) chg).getSignature()) {
+                if (processed.add(ent)) {
+                    update(ent);
+                }
+            }
+            if (chg.getAxiom() instanceof OWLAnnotationAssertionAxiom) {
+                OWLAnnotationAssertionAxiom ax = (OWLAnnotationAssertionAxiom) chg
+                        .getAxiom();
+                if (ax.getSubject() instanceof IRI) {
+                    for (OWLOntology ont : ontologies) {
+                        for (OWLEntity ent : ont.getEntitiesInSignature((IRI) ax
+                                .getSubject())) {
+                            if (processed.add(ent)) {
+                                update(ent);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void update(OWLEntity ent) {
+        for (OWLOntology ont : ontologies) {
+            if (ont.containsEntityInSignature(ent)) {
+                add(ent);
+                return;
+            }
+        }
+        remove(ent);
+    }
+}
@@ -0,0 +1,49 @@
+package org.coode.owlapi.rdfxml.parser;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class CompactTripleStoreTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/triples#";
+
+    @Test
+    public void shouldReuseSpillSpaceForRevisitedSubjects() {
+        OWLDataFactoryImpl df = new OWLDataFactoryImpl();
+        CompactTripleStore store = new CompactTripleStore(df, 4);
+        IRI p = IRI.create(NS + "p");
+        IRI q = IRI.create(NS + "q");
+        int subjects = 20;
+        for (int i = 0; i < subjects; i++) {
+            IRI s = IRI.create(NS + "s" + i);
+            store.addTriple(s, p, IRI.create(NS + "o" + i));
+            store.addTriple(s, q, df.getOWLLiteral("value " + i, "en"));
+        }
+        long length = 0;
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < subjects; i++) {
+                IRI s = IRI.create(NS + "s" + i);
+                assertEquals(Collections.singleton(IRI.create(NS + "o" + i)),
+                        store.getResourceObjects(s, p));
+                OWLLiteral literal = store.getLiteralObject(s, q, false);
+                assertEquals("value " + i, literal.getLiteral());
+                assertEquals("en", literal.getLang());
+            }
+            if (round == 1) {
+                length = store.getSpillLength();
+                assertTrue(length > 0);
+            }
+        }
+        assertEquals(length, store.getSpillLength());
+        assertEquals(subjects, store.getSubjects().size());
+        store.clear();
+        assertEquals(0, store.getSpillLength());
+    }
+}
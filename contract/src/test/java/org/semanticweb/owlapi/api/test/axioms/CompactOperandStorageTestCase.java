@@ -0,0 +1,140 @@
+package org.semanticweb.owlapi.api.test.axioms;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class CompactOperandStorageTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/operands#";
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private static List<OWLClassExpression> classes(int size) {
+        List<OWLClassExpression> classes = new ArrayList<OWLClassExpression>();
+        for (int i = 0; i < size; i++) {
+            classes.add(Class(IRI(NS + "C" + i)));
+            classes.add(ObjectSomeValuesFrom(ObjectProperty(IRI(NS + "p")),
+                    Class(IRI(NS + "C" + i))));
+        }
+        return classes;
+    }
+
+    @Test
+    public void shouldKeepSetSemanticsAndOrder() {
+        List<OWLClassExpression> classes = classes(300);
+        OWLDisjointClassesAxiom ax = DisjointClasses(new HashSet<OWLClassExpression>(classes));
+        Collections.reverse(classes);
+        OWLDisjointClassesAxiom reversed = DisjointClasses(new LinkedHashSet<OWLClassExpression>(
+                classes));
+        assertEquals(ax, reversed);
+        assertEquals(ax.hashCode(), reversed.hashCode());
+        assertEquals(0, ax.compareTo(reversed));
+        Set<OWLClassExpression> expected = new TreeSet<OWLClassExpression>(classes);
+        assertEquals(expected, ax.getClassExpressions());
+        assertEquals(ax.getClassExpressions(), expected);
+        assertEquals(new ArrayList<OWLClassExpression>(expected),
+                ax.getClassExpressionsAsList());
+        for (OWLClassExpression ce : classes) {
+            assertTrue(ax.contains(ce));
+        }
+        assertFalse(ax.contains(Class(IRI(NS + "D"))));
+        assertEquals(expected.size() - 1, ax.getClassExpressionsMinus(classes.get(0))
+                .size());
+        // the returned sets can be modified without changing the axiom
+        Set<OWLClassExpression> operands = ax.getClassExpressions();
+        operands.clear();
+        assertEquals(expected.size(), ax.getClassExpressions().size());
+        OWLDisjointClassesAxiom smaller = DisjointClasses(new HashSet<OWLClassExpression>(
+                classes(299)));
+        assertFalse(ax.equals(smaller));
+        assertEquals(-smaller.compareTo(ax), ax.compareTo(smaller));
+    }
+
+    @Test
+    public void shouldCompareBooleanExpressionsAndIndividuals() {
+        OWLObjectIntersectionOf i1 = df.getOWLObjectIntersectionOf(new HashSet<OWLClassExpression>(
+                classes(5)));
+        OWLObjectIntersectionOf i2 = df.getOWLObjectIntersectionOf(new TreeSet<OWLClassExpression>(
+                classes(5)));
+        OWLObjectIntersectionOf i3 = df.getOWLObjectIntersectionOf(new HashSet<OWLClassExpression>(
+                classes(4)));
+        assertEquals(i1, i2);
+        assertEquals(0, i1.compareTo(i2));
+        assertFalse(i1.equals(i3));
+        assertTrue(i1.compareTo(i3) != 0);
+        assertEquals(Integer.signum(i1.compareTo(i3)), -Integer.signum(i3.compareTo(i1)));
+        assertFalse(i1.equals(df.getOWLObjectUnionOf(new HashSet<OWLClassExpression>(classes(5)))));
+        Set<OWLIndividual> individuals = new HashSet<OWLIndividual>();
+        for (int i = 0; i < 200; i++) {
+            individuals.add(NamedIndividual(IRI(NS + "i" + i)));
+        }
+        OWLSameIndividualAxiom same = df.getOWLSameIndividualAxiom(individuals);
+        assertEquals(individuals, same.getIndividuals());
+        assertEquals(new ArrayList<OWLIndividual>(new TreeSet<OWLIndividual>(individuals)),
+                same.getIndividualsAsList());
+        assertEquals(same, df.getOWLSameIndividualAxiom(new TreeSet<OWLIndividual>(individuals)));
+    }
+
+    @Test
+    public void shouldOrderBuiltInDatatypesConsistently() {
+        OWLDataRange integer = df.getIntegerOWLDatatype();
+        OWLDataRange complement = df.getOWLDataComplementOf(df.getBooleanOWLDatatype());
+        assertEquals(Integer.signum(integer.compareTo(complement)),
+                -Integer.signum(complement.compareTo(integer)));
+        assertEquals(df.getOWLDataUnionOf(integer, complement),
+                df.getOWLDataUnionOf(complement, integer));
+    }
+
+    @Test
+    public void shouldReadOperandsSerializedByEarlierVersions() throws Exception {
+        // n-ary axioms and expressions written by 3.4.5, which held TreeSets
+        ObjectInputStream stream = new ObjectInputStream(getClass().getResourceAsStream(
+                "/serialization/nary-3.4.5.ser"));
+        List<?> objects = (List<?>) stream.readObject();
+        stream.close();
+        OWLClass a = Class(IRI(NS + "A"));
+        OWLClass b = Class(IRI(NS + "B"));
+        OWLClass c = Class(IRI(NS + "C"));
+        List<OWLObject> expected = new ArrayList<OWLObject>();
+        expected.add(DisjointClasses(a, b, c));
+        expected.add(ObjectIntersectionOf(a, ObjectUnionOf(b, c)));
+        expected.add(DataOneOf(Literal(1), Literal(2)));
+        expected.add(DataUnionOf(Integer(), Boolean()));
+        expected.add(DifferentIndividuals(NamedIndividual(IRI(NS + "i")),
+                NamedIndividual(IRI(NS + "j"))));
+        expected.add(EquivalentObjectProperties(ObjectProperty(IRI(NS + "p")),
+                ObjectProperty(IRI(NS + "q"))));
+        assertEquals(expected, objects);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).hashCode(), objects.get(i).hashCode());
+            assertEquals(0, expected.get(i).compareTo((OWLObject) objects.get(i)));
+        }
+        OWLDisjointClassesAxiom disjoint = (OWLDisjointClassesAxiom) objects.get(0);
+        assertTrue(disjoint.contains(b));
+        assertEquals(new HashSet<OWLClassExpression>(Arrays.asList(a, c)),
+                disjoint.getClassExpressionsMinus(b));
+        assertEquals(Arrays.asList(a, b, c), disjoint.getClassExpressionsAsList());
+    }
+}
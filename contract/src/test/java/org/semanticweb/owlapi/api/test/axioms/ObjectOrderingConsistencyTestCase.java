@@ -0,0 +1,82 @@
+package org.semanticweb.owlapi.api.test.axioms;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class ObjectOrderingConsistencyTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/order#";
+
+    private static List<OWLObject> objects(OWLDataFactory df) {
+        List<OWLObject> objects = new ArrayList<OWLObject>();
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS + "p"));
+        OWLDataProperty d = df.getOWLDataProperty(IRI.create(NS + "d"));
+        List<OWLDataRange> ranges = new ArrayList<OWLDataRange>();
+        ranges.add(df.getIntegerOWLDatatype());
+        ranges.add(df.getBooleanOWLDatatype());
+        ranges.add(df.getOWLDatatype(IRI.create(NS + "dt")));
+        ranges.add(df.getOWLDataComplementOf(df.getBooleanOWLDatatype()));
+        ranges.add(df.getOWLDataOneOf(df.getOWLLiteral(1), df.getOWLLiteral("a")));
+        ranges.add(df.getOWLDataUnionOf(df.getIntegerOWLDatatype(),
+                df.getOWLDataComplementOf(df.getBooleanOWLDatatype())));
+        objects.addAll(ranges);
+        for (int i = 0; i < 4; i++) {
+            OWLClass a = df.getOWLClass(IRI.create(NS + "A" + i));
+            OWLClass b = df.getOWLClass(IRI.create(NS + "B" + i));
+            OWLClassExpression some = df.getOWLObjectSomeValuesFrom(p, a);
+            objects.add(a);
+            objects.add(some);
+            objects.add(df.getOWLObjectAllValuesFrom(p, a));
+            objects.add(df.getOWLObjectIntersectionOf(a, b));
+            objects.add(df.getOWLObjectIntersectionOf(a, some));
+            objects.add(df.getOWLObjectUnionOf(a, b));
+            objects.add(df.getOWLObjectMinCardinality(i, p, a));
+            objects.add(df.getOWLDataSomeValuesFrom(d, ranges.get(i)));
+            objects.add(df.getOWLSubClassOfAxiom(a, some));
+            objects.add(df.getOWLDisjointClassesAxiom(a, b, some));
+            objects.add(df.getOWLEquivalentClassesAxiom(a, b, some));
+            objects.add(df.getOWLLiteral(i));
+            objects.add(df.getOWLLiteral(Integer.toString(i)));
+            objects.add(df.getOWLLiteral(i + 0.5D));
+        }
+        return objects;
+    }
+
+    @Test
+    public void shouldOrderConsistentlyWithEquals() {
+        List<OWLObject> objects = objects(new OWLDataFactoryImpl());
+        // structurally equal copies from another factory
+        objects.addAll(objects(new OWLDataFactoryImpl(false, false)));
+        for (OWLObject a : objects) {
+            for (OWLObject b : objects) {
+                int ab = a.compareTo(b);
+                int ba = b.compareTo(a);
+                assertEquals(a + " " + b, Integer.signum(ab), -Integer.signum(ba));
+                assertEquals(a + " " + b, a.equals(b), b.equals(a));
+                if (a.equals(b)) {
+                    assertEquals(a + " " + b, 0, ab);
+                    assertEquals(a + " " + b, a.hashCode(), b.hashCode());
+                }
+            }
+        }
+        TreeSet<OWLObject> sorted = new TreeSet<OWLObject>(objects);
+        assertEquals(new HashSet<OWLObject>(objects).size(), sorted.size());
+        assertEquals(sorted.size() * 2, objects.size());
+    }
+}
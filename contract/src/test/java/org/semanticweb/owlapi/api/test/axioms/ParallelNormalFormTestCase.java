@@ -0,0 +1,94 @@
+package org.semanticweb.owlapi.api.test.axioms;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.normalform.NegationalNormalFormConverter;
+import org.semanticweb.owlapi.util.NNF;
+import org.semanticweb.owlapi.util.StructuralTransformation;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class ParallelNormalFormTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/nf#";
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+
+    private OWLClass cls(int i) {
+        return Class(IRI(NS + "A" + i));
+    }
+
+    private Set<OWLAxiom> axioms(int size) {
+        Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+        for (int i = 0; i < size; i++) {
+            axioms.add(SubClassOf(
+                    cls(i),
+                    ObjectComplementOf(ObjectIntersectionOf(cls(i + 1),
+                            ObjectSomeValuesFrom(p, ObjectUnionOf(cls(i + 2), cls(i + 3)))))));
+        }
+        return axioms;
+    }
+
+    @Test
+    public void shouldConvertToNNFLikeSingleConverter() {
+        Set<OWLAxiom> axioms = axioms(5000);
+        Set<OWLAxiom> expected = new HashSet<OWLAxiom>();
+        List<OWLClassExpression> superClasses = new ArrayList<OWLClassExpression>();
+        List<OWLClassExpression> expectedSuperClasses = new ArrayList<OWLClassExpression>();
+        NNF nnf = new NNF(df);
+        for (OWLAxiom ax : axioms) {
+            nnf.reset();
+            expected.add(ax.accept(nnf));
+            OWLClassExpression superClass = ((OWLSubClassOfAxiom) ax).getSuperClass();
+            superClasses.add(superClass);
+            nnf.reset();
+            expectedSuperClasses.add(superClass.accept(nnf));
+        }
+        assertEquals(expected, new NNF(df).getNNF(axioms, 4));
+        assertEquals(expected, new NNF(df).getNNF(axioms, 1));
+        assertEquals(expectedSuperClasses,
+                new NegationalNormalFormConverter(df).convertToNormalForm(superClasses, 3));
+    }
+
+    @Test
+    public void shouldTransformDeterministically() {
+        Set<OWLAxiom> axioms = axioms(5000);
+        Set<OWLAxiom> sequential = new StructuralTransformation(df)
+                .getTransformedAxioms(axioms);
+        Set<OWLAxiom> single = new StructuralTransformation(df).getTransformedAxioms(
+                axioms, 1);
+        Set<OWLAxiom> parallel = new StructuralTransformation(df).getTransformedAxioms(
+                axioms, 4);
+        assertEquals(single, parallel);
+        assertEquals(sequential.size(), parallel.size());
+        // fresh names are distinct across partitions
+        assertFalse(freshNames(sequential).isEmpty());
+        assertEquals(freshNames(sequential).size(), freshNames(parallel).size());
+    }
+
+    private static Set<OWLEntity> freshNames(Set<OWLAxiom> axioms) {
+        Set<OWLEntity> names = new HashSet<OWLEntity>();
+        for (OWLAxiom ax : axioms) {
+            for (OWLEntity e : ax.getSignature()) {
+                if (!e.getIRI().toString().startsWith(NS)) {
+                    names.add(e);
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,75 @@
+package org.semanticweb.owlapi.api.test.classexpressions;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class HashConsingDataFactoryTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/hashcons#";
+
+    private static OWLClassExpression expression(OWLDataFactory df) {
+        OWLClass a = df.getOWLClass(IRI.create(NS + "A"));
+        OWLClass b = df.getOWLClass(IRI.create(NS + "B"));
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS + "p"));
+        return df.getOWLObjectIntersectionOf(a,
+                df.getOWLObjectSomeValuesFrom(p, df.getOWLObjectUnionOf(a, b)));
+    }
+
+    private static OWLDataRange dataRange(OWLDataFactory df) {
+        return df.getOWLDataUnionOf(df.getIntegerOWLDatatype(),
+                df.getOWLDataComplementOf(df.getBooleanOWLDatatype()));
+    }
+
+    @Test
+    public void shouldShareEqualObjects() {
+        OWLDataFactoryImpl df = new OWLDataFactoryImpl(true, false, true);
+        assertTrue(df.isHashConsing());
+        OWLClassExpression ce = expression(df);
+        assertSame(ce, expression(df));
+        assertSame(dataRange(df), dataRange(df));
+        OWLDataProperty d = df.getOWLDataProperty(IRI.create(NS + "d"));
+        assertSame(df.getOWLDataSomeValuesFrom(d, dataRange(df)),
+                df.getOWLDataSomeValuesFrom(d, dataRange(df)));
+        OWLClass c = df.getOWLClass(IRI.create(NS + "C"));
+        OWLAxiom axiom = df.getOWLSubClassOfAxiom(c, ce);
+        assertSame(axiom, df.getOWLSubClassOfAxiom(c, expression(df)));
+        // annotated axioms are different objects
+        OWLAnnotation annotation = df.getOWLAnnotation(df.getRDFSComment(),
+                df.getOWLLiteral("x"));
+        OWLAxiom annotated = df.getOWLSubClassOfAxiom(c, ce,
+                Collections.singleton(annotation));
+        assertNotSame(axiom, annotated);
+        assertEquals(axiom, annotated.getAxiomWithoutAnnotations());
+        assertSame(annotated, df.getOWLSubClassOfAxiom(c, ce,
+                Collections.singleton(df.getOWLAnnotation(df.getRDFSComment(),
+                        df.getOWLLiteral("x")))));
+        // different structures are not shared
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS + "p"));
+        assertNotSame(df.getOWLObjectSomeValuesFrom(p, c),
+                df.getOWLObjectAllValuesFrom(p, c));
+        df.purge();
+        assertEquals(ce, expression(df));
+    }
+
+    @Test
+    public void shouldNotShareByDefault() {
+        OWLDataFactoryImpl df = new OWLDataFactoryImpl();
+        assertFalse(df.isHashConsing());
+        assertEquals(expression(df), expression(df));
+        assertNotSame(expression(df), expression(df));
+    }
+}
@@ -0,0 +1,108 @@
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveImport;
+
+@SuppressWarnings("javadoc")
+public class ImportsClosureCacheTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/closure#";
+
+    private static AddImport addImport(OWLOntology importing, String imported) {
+        return new AddImport(importing, ImportsDeclaration(IRI(NS + imported)));
+    }
+
+    private static Set<OWLOntology> set(OWLOntology... ontologies) {
+        return new HashSet<OWLOntology>(Arrays.asList(ontologies));
+    }
+
+    @Test
+    public void shouldInvalidateOnlyAffectedClosures() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology a = manager.createOntology(IRI(NS + "a"));
+        OWLOntology b = manager.createOntology(IRI(NS + "b"));
+        OWLOntology c = manager.createOntology(IRI(NS + "c"));
+        OWLOntology d = manager.createOntology(IRI(NS + "d"));
+        OWLOntology e = manager.createOntology(IRI(NS + "e"));
+        manager.applyChange(addImport(a, "b"));
+        manager.applyChange(addImport(c, "d"));
+        assertEquals(set(a, b), manager.getImportsClosure(a));
+        assertEquals(set(c, d), manager.getImportsClosure(c));
+        assertEquals(set(b), manager.getImportsClosure(b));
+        // changing the imports of b changes the closures containing b only
+        manager.applyChange(addImport(b, "e"));
+        assertEquals(set(a, b, e), manager.getImportsClosure(a));
+        assertEquals(set(b, e), manager.getImportsClosure(b));
+        assertEquals(set(c, d), manager.getImportsClosure(c));
+        // the returned sets can be changed without affecting the cache
+        Set<OWLOntology> closure = manager.getImportsClosure(a);
+        closure.clear();
+        assertEquals(set(a, b, e), a.getImportsClosure());
+        manager.removeOntology(e);
+        assertEquals(set(a, b), manager.getImportsClosure(a));
+        assertEquals(set(c, d), manager.getImportsClosure(c));
+        manager.applyChange(new RemoveImport(c, ImportsDeclaration(IRI(NS + "d"))));
+        assertEquals(set(c), manager.getImportsClosure(c));
+        assertEquals(set(a, b), manager.getImportsClosure(a));
+    }
+
+    @Test
+    public void shouldAnswerClosureSignatureQueriesThroughChanges() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology importing = manager.createOntology(IRI(NS + "importing"));
+        OWLOntology imported = manager.createOntology(IRI(NS + "imported"));
+        manager.applyChange(addImport(importing, "imported"));
+        for (int i = 0; i < 200; i++) {
+            OWLClass cls = Class(IRI(NS + "C" + i));
+            IRI iri = cls.getIRI();
+            assertFalse(importing.containsClassInSignature(iri, true));
+            assertFalse(importing.containsEntityInSignature(cls, true));
+            // alternate the ontology that changes
+            manager.addAxiom(i % 2 == 0 ? imported : importing, Declaration(cls));
+            assertTrue(importing.containsClassInSignature(iri, true));
+            assertTrue(importing.containsEntityInSignature(cls, true));
+            assertTrue(importing.containsEntityInSignature(iri, true));
+            assertFalse(importing.containsObjectPropertyInSignature(iri, true));
+            assertEquals(new HashSet<OWLEntity>(Arrays.asList(cls)),
+                    importing.getEntitiesInSignature(iri, true));
+            assertEquals(i % 2 == 1, importing.containsClassInSignature(iri, false));
+        }
+        assertEquals(200, importing.getSignature(true).size());
+        manager.applyChange(new RemoveImport(importing, ImportsDeclaration(IRI(NS
+                + "imported"))));
+        assertFalse(importing.containsClassInSignature(IRI(NS + "C0"), true));
+        assertTrue(importing.containsClassInSignature(IRI(NS + "C1"), true));
+        assertEquals(100, importing.getSignature(true).size());
+    }
+
+    @Test
+    public void shouldKeepAnnotationPropertySemantics() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology importing = manager.createOntology(IRI(NS + "importing"));
+        OWLOntology imported = manager.createOntology(IRI(NS + "imported"));
+        manager.applyChange(addImport(importing, "imported"));
+        OWLAnnotationProperty comment = RDFSComment();
+        manager.applyChange(new AddOntologyAnnotation(imported, Annotation(comment,
+                Literal("imported"))));
+        assertTrue(importing.containsAnnotationPropertyInSignature(comment.getIRI(), true));
+        assertTrue(importing.getSignature(true).contains(comment));
+        // only referencing axioms count for containsEntityInSignature(OWLEntity)
+        assertEquals(imported.containsEntityInSignature(comment),
+                importing.containsEntityInSignature(comment, true));
+    }
+}
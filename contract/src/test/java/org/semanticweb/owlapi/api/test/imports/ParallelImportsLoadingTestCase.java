@@ -0,0 +1,217 @@
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.coode.owlapi.turtle.TurtleOntologyFormat;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLFunctionalSyntaxOntologyFormat;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLXMLOntologyFormat;
+import org.semanticweb.owlapi.io.RDFXMLOntologyFormat;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportEvent;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.MissingImportListener;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyFactory.OWLOntologyCreationHandler;
+import org.semanticweb.owlapi.model.OWLOntologyFormat;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+import org.semanticweb.owlapi.util.AutoIRIMapper;
+import org.semanticweb.owlapi.util.SimpleIRIMapper;
+
+import uk.ac.manchester.cs.owl.owlapi.ParsableOWLOntologyFactory;
+
+@SuppressWarnings("javadoc")
+public class ParallelImportsLoadingTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/parallelimports/";
+    private static final OWLOntologyFormat[] FORMATS = { new RDFXMLOntologyFormat(),
+            new TurtleOntologyFormat(), new OWLXMLOntologyFormat(),
+            new OWLFunctionalSyntaxOntologyFormat() };
+
+    /** Counts the documents parsed, also by the scratch managers of the
+     * imports loader, which create their factories by type. */
+    public static class CountingOntologyFactory extends ParsableOWLOntologyFactory {
+        private static final long serialVersionUID = 30402L;
+        static final AtomicInteger PARSED = new AtomicInteger();
+
+        @Override
+        public OWLOntology loadOWLOntology(OWLOntologyDocumentSource documentSource,
+                OWLOntologyCreationHandler mediator,
+                OWLOntologyLoaderConfiguration configuration)
+                throws OWLOntologyCreationException {
+            PARSED.incrementAndGet();
+            return super.loadOWLOntology(documentSource, mediator, configuration);
+        }
+    }
+
+    private final List<SimpleIRIMapper> mappers = new ArrayList<SimpleIRIMapper>();
+
+    private IRI save(OWLOntologyManager manager, OWLOntology ontology,
+            OWLOntologyFormat format, File folder) throws Exception {
+        File file = new File(folder, mappers.size() + ".owl");
+        file.deleteOnExit();
+        manager.saveOntology(ontology, format, IRI.create(file));
+        mappers.add(new SimpleIRIMapper(ontology.getOntologyID().getOntologyIRI(), IRI
+                .create(file)));
+        return IRI.create(file);
+    }
+
+    /** A base ontology declaring two properties, imported by modules in all
+     * formats that use the properties without declaring them, all imported by
+     * a root ontology. */
+    private IRI createImports(File folder) throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "base#p"));
+        OWLDataProperty d = DataProperty(IRI(NS + "base#d"));
+        OWLOntology base = manager.createOntology(IRI(NS + "base"));
+        manager.addAxiom(base, Declaration(p));
+        manager.addAxiom(base, Declaration(d));
+        save(manager, base, new RDFXMLOntologyFormat(), folder);
+        OWLOntology root = manager.createOntology(IRI(NS + "root"));
+        for (int i = 0; i < 12; i++) {
+            IRI moduleIRI = IRI(NS + "module" + i);
+            OWLOntology module = manager.createOntology(moduleIRI);
+            manager.applyChange(new AddImport(module, ImportsDeclaration(base
+                    .getOntologyID().getOntologyIRI())));
+            OWLClass c = Class(IRI(moduleIRI + "#C"));
+            manager.addAxiom(module, Declaration(c));
+            manager.addAxiom(module, SubClassOf(c, ObjectSomeValuesFrom(p, OWLThing())));
+            manager.addAxiom(module, ObjectPropertyAssertion(p,
+                    NamedIndividual(IRI(moduleIRI + "#a")),
+                    NamedIndividual(IRI(moduleIRI + "#b"))));
+            manager.addAxiom(module, DataPropertyAssertion(d,
+                    NamedIndividual(IRI(moduleIRI + "#a")), Literal(i)));
+            save(manager, module, FORMATS[i % FORMATS.length], folder);
+            manager.applyChange(new AddImport(root, ImportsDeclaration(moduleIRI)));
+        }
+        return save(manager, root, new RDFXMLOntologyFormat(), folder);
+    }
+
+    private OWLOntology load(IRI documentIRI, OWLOntologyLoaderConfiguration config)
+            throws Exception {
+        return load(Factory.getManager(), documentIRI, config);
+    }
+
+    private OWLOntology load(OWLOntologyManager manager, IRI documentIRI,
+            OWLOntologyLoaderConfiguration config) throws Exception {
+        for (SimpleIRIMapper mapper : mappers) {
+            manager.addIRIMapper(mapper);
+        }
+        return manager.loadOntologyFromOntologyDocument(
+                new IRIDocumentSource(documentIRI), config);
+    }
+
+    @Test
+    public void shouldLoadSameImportsClosureInParallel() throws Exception {
+        File folder = File.createTempFile("parallelimports", "");
+        folder.delete();
+        folder.mkdir();
+        folder.deleteOnExit();
+        IRI documentIRI = createImports(folder);
+        OWLOntology serial = load(documentIRI, new OWLOntologyLoaderConfiguration());
+        OWLOntologyManager manager = Factory.getManager();
+        manager.addOntologyFactory(new CountingOntologyFactory());
+        CountingOntologyFactory.PARSED.set(0);
+        OWLOntology parallel = load(manager, documentIRI,
+                new OWLOntologyLoaderConfiguration().setImportsLoadingThreads(4));
+        // imports, with or without imports of their own, are not parsed again
+        assertEquals(14, CountingOntologyFactory.PARSED.get());
+        assertEquals(14, serial.getImportsClosure().size());
+        assertEquals(serial.getImportsClosure().size(), parallel.getImportsClosure()
+                .size());
+        for (OWLOntology ontology : serial.getImportsClosure()) {
+            OWLOntology loaded = manager.getOntology(ontology.getOntologyID());
+            assertNotNull(loaded);
+            assertEquals(ontology.getAxioms(), loaded.getAxioms());
+            assertEquals(ontology.getImportsDeclarations(), loaded.getImportsDeclarations());
+            assertEquals(ontology.getDirectImports().size(), loaded.getDirectImports()
+                    .size());
+            assertNotNull(manager.getOntologyFormat(loaded));
+            assertEquals(serial.getOWLOntologyManager().getOntologyDocumentIRI(ontology),
+                    manager.getOntologyDocumentIRI(loaded));
+        }
+    }
+
+    @Test
+    public void shouldLoadCyclicImportsInParallel() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        manager.addIRIMapper(new AutoIRIMapper(new File(MultiImportsTestCase.RESOURCES,
+                "importscyclic"), true));
+        OWLOntology ontology = manager.loadOntologyFromOntologyDocument(
+                new FileDocumentSource(new File(
+                        MultiImportsTestCase.RESOURCES, "importscyclic/D.owl")),
+                new OWLOntologyLoaderConfiguration().setImportsLoadingThreads(2));
+        OWLOntologyManager serialManager = Factory.getManager();
+        serialManager.addIRIMapper(new AutoIRIMapper(new File(
+                MultiImportsTestCase.RESOURCES, "importscyclic"), true));
+        OWLOntology serial = serialManager.loadOntologyFromOntologyDocument(new File(
+                MultiImportsTestCase.RESOURCES, "importscyclic/D.owl"));
+        assertEquals(serial.getImportsClosure().size(), ontology.getImportsClosure()
+                .size());
+        assertEquals(serialManager.getOntologies().size(), manager.getOntologies().size());
+    }
+
+    @Test
+    public void shouldHandleMissingImportsInParallel() throws Exception {
+        File folder = File.createTempFile("parallelimports", "");
+        folder.delete();
+        folder.mkdir();
+        folder.deleteOnExit();
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology root = manager.createOntology(IRI(NS + "missingroot"));
+        manager.applyChange(new AddImport(root, ImportsDeclaration(IRI(NS + "missing"))));
+        // the RDF parser asks for the imported ontology while parsing
+        IRI rdfDocumentIRI = save(manager, root, new RDFXMLOntologyFormat(), folder);
+        IRI documentIRI = save(manager, root, new OWLFunctionalSyntaxOntologyFormat(),
+                folder);
+        // the missing ontology is mapped to a file that does not exist
+        mappers.add(new SimpleIRIMapper(IRI(NS + "missing"), IRI.create(new File(folder,
+                "missing.owl"))));
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration()
+                .setImportsLoadingThreads(2);
+        for (IRI iri : Arrays.asList(rdfDocumentIRI, documentIRI)) {
+            OWLOntologyManager failing = Factory.getManager();
+            try {
+                load(failing, iri, config);
+                fail("missing import should throw");
+            } catch (UnloadableImportException e) {
+                assertEquals(IRI(NS + "missing"), e.getImportsDeclaration().getIRI());
+            }
+            assertTrue(failing.getOntologies().isEmpty());
+        }
+        OWLOntologyManager silent = Factory.getManager();
+        for (SimpleIRIMapper mapper : mappers) {
+            silent.addIRIMapper(mapper);
+        }
+        final List<IRI> missing = new ArrayList<IRI>();
+        silent.addMissingImportListener(new MissingImportListener() {
+            @Override
+            public void importMissing(MissingImportEvent event) {
+                missing.add(event.getImportedOntologyURI());
+            }
+        });
+        OWLOntology loaded = silent.loadOntologyFromOntologyDocument(
+                new IRIDocumentSource(documentIRI),
+                config.setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        assertEquals(1, loaded.getImportsDeclarations().size());
+        assertEquals(1, missing.size());
+        assertEquals(IRI(NS + "missing"), missing.get(0));
+    }
+}
@@ -0,0 +1,110 @@
+package org.semanticweb.owlapi.api.test.literals;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLLiteralImpl;
+
+@SuppressWarnings("javadoc")
+public class CompactLiteralStorageTestCase {
+    private final OWLDataFactory df = new OWLDataFactoryImpl(true, true);
+
+    private static String repeat(String s, int times) {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            b.append(s);
+        }
+        return b.toString();
+    }
+
+    private static List<String> values() {
+        List<String> values = new ArrayList<String>();
+        values.add("");
+        values.add("plain");
+        values.add("café naïve ÿ");
+        values.add("中文");
+        values.add("z");
+        values.add(repeat("long annotation text ", 20));
+        values.add(repeat("long annotation text ", 20) + "é");
+        values.add(repeat("é中", 100));
+        return values;
+    }
+
+    @Test
+    public void shouldRoundTripLexicalForms() {
+        for (String value : values()) {
+            OWLLiteral literal = df.getOWLLiteral(value, "en");
+            assertTrue(literal instanceof OWLLiteralImpl);
+            assertEquals(value, literal.getLiteral());
+            assertEquals("en", literal.getLang());
+            OWLLiteral typed = df.getOWLLiteral(value, df.getRDFPlainLiteral());
+            assertEquals(value, typed.getLiteral());
+        }
+        assertTrue(df.getOWLLiteral("true", df.getBooleanOWLDatatype()).parseBoolean());
+    }
+
+    @Test
+    public void shouldCompareAndHashLikeStrings() {
+        OWLDataFactory plain = new OWLDataFactoryImpl(false, false);
+        List<String> values = values();
+        List<OWLLiteral> literals = new ArrayList<OWLLiteral>();
+        for (String value : values) {
+            OWLLiteral literal = df.getOWLLiteral(value, "");
+            OWLLiteral copy = new OWLDataFactoryImpl(false, true).getOWLLiteral(value, "");
+            assertEquals(literal, copy);
+            assertEquals(literal.hashCode(), copy.hashCode());
+            assertEquals(0, literal.compareTo(copy));
+            OWLLiteral uncompressed = plain.getOWLLiteral(value, "");
+            assertEquals(literal, uncompressed);
+            assertEquals(uncompressed, literal);
+            literals.add(literal);
+        }
+        Collections.sort(values);
+        Collections.sort(literals);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), literals.get(i).getLiteral());
+        }
+        assertFalse(df.getOWLLiteral("café", "").equals(df.getOWLLiteral("cafe", "")));
+    }
+
+    @Test
+    public void shouldSerializeLongLiterals() throws Exception {
+        OWLLiteral literal = df.getOWLLiteral(repeat("中", 500), "zh");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(out);
+        stream.writeObject(literal);
+        stream.flush();
+        OWLLiteral copy = (OWLLiteral) new ObjectInputStream(new ByteArrayInputStream(
+                out.toByteArray())).readObject();
+        assertEquals(literal, copy);
+        assertEquals(literal.getLiteral(), copy.getLiteral());
+    }
+
+    @Test
+    public void shouldReadLiteralsSerializedByEarlierVersions() throws Exception {
+        // a long literal, stored compressed, and a short one, written by 3.4.5
+        ObjectInputStream stream = new ObjectInputStream(getClass().getResourceAsStream(
+                "/serialization/literals-3.4.5.ser"));
+        OWLLiteral[] literals = (OWLLiteral[]) stream.readObject();
+        stream.close();
+        String value = repeat("long annotation text \u00e9\u4e2d ", 20);
+        assertEquals(value, literals[0].getLiteral());
+        assertEquals("en", literals[0].getLang());
+        assertEquals(df.getOWLLiteral(value, "en"), literals[0]);
+        assertEquals(df.getOWLLiteral(value, "en").hashCode(), literals[0].hashCode());
+        assertEquals("short", literals[1].getLiteral());
+        assertEquals(df.getOWLLiteral("short", "en"), literals[1]);
+    }
+}
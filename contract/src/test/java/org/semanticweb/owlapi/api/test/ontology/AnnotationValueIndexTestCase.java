@@ -0,0 +1,116 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.AnnotationIndexShortFormProvider;
+import org.semanticweb.owlapi.util.OWLOntologyImportsClosureSetProvider;
+
+@SuppressWarnings("javadoc")
+public class AnnotationValueIndexTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/labels#";
+    private final OWLAnnotationProperty label = RDFSLabel();
+    private final OWLAnnotationProperty synonym = AnnotationProperty(IRI(NS + "synonym"));
+    private final OWLClass heart = Class(IRI(NS + "Heart"));
+    private final OWLClass heartValve = Class(IRI(NS + "HeartValve"));
+    private final OWLClass lung = Class(IRI(NS + "Lung"));
+
+    private static Set<OWLAnnotationAssertionAxiom> set(
+            OWLAnnotationAssertionAxiom... axioms) {
+        return new HashSet<OWLAnnotationAssertionAxiom>(Arrays.asList(axioms));
+    }
+
+    private static Set<OWLEntity> entities(OWLEntity... entities) {
+        return new HashSet<OWLEntity>(Arrays.asList(entities));
+    }
+
+    private static OWLAnnotationAssertionAxiom annotation(OWLAnnotationProperty p,
+            OWLClass c, String text) {
+        return AnnotationAssertion(p, c.getIRI(), Literal(text));
+    }
+
+    @Test
+    public void shouldLookUpAnnotationsByValueAndLexicalForm() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        OWLAnnotationAssertionAxiom heartLabel = annotation(label, heart, "Heart");
+        OWLAnnotationAssertionAxiom valveLabel = annotation(label, heartValve, "heart valve");
+        OWLAnnotationAssertionAxiom lungLabel = annotation(label, lung, "Lung");
+        OWLAnnotationAssertionAxiom heartSynonym = annotation(synonym, heart, "cor");
+        manager.addAxioms(ontology, new HashSet<OWLAxiom>(Arrays.asList(heartLabel,
+                valveLabel, lungLabel, heartSynonym)));
+        assertEquals(set(heartLabel),
+                ontology.getAnnotationAssertionAxioms(label, Literal("Heart")));
+        assertTrue(ontology.getAnnotationAssertionAxioms(synonym, Literal("Heart"))
+                .isEmpty());
+        assertTrue(ontology.getAnnotationAssertionAxioms(label, Literal("Heart", "en"))
+                .isEmpty());
+        assertEquals(set(heartLabel),
+                ontology.getAnnotationAssertionAxiomsByLexicalForm(label, "Heart", false));
+        assertTrue(ontology.getAnnotationAssertionAxiomsByLexicalForm(label, "heart",
+                false).isEmpty());
+        assertEquals(set(heartLabel),
+                ontology.getAnnotationAssertionAxiomsByLexicalForm(label, "HEART", true));
+        assertEquals(set(heartLabel, valveLabel),
+                ontology.getAnnotationAssertionAxiomsByPrefix(label, "hea", true, 10));
+        assertEquals(set(valveLabel),
+                ontology.getAnnotationAssertionAxiomsByPrefix(label, "hea", false, 10));
+        assertEquals(1,
+                ontology.getAnnotationAssertionAxiomsByPrefix(label, "hea", true, 1).size());
+        // the indexes are maintained once built
+        OWLAnnotationAssertionAxiom valveSynonym = AnnotationAssertion(synonym,
+                heartValve.getIRI(), Literal("Valvula cordis", "la"));
+        manager.addAxiom(ontology, valveSynonym);
+        manager.removeAxiom(ontology, heartLabel);
+        assertTrue(ontology.getAnnotationAssertionAxioms(label, Literal("Heart")).isEmpty());
+        assertEquals(set(valveLabel),
+                ontology.getAnnotationAssertionAxiomsByPrefix(label, "HEA", true, 10));
+        assertEquals(set(valveSynonym),
+                ontology.getAnnotationAssertionAxiomsByPrefix(synonym, "valv", true, 10));
+        assertEquals(set(valveSynonym), ontology.getAnnotationAssertionAxioms(synonym,
+                Literal("Valvula cordis", "la")));
+    }
+
+    @Test
+    public void shouldMapShortFormsToEntities() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        manager.addAxioms(ontology, new HashSet<OWLAxiom>(Arrays.asList(
+                Declaration(heart), Declaration(heartValve), Declaration(lung),
+                annotation(label, heart, "heart"), annotation(synonym, heart, "cor"),
+                annotation(label, heartValve, "heart valve"))));
+        AnnotationIndexShortFormProvider provider = new AnnotationIndexShortFormProvider(
+                Arrays.asList(label, synonym), new OWLOntologyImportsClosureSetProvider(
+                        manager, ontology));
+        assertEquals("heart", provider.getShortForm(heart));
+        assertEquals("Lung", provider.getShortForm(lung));
+        assertEquals(entities(heart), provider.getEntities("heart"));
+        assertEquals(entities(heart), provider.getEntities("cor"));
+        assertEquals(heart, provider.getEntity("cor"));
+        assertTrue(provider.getEntities("Heart").isEmpty());
+        assertEquals(entities(heart), provider.getEntities("Heart", true));
+        assertEquals(entities(heart, heartValve),
+                provider.getEntitiesByPrefix("HE", true, 10));
+        assertEquals(1, provider.getEntitiesByPrefix("he", false, 1).size());
+        assertEquals(new HashSet<String>(Arrays.asList("heart", "cor", "heart valve")),
+                provider.getShortForms());
+        // no rebuilding is needed after changes
+        manager.addAxiom(ontology, annotation(label, lung, "lung"));
+        assertEquals(entities(lung), provider.getEntities("lung"));
+        assertEquals(Collections.<OWLEntity> emptySet(), provider.getEntities("Lung"));
+    }
+}
@@ -0,0 +1,178 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.AsynchronousChangeBroadcastStrategy;
+import org.semanticweb.owlapi.model.AsynchronousChangeBroadcastStrategy.ListenerMetrics;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+@SuppressWarnings("javadoc")
+public class AsynchronousChangeBroadcastTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/asyncbroadcast#";
+
+    /** Blocks until released, then records the axioms it is told about. */
+    private static class BlockingListener implements OWLOntologyChangeListener {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<OWLAxiom> axioms = new ArrayList<OWLAxiom>();
+
+        @Override
+        public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
+                throws OWLException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (OWLOntologyChange change : changes) {
+                axioms.add(change.getAxiom());
+            }
+        }
+    }
+
+    private OWLAxiom axiom(int i) {
+        return SubClassOf(Class(IRI(NS + "A" + i)), Class(IRI(NS + "B")));
+    }
+
+    @Test
+    public void shouldNotWaitForSlowListeners() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS));
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy();
+        BlockingListener listener = new BlockingListener();
+        manager.addOntologyChangeListener(listener, strategy);
+        List<OWLAxiom> expected = new ArrayList<OWLAxiom>();
+        for (int i = 0; i < 20; i++) {
+            manager.addAxiom(ontology, axiom(i));
+            expected.add(axiom(i));
+        }
+        // the listener is still blocked, so nothing has been delivered
+        ListenerMetrics metrics = strategy.getMetrics(listener);
+        assertEquals(20, metrics.getBroadcasts());
+        assertEquals(0, metrics.getDeliveredChanges());
+        assertEquals(20, metrics.getQueuedChanges());
+        listener.release.countDown();
+        strategy.flush();
+        assertEquals(expected, listener.axioms);
+        metrics = strategy.getMetrics(listener);
+        assertEquals(20, metrics.getDeliveredChanges());
+        assertEquals(0, metrics.getQueuedChanges());
+        // the changes queued while the listener was blocked were coalesced
+        assertTrue(metrics.getDeliveries() < metrics.getBroadcasts());
+        assertTrue(metrics.getMaxLatencyNanos() >= metrics.getAverageLatencyNanos());
+        strategy.shutdown();
+    }
+
+    @Test
+    public void shouldBlockWhenQueueIsFull() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        final OWLOntology ontology = manager.createOntology(IRI(NS));
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy(
+                2);
+        BlockingListener listener = new BlockingListener();
+        manager.addOntologyChangeListener(listener, strategy);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread writer = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 5; i++) {
+                    ontology.getOWLOntologyManager().addAxiom(ontology, axiom(i));
+                }
+                done.countDown();
+            }
+        };
+        writer.start();
+        assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+        assertTrue(strategy.getMetrics(listener).getQueuedChanges() <= 2);
+        listener.release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        strategy.flush();
+        assertEquals(5, listener.axioms.size());
+        assertEquals(5, ontology.getAxiomCount());
+        strategy.shutdown();
+    }
+
+    @Test
+    public void shouldCountFailingListeners() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS));
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy();
+        OWLOntologyChangeListener listener = new OWLOntologyChangeListener() {
+            @Override
+            public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
+                    throws OWLException {
+                throw new OWLException("failing listener") {
+                    private static final long serialVersionUID = 30402L;
+                };
+            }
+        };
+        manager.addOntologyChangeListener(listener, strategy);
+        manager.addAxiom(ontology, axiom(0));
+        strategy.flush();
+        assertEquals(1, strategy.getMetrics(listener).getFailures());
+        assertTrue(ontology.containsAxiom(axiom(0)));
+        strategy.shutdown();
+    }
+
+    @Test
+    public void shouldDiscardQueuesOfRemovedListeners() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS));
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy();
+        BlockingListener listener = new BlockingListener();
+        listener.release.countDown();
+        manager.addOntologyChangeListener(listener, strategy);
+        manager.addAxiom(ontology, axiom(0));
+        strategy.flush();
+        assertEquals(1, strategy.getMetrics(listener).getDeliveredChanges());
+        manager.removeOntologyChangeListener(listener);
+        WeakReference<BlockingListener> reference = new WeakReference<BlockingListener>(
+                listener);
+        listener = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+        strategy.shutdown();
+    }
+
+    @Test
+    public void shouldSerialize() throws Exception {
+        AsynchronousChangeBroadcastStrategy strategy = new AsynchronousChangeBroadcastStrategy(
+                2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(out);
+        stream.writeObject(strategy);
+        stream.flush();
+        AsynchronousChangeBroadcastStrategy copy = (AsynchronousChangeBroadcastStrategy) new ObjectInputStream(
+                new ByteArrayInputStream(out.toByteArray())).readObject();
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS));
+        BlockingListener listener = new BlockingListener();
+        listener.release.countDown();
+        manager.addOntologyChangeListener(listener, copy);
+        manager.addAxiom(ontology, axiom(0));
+        copy.flush();
+        assertEquals(1, listener.axioms.size());
+        copy.shutdown();
+        strategy.shutdown();
+    }
+}
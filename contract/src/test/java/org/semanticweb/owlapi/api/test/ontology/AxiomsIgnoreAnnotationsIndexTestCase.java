@@ -0,0 +1,123 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.ObjectInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+@SuppressWarnings("javadoc")
+public class AxiomsIgnoreAnnotationsIndexTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/ignoreannotations#";
+    private final OWLClass a = Class(IRI(NS + "A"));
+    private final OWLClass b = Class(IRI(NS + "B"));
+    private final OWLClass c = Class(IRI(NS + "C"));
+
+    private static Set<OWLAxiom> set(OWLAxiom... axioms) {
+        return new HashSet<OWLAxiom>(Arrays.asList(axioms));
+    }
+
+    private static Set<OWLAnnotation> comment(String text) {
+        return Collections.singleton(Annotation(RDFSComment(), Literal(text)));
+    }
+
+    @Test
+    public void shouldFindAnnotatedVariants() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        OWLAxiom plain = SubClassOf(a, b);
+        OWLAxiom first = SubClassOf(a, b, comment("first"));
+        OWLAxiom second = SubClassOf(a, b, comment("second"));
+        manager.addAxiom(ontology, first);
+        assertTrue(ontology.containsAxiomIgnoreAnnotations(plain));
+        assertTrue(ontology.containsAxiomIgnoreAnnotations(second));
+        assertFalse(ontology.containsAxiomIgnoreAnnotations(SubClassOf(b, a)));
+        assertFalse(ontology.containsAxiomIgnoreAnnotations(EquivalentClasses(a, b)));
+        assertEquals(set(first), ontology.getAxiomsIgnoreAnnotations(plain));
+        // the index is maintained once built
+        manager.addAxiom(ontology, plain);
+        manager.addAxiom(ontology, second);
+        manager.addAxiom(ontology, SubClassOf(a, c, comment("first")));
+        assertEquals(set(plain, first, second), ontology.getAxiomsIgnoreAnnotations(first));
+        manager.removeAxiom(ontology, plain);
+        manager.removeAxiom(ontology, first);
+        assertEquals(set(second), ontology.getAxiomsIgnoreAnnotations(plain));
+        manager.removeAxiom(ontology, second);
+        assertFalse(ontology.containsAxiomIgnoreAnnotations(plain));
+        assertTrue(ontology.getAxiomsIgnoreAnnotations(plain).isEmpty());
+        assertTrue(ontology.containsAxiomIgnoreAnnotations(SubClassOf(a, c)));
+    }
+
+    @Test
+    public void shouldFindAnnotatedVariantsInImportsClosure() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology importing = manager.createOntology(IRI(NS + "importing"));
+        OWLOntology imported = manager.createOntology(IRI(NS + "imported"));
+        manager.applyChange(new AddImport(importing, ImportsDeclaration(IRI(NS
+                + "imported"))));
+        OWLAxiom annotated = Declaration(a, comment("declared"));
+        manager.addAxiom(imported, annotated);
+        manager.addAxiom(importing, Declaration(a));
+        OWLAxiom plain = Declaration(a);
+        assertTrue(importing.containsAxiomIgnoreAnnotations(annotated));
+        assertFalse(imported.containsAxiomIgnoreAnnotations(SubClassOf(a, b), true));
+        assertTrue(importing.containsAxiomIgnoreAnnotations(annotated, true));
+        assertEquals(set(plain), importing.getAxiomsIgnoreAnnotations(annotated));
+        assertEquals(set(plain, annotated),
+                importing.getAxiomsIgnoreAnnotations(plain, true));
+    }
+
+    @Test
+    public void shouldIndexOntologiesSerializedByEarlierVersions() throws Exception {
+        // an ontology written by 3.4.5, without the value and annotation-free
+        // indexes
+        ObjectInputStream stream = new ObjectInputStream(getClass().getResourceAsStream(
+                "/serialization/ontology-3.4.5.ser"));
+        OWLOntology ontology = (OWLOntology) stream.readObject();
+        stream.close();
+        String ns = "http://www.semanticweb.org/owlapi/test/indexes#";
+        OWLClass x = Class(IRI(ns + "A"));
+        OWLClass y = Class(IRI(ns + "B"));
+        OWLDataProperty d = DataProperty(IRI(ns + "d"));
+        OWLAxiom subClassOf = SubClassOf(x, y);
+        OWLAxiom assertion = DataPropertyAssertion(d, NamedIndividual(IRI(ns + "i")),
+                Literal("v"));
+        OWLAxiom label = AnnotationAssertion(RDFSLabel(), x.getIRI(), Literal("Alpha"));
+        assertEquals(4, ontology.getAxiomCount());
+        assertTrue(ontology.containsAxiomIgnoreAnnotations(SubClassOf(x, y,
+                comment("annotated"))));
+        assertEquals(set(assertion), ontology.getDataPropertyAssertionAxioms(d,
+                Literal("v")));
+        assertEquals(set(label), ontology.getAnnotationAssertionAxiomsByLexicalForm(
+                RDFSLabel(), "alpha", true));
+        OWLOntologyManager manager = ontology.getOWLOntologyManager();
+        OWLAxiom added = SubClassOf(y, y);
+        manager.addAxiom(ontology, added);
+        OWLAxiom addedAssertion = DataPropertyAssertion(d, NamedIndividual(IRI(ns
+                + "j")), Literal("v"));
+        manager.addAxiom(ontology, addedAssertion);
+        OWLAxiom addedLabel = AnnotationAssertion(RDFSLabel(), y.getIRI(),
+                Literal("Alphabet"));
+        manager.addAxiom(ontology, addedLabel);
+        assertEquals(set(added), ontology.getAxiomsIgnoreAnnotations(added));
+        assertEquals(set(assertion, addedAssertion),
+                ontology.getDataPropertyAssertionAxioms(Literal("v")));
+        assertEquals(set(label, addedLabel), ontology.getAnnotationAssertionAxiomsByPrefix(
+                RDFSLabel(), "alpha", true, 10));
+        manager.removeAxiom(ontology, subClassOf);
+        assertFalse(ontology.containsAxiomIgnoreAnnotations(subClassOf));
+    }
+}
@@ -0,0 +1,109 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.OWLEntityRemover;
+import org.semanticweb.owlapi.util.OWLEntityRenamer;
+
+@SuppressWarnings("javadoc")
+public class BulkEntityRenamerTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/bulk#";
+    private static final int SIZE = 3000;
+
+    private static OWLClass cls(String prefix, int i) {
+        return Class(IRI(NS + prefix + i));
+    }
+
+    private static OWLOntology createOntology(OWLOntologyManager manager)
+            throws Exception {
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        List<OWLAxiom> axioms = new ArrayList<OWLAxiom>();
+        for (int i = 0; i < SIZE; i++) {
+            axioms.add(Declaration(cls("A", i)));
+            // refers to two renamed entities
+            axioms.add(SubClassOf(cls("A", i), cls("A", i + 1)));
+            axioms.add(AnnotationAssertion(RDFSLabel(), cls("A", i).getIRI(),
+                    Literal("a" + i)));
+            axioms.add(SubClassOf(cls("B", i), cls("C", i)));
+        }
+        manager.addAxioms(ontology, new HashSet<OWLAxiom>(axioms));
+        return ontology;
+    }
+
+    private static Map<OWLEntity, IRI> renaming() {
+        Map<OWLEntity, IRI> map = new HashMap<OWLEntity, IRI>();
+        for (int i = 0; i <= SIZE; i++) {
+            map.put(cls("A", i), IRI(NS + "Z" + i));
+        }
+        return map;
+    }
+
+    @Test
+    public void shouldRenameLikeSingleEntityChanges() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = createOntology(manager);
+        OWLOntologyManager expectedManager = Factory.getManager();
+        OWLOntology expected = createOntology(expectedManager);
+        Map<OWLEntity, IRI> map = renaming();
+        expectedManager.applyChanges(new OWLEntityRenamer(expectedManager, Collections
+                .singleton(expected)).changeIRI(map));
+        final List<Integer> batches = new ArrayList<Integer>();
+        manager.addOntologyChangeListener(new OWLOntologyChangeListener() {
+            @Override
+            public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+                batches.add(changes.size());
+            }
+        });
+        OWLEntityRenamer renamer = new OWLEntityRenamer(manager,
+                Collections.singleton(ontology));
+        List<OWLOntologyChange> changes = renamer.changeIRI(map, 4);
+        // each affected axiom is rewritten once
+        assertEquals(3 * SIZE * 2, changes.size());
+        assertEquals(changes, renamer.changeIRI(map, 1));
+        List<OWLOntologyChange> applied = renamer.applyChangeIRI(map, 4, 1001);
+        assertEquals(changes, applied);
+        assertEquals(expected.getAxioms(), ontology.getAxioms());
+        assertTrue(batches.size() > 1);
+        for (Integer size : batches) {
+            assertTrue(size.intValue() <= 1002);
+            assertEquals(0, size.intValue() % 2);
+        }
+        assertFalse(ontology.containsClassInSignature(cls("A", 1).getIRI()));
+        assertTrue(ontology.containsClassInSignature(IRI(NS + "Z1")));
+    }
+
+    @Test
+    public void shouldRemoveEntitiesInBatches() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = createOntology(manager);
+        Set<OWLEntity> entities = new HashSet<OWLEntity>(renaming().keySet());
+        OWLEntityRemover remover = new OWLEntityRemover(manager,
+                Collections.singleton(ontology));
+        remover.removeEntities(entities);
+        // shared axioms are removed once
+        assertEquals(3 * SIZE, remover.getChanges().size());
+        assertEquals(3 * SIZE, remover.applyChanges(500).size());
+        assertTrue(remover.getChanges().isEmpty());
+        assertEquals(SIZE, ontology.getAxiomCount());
+        assertEquals(2 * SIZE, ontology.getClassesInSignature().size());
+    }
+}
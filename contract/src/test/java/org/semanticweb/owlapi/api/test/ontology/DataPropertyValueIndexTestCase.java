@@ -0,0 +1,86 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+@SuppressWarnings("javadoc")
+public class DataPropertyValueIndexTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/values#";
+    private final OWLDataProperty hasCode = DataProperty(IRI(NS + "hasCode"));
+    private final OWLDataProperty hasName = DataProperty(IRI(NS + "hasName"));
+    private final OWLNamedIndividual i = NamedIndividual(IRI(NS + "i"));
+    private final OWLNamedIndividual j = NamedIndividual(IRI(NS + "j"));
+    private final OWLLiteral x = Literal("X");
+
+    private static Set<OWLDataPropertyAssertionAxiom> set(
+            OWLDataPropertyAssertionAxiom... axioms) {
+        return new HashSet<OWLDataPropertyAssertionAxiom>(Arrays.asList(axioms));
+    }
+
+    @Test
+    public void shouldLookUpAssertionsByValue() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        OWLDataPropertyAssertionAxiom iCode = DataPropertyAssertion(hasCode, i, x);
+        OWLDataPropertyAssertionAxiom jName = DataPropertyAssertion(hasName, j, x);
+        OWLDataPropertyAssertionAxiom jCode = DataPropertyAssertion(hasCode, j, Literal("Y"));
+        manager.addAxioms(ontology, new HashSet<OWLAxiom>(Arrays.asList(iCode, jName, jCode)));
+        assertEquals(set(iCode, jName), ontology.getDataPropertyAssertionAxioms(x));
+        assertEquals(set(iCode), ontology.getDataPropertyAssertionAxioms(hasCode, x));
+        assertEquals(set(jName), ontology.getDataPropertyAssertionAxioms(hasName, x));
+        // literals with different datatypes or languages are different values
+        assertTrue(ontology.getDataPropertyAssertionAxioms(Literal("X", "en")).isEmpty());
+        assertTrue(ontology.getDataPropertyAssertionAxioms(hasCode, Literal(1)).isEmpty());
+        // the indexes are maintained once built
+        OWLDataPropertyAssertionAxiom kCode = DataPropertyAssertion(hasCode,
+                NamedIndividual(IRI(NS + "k")), x);
+        manager.addAxiom(ontology, kCode);
+        manager.removeAxiom(ontology, jName);
+        assertEquals(set(iCode, kCode), ontology.getDataPropertyAssertionAxioms(x));
+        assertEquals(set(iCode, kCode), ontology.getDataPropertyAssertionAxioms(hasCode, x));
+        assertTrue(ontology.getDataPropertyAssertionAxioms(hasName, x).isEmpty());
+    }
+
+    @Test
+    public void shouldBuildIndexesAfterAxiomsAreAdded() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+        for (int n = 0; n < 100; n++) {
+            axioms.add(DataPropertyAssertion(hasCode, NamedIndividual(IRI(NS + "i" + n)),
+                    Literal("C" + n % 10)));
+        }
+        manager.addAxioms(ontology, axioms);
+        // changes made before the indexes are built are not lost
+        manager.removeAxiom(ontology, DataPropertyAssertion(hasCode,
+                NamedIndividual(IRI(NS + "i3")), Literal("C3")));
+        manager.addAxiom(ontology, DataPropertyAssertion(hasCode,
+                NamedIndividual(IRI(NS + "i100")), Literal("C3")));
+        Set<OWLDataPropertyAssertionAxiom> expected = new HashSet<OWLDataPropertyAssertionAxiom>();
+        for (OWLDataPropertyAssertionAxiom ax : ontology
+                .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION)) {
+            if (ax.getObject().getLiteral().equals("C3")) {
+                expected.add(ax);
+            }
+        }
+        assertEquals(10, expected.size());
+        assertEquals(expected, ontology.getDataPropertyAssertionAxioms(Literal("C3")));
+        assertEquals(expected,
+                ontology.getDataPropertyAssertionAxioms(hasCode, Literal("C3")));
+    }
+}
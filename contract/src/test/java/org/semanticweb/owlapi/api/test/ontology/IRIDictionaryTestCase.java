@@ -0,0 +1,100 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.util.IRIDictionary;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class IRIDictionaryTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/dictionary/";
+
+    @Test
+    public void shouldAssignStableDenseIds() throws Exception {
+        IRIDictionary dictionary = new IRIDictionary();
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, dictionary.getId(IRI.create(NS + "ns" + i % 10 + "#e" + i)));
+        }
+        assertEquals(count, dictionary.size());
+        assertEquals(10, dictionary.getNamespaceCount());
+        for (int i = 0; i < count; i++) {
+            IRI iri = IRI.create(NS + "ns" + i % 10 + "#e" + i);
+            assertEquals(i, dictionary.getId(iri));
+            assertEquals(i, dictionary.findId(iri));
+            assertEquals(iri, dictionary.getIRI(i));
+            assertEquals(iri.getNamespace(),
+                    dictionary.getNamespace(dictionary.getNamespaceId(i)));
+        }
+        assertEquals(IRIDictionary.NO_ID, dictionary.findId(IRI.create(NS + "other")));
+        assertEquals(count, dictionary.size());
+        assertEquals(10, dictionary.getNamespaceIds(NS).size());
+        assertEquals(1, dictionary.getNamespaceIds(NS + "ns3").size());
+        assertTrue(dictionary.getNamespaceIds("urn:").isEmpty());
+        // the dictionary survives serialization
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(out);
+        stream.writeObject(dictionary);
+        stream.flush();
+        IRIDictionary copy = (IRIDictionary) new ObjectInputStream(
+                new ByteArrayInputStream(out.toByteArray())).readObject();
+        assertEquals(count, copy.size());
+        assertEquals(7, copy.findId(IRI.create(NS + "ns7#e7")));
+        assertEquals(10, copy.getNamespaceIds(NS).size());
+        assertEquals(count, copy.getId(IRI.create(NS + "other")));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectUnknownIds() {
+        new IRIDictionary().getIRI(0);
+    }
+
+    @Test
+    public void shouldAddressEntitiesById() throws Exception {
+        OWLDataFactoryImpl df = new OWLDataFactoryImpl();
+        OWLClass a = df.getOWLClass(IRI.create(NS + "A"));
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS + "p"));
+        int aId = df.getEntityId(a);
+        int pId = df.getEntityId(p);
+        assertTrue(aId != pId);
+        assertEquals(aId, df.getEntityId(df.getOWLClass(IRI.create(NS + "A"))));
+        assertEquals(a, df.getOWLEntity(EntityType.CLASS, aId));
+        assertEquals(p, df.getOWLEntity(EntityType.OBJECT_PROPERTY, pId));
+        // puns share the id of their IRI
+        assertEquals(aId, df.getEntityId(df.getOWLNamedIndividual(a.getIRI())));
+        df.purge();
+        assertEquals(a, df.getOWLEntity(EntityType.CLASS, aId));
+    }
+
+    @Test
+    public void shouldKeepIdsOfIRIsNoLongerReferenced() throws Exception {
+        OWLDataFactoryImpl df = new OWLDataFactoryImpl();
+        IRI iri = IRI.create(NS + "dropped");
+        int id = df.getEntityId(df.getOWLClass(iri));
+        WeakReference<IRI> reference = new WeakReference<IRI>(iri);
+        iri = null;
+        df.purge();
+        for (int i = 0; i < 5 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        // an equal IRI finds the same id, whether or not the first instance
+        // has been collected
+        OWLClass c = df.getOWLClass(IRI.create(NS + "dropped"));
+        assertEquals(id, df.getEntityId(c));
+        assertEquals(c, df.getOWLEntity(EntityType.CLASS, id));
+        assertEquals(id + 1, df.getIRIDictionary().getId(IRI.create(NS + "other")));
+    }
+}
@@ -0,0 +1,128 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.OWLObjectStackWalker;
+import org.semanticweb.owlapi.util.OWLObjectWalkerCallback;
+
+@SuppressWarnings("javadoc")
+public class OWLObjectStackWalkerTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/walker#";
+
+    @Test
+    public void shouldWalkComponentsInOrderAndPrune() {
+        OWLClass a = Class(IRI(NS + "A"));
+        final OWLClass b = Class(IRI(NS + "B"));
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+        final OWLObjectSomeValuesFrom some = ObjectSomeValuesFrom(p, b);
+        final OWLAxiom ax = SubClassOf(a, some);
+        final List<OWLObject> visited = new ArrayList<OWLObject>();
+        OWLObjectStackWalker walker = new OWLObjectStackWalker(
+                new OWLObjectWalkerCallback() {
+                    @Override
+                    public boolean visit(OWLObject object, OWLObjectStackWalker w) {
+                        visited.add(object);
+                        assertEquals(ax, w.getAxiom());
+                        assertEquals(ax, w.getAncestor(0));
+                        if (object instanceof IRI && w.getParent().equals(b)) {
+                            assertEquals(3, w.getDepth());
+                            assertEquals(some, w.getAncestor(1));
+                        }
+                        return true;
+                    }
+                });
+        walker.walk(ax);
+        assertEquals(Arrays.<OWLObject> asList(ax, a, a.getIRI(), some, p, p.getIRI(), b,
+                b.getIRI()), visited);
+        visited.clear();
+        new OWLObjectStackWalker(new OWLObjectWalkerCallback() {
+            @Override
+            public boolean visit(OWLObject object, OWLObjectStackWalker w) {
+                visited.add(object);
+                return !(object instanceof OWLObjectSomeValuesFrom);
+            }
+        }).walk(ax);
+        assertEquals(Arrays.<OWLObject> asList(ax, a, a.getIRI(), some), visited);
+    }
+
+    private static class EntityCollector implements OWLObjectWalkerCallback {
+        final Set<OWLEntity> entities = Collections
+                .newSetFromMap(new ConcurrentHashMap<OWLEntity, Boolean>());
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public boolean visit(OWLObject object, OWLObjectStackWalker walker) {
+            count.incrementAndGet();
+            if (object instanceof OWLEntity) {
+                entities.add((OWLEntity) object);
+            }
+            return !(object instanceof OWLEntity);
+        }
+    }
+
+    @Test
+    public void shouldWalkOntologyInParallel() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology koala = manager.loadOntologyFromOntologyDocument(new StreamDocumentSource(
+                getClass().getResourceAsStream("/koala.owl")));
+        EntityCollector serial = new EntityCollector();
+        new OWLObjectStackWalker(serial).walk(koala);
+        EntityCollector parallel = new EntityCollector();
+        new OWLObjectStackWalker(parallel).walk(koala, 4);
+        assertEquals(serial.count.get(), parallel.count.get());
+        assertEquals(serial.entities, parallel.entities);
+        assertTrue(serial.entities.containsAll(koala.getClassesInSignature()));
+        assertTrue(serial.entities.containsAll(koala.getObjectPropertiesInSignature()));
+    }
+
+    @Test
+    public void shouldWalkPartitionsOfLargeAxiomTypes() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "large"));
+        Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+        for (int i = 0; i < 25000; i++) {
+            axioms.add(SubClassOf(Class(IRI(NS + "C" + i)), Class(IRI(NS + "D" + i % 7))));
+        }
+        manager.addAxioms(ontology, axioms);
+        final Set<OWLAxiom> walked = Collections
+                .newSetFromMap(new ConcurrentHashMap<OWLAxiom, Boolean>());
+        final AtomicInteger count = new AtomicInteger();
+        new OWLObjectStackWalker(new OWLObjectWalkerCallback() {
+            @Override
+            public boolean visit(OWLObject object, OWLObjectStackWalker walker) {
+                count.incrementAndGet();
+                if (object instanceof OWLAxiom) {
+                    assertEquals(1, walker.getDepth());
+                    assertTrue(walker.getParent() instanceof OWLOntology);
+                    walked.add((OWLAxiom) object);
+                }
+                return true;
+            }
+        }).walk(ontology, 4);
+        assertEquals(axioms, walked);
+        // the ontology, and each axiom with two classes and their IRIs
+        assertEquals(1 + 25000 * 5, count.get());
+    }
+}
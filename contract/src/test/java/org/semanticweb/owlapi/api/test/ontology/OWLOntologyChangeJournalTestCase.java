@@ -0,0 +1,300 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.change.OWLOntologyChangeJournal;
+import org.semanticweb.owlapi.change.OWLOntologyChangeRecord;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLDArgument;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.SetOntologyID;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+@SuppressWarnings("javadoc")
+public class OWLOntologyChangeJournalTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/journal#";
+
+    private File createJournalFile() throws Exception {
+        File file = File.createTempFile("journal", ".owlj");
+        file.delete();
+        file.deleteOnExit();
+        return file;
+    }
+
+    /** One axiom of each type, with nested expressions and annotations. */
+    private Set<OWLAxiom> createAxioms(OWLDataFactory df) {
+        OWLClass a = Class(IRI(NS + "A"));
+        OWLClass b = Class(IRI(NS + "B"));
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+        OWLObjectProperty q = ObjectProperty(IRI(NS + "q"));
+        OWLDataProperty d = DataProperty(IRI(NS + "d"));
+        OWLDataProperty e = DataProperty(IRI(NS + "e"));
+        OWLNamedIndividual i = NamedIndividual(IRI(NS + "i"));
+        OWLNamedIndividual j = NamedIndividual(IRI(NS + "j"));
+        Set<OWLAnnotation> annotations = new HashSet<OWLAnnotation>();
+        annotations.add(df.getOWLAnnotation(RDFSComment(), Literal("comment", "en"),
+                Collections.singleton(Annotation(RDFSLabel(), Literal("nested")))));
+        annotations.add(Annotation(RDFSLabel(), IRI(NS + "label")));
+        Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+        axioms.add(Declaration(a));
+        axioms.add(Declaration(p));
+        axioms.add(Declaration(d));
+        axioms.add(Declaration(i));
+        axioms.add(Declaration(Datatype(IRI(NS + "dt"))));
+        axioms.add(Declaration(AnnotationProperty(IRI(NS + "ap"))));
+        axioms.add(SubClassOf(a, ObjectIntersectionOf(b, ObjectComplementOf(a),
+                ObjectUnionOf(ObjectOneOf(i, j), ObjectHasSelf(p))), annotations));
+        axioms.add(SubClassOf(ObjectSomeValuesFrom(ObjectInverseOf(p), b),
+                ObjectAllValuesFrom(q, ObjectHasValue(p, i))));
+        axioms.add(SubClassOf(ObjectMinCardinality(1, p, a), ObjectMaxCardinality(3, q, b)));
+        axioms.add(SubClassOf(ObjectExactCardinality(2, p, OWLThing()), OWLNothing()));
+        axioms.add(SubClassOf(DataSomeValuesFrom(d, DataOneOf(Literal(1), Literal("x"))),
+                DataAllValuesFrom(e, DataComplementOf(Integer()))));
+        axioms.add(SubClassOf(DataHasValue(d, Literal(2.5)), DataMinCardinality(1, d,
+                DataUnionOf(Integer(), Boolean()))));
+        axioms.add(SubClassOf(DataMaxCardinality(3, d, DataIntersectionOf(Integer(),
+                Datatype(IRI(NS + "dt")))), DataExactCardinality(1, e,
+                DatatypeRestriction(Integer(), FacetRestriction(OWLFacet.MIN_INCLUSIVE,
+                        Literal(5)), FacetRestriction(OWLFacet.MAX_EXCLUSIVE, Literal(9))))));
+        axioms.add(DataPropertyRange(e, TopDatatype()));
+        axioms.add(EquivalentClasses(a, b));
+        axioms.add(DisjointClasses(a, b, OWLNothing()));
+        axioms.add(DisjointUnion(a, b, ObjectComplementOf(b)));
+        axioms.add(SubObjectPropertyOf(p, ObjectInverseOf(q)));
+        axioms.add(SubPropertyChainOf(Arrays.asList(p, q, p), q));
+        axioms.add(EquivalentObjectProperties(p, q));
+        axioms.add(DisjointObjectProperties(p, q));
+        axioms.add(InverseObjectProperties(p, q));
+        axioms.add(ObjectPropertyDomain(p, a));
+        axioms.add(ObjectPropertyRange(p, b));
+        axioms.add(FunctionalObjectProperty(p));
+        axioms.add(df.getOWLInverseFunctionalObjectPropertyAxiom(p));
+        axioms.add(ReflexiveObjectProperty(p));
+        axioms.add(IrreflexiveObjectProperty(q));
+        axioms.add(SymmetricObjectProperty(p));
+        axioms.add(AsymmetricObjectProperty(q));
+        axioms.add(TransitiveObjectProperty(p));
+        axioms.add(SubDataPropertyOf(d, e));
+        axioms.add(EquivalentDataProperties(d, e));
+        axioms.add(DisjointDataProperties(d, e));
+        axioms.add(DataPropertyDomain(d, a));
+        axioms.add(DataPropertyRange(d, Integer()));
+        axioms.add(FunctionalDataProperty(d));
+        axioms.add(HasKey(annotations, a, p, d));
+        axioms.add(DatatypeDefinition(Datatype(IRI(NS + "dt")), Integer()));
+        axioms.add(SameIndividual(i, j));
+        axioms.add(DifferentIndividuals(i, j, AnonymousIndividual("_:genid1")));
+        axioms.add(ClassAssertion(a, i));
+        axioms.add(ObjectPropertyAssertion(p, i, AnonymousIndividual("_:genid2")));
+        axioms.add(df.getOWLNegativeObjectPropertyAssertionAxiom(p, i, j));
+        axioms.add(DataPropertyAssertion(d, i, Literal("plain")));
+        axioms.add(DataPropertyAssertion(d, i, Literal("tagged", "de")));
+        axioms.add(DataPropertyAssertion(d, i, Literal("2012-01-01T00:00:00Z",
+                OWL2Datatype.XSD_DATE_TIME)));
+        axioms.add(DataPropertyAssertion(d, j, PlainLiteral("\u00e9\u4e2d\ud83d\ude00")));
+        axioms.add(NegativeDataPropertyAssertion(d, i, Literal(true), annotations));
+        axioms.add(AnnotationAssertion(RDFSLabel(), a.getIRI(), Literal("A", "en")));
+        axioms.add(AnnotationAssertion(RDFSComment(), AnonymousIndividual("_:genid3"),
+                AnonymousIndividual("_:genid4")));
+        axioms.add(AnnotationPropertyDomain(RDFSLabel(), a.getIRI()));
+        axioms.add(AnnotationPropertyRange(RDFSLabel(), b.getIRI()));
+        axioms.add(SubAnnotationPropertyOf(AnnotationProperty(IRI(NS + "ap")), RDFSLabel()));
+        SWRLVariable x = df.getSWRLVariable(IRI(NS + "x"));
+        SWRLVariable y = df.getSWRLVariable(IRI(NS + "y"));
+        Set<SWRLAtom> body = new HashSet<SWRLAtom>();
+        body.add(df.getSWRLClassAtom(a, x));
+        body.add(df.getSWRLObjectPropertyAtom(p, x, df.getSWRLIndividualArgument(i)));
+        body.add(df.getSWRLDataPropertyAtom(d, x, y));
+        body.add(df.getSWRLDataRangeAtom(Integer(), y));
+        body.add(df.getSWRLBuiltInAtom(IRI("http://www.w3.org/2003/11/swrlb#greaterThan"),
+                Arrays.<SWRLDArgument> asList(y, df.getSWRLLiteralArgument(Literal(3)))));
+        Set<SWRLAtom> head = new HashSet<SWRLAtom>();
+        head.add(df.getSWRLSameIndividualAtom(x, df.getSWRLIndividualArgument(j)));
+        head.add(df.getSWRLDifferentIndividualsAtom(x, df.getSWRLIndividualArgument(i)));
+        axioms.add(df.getSWRLRule(body, head, annotations));
+        return axioms;
+    }
+
+    @Test
+    public void shouldReplayAllAxiomTypes() throws Exception {
+        File file = createJournalFile();
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "ontology"));
+        OWLOntologyChangeJournal journal = new OWLOntologyChangeJournal(file,
+                manager.getOWLDataFactory());
+        manager.addOntologyChangeListener(journal);
+        Set<OWLAxiom> axioms = createAxioms(manager.getOWLDataFactory());
+        manager.addAxioms(ontology, axioms);
+        manager.applyChange(new AddImport(ontology, ImportsDeclaration(IRI(NS
+                + "imported"))));
+        manager.applyChange(new AddOntologyAnnotation(ontology, Annotation(RDFSLabel(),
+                Literal("ontology"))));
+        manager.removeAxiom(ontology, ClassAssertion(Class(IRI(NS + "A")),
+                NamedIndividual(IRI(NS + "i"))));
+        journal.close();
+        OWLOntologyManager replayed = Factory.getManager();
+        OWLOntologyChangeJournal reopened = new OWLOntologyChangeJournal(file,
+                replayed.getOWLDataFactory());
+        assertEquals(axioms.size() + 3, reopened.replay(replayed));
+        OWLOntology copy = replayed.getOntology(ontology.getOntologyID());
+        assertNotNull(copy);
+        assertEquals(ontology.getAxioms(), copy.getAxioms());
+        assertEquals(ontology.getImportsDeclarations(), copy.getImportsDeclarations());
+        assertEquals(ontology.getAnnotations(), copy.getAnnotations());
+        reopened.close();
+    }
+
+    @Test
+    public void shouldReplayKoala() throws Exception {
+        File file = createJournalFile();
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology koala = manager.loadOntologyFromOntologyDocument(new StreamDocumentSource(
+                getClass().getResourceAsStream("/koala.owl")));
+        OWLOntologyChangeJournal journal = new OWLOntologyChangeJournal(file,
+                manager.getOWLDataFactory(), false);
+        List<OWLOntologyChangeRecord> records = new ArrayList<OWLOntologyChangeRecord>();
+        for (OWLAxiom ax : koala.getAxioms()) {
+            records.add(OWLOntologyChangeRecord.createFromOWLOntologyChange(new AddAxiom(
+                    koala, ax)));
+        }
+        journal.append(records);
+        assertEquals(records, journal.readRecords());
+        // the dictionary keeps the journal much smaller than serialized records
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        ObjectOutputStream stream = new ObjectOutputStream(serialized);
+        stream.writeObject(records);
+        stream.close();
+        assertTrue(journal.getLength() * 3 < serialized.size());
+        journal.close();
+        OWLOntologyManager replayed = Factory.getManager();
+        OWLOntologyChangeJournal reopened = new OWLOntologyChangeJournal(file,
+                replayed.getOWLDataFactory());
+        reopened.replay(replayed);
+        assertEquals(koala.getAxioms(), replayed.getOntology(koala.getOntologyID())
+                .getAxioms());
+        reopened.close();
+    }
+
+    @Test
+    public void shouldRecoverFromIncompleteTransaction() throws Exception {
+        File file = createJournalFile();
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "ontology"));
+        OWLOntologyChangeJournal journal = new OWLOntologyChangeJournal(file,
+                manager.getOWLDataFactory());
+        manager.addOntologyChangeListener(journal);
+        for (int i = 0; i < 10; i++) {
+            manager.addAxiom(ontology, SubClassOf(Class(IRI(NS + "C" + i)),
+                    Class(IRI(NS + "D"))));
+        }
+        manager.removeOntologyChangeListener(journal);
+        journal.close();
+        long length = file.length();
+        // a transaction torn by a crash
+        FileOutputStream out = new FileOutputStream(file, true);
+        out.write(new byte[] { 40, 1, 2, 3 });
+        out.close();
+        journal = new OWLOntologyChangeJournal(file, manager.getOWLDataFactory());
+        assertEquals(length, file.length());
+        assertEquals(10, journal.readRecords().size());
+        // appending after reopening reuses the dictionary of the journal
+        journal.append(Collections.singletonList(OWLOntologyChangeRecord
+                .createFromOWLOntologyChange(new AddAxiom(ontology, SubClassOf(
+                        Class(IRI(NS + "C0")), Class(IRI(NS + "C1")))))));
+        // the rename is journaled with the id the ontology had before it
+        manager.addOntologyChangeListener(journal);
+        manager.applyChange(new SetOntologyID(ontology, new OWLOntologyID(IRI(NS
+                + "renamed"), IRI(NS + "version"))));
+        journal.appendChanges(Collections.singletonList(new AddAxiom(ontology,
+                Declaration(Class(IRI(NS + "C0"))))));
+        journal.close();
+        OWLOntologyManager replayed = Factory.getManager();
+        journal = new OWLOntologyChangeJournal(file, replayed.getOWLDataFactory());
+        assertEquals(13, journal.replay(replayed));
+        assertEquals(1, replayed.getOntologies().size());
+        OWLOntology copy = replayed.getOntology(new OWLOntologyID(IRI(NS + "renamed"),
+                IRI(NS + "version")));
+        assertNotNull(copy);
+        assertEquals(12, copy.getAxiomCount());
+        journal.truncate();
+        assertTrue(journal.readRecords().isEmpty());
+        journal.close();
+    }
+
+    @Test
+    public void shouldCommitConcurrentTransactions() throws Exception {
+        File file = createJournalFile();
+        final OWLOntologyManager manager = Factory.getManager();
+        final OWLOntology ontology = manager.createOntology(IRI(NS + "ontology"));
+        final OWLOntologyChangeJournal journal = new OWLOntologyChangeJournal(file,
+                manager.getOWLDataFactory());
+        final List<Exception> errors = Collections
+                .synchronizedList(new ArrayList<Exception>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 25; i++) {
+                            OWLOntologyChange change = new AddAxiom(ontology, SubClassOf(
+                                    Class(IRI(NS + "T" + thread + "_" + i)),
+                                    Class(IRI(NS + "T" + thread))));
+                            journal.appendChanges(Collections.singletonList(change));
+                        }
+                    } catch (Exception e) {
+                        errors.add(e);
+                    }
+                }
+            });
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(errors.toString(), errors.isEmpty());
+        assertEquals(200, journal.getTransactionCount());
+        assertTrue(journal.getWriteCount() <= 200);
+        assertEquals(journal.getWriteCount(), journal.getForceCount());
+        journal.close();
+        OWLOntologyManager replayed = Factory.getManager();
+        OWLOntologyChangeJournal reopened = new OWLOntologyChangeJournal(file,
+                replayed.getOWLDataFactory());
+        assertEquals(200, reopened.replay(replayed));
+        assertEquals(200, replayed.getOntology(ontology.getOntologyID()).getAxiomCount());
+        reopened.close();
+    }
+}
@@ -0,0 +1,106 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.OWLFunctionalSyntaxOntologyFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.util.OWLOntologyDiff;
+
+@SuppressWarnings("javadoc")
+public class OWLOntologyDiffTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/diff#";
+
+    private void checkDiff(OWLOntology from, OWLOntology to, int expectedChanges) {
+        List<OWLOntologyChange> serial = new OWLOntologyDiff().getChanges(from, to);
+        List<OWLOntologyChange> parallel = new OWLOntologyDiff(4).getChanges(from, to);
+        assertEquals(expectedChanges, serial.size());
+        assertEquals(new HashSet<OWLOntologyChange>(serial),
+                new HashSet<OWLOntologyChange>(parallel));
+        from.getOWLOntologyManager().applyChanges(serial);
+        assertEquals(to.getAxioms(), from.getAxioms());
+        assertEquals(to.getAnnotations(), from.getAnnotations());
+        assertEquals(to.getImportsDeclarations(), from.getImportsDeclarations());
+        assertTrue(new OWLOntologyDiff(4).getChanges(from, to).isEmpty());
+    }
+
+    private OWLOntology loadKoala(OWLOntologyManager manager) throws Exception {
+        return manager.loadOntologyFromOntologyDocument(new StreamDocumentSource(getClass()
+                .getResourceAsStream("/koala.owl")));
+    }
+
+    @Test
+    public void shouldDiffTwoVersions() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology koala = loadKoala(manager);
+        OWLOntology from = manager.createOntology(IRI(NS + "from"));
+        OWLOntology to = manager.createOntology(IRI(NS + "to"));
+        manager.addAxioms(from, koala.getAxioms());
+        manager.addAxioms(to, koala.getAxioms());
+        int removed = 0;
+        for (OWLAxiom ax : koala.getAxioms()) {
+            if (removed < 10 && ax.isLogicalAxiom()) {
+                manager.applyChange(new RemoveAxiom(to, ax));
+                removed++;
+            }
+        }
+        manager.addAxiom(to, SubClassOf(Class(IRI(NS + "A")), Class(IRI(NS + "B"))));
+        manager.addAxiom(to, Declaration(Class(IRI(NS + "A"))));
+        manager.addAxiom(from, Declaration(Class(IRI(NS + "C"))));
+        manager.applyChange(new AddOntologyAnnotation(to, Annotation(RDFSLabel(),
+                Literal("to"))));
+        manager.applyChange(new AddOntologyAnnotation(from, Annotation(RDFSLabel(),
+                Literal("from"))));
+        manager.applyChange(new AddImport(to, ImportsDeclaration(IRI(NS + "imported"))));
+        checkDiff(from, to, 10 + 2 + 1 + 2 + 1);
+    }
+
+    @Test
+    public void shouldDiffLargeAxiomTypesInPartitions() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology from = manager.createOntology(IRI(NS + "from"));
+        OWLOntology to = manager.createOntology(IRI(NS + "to"));
+        for (int i = 0; i < 60000; i++) {
+            OWLAxiom ax = SubClassOf(Class(IRI(NS + "C" + i)), Class(IRI(NS + "D" + i % 7)));
+            if (i % 1000 != 1) {
+                manager.addAxiom(from, ax);
+            }
+            if (i % 1000 != 2) {
+                manager.addAxiom(to, ax);
+            }
+        }
+        checkDiff(from, to, 120);
+    }
+
+    @Test
+    public void shouldDiffAgainstDocument() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "document"));
+        manager.addAxiom(ontology, SubClassOf(Class(IRI(NS + "A")), Class(IRI(NS + "B"))));
+        manager.addAxiom(ontology, Declaration(Class(IRI(NS + "saved"))));
+        StringDocumentTarget target = new StringDocumentTarget();
+        manager.saveOntology(ontology, new OWLFunctionalSyntaxOntologyFormat(), target);
+        manager.removeAxiom(ontology, Declaration(Class(IRI(NS + "saved"))));
+        manager.addAxiom(ontology, Declaration(Class(IRI(NS + "unsaved"))));
+        List<OWLOntologyChange> changes = new OWLOntologyDiff().getChanges(ontology,
+                new StringDocumentSource(target.toString()), Factory.getManager());
+        assertEquals(2, changes.size());
+        manager.applyChanges(changes);
+        assertTrue(ontology.containsAxiom(Declaration(Class(IRI(NS + "saved")))));
+        assertFalse(ontology.containsAxiom(Declaration(Class(IRI(NS + "unsaved")))));
+    }
+}
@@ -0,0 +1,117 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
+
+@SuppressWarnings("javadoc")
+public class SignatureCacheTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/signature#";
+    private final OWLClass a = Class(IRI(NS + "A"));
+    private final OWLClass b = Class(IRI(NS + "B"));
+    private final OWLClass c = Class(IRI(NS + "C"));
+    private final OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+
+    private static Set<OWLEntity> set(OWLEntity... entities) {
+        return new HashSet<OWLEntity>(Arrays.asList(entities));
+    }
+
+    @Test
+    public void shouldComputeAxiomSignatures() {
+        OWLAxiom ax = SubClassOf(a, ObjectSomeValuesFrom(p, ObjectIntersectionOf(b, c)));
+        Set<OWLEntity> signature = ax.getSignature();
+        assertEquals(set(a, b, c, p), signature);
+        assertTrue(signature.contains(p));
+        assertFalse(signature.contains(ObjectProperty(IRI(NS + "q"))));
+        assertEquals(set(a, b, c), ax.getClassesInSignature());
+        assertEquals(signature, ax.getSignature());
+        // the returned set can be changed without affecting the axiom
+        signature.add(ObjectProperty(IRI(NS + "q")));
+        assertEquals(set(a, b, c, p), ax.getSignature());
+        OWLAnonymousIndividual anon = AnonymousIndividual();
+        OWLNamedIndividual i = NamedIndividual(IRI(NS + "i"));
+        OWLAxiom assertion = ObjectPropertyAssertion(p, i, anon);
+        assertEquals(set(p, i), assertion.getSignature());
+        assertEquals(new HashSet<OWLAnonymousIndividual>(Arrays.asList(anon)),
+                assertion.getAnonymousIndividuals());
+        assertTrue(SubClassOf(a, b).getAnonymousIndividuals().isEmpty());
+    }
+
+    @Test
+    public void shouldUpdateOntologySignatureOnChanges() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        assertTrue(ontology.getSignature().isEmpty());
+        manager.addAxiom(ontology, SubClassOf(a, b));
+        Set<OWLEntity> signature = ontology.getSignature();
+        assertEquals(set(a, b), signature);
+        signature.add(c);
+        assertEquals(set(a, b), ontology.getSignature());
+        manager.addAxiom(ontology, Declaration(c));
+        assertEquals(set(a, b, c), ontology.getSignature());
+        // an earlier result is a snapshot
+        assertEquals(set(a, b, c), signature);
+        manager.removeAxiom(ontology, SubClassOf(a, b));
+        assertEquals(set(c), ontology.getSignature());
+        OWLAnnotationProperty label = RDFSLabel();
+        manager.applyChange(new AddOntologyAnnotation(ontology, Annotation(label,
+                Literal("o"))));
+        assertEquals(set(c, label), ontology.getSignature());
+        // entities still used by other axioms or annotations stay
+        manager.addAxiom(ontology, SubClassOf(c, a));
+        manager.addAxiom(ontology, AnnotationAssertion(label, c.getIRI(), Literal("c")));
+        OWLDatatype string = Literal("c").getDatatype();
+        Set<OWLEntity> before = ontology.getSignature();
+        manager.removeAxiom(ontology, Declaration(c));
+        manager.applyChange(new RemoveOntologyAnnotation(ontology, Annotation(label,
+                Literal("o"))));
+        assertEquals(set(a, c, label, string), ontology.getSignature());
+        manager.removeAxiom(ontology, AnnotationAssertion(label, c.getIRI(),
+                Literal("c")));
+        assertEquals(set(a, c), ontology.getSignature());
+        manager.removeAxiom(ontology, SubClassOf(c, a));
+        assertTrue(ontology.getSignature().isEmpty());
+        assertEquals(set(a, c, label, string), before);
+    }
+
+    @Test
+    public void shouldUpdateImportsClosureSignatureOnChanges() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology importing = manager.createOntology(IRI(NS + "importing"));
+        OWLOntology imported = manager.createOntology(IRI(NS + "imported"));
+        manager.addAxiom(importing, Declaration(a));
+        manager.addAxiom(imported, Declaration(b));
+        AddImport addImport = new AddImport(importing, ImportsDeclaration(IRI(NS
+                + "imported")));
+        manager.applyChange(addImport);
+        assertEquals(set(a, b), importing.getSignature(true));
+        assertEquals(set(a), importing.getSignature(false));
+        assertEquals(set(a, b), importing.getSignature(true));
+        manager.addAxiom(imported, Declaration(c));
+        assertEquals(set(a, b, c), importing.getSignature(true));
+        manager.addAxiom(importing, Declaration(p));
+        assertEquals(set(a, b, c, p), importing.getSignature(true));
+        manager.applyChange(new RemoveImport(importing, addImport.getImportDeclaration()));
+        assertEquals(set(a, p), importing.getSignature(true));
+    }
+}
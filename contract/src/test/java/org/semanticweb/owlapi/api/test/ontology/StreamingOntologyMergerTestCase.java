@@ -0,0 +1,71 @@
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.OWLOntologyMerger;
+
+@SuppressWarnings("javadoc")
+public class StreamingOntologyMergerTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/merge#";
+
+    private static OWLOntologyManager createManager(int ontologies) throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        for (int o = 0; o < ontologies; o++) {
+            OWLOntology ontology = manager.createOntology(IRI(NS + "o" + o));
+            Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+            for (int i = 0; i < 6000; i++) {
+                // half of the axioms are shared with the next ontology
+                int n = o * 3000 + i;
+                axioms.add(SubClassOf(Class(IRI(NS + "A" + n)), Class(IRI(NS + "A" + (n + 1)))));
+                axioms.add(Declaration(Class(IRI(NS + "A" + n))));
+            }
+            axioms.add(AnnotationAssertion(RDFSLabel(), IRI(NS + "A" + o), Literal("a")));
+            manager.addAxioms(ontology, axioms);
+        }
+        return manager;
+    }
+
+    @Test
+    public void shouldMergeLikeCollectingMerger() throws Exception {
+        OWLOntologyManager expectedManager = createManager(4);
+        OWLOntology expected = new OWLOntologyMerger(expectedManager)
+                .createMergedOntology(expectedManager, IRI(NS + "merged"));
+        for (int threads : new int[] { 1, 4 }) {
+            OWLOntologyManager manager = createManager(4);
+            final List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
+            manager.addOntologyChangeListener(new OWLOntologyChangeListener() {
+                @Override
+                public void ontologiesChanged(List<? extends OWLOntologyChange> list) {
+                    changes.addAll(list);
+                }
+            });
+            OWLOntology merged = new OWLOntologyMerger(manager).createMergedOntology(
+                    manager, IRI(NS + "merged"), threads);
+            assertEquals(expected.getAxioms(), merged.getAxioms());
+            // shared axioms are added once
+            assertEquals(merged.getAxiomCount(), changes.size());
+        }
+    }
+
+    @Test
+    public void shouldMergeOnlyLogicalAxioms() throws Exception {
+        OWLOntologyManager manager = createManager(3);
+        OWLOntology merged = new OWLOntologyMerger(manager, true).createMergedOntology(
+                manager, null, 2);
+        assertEquals(0, merged.getAxiomCount() - merged.getLogicalAxiomCount());
+        assertEquals(3 * 3000 + 3000, merged.getLogicalAxiomCount());
+    }
+}
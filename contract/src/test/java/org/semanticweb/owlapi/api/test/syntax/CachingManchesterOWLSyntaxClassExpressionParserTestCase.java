@@ -0,0 +1,115 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.coode.owlapi.manchesterowlsyntax.CachingManchesterOWLSyntaxClassExpressionParser;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.expression.ParserException;
+import org.semanticweb.owlapi.expression.ShortFormEntityChecker;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.BidirectionalShortFormProviderAdapter;
+import org.semanticweb.owlapi.util.SimpleShortFormProvider;
+
+@SuppressWarnings("javadoc")
+public class CachingManchesterOWLSyntaxClassExpressionParserTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/dlquery#";
+    private final OWLClass a = Class(IRI(NS + "A"));
+    private final OWLClass b = Class(IRI(NS + "B"));
+    private final OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+
+    private CachingManchesterOWLSyntaxClassExpressionParser createParser(
+            OWLOntologyManager manager, OWLOntology ontology) {
+        BidirectionalShortFormProviderAdapter shortForms = new BidirectionalShortFormProviderAdapter(
+                manager, Collections.singleton(ontology), new SimpleShortFormProvider());
+        CachingManchesterOWLSyntaxClassExpressionParser parser = new CachingManchesterOWLSyntaxClassExpressionParser(
+                manager.getOWLDataFactory(), new ShortFormEntityChecker(shortForms));
+        manager.addOntologyChangeListener(parser);
+        return parser;
+    }
+
+    @Test
+    public void shouldCacheParsedExpressions() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        manager.addAxiom(ontology, SubClassOf(a, ObjectSomeValuesFrom(p, b)));
+        CachingManchesterOWLSyntaxClassExpressionParser parser = createParser(manager,
+                ontology);
+        OWLClassExpression expected = ObjectSomeValuesFrom(p, b);
+        assertEquals(expected, parser.parse("p some B"));
+        assertEquals(expected, parser.parse("  p   some\n B "));
+        assertEquals(ObjectIntersectionOf(a, expected), parser.parse("A and (p some B)"));
+        assertEquals(1, parser.getCacheHits());
+        assertEquals(2, parser.getCacheMisses());
+        assertEquals(2, parser.getCacheSize());
+        assertTrue(parser.getMaxParseNanos() > 0);
+        assertTrue(parser.getAverageParseNanos() <= parser.getMaxParseNanos());
+        // failures are reported every time
+        for (int i = 0; i < 2; i++) {
+            try {
+                parser.parse("p some C");
+                fail("C is not in the ontology");
+            } catch (ParserException e) {
+                // expected
+            }
+        }
+        assertEquals(2, parser.getFailures());
+        // new names are picked up once the vocabulary changes
+        OWLClass c = Class(IRI(NS + "C"));
+        manager.addAxiom(ontology, Declaration(c));
+        assertEquals(0, parser.getCacheSize());
+        assertEquals(ObjectSomeValuesFrom(p, c), parser.parse("p some C"));
+    }
+
+    @Test
+    public void shouldParseFromSeveralThreads() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        manager.addAxiom(ontology, SubClassOf(a, ObjectSomeValuesFrom(p, b)));
+        final CachingManchesterOWLSyntaxClassExpressionParser parser = createParser(
+                manager, ontology);
+        final String[] expressions = { "A", "p some B", "A or B", "p only (A and B)",
+                "not A" };
+        final OWLClassExpression[] expected = { a, ObjectSomeValuesFrom(p, b),
+                ObjectUnionOf(a, b), ObjectAllValuesFrom(p, ObjectIntersectionOf(a, b)),
+                ObjectComplementOf(a) };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        for (int i = 0; i < 500; i++) {
+                            int n = i % expressions.length;
+                            if (!expected[n].equals(parser.parse(expressions[n]))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8 * 500, parser.getCacheHits() + parser.getCacheMisses());
+        assertEquals(expressions.length, parser.getCacheSize());
+    }
+}
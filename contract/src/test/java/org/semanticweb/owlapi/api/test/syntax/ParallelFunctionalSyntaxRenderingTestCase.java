@@ -0,0 +1,65 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.OWLFunctionalSyntaxOntologyFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/** Checks that rendering functional syntax with several threads produces the
+ * same output as rendering on one thread. */
+@SuppressWarnings("javadoc")
+public class ParallelFunctionalSyntaxRenderingTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/parallelrendering#";
+
+    private String render(OWLOntology ontology, int threads) throws Exception {
+        OWLFunctionalSyntaxOntologyFormat format = new OWLFunctionalSyntaxOntologyFormat();
+        format.setRenderingThreads(threads);
+        StringDocumentTarget target = new StringDocumentTarget();
+        ontology.getOWLOntologyManager().saveOntology(ontology, format, target);
+        return target.toString();
+    }
+
+    private void checkSameOutput(OWLOntology ontology) throws Exception {
+        String expected = render(ontology, 0);
+        assertEquals(expected, render(ontology, 4));
+        assertEquals(expected, render(ontology, 2));
+    }
+
+    @Test
+    public void shouldRenderKoalaInParallel() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        checkSameOutput(manager.loadOntologyFromOntologyDocument(new StreamDocumentSource(
+                getClass().getResourceAsStream("/koala.owl"))));
+    }
+
+    @Test
+    public void shouldRenderLargeOntologyInParallel() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS));
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+        manager.addAxiom(ontology, Declaration(p));
+        for (int i = 0; i < 1500; i++) {
+            OWLClass c = Class(IRI(NS + "C" + i));
+            OWLClass d = Class(IRI(NS + "C" + i / 2));
+            OWLNamedIndividual a = NamedIndividual(IRI(NS + "a" + i));
+            manager.addAxiom(ontology, Declaration(c));
+            manager.addAxiom(ontology, SubClassOf(c, d));
+            manager.addAxiom(ontology, EquivalentClasses(c, ObjectSomeValuesFrom(p, d)));
+            manager.addAxiom(ontology, ClassAssertion(c, a));
+            manager.addAxiom(ontology, ObjectPropertyAssertion(p, a, AnonymousIndividual()));
+            manager.addAxiom(ontology, AnnotationAssertion(RDFSLabel(), c.getIRI(),
+                    Literal("C" + i)));
+            manager.addAxiom(ontology, SubClassOf(ObjectSomeValuesFrom(p, c), d));
+        }
+        checkSameOutput(ontology);
+    }
+}
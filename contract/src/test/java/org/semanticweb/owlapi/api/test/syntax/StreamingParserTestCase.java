@@ -0,0 +1,159 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.coode.owlapi.functionalparser.OWLFunctionalSyntaxOWLParser;
+import org.coode.owlapi.owlxmlparser.OWLXMLParser;
+import org.coode.owlapi.rdfxml.parser.RDFXMLParser;
+import org.coode.owlapi.turtle.TurtleOntologyFormat;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.OWLFunctionalSyntaxOntologyFormat;
+import org.semanticweb.owlapi.io.OWLParserStreamHandlerAdapter;
+import org.semanticweb.owlapi.io.OWLStreamingParser;
+import org.semanticweb.owlapi.io.OWLXMLOntologyFormat;
+import org.semanticweb.owlapi.io.RDFXMLOntologyFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyFormat;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owl.owlapi.turtle.parser.TurtleOntologyParser;
+
+@SuppressWarnings("javadoc")
+public class StreamingParserTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/streaming";
+
+    private static class CollectingHandler extends OWLParserStreamHandlerAdapter {
+        Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+        Set<OWLAnnotation> annotations = new HashSet<OWLAnnotation>();
+        Set<OWLImportsDeclaration> imports = new HashSet<OWLImportsDeclaration>();
+        OWLOntologyID id;
+
+        @Override
+        public void handleOntologyID(OWLOntologyID ontologyID) {
+            id = ontologyID;
+        }
+
+        @Override
+        public void handleImportsDeclaration(OWLImportsDeclaration declaration) {
+            imports.add(declaration);
+        }
+
+        @Override
+        public void handleOntologyAnnotation(OWLAnnotation annotation) {
+            annotations.add(annotation);
+        }
+
+        @Override
+        public void handleAxiom(OWLAxiom axiom) {
+            axioms.add(axiom);
+        }
+
+        @Override
+        public void handleAxiomRetraction(OWLAxiom axiom) {
+            axioms.remove(axiom);
+        }
+    }
+
+    private OWLOntology createOntology(OWLOntologyManager manager) throws Exception {
+        OWLOntology ontology = manager.createOntology(IRI(NS));
+        OWLClass a = Class(IRI(NS + "#A"));
+        OWLClass b = Class(IRI(NS + "#B"));
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "#p"));
+        OWLNamedIndividual i = NamedIndividual(IRI(NS + "#i"));
+        OWLNamedIndividual j = NamedIndividual(IRI(NS + "#j"));
+        OWLAnnotationProperty label = RDFSLabel();
+        OWLAnnotation comment = Annotation(RDFSComment(), Literal("annotated"));
+        manager.addAxiom(ontology, Declaration(a));
+        manager.addAxiom(ontology, Declaration(b));
+        manager.addAxiom(ontology, Declaration(p));
+        manager.addAxiom(ontology, Declaration(i));
+        manager.addAxiom(ontology, Declaration(j));
+        manager.addAxiom(ontology, SubClassOf(a, b, new HashSet<OWLAnnotation>(
+                Collections.singleton(comment))));
+        manager.addAxiom(ontology, ClassAssertion(a, i));
+        manager.addAxiom(ontology, ObjectPropertyAssertion(p, i, j));
+        manager.addAxiom(ontology, AnnotationAssertion(label, a.getIRI(), Literal("A")));
+        manager.applyChange(new AddOntologyAnnotation(
+                ontology, Annotation(label, Literal("streaming"))));
+        return ontology;
+    }
+
+    private void roundTrip(OWLOntologyFormat format, OWLStreamingParser parser)
+            throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = createOntology(manager);
+        StringDocumentTarget target = new StringDocumentTarget();
+        manager.saveOntology(ontology, format, target);
+        OWLOntologyManager manager2 = Factory.getManager();
+        OWLOntology parsed = manager2.createOntology();
+        CollectingHandler handler = new CollectingHandler();
+        parser.setOWLOntologyManager(manager2);
+        parser.parse(new StringDocumentSource(target.toString()), parsed, handler,
+                new OWLOntologyLoaderConfiguration());
+        assertEquals(ontology.getAxioms(), handler.axioms);
+        assertEquals(ontology.getAnnotations(), handler.annotations);
+        assertEquals(ontology.getOntologyID(), handler.id);
+        assertEquals(ontology.getOntologyID(), parsed.getOntologyID());
+        assertEquals(ontology.getAnnotations(), parsed.getAnnotations());
+        assertEquals(0, parsed.getAxiomCount());
+    }
+
+    @Test
+    public void shouldStreamFunctionalSyntax() throws Exception {
+        roundTrip(new OWLFunctionalSyntaxOntologyFormat(),
+                new OWLFunctionalSyntaxOWLParser());
+    }
+
+    @Test
+    public void shouldStreamOWLXML() throws Exception {
+        roundTrip(new OWLXMLOntologyFormat(), new OWLXMLParser());
+    }
+
+    @Test
+    public void shouldStreamRDFXML() throws Exception {
+        roundTrip(new RDFXMLOntologyFormat(), new RDFXMLParser());
+    }
+
+    @Test
+    public void shouldStreamTurtle() throws Exception {
+        roundTrip(new TurtleOntologyFormat(), new TurtleOntologyParser());
+    }
+
+    @Test
+    public void shouldStreamFunctionalSyntaxImports() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        manager.createOntology(IRI(NS + "/imported"));
+        OWLOntology parsed = manager.createOntology();
+        CollectingHandler handler = new CollectingHandler();
+        OWLFunctionalSyntaxOWLParser parser = new OWLFunctionalSyntaxOWLParser();
+        parser.setOWLOntologyManager(manager);
+        String input = "Ontology(<" + NS + ">\nImport(<" + NS + "/imported>)\n"
+                + "Annotation(rdfs:comment \"header\")\n"
+                + "Declaration(Class(<" + NS + "#A>)))";
+        parser.parse(new StringDocumentSource(input), parsed, handler,
+                new OWLOntologyLoaderConfiguration());
+        assertEquals(parsed.getImportsDeclarations(), handler.imports);
+        assertEquals(1, handler.imports.size());
+        assertEquals(parsed.getAnnotations(), handler.annotations);
+        assertEquals(1, handler.annotations.size());
+        assertEquals(1, handler.axioms.size());
+    }
+}
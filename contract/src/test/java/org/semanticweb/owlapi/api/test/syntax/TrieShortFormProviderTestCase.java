@@ -0,0 +1,148 @@
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.coode.owlapi.manchesterowlsyntax.ManchesterOWLSyntaxEditorParser;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.expression.TrieShortFormEntityChecker;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.AnnotationValueShortFormProvider;
+import org.semanticweb.owlapi.util.ConcurrentTrie;
+import org.semanticweb.owlapi.util.SimpleShortFormProvider;
+import org.semanticweb.owlapi.util.TrieBidirectionalShortFormProvider;
+
+@SuppressWarnings("javadoc")
+public class TrieShortFormProviderTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/trie#";
+
+    private static Set<OWLEntity> entities(OWLEntity... entities) {
+        return new HashSet<OWLEntity>(Arrays.asList(entities));
+    }
+
+    @Test
+    public void shouldMatchSortedMapOfKeys() {
+        ConcurrentTrie<Integer> trie = new ConcurrentTrie<Integer>();
+        TreeMap<String, Set<Integer>> expected = new TreeMap<String, Set<Integer>>();
+        Random r = new Random(7);
+        String[] stems = { "", "a", "ab", "abc", "abd", "b", "ba", "heart", "hear" };
+        for (int i = 0; i < 5000; i++) {
+            String key = stems[r.nextInt(stems.length)] + stems[r.nextInt(stems.length)];
+            Integer value = Integer.valueOf(r.nextInt(5));
+            Set<Integer> values = expected.get(key);
+            if (r.nextInt(3) == 0) {
+                boolean removed = values != null && values.remove(value);
+                assertEquals(removed, trie.remove(key, value));
+                if (values != null && values.isEmpty()) {
+                    expected.remove(key);
+                }
+            } else {
+                if (values == null) {
+                    values = new LinkedHashSet<Integer>();
+                    expected.put(key, values);
+                }
+                assertEquals(values.add(value), trie.put(key, value));
+            }
+        }
+        int size = 0;
+        for (Map.Entry<String, Set<Integer>> e : expected.entrySet()) {
+            assertEquals(e.getValue(), trie.get(e.getKey()));
+            size += e.getValue().size();
+        }
+        assertEquals(size, trie.size());
+        for (String prefix : stems) {
+            List<String> keys = new ArrayList<String>();
+            Set<Integer> values = new HashSet<Integer>();
+            for (Map.Entry<String, Set<Integer>> e : expected.tailMap(prefix).entrySet()) {
+                if (!e.getKey().startsWith(prefix)) {
+                    break;
+                }
+                keys.add(e.getKey());
+                values.addAll(e.getValue());
+            }
+            assertEquals(keys, trie.getKeysByPrefix(prefix, Integer.MAX_VALUE));
+            assertEquals(values, trie.getByPrefix(prefix, Integer.MAX_VALUE));
+            assertEquals(Math.min(2, keys.size()), trie.getKeysByPrefix(prefix, 2).size());
+        }
+        assertTrue(trie.get("zz").isEmpty());
+        assertTrue(trie.getByPrefix("abx", 10).isEmpty());
+    }
+
+    @Test
+    public void shouldResolveNamesAndFollowChanges() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        OWLClass heart = Class(IRI(NS + "Heart"));
+        OWLClass valve = Class(IRI(NS + "HeartValve"));
+        OWLObjectProperty partOf = ObjectProperty(IRI(NS + "partOf"));
+        manager.addAxiom(ontology, SubClassOf(valve, ObjectSomeValuesFrom(partOf, heart)));
+        TrieBidirectionalShortFormProvider provider = new TrieBidirectionalShortFormProvider(
+                manager, Collections.singleton(ontology), new SimpleShortFormProvider());
+        try {
+            assertEquals(entities(heart), provider.getEntities("Heart"));
+            assertTrue(provider.getEntities("heart").isEmpty());
+            assertEquals(entities(heart), provider.getEntities("heart", true));
+            assertEquals(entities(heart, valve),
+                    provider.getEntitiesByPrefix("heart", true, 10));
+            assertEquals(Arrays.asList("Heart", "HeartValve"),
+                    provider.getShortFormsByPrefix("H", 10));
+            assertEquals(new HashSet<String>(Arrays.asList("Heart", "HeartValve", "partOf")),
+                    provider.getShortForms());
+            // the Manchester syntax parser resolves names through the checker
+            ManchesterOWLSyntaxEditorParser parser = new ManchesterOWLSyntaxEditorParser(
+                    manager.getOWLDataFactory(), "partof some heart");
+            parser.setOWLEntityChecker(new TrieShortFormEntityChecker(provider, true));
+            assertEquals(ObjectSomeValuesFrom(partOf, heart), parser.parseClassExpression());
+            // changes are applied to the tries
+            OWLClass lung = Class(IRI(NS + "Lung"));
+            manager.addAxiom(ontology, Declaration(lung));
+            manager.removeAxiom(ontology,
+                    SubClassOf(valve, ObjectSomeValuesFrom(partOf, heart)));
+            assertEquals(entities(lung), provider.getEntities("Lung"));
+            assertTrue(provider.getEntities("Heart").isEmpty());
+            assertTrue(provider.getEntitiesByPrefix("h", true, 10).isEmpty());
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    public void shouldRegenerateAnnotationShortForms() throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology ontology = manager.createOntology(IRI(NS + "o"));
+        OWLClass heart = Class(IRI(NS + "C1"));
+        manager.addAxiom(ontology, Declaration(heart));
+        OWLAnnotationProperty label = RDFSLabel();
+        TrieBidirectionalShortFormProvider provider = new TrieBidirectionalShortFormProvider(
+                manager, Collections.singleton(ontology),
+                new AnnotationValueShortFormProvider(Arrays.asList(label), Collections
+                        .<OWLAnnotationProperty, List<String>> emptyMap(), manager));
+        try {
+            assertEquals(heart, provider.getEntity("C1"));
+            manager.addAxiom(ontology,
+                    AnnotationAssertion(label, heart.getIRI(), Literal("heart")));
+            assertEquals("heart", provider.getShortForm(heart));
+            assertEquals(heart, provider.getEntity("heart"));
+            assertNull(provider.getEntity("C1"));
+        } finally {
+            provider.dispose();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.semanticweb.owlapi.api.test.syntax.rdfxml;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Collections;
+
+import org.coode.owlapi.turtle.TurtleOntologyFormat;
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.RDFXMLOntologyFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyFormat;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/** Checks that prefetching declarations, and translating assertions while
+ * streaming, does not change the parsed ontology. */
+@SuppressWarnings("javadoc")
+public class DeclarationPrefetchTestCase {
+    private static final String NS = "http://www.semanticweb.org/owlapi/test/prefetch#";
+
+    private OWLOntology load(OWLOntologyDocumentSource source, boolean prefetch)
+            throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        return manager.loadOntologyFromOntologyDocument(source,
+                new OWLOntologyLoaderConfiguration().setPrefetchDeclarations(prefetch));
+    }
+
+    private String save(OWLOntologyFormat format) throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntology o = manager.createOntology(IRI(NS));
+        OWLObjectProperty p = ObjectProperty(IRI(NS + "p"));
+        OWLDataProperty d = DataProperty(IRI(NS + "d"));
+        OWLObjectProperty punned = ObjectProperty(IRI(NS + "punned"));
+        OWLAnnotation comment = Annotation(RDFSComment(), Literal("annotated"));
+        manager.addAxiom(o, Declaration(p));
+        manager.addAxiom(o, Declaration(d));
+        manager.addAxiom(o, Declaration(punned));
+        manager.addAxiom(o, Declaration(AnnotationProperty(punned.getIRI())));
+        for (int i = 0; i < 20; i++) {
+            OWLNamedIndividual a = NamedIndividual(IRI(NS + "a" + i));
+            OWLNamedIndividual b = NamedIndividual(IRI(NS + "b" + i));
+            manager.addAxiom(o, ObjectPropertyAssertion(p, a, b));
+            manager.addAxiom(o, DataPropertyAssertion(d, a, Literal(i)));
+            manager.addAxiom(o, ObjectPropertyAssertion(punned, a, b));
+        }
+        manager.addAxiom(o, ObjectPropertyAssertion(p, NamedIndividual(IRI(NS + "x")),
+                NamedIndividual(IRI(NS + "y")), Collections.singleton(comment)));
+        manager.addAxiom(o, DataPropertyAssertion(d, NamedIndividual(IRI(NS + "x")),
+                Literal("y"), Collections.singleton(comment)));
+        StringDocumentTarget target = new StringDocumentTarget();
+        manager.saveOntology(o, format, target);
+        return target.toString();
+    }
+
+    private void checkSameAxioms(String document) throws Exception {
+        OWLOntology plain = load(new StringDocumentSource(document), false);
+        OWLOntology prefetched = load(new StringDocumentSource(document), true);
+        assertEquals(plain.getAxioms(), prefetched.getAxioms());
+    }
+
+    @Test
+    public void shouldParseRDFXMLWithPrefetchedDeclarations() throws Exception {
+        checkSameAxioms(save(new RDFXMLOntologyFormat()));
+    }
+
+    @Test
+    public void shouldParseTurtleWithPrefetchedDeclarations() throws Exception {
+        checkSameAxioms(save(new TurtleOntologyFormat()));
+    }
+
+    @Test
+    public void shouldParseKoalaWithPrefetchedDeclarations() throws Exception {
+        OWLOntology plain = load(
+                new StreamDocumentSource(getClass().getResourceAsStream("/koala.owl")),
+                false);
+        OWLOntology prefetched = load(
+                new StreamDocumentSource(getClass().getResourceAsStream("/koala.owl")),
+                true);
+        assertEquals(plain.getAxioms(), prefetched.getAxioms());
+    }
+
+    @Test
+    public void shouldNotStreamAssertionsOfKnownAnnotationProperties() throws Exception {
+        // rdfs:seeAlso is a built in annotation property, also declared here
+        // as an object property
+        String document = "@prefix : <" + NS + "> .\n"
+                + "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+                + "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n"
+                + "<" + NS + "> a owl:Ontology .\n"
+                + "rdfs:seeAlso a owl:ObjectProperty .\n"
+                + ":a a owl:NamedIndividual .\n"
+                + ":b a owl:NamedIndividual .\n"
+                + ":a rdfs:seeAlso :b .\n";
+        checkSameAxioms(document);
+    }
+}
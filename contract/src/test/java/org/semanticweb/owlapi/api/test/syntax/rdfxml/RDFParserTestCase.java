@@ -38,6 +38,9 @@
  */
 package org.semanticweb.owlapi.api.test.syntax.rdfxml;
 
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
 import java.io.File;
 import java.net.URL;
 
@@ -45,6 +48,7 @@ import org.coode.owlapi.rdfxml.parser.RDFXMLParserFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.semanticweb.owlapi.io.OWLParserFactoryRegistry;
+import org.semanticweb.owlapi.io.StringDocumentSource;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
@@ -76,6 +80,29 @@ public class RDFParserTestCase {
         parseFiles("/owlapi/");
     }
 
+    @Test
+    public void shouldResolveAgainstScopedXMLBase() throws Exception {
+        String input = "<?xml version=\"1.0\"?>\n"
+                + "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\"\n"
+                + "  xmlns:owl=\"http://www.w3.org/2002/07/owl#\"\n"
+                + "  xml:base=\"http://example.com/a/\">\n"
+                + "  <owl:Ontology rdf:about=\"\"/>\n"
+                + "  <owl:Class rdf:about=\"A\"/>\n"
+                + "  <owl:Class rdf:about=\"B\" xml:base=\"http://example.com/b/\"/>\n"
+                + "  <owl:Class rdf:about=\"B\"/>\n"
+                + "  <owl:Class rdf:about=\"http://example.com/c/C\"/>\n"
+                + "  <owl:Class rdf:about=\"http://example.com/c/C#D\"/>\n"
+                + "</rdf:RDF>";
+        OWLOntology ont = man.loadOntologyFromOntologyDocument(new StringDocumentSource(
+                input));
+        assertTrue(ont.containsClassInSignature(IRI("http://example.com/a/A")));
+        assertTrue(ont.containsClassInSignature(IRI("http://example.com/a/B")));
+        assertTrue(ont.containsClassInSignature(IRI("http://example.com/b/B")));
+        assertTrue(ont.containsClassInSignature(IRI("http://example.com/c/C")));
+        assertTrue(ont.containsClassInSignature(IRI("http://example.com/c/C#D")));
+        assertEquals(5, ont.getClassesInSignature().size());
+    }
+
     private void parseFiles(String base) throws Exception {
         URL url = getClass().getResource(base);
         File file = new File(url.toURI());
@@ -0,0 +1,67 @@
+package org.semanticweb.owlapi.api.test.syntax.rdfxml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Factory;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/** Checks that spilling unconsumed triples to disk while parsing does not
+ * change the parsed ontology. */
+@SuppressWarnings("javadoc")
+public class TripleSpillTestCase {
+    private OWLOntology load(String fileName, int threshold) throws Exception {
+        OWLOntologyManager manager = Factory.getManager();
+        OWLOntologyLoaderConfiguration configuration = new OWLOntologyLoaderConfiguration()
+                .setTripleSpillThreshold(threshold);
+        return manager.loadOntologyFromOntologyDocument(new StreamDocumentSource(
+                getClass().getResourceAsStream(fileName)), configuration);
+    }
+
+    private void checkSameAxioms(String fileName) throws Exception {
+        OWLOntology inMemory = load(fileName, 0);
+        OWLOntology spilled = load(fileName, 4);
+        assertEquals(inMemory.getOntologyID(), spilled.getOntologyID());
+        assertEquals(inMemory.getAnnotations(), spilled.getAnnotations());
+        assertEquals(inMemory.getAxiomCount(), spilled.getAxiomCount());
+        assertEquals(withoutErrors(inMemory), withoutErrors(spilled));
+    }
+
+    // error entities are numbered across parses
+    private Set<OWLAxiom> withoutErrors(OWLOntology ontology) {
+        Set<OWLAxiom> axioms = new HashSet<OWLAxiom>();
+        for (OWLAxiom ax : ontology.getAxioms()) {
+            boolean error = false;
+            for (OWLEntity e : ax.getSignature()) {
+                error |= e.getIRI().toString().startsWith("http://org.semanticweb.owlapi/error#");
+            }
+            if (!error) {
+                axioms.add(ax);
+            }
+        }
+        return axioms;
+    }
+
+    @Test
+    public void shouldParsePrimerWithSpilledTriples() throws Exception {
+        checkSameAxioms("/primer.rdfxml.xml");
+    }
+
+    @Test
+    public void shouldParseAnnotationsWithSpilledTriples() throws Exception {
+        checkSameAxioms("/AnnotatedPropertyAssertions.rdf");
+    }
+
+    @Test
+    public void shouldParseKoalaWithSpilledTriples() throws Exception {
+        checkSameAxioms("/koala.owl");
+    }
+}
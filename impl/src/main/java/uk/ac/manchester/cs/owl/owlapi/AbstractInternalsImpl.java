@@ -41,10 +41,13 @@ package uk.ac.manchester.cs.owl.owlapi;
 import static org.semanticweb.owlapi.model.AxiomType.*;
 import static uk.ac.manchester.cs.owl.owlapi.InitVisitorFactory.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Map;
 
 import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationSubject;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
@@ -54,6 +57,7 @@ import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
 import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
@@ -70,6 +74,7 @@ import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
@@ -113,6 +118,10 @@ public abstract class AbstractInternalsImpl implements Internals, Serializable {
 
 
     protected final MapPointer<OWLClass, OWLClassAxiom> classAxiomsByClass = buildClassAxiomByClass();
+    // the indexes added since 3.4.5 are not final: readObject creates them
+    // for ontologies serialized without them
+    protected MapPointer<OWLAxiom, OWLAxiom> axiomsByAnnotationFreeForm = new AxiomByAnnotationFreeFormPointer(
+            this);
 
 
 
@@ -178,6 +187,10 @@ public abstract class AbstractInternalsImpl implements Internals, Serializable {
             OBJECT_PROPERTY_ASSERTION, individualsubnamed);
     protected final MapPointer<OWLIndividual, OWLDataPropertyAssertionAxiom> dataPropertyAssertionsByIndividual = buildLazy(
             DATA_PROPERTY_ASSERTION, individualsubnamed);
+    protected MapPointer<OWLLiteral, OWLDataPropertyAssertionAxiom> dataPropertyAssertionsByValue = buildLazy(
+            DATA_PROPERTY_ASSERTION, literals);
+    protected MapPointer<OWLDataHasValue, OWLDataPropertyAssertionAxiom> dataPropertyAssertionsByPropertyValue = buildLazy(
+            DATA_PROPERTY_ASSERTION, propertyvalues);
     protected final MapPointer<OWLIndividual, OWLNegativeObjectPropertyAssertionAxiom> negativeObjectPropertyAssertionAxiomsByIndividual = buildLazy(
             NEGATIVE_OBJECT_PROPERTY_ASSERTION, individualsubnamed);
     protected final MapPointer<OWLIndividual, OWLNegativeDataPropertyAssertionAxiom> negativeDataPropertyAssertionAxiomsByIndividual = buildLazy(
@@ -188,11 +201,42 @@ public abstract class AbstractInternalsImpl implements Internals, Serializable {
             SAME_INDIVIDUAL, icollections);
     protected final MapPointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom> annotationAssertionAxiomsBySubject = buildLazy(
             ANNOTATION_ASSERTION, annotsupernamed);
+    protected MapPointer<OWLAnnotation, OWLAnnotationAssertionAxiom> annotationAssertionAxiomsByValue = buildLazy(
+            ANNOTATION_ASSERTION, annotationvalues);
+    protected AnnotationLexicalIndex annotationLexicalIndex = new AnnotationLexicalIndex(
+            this);
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (axiomsByAnnotationFreeForm == null) {
+            axiomsByAnnotationFreeForm = new AxiomByAnnotationFreeFormPointer(this);
+        }
+        if (dataPropertyAssertionsByValue == null) {
+            dataPropertyAssertionsByValue = buildLazy(DATA_PROPERTY_ASSERTION, literals);
+        }
+        if (dataPropertyAssertionsByPropertyValue == null) {
+            dataPropertyAssertionsByPropertyValue = buildLazy(DATA_PROPERTY_ASSERTION,
+                    propertyvalues);
+        }
+        if (annotationAssertionAxiomsByValue == null) {
+            annotationAssertionAxiomsByValue = buildLazy(ANNOTATION_ASSERTION,
+                    annotationvalues);
+        }
+        if (annotationLexicalIndex == null) {
+            annotationLexicalIndex = new AnnotationLexicalIndex(this);
+        }
+    }
 
     protected <K, V> Map<K, V> createMap() {
         return CollectionFactory.createMap();
     }
 
+    @Override
+    public MapPointer<OWLAxiom, OWLAxiom> getAxiomsByAnnotationFreeForm() {
+        return axiomsByAnnotationFreeForm;
+    }
+
     @Override
     public MapPointer<OWLClass, OWLClassAxiom> getClassAxiomsByClass() {
         return classAxiomsByClass;
@@ -353,6 +397,16 @@ public abstract class AbstractInternalsImpl implements Internals, Serializable {
         return dataPropertyAssertionsByIndividual;
     }
 
+    @Override
+    public MapPointer<OWLLiteral, OWLDataPropertyAssertionAxiom> getDataPropertyAssertionsByValue() {
+        return dataPropertyAssertionsByValue;
+    }
+
+    @Override
+    public MapPointer<OWLDataHasValue, OWLDataPropertyAssertionAxiom> getDataPropertyAssertionsByPropertyValue() {
+        return dataPropertyAssertionsByPropertyValue;
+    }
+
     @Override
     public MapPointer<OWLIndividual, OWLNegativeObjectPropertyAssertionAxiom> getNegativeObjectPropertyAssertionAxiomsByIndividual() {
         return negativeObjectPropertyAssertionAxiomsByIndividual;
@@ -377,4 +431,14 @@ public abstract class AbstractInternalsImpl implements Internals, Serializable {
     public MapPointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom> getAnnotationAssertionAxiomsBySubject() {
         return annotationAssertionAxiomsBySubject;
     }
+
+    @Override
+    public MapPointer<OWLAnnotation, OWLAnnotationAssertionAxiom> getAnnotationAssertionAxiomsByValue() {
+        return annotationAssertionAxiomsByValue;
+    }
+
+    @Override
+    public AnnotationLexicalIndex getAnnotationLexicalIndex() {
+        return annotationLexicalIndex;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.util.CollectionFactory;
+
+/** Sorted index from the lexical forms of literal annotation values to the
+ * annotation assertions using them, kept per annotation property, for exact,
+ * case insensitive and prefix lookups of labels and synonyms. Like the other
+ * lazy indexes, the keys are only built on the first lookup that needs them, so
+ * ontologies that never look up case insensitive keys do not pay for them.
+ *
+ * @since 3.4.6 */
+public class AnnotationLexicalIndex implements Serializable {
+    private static final long serialVersionUID = 30402L;
+    private final Internals i;
+    private final Keys exact = new Keys(false);
+    private final Keys folded = new Keys(true);
+
+    /** @param i
+     *            the internals holding the annotation assertions to index */
+    public AnnotationLexicalIndex(Internals i) {
+        this.i = i;
+    }
+
+    /** @param ax
+     *            axiom added to the ontology */
+    public void add(OWLAnnotationAssertionAxiom ax) {
+        exact.add(ax);
+        folded.add(ax);
+    }
+
+    /** @param ax
+     *            axiom removed from the ontology */
+    public void remove(OWLAnnotationAssertionAxiom ax) {
+        exact.remove(ax);
+        folded.remove(ax);
+    }
+
+    /** @param property
+     *            the annotation property
+     * @param text
+     *            the lexical form to look up
+     * @param ignoreCase
+     *            true if the lexical form should be compared ignoring case
+     * @return the annotation assertions for the property whose value is a
+     *         literal with the specified lexical form */
+    public Set<OWLAnnotationAssertionAxiom> getAxioms(OWLAnnotationProperty property,
+            String text, boolean ignoreCase) {
+        Keys keys = init(ignoreCase);
+        Set<OWLAnnotationAssertionAxiom> toReturn = CollectionFactory.createSet();
+        NavigableMap<String, Collection<OWLAnnotationAssertionAxiom>> map = keys.map
+                .get(property);
+        if (map != null) {
+            Collection<OWLAnnotationAssertionAxiom> axioms = map.get(keys.key(text));
+            if (axioms != null) {
+                toReturn.addAll(axioms);
+            }
+        }
+        return toReturn;
+    }
+
+    /** @param property
+     *            the annotation property
+     * @param prefix
+     *            the prefix to look up
+     * @param ignoreCase
+     *            true if the prefix should be compared ignoring case
+     * @param limit
+     *            the maximum number of axioms to return
+     * @return the annotation assertions for the property whose value is a
+     *         literal starting with the prefix, in the order of their lexical
+     *         forms, up to the limit */
+    public Set<OWLAnnotationAssertionAxiom> getAxiomsByPrefix(
+            OWLAnnotationProperty property, String prefix, boolean ignoreCase, int limit) {
+        Keys keys = init(ignoreCase);
+        Set<OWLAnnotationAssertionAxiom> toReturn = CollectionFactory.createSet();
+        NavigableMap<String, Collection<OWLAnnotationAssertionAxiom>> map = keys.map
+                .get(property);
+        if (map == null) {
+            return toReturn;
+        }
+        String key = keys.key(prefix);
+        for (Map.Entry<String, Collection<OWLAnnotationAssertionAxiom>> e : map.tailMap(
+                key, true).entrySet()) {
+            if (!e.getKey().startsWith(key)) {
+                break;
+            }
+            for (OWLAnnotationAssertionAxiom ax : e.getValue()) {
+                if (toReturn.size() >= limit) {
+                    return toReturn;
+                }
+                toReturn.add(ax);
+            }
+        }
+        return toReturn;
+    }
+
+    private Keys init(boolean ignoreCase) {
+        Keys keys = ignoreCase ? folded : exact;
+        if (!keys.initialized) {
+            keys.initialized = true;
+            for (OWLAxiom ax : i.getValues(i.getAxiomsByType(),
+                    AxiomType.ANNOTATION_ASSERTION)) {
+                keys.add((OWLAnnotationAssertionAxiom) ax);
+            }
+        }
+        return keys;
+    }
+
+    private static class Keys implements Serializable {
+        private static final long serialVersionUID = 30402L;
+        private final boolean fold;
+        private final Map<OWLAnnotationProperty, NavigableMap<String, Collection<OWLAnnotationAssertionAxiom>>> map = new HashMap<OWLAnnotationProperty, NavigableMap<String, Collection<OWLAnnotationAssertionAxiom>>>();
+        boolean initialized = false;
+
+        Keys(boolean fold) {
+            this.fold = fold;
+        }
+
+        String key(String text) {
+            return fold ? text.toLowerCase(Locale.ROOT) : text;
+        }
+
+        void add(OWLAnnotationAssertionAxiom ax) {
+            if (!initialized || !(ax.getValue() instanceof OWLLiteral)) {
+                return;
+            }
+            NavigableMap<String, Collection<OWLAnnotationAssertionAxiom>> keys = map.get(ax
+                    .getProperty());
+            if (keys == null) {
+                keys = new TreeMap<String, Collection<OWLAnnotationAssertionAxiom>>();
+                map.put(ax.getProperty(), keys);
+            }
+            String key = key(((OWLLiteral) ax.getValue()).getLiteral());
+            Collection<OWLAnnotationAssertionAxiom> axioms = keys.get(key);
+            if (axioms == null) {
+                // most lexical forms are used by a single axiom
+                axioms = new ArrayList<OWLAnnotationAssertionAxiom>(1);
+                keys.put(key, axioms);
+            }
+            axioms.add(ax);
+        }
+
+        void remove(OWLAnnotationAssertionAxiom ax) {
+            if (!initialized || !(ax.getValue() instanceof OWLLiteral)) {
+                return;
+            }
+            NavigableMap<String, Collection<OWLAnnotationAssertionAxiom>> keys = map.get(ax
+                    .getProperty());
+            if (keys == null) {
+                return;
+            }
+            String key = key(((OWLLiteral) ax.getValue()).getLiteral());
+            Collection<OWLAnnotationAssertionAxiom> axioms = keys.get(key);
+            if (axioms != null && axioms.remove(ax) && axioms.isEmpty()) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    map.remove(ax.getProperty());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/** Index from the annotation free form of axioms, as returned by
+ * {@link OWLAxiom#getAxiomWithoutAnnotations()}, to the axioms in the ontology
+ * with that form. Unlike the other lazy indexes it spans all axiom types, so it
+ * is initialized from every entry in the axioms by type map.
+ *
+ * @since 3.4.6 */
+public class AxiomByAnnotationFreeFormPointer extends MapPointer<OWLAxiom, OWLAxiom> {
+    private static final long serialVersionUID = 30402L;
+
+    /** @param i
+     *            the internals holding the axioms to index */
+    public AxiomByAnnotationFreeFormPointer(Internals i) {
+        super(null, null, false, i);
+    }
+
+    @Override
+    public void init() {
+        if (isInitialized()) {
+            return;
+        }
+        super.init();
+        for (AxiomType<?> type : i.getKeyset(i.getAxiomsByType())) {
+            for (OWLAxiom ax : i.getValues(i.getAxiomsByType(), type)) {
+                put(ax.getAxiomWithoutAnnotations(), ax);
+            }
+        }
+    }
+}
@@ -44,6 +44,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
@@ -55,6 +56,7 @@ import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
@@ -71,6 +73,7 @@ import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
@@ -252,6 +255,54 @@ public class InitVisitorFactory {
         }
     }
 
+    /** indexes data property assertions by their value */
+    public static class InitLiteralVisitor extends InitVisitor<OWLLiteral> {
+
+        private static final long serialVersionUID = 30402L;
+
+        public InitLiteralVisitor() {
+            super(false, false);
+        }
+
+        @Override
+        public OWLLiteral visit(OWLDataPropertyAssertionAxiom axiom) {
+            return axiom.getObject();
+        }
+    }
+
+    /** indexes data property assertions by their property and value, combined
+     * in a DataHasValue restriction */
+    public static class InitPropertyValueVisitor extends InitVisitor<OWLDataHasValue> {
+
+        private static final long serialVersionUID = 30402L;
+
+        public InitPropertyValueVisitor() {
+            super(false, false);
+        }
+
+        @Override
+        public OWLDataHasValue visit(OWLDataPropertyAssertionAxiom axiom) {
+            return new OWLDataHasValueImpl(axiom.getProperty(), axiom.getObject());
+        }
+    }
+
+    /** indexes annotation assertions by their property and value, combined in
+     * an annotation without annotations */
+    public static class InitAnnotationValueVisitor extends InitVisitor<OWLAnnotation> {
+
+        private static final long serialVersionUID = 30402L;
+
+        public InitAnnotationValueVisitor() {
+            super(false, false);
+        }
+
+        @Override
+        public OWLAnnotation visit(OWLAnnotationAssertionAxiom axiom) {
+            return new OWLAnnotationImpl(axiom.getProperty(), axiom.getValue(),
+                    Collections.<OWLAnnotation> emptySet());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static class InitCollectionVisitor<K> extends
     OWLAxiomVisitorExAdapter<Collection<K>> {
@@ -559,6 +610,9 @@ public class InitVisitorFactory {
             false, true);
     static final InitVisitor<OWLIndividual> individualsubnamed = new InitIndividualVisitor<OWLIndividual>(
             true, true);
+    static final InitVisitor<OWLLiteral> literals = new InitLiteralVisitor();
+    static final InitVisitor<OWLDataHasValue> propertyvalues = new InitPropertyValueVisitor();
+    static final InitVisitor<OWLAnnotation> annotationvalues = new InitAnnotationValueVisitor();
     static final InitVisitor<OWLAnnotationSubject> annotsupernamed = new InitVisitor<OWLAnnotationSubject>(
             true, true);
 }
@@ -53,6 +53,7 @@ import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
 import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
@@ -73,6 +74,7 @@ import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLImportsDeclaration;
 import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
@@ -128,9 +130,22 @@ public interface Internals {
     Pointer<OWLAnnotationSubject, OWLAnnotationAssertionAxiom>
             getAnnotationAssertionAxiomsBySubject();
 
+    /** @return index from property and value pairs, expressed as annotations
+     *         without annotations, to the annotation assertions with that
+     *         property and value; built on first use */
+    Pointer<OWLAnnotation, OWLAnnotationAssertionAxiom>
+            getAnnotationAssertionAxiomsByValue();
+
+    /** @return sorted index of the lexical forms of literal annotation values */
+    AnnotationLexicalIndex getAnnotationLexicalIndex();
+
     Pointer<OWLObjectPropertyExpression, OWLAsymmetricObjectPropertyAxiom>
             getAsymmetricPropertyAxiomsByProperty();
 
+    /** @return index from the annotation free form of each axiom to the axioms
+     *         with that form */
+    Pointer<OWLAxiom, OWLAxiom> getAxiomsByAnnotationFreeForm();
+
     int getAxiomCount();
 
     <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType);
@@ -146,6 +161,16 @@ public interface Internals {
     Pointer<OWLIndividual, OWLDataPropertyAssertionAxiom>
             getDataPropertyAssertionsByIndividual();
 
+    /** @return index from literals to the data property assertions with that
+     *         value; built on first use */
+    Pointer<OWLLiteral, OWLDataPropertyAssertionAxiom> getDataPropertyAssertionsByValue();
+
+    /** @return index from property and value pairs, expressed as DataHasValue
+     *         restrictions, to the data property assertions with that property
+     *         and value; built on first use */
+    Pointer<OWLDataHasValue, OWLDataPropertyAssertionAxiom>
+            getDataPropertyAssertionsByPropertyValue();
+
     Pointer<OWLDataPropertyExpression, OWLDataPropertyDomainAxiom>
             getDataPropertyDomainAxiomsByProperty();
 
@@ -43,6 +43,7 @@ import static org.semanticweb.owlapi.util.CollectionFactory.createSet;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -196,6 +197,11 @@ public class InternalsImpl extends AbstractInternalsImpl {
     public boolean addAxiom(final OWLAxiom axiom) {
         if (add(getAxiomsByType(), axiom.getAxiomType(), axiom)) {
             axiom.accept(addChangeVisitor);
+            // only build the key if the index is in use
+            if (getAxiomsByAnnotationFreeForm().isInitialized()) {
+                add(getAxiomsByAnnotationFreeForm(), axiom.getAxiomWithoutAnnotations(),
+                        axiom);
+            }
             axiom.accept(new AbstractEntityRegistrationManager() {
                 @Override
                 public void visit(OWLClass owlClass) {
@@ -241,6 +247,10 @@ public class InternalsImpl extends AbstractInternalsImpl {
     public boolean removeAxiom(final OWLAxiom axiom) {
         if (remove(getAxiomsByType(), axiom.getAxiomType(), axiom)) {
             axiom.accept(removeChangeVisitor);
+            if (getAxiomsByAnnotationFreeForm().isInitialized()) {
+                remove(getAxiomsByAnnotationFreeForm(),
+                        axiom.getAxiomWithoutAnnotations(), axiom);
+            }
             AbstractEntityRegistrationManager referenceRemover = new AbstractEntityRegistrationManager() {
                 @Override
                 public void visit(OWLClass owlClass) {
@@ -616,6 +626,13 @@ public class InternalsImpl extends AbstractInternalsImpl {
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             add(getAnnotationAssertionAxiomsBySubject(), axiom.getSubject(), axiom);
+            // only build the key if the index is in use
+            if (getAnnotationAssertionAxiomsByValue().isInitialized()) {
+                add(getAnnotationAssertionAxiomsByValue(), new OWLAnnotationImpl(
+                        axiom.getProperty(), axiom.getValue(),
+                        Collections.<OWLAnnotation> emptySet()), axiom);
+            }
+            getAnnotationLexicalIndex().add(axiom);
         }
 
         @Override
@@ -683,6 +700,12 @@ public class InternalsImpl extends AbstractInternalsImpl {
         @Override
         public void visit(OWLDataPropertyAssertionAxiom axiom) {
             add(getDataPropertyAssertionsByIndividual(), axiom.getSubject(), axiom);
+            add(getDataPropertyAssertionsByValue(), axiom.getObject(), axiom);
+            // only build the key if the index is in use
+            if (getDataPropertyAssertionsByPropertyValue().isInitialized()) {
+                add(getDataPropertyAssertionsByPropertyValue(), new OWLDataHasValueImpl(
+                        axiom.getProperty(), axiom.getObject()), axiom);
+            }
         }
 
         @Override
@@ -865,6 +888,13 @@ public class InternalsImpl extends AbstractInternalsImpl {
         @Override
         public void visit(OWLAnnotationAssertionAxiom axiom) {
             remove(getAnnotationAssertionAxiomsBySubject(), axiom.getSubject(), axiom);
+            // only build the key if the index is in use
+            if (getAnnotationAssertionAxiomsByValue().isInitialized()) {
+                remove(getAnnotationAssertionAxiomsByValue(), new OWLAnnotationImpl(
+                        axiom.getProperty(), axiom.getValue(),
+                        Collections.<OWLAnnotation> emptySet()), axiom);
+            }
+            getAnnotationLexicalIndex().remove(axiom);
         }
 
         @Override
@@ -934,6 +964,11 @@ public class InternalsImpl extends AbstractInternalsImpl {
         @Override
         public void visit(OWLDataPropertyAssertionAxiom axiom) {
             remove(getDataPropertyAssertionsByIndividual(), axiom.getSubject(), axiom);
+            remove(getDataPropertyAssertionsByValue(), axiom.getObject(), axiom);
+            if (getDataPropertyAssertionsByPropertyValue().isInitialized()) {
+                remove(getDataPropertyAssertionsByPropertyValue(), new OWLDataHasValueImpl(
+                        axiom.getProperty(), axiom.getObject()), axiom);
+            }
         }
 
         @Override
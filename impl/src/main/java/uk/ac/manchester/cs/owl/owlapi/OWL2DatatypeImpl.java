@@ -82,6 +82,7 @@ public class OWL2DatatypeImpl implements OWLDatatype {
     }
 
     private final OWL2Datatype owl2Datatype;
+    private transient int hashCode = 0;
 
     @Override
     public OWL2Datatype getBuiltInDatatype() {
@@ -377,7 +378,7 @@ public class OWL2DatatypeImpl implements OWLDatatype {
     public int compareTo(OWLObject o) {
         if (!(o instanceof OWLDatatype)) {
             OWLObjectTypeIndexProvider provider = new OWLObjectTypeIndexProvider();
-            return provider.getTypeIndex(o);
+            return provider.getTypeIndex(this) - provider.getTypeIndex(o);
         }
         OWLDatatype other = (OWLDatatype) o;
         return getIRI().compareTo(other.getIRI());
@@ -385,6 +386,9 @@ public class OWL2DatatypeImpl implements OWLDatatype {
 
     @Override
     public int hashCode() {
-        return HashCode.hashCode(this);
+        if (hashCode == 0) {
+            hashCode = HashCode.hashCode(this);
+        }
+        return hashCode;
     }
 }
@@ -78,6 +78,14 @@ CollectionContainer<OWLAnnotation> {
         }
     }
 
+    /** Axioms live as long as the ontologies that contain them, and their
+     * signatures are queried often; the compact signature is kept rather than
+     * recomputed after each garbage collection. */
+    @Override
+    protected boolean retainSignature() {
+        return true;
+    }
+
     @Override
     public boolean isAnnotated() {
         return !annotations.isEmpty();
@@ -47,6 +47,8 @@ import java.util.Set;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.util.IRIDictionary;
+import org.semanticweb.owlapi.util.WeakCache;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLFacet;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -129,6 +131,13 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
 
     protected OWLDataFactoryInternals data;
 
+    /** canonical instances of anonymous class expressions, data ranges,
+     * axioms and annotations; null unless hash consing is enabled */
+    private final WeakCache<OWLObject> sharedObjects;
+
+    /** ids of the IRIs of entities; filled on demand */
+    private final IRIDictionary iriDictionary = new IRIDictionary();
+
     @SuppressWarnings("javadoc")
     public OWLDataFactoryImpl() {
         this(true, false);
@@ -136,12 +145,81 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
 
     @SuppressWarnings("javadoc")
     public OWLDataFactoryImpl(boolean cache, boolean useCompression) {
+        this(cache, useCompression, false);
+    }
+
+    /** @param cache
+     *            true if entities and literals should be cached
+     * @param useCompression
+     *            true if literals should be compressed
+     * @param hashConsing
+     *            true if anonymous class expressions, data ranges, axioms and
+     *            annotations should be hash consed: the factory then returns
+     *            the same instance for structurally equal objects, as long as
+     *            that instance is referenced, so that equal subexpressions
+     *            are stored once and compared by identity
+     * @since 3.4.6 */
+    public OWLDataFactoryImpl(boolean cache, boolean useCompression,
+            boolean hashConsing) {
         if (cache) {
             data = new OWLDataFactoryInternalsImpl(this, useCompression);
         }
         else {
             data = new InternalsNoCache(this, useCompression);
         }
+        sharedObjects = hashConsing ? new WeakCache<OWLObject>() : null;
+    }
+
+    /** @return true if this factory hash conses the objects it creates
+     * @since 3.4.6 */
+    public boolean isHashConsing() {
+        return sharedObjects != null;
+    }
+
+    /** @return the canonical instance equal to the object, if hash consing is
+     *         enabled, or the object itself */
+    @SuppressWarnings("unchecked")
+    private <T extends OWLObject> T share(T object) {
+        if (sharedObjects == null) {
+            return object;
+        }
+        OWLObject shared = sharedObjects.cache(object);
+        // equality does not always imply the same implementation class
+        if (shared.getClass() != object.getClass()) {
+            return object;
+        }
+        return (T) shared;
+    }
+
+    /** @return the dictionary of the IRIs that have been given ids by this
+     *         factory; it is not emptied by {@link #purge()}, so that ids stay
+     *         stable, and it keeps every IRI given an id for the life of the
+     *         factory
+     * @since 3.4.6 */
+    public IRIDictionary getIRIDictionary() {
+        return iriDictionary;
+    }
+
+    /** @param entity
+     *            the entity
+     * @return the id of the IRI of the entity, assigned on first use; puns
+     *         share the same id
+     * @since 3.4.6 */
+    public int getEntityId(OWLEntity entity) {
+        checkNull(entity, "entity");
+        return iriDictionary.getId(entity.getIRI());
+    }
+
+    /** @param entityType
+     *            the type of the entity
+     * @param id
+     *            an id returned by {@link #getEntityId(OWLEntity)}
+     * @return the entity of the type with the IRI of the id
+     * @throws IndexOutOfBoundsException
+     *             if no IRI has the id
+     * @since 3.4.6 */
+    public <E extends OWLEntity> E getOWLEntity(EntityType<E> entityType, int id) {
+        return getOWLEntity(entityType, iriDictionary.getIRI(id));
     }
 
     /**
@@ -158,6 +236,9 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     @Override
     public void purge() {
         data.purge();
+        if (sharedObjects != null) {
+            sharedObjects.clear();
+        }
     }
 
     private void checkNull(Object o, String name) {
@@ -438,7 +519,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     @Override
     public OWLDataOneOf getOWLDataOneOf(Set<? extends OWLLiteral> values) {
         checkNull(values, VALUES2);
-        return new OWLDataOneOfImpl(values);
+        return share(new OWLDataOneOfImpl(values));
     }
 
     @Override
@@ -450,7 +531,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     @Override
     public OWLDataComplementOf getOWLDataComplementOf(OWLDataRange dataRange) {
         checkNull(dataRange, DATA_RANGE);
-        return new OWLDataComplementOfImpl(dataRange);
+        return share(new OWLDataComplementOfImpl(dataRange));
     }
 
     @Override
@@ -462,7 +543,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     @Override
     public OWLDataIntersectionOf getOWLDataIntersectionOf(Set<? extends OWLDataRange> dataRanges) {
         checkNull(dataRanges, DATA_RANGES);
-        return new OWLDataIntersectionOfImpl(dataRanges);
+        return share(new OWLDataIntersectionOfImpl(dataRanges));
     }
 
     @Override
@@ -474,14 +555,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     @Override
     public OWLDataUnionOf getOWLDataUnionOf(Set<? extends OWLDataRange> dataRanges) {
         checkNull(dataRanges, DATA_RANGES);
-        return new OWLDataUnionOfImpl(dataRanges);
+        return share(new OWLDataUnionOfImpl(dataRanges));
     }
 
     @Override
     public OWLDatatypeRestriction getOWLDatatypeRestriction(OWLDatatype datatype, Set<OWLFacetRestriction> facets) {
         checkNull(datatype, DATATYPE2);
         checkNull(facets, "facets");
-        return new OWLDatatypeRestrictionImpl(datatype, facets);
+        return share(new OWLDatatypeRestrictionImpl(datatype, facets));
     }
 
     @Override
@@ -489,7 +570,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(datatype, DATATYPE2);
         checkNull(facet, "facet");
         checkNull(typedConstant, "typedConstant");
-        return new OWLDatatypeRestrictionImpl(datatype, Collections.singleton(getOWLFacetRestriction(facet, typedConstant)));
+        return share(new OWLDatatypeRestrictionImpl(datatype, Collections.singleton(getOWLFacetRestriction(facet, typedConstant))));
     }
 
     @Override
@@ -577,13 +658,13 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLFacetRestriction getOWLFacetRestriction(OWLFacet facet, OWLLiteral facetValue) {
         checkNull(facet, "facet");
         checkNull(facetValue, "facetValue");
-        return new OWLFacetRestrictionImpl(facet, facetValue);
+        return share(new OWLFacetRestrictionImpl(facet, facetValue));
     }
 
     @Override
     public OWLObjectIntersectionOf getOWLObjectIntersectionOf(Set<? extends OWLClassExpression> operands) {
         checkNull(operands, "operands");
-        return new OWLObjectIntersectionOfImpl(operands);
+        return share(new OWLObjectIntersectionOfImpl(operands));
     }
 
     @Override
@@ -596,7 +677,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLDataAllValuesFrom getOWLDataAllValuesFrom(OWLDataPropertyExpression property, OWLDataRange dataRange) {
         checkNull(dataRange, DATA_RANGE);
         checkNull(property, "property");
-        return new OWLDataAllValuesFromImpl(property, dataRange);
+        return share(new OWLDataAllValuesFromImpl(property, dataRange));
     }
 
     @Override
@@ -605,7 +686,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLDataExactCardinalityImpl(property, cardinality, getTopDatatype());
+        return share(new OWLDataExactCardinalityImpl(property, cardinality, getTopDatatype()));
     }
 
     @Override
@@ -615,7 +696,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         if (cardinality < 0) {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
-        return new OWLDataExactCardinalityImpl(property, cardinality, dataRange);
+        return share(new OWLDataExactCardinalityImpl(property, cardinality, dataRange));
     }
 
     @Override
@@ -624,7 +705,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLDataMaxCardinalityImpl(property, cardinality, getTopDatatype());
+        return share(new OWLDataMaxCardinalityImpl(property, cardinality, getTopDatatype()));
     }
 
     @Override
@@ -634,7 +715,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         }
         checkNull(property, "property");
         checkNull(dataRange, DATA_RANGE);
-        return new OWLDataMaxCardinalityImpl(property, cardinality, dataRange);
+        return share(new OWLDataMaxCardinalityImpl(property, cardinality, dataRange));
     }
 
     @Override
@@ -643,7 +724,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLDataMinCardinalityImpl(property, cardinality, getTopDatatype());
+        return share(new OWLDataMinCardinalityImpl(property, cardinality, getTopDatatype()));
     }
 
     @Override
@@ -653,40 +734,40 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLDataMinCardinalityImpl(property, cardinality, dataRange);
+        return share(new OWLDataMinCardinalityImpl(property, cardinality, dataRange));
     }
 
     @Override
     public OWLDataSomeValuesFrom getOWLDataSomeValuesFrom(OWLDataPropertyExpression property, OWLDataRange dataRange) {
         checkNull(dataRange, DATA_RANGE);
         checkNull(property, "property");
-        return new OWLDataSomeValuesFromImpl(property, dataRange);
+        return share(new OWLDataSomeValuesFromImpl(property, dataRange));
     }
 
     @Override
     public OWLDataHasValue getOWLDataHasValue(OWLDataPropertyExpression property, OWLLiteral value) {
         checkNull(property, "property");
         checkNull(value, VALUE2);
-        return new OWLDataHasValueImpl(property, value);
+        return share(new OWLDataHasValueImpl(property, value));
     }
 
     @Override
     public OWLObjectComplementOf getOWLObjectComplementOf(OWLClassExpression operand) {
         checkNull(operand, "operand");
-        return new OWLObjectComplementOfImpl(operand);
+        return share(new OWLObjectComplementOfImpl(operand));
     }
 
     @Override
     public OWLObjectAllValuesFrom getOWLObjectAllValuesFrom(OWLObjectPropertyExpression property, OWLClassExpression classExpression) {
         checkNull(classExpression, "classExpression");
         checkNull(property, "property");
-        return new OWLObjectAllValuesFromImpl(property, classExpression);
+        return share(new OWLObjectAllValuesFromImpl(property, classExpression));
     }
 
     @Override
     public OWLObjectOneOf getOWLObjectOneOf(Set<? extends OWLIndividual> values) {
         checkNull(values, VALUES2);
-        return new OWLObjectOneOfImpl(values);
+        return share(new OWLObjectOneOfImpl(values));
     }
 
     @Override
@@ -701,7 +782,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLObjectExactCardinalityImpl(property, cardinality, OWL_THING);
+        return share(new OWLObjectExactCardinalityImpl(property, cardinality, OWL_THING));
     }
 
     @Override
@@ -711,7 +792,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         if (cardinality < 0) {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
-        return new OWLObjectExactCardinalityImpl(property, cardinality, classExpression);
+        return share(new OWLObjectExactCardinalityImpl(property, cardinality, classExpression));
     }
 
     @Override
@@ -720,7 +801,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLObjectMinCardinalityImpl(property, cardinality, OWL_THING);
+        return share(new OWLObjectMinCardinalityImpl(property, cardinality, OWL_THING));
     }
 
     @Override
@@ -730,7 +811,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         if (cardinality < 0) {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
-        return new OWLObjectMinCardinalityImpl(property, cardinality, classExpression);
+        return share(new OWLObjectMinCardinalityImpl(property, cardinality, classExpression));
     }
 
     @Override
@@ -739,7 +820,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
             throw new IllegalArgumentException("cardinality cannot be negative");
         }
         checkNull(property, "property");
-        return new OWLObjectMaxCardinalityImpl(property, cardinality, OWL_THING);
+        return share(new OWLObjectMaxCardinalityImpl(property, cardinality, OWL_THING));
     }
 
     @Override
@@ -749,33 +830,33 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         }
         checkNull(classExpression, "classExpression");
         checkNull(property, "property");
-        return new OWLObjectMaxCardinalityImpl(property, cardinality, classExpression);
+        return share(new OWLObjectMaxCardinalityImpl(property, cardinality, classExpression));
     }
 
     @Override
     public OWLObjectHasSelf getOWLObjectHasSelf(OWLObjectPropertyExpression property) {
         checkNull(property, "property");
-        return new OWLObjectHasSelfImpl(property);
+        return share(new OWLObjectHasSelfImpl(property));
     }
 
     @Override
     public OWLObjectSomeValuesFrom getOWLObjectSomeValuesFrom(OWLObjectPropertyExpression property, OWLClassExpression classExpression) {
         checkNull(classExpression, "classExpression");
         checkNull(property, "property");
-        return new OWLObjectSomeValuesFromImpl(property, classExpression);
+        return share(new OWLObjectSomeValuesFromImpl(property, classExpression));
     }
 
     @Override
     public OWLObjectHasValue getOWLObjectHasValue(OWLObjectPropertyExpression property, OWLIndividual individual) {
         checkNull(property, "property");
         checkNull(individual, "individual");
-        return new OWLObjectHasValueImpl(property, individual);
+        return share(new OWLObjectHasValueImpl(property, individual));
     }
 
     @Override
     public OWLObjectUnionOf getOWLObjectUnionOf(Set<? extends OWLClassExpression> operands) {
         checkNull(operands, "operands");
-        return new OWLObjectUnionOfImpl(operands);
+        return share(new OWLObjectUnionOfImpl(operands));
     }
 
     @Override
@@ -788,7 +869,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLAsymmetricObjectPropertyAxiom getOWLAsymmetricObjectPropertyAxiom(OWLObjectPropertyExpression propertyExpression, Set<? extends OWLAnnotation> annotations) {
         checkNull(propertyExpression, "propertyExpression");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLAsymmetricObjectPropertyAxiomImpl(propertyExpression, annotations);
+        return share(new OWLAsymmetricObjectPropertyAxiomImpl(propertyExpression, annotations));
     }
 
     @Override
@@ -801,7 +882,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(property, "property");
         checkNull(domain, "domain");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDataPropertyDomainAxiomImpl(property, domain, annotations);
+        return share(new OWLDataPropertyDomainAxiomImpl(property, domain, annotations));
     }
 
     @Override
@@ -814,7 +895,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(property, "property");
         checkNull(owlDataRange, "owlDataRange");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDataPropertyRangeAxiomImpl(property, owlDataRange, annotations);
+        return share(new OWLDataPropertyRangeAxiomImpl(property, owlDataRange, annotations));
     }
 
     @Override
@@ -827,7 +908,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(subProperty, "subProperty");
         checkNull(superProperty, "superProperty");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSubDataPropertyOfAxiomImpl(subProperty, superProperty, annotations);
+        return share(new OWLSubDataPropertyOfAxiomImpl(subProperty, superProperty, annotations));
     }
 
     @Override
@@ -844,14 +925,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLDeclarationAxiom getOWLDeclarationAxiom(OWLEntity owlEntity, Set<? extends OWLAnnotation> annotations) {
         checkNull(owlEntity, "owlEntity");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDeclarationAxiomImpl(owlEntity, annotations);
+        return share(new OWLDeclarationAxiomImpl(owlEntity, annotations));
     }
 
     @Override
     public OWLDifferentIndividualsAxiom getOWLDifferentIndividualsAxiom(Set<? extends OWLIndividual> individuals, Set<? extends OWLAnnotation> annotations) {
         checkNull(individuals, "individuals");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDifferentIndividualsAxiomImpl(individuals, annotations);
+        return share(new OWLDifferentIndividualsAxiomImpl(individuals, annotations));
     }
 
     @Override
@@ -869,7 +950,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLDisjointClassesAxiom getOWLDisjointClassesAxiom(Set<? extends OWLClassExpression> classExpressions, Set<? extends OWLAnnotation> annotations) {
         checkNull(classExpressions, "classExpressions");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDisjointClassesAxiomImpl(classExpressions, annotations);
+        return share(new OWLDisjointClassesAxiomImpl(classExpressions, annotations));
     }
 
     @Override
@@ -889,7 +970,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLDisjointDataPropertiesAxiom getOWLDisjointDataPropertiesAxiom(Set<? extends OWLDataPropertyExpression> properties, Set<? extends OWLAnnotation> annotations) {
         checkNull(properties, "properties");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDisjointDataPropertiesAxiomImpl(properties, annotations);
+        return share(new OWLDisjointDataPropertiesAxiomImpl(properties, annotations));
     }
 
     @Override
@@ -918,14 +999,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLDisjointObjectPropertiesAxiom getOWLDisjointObjectPropertiesAxiom(Set<? extends OWLObjectPropertyExpression> properties, Set<? extends OWLAnnotation> annotations) {
         checkNull(properties, "properties");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDisjointObjectPropertiesAxiomImpl(properties, annotations);
+        return share(new OWLDisjointObjectPropertiesAxiomImpl(properties, annotations));
     }
 
     @Override
     public OWLEquivalentClassesAxiom getOWLEquivalentClassesAxiom(Set<? extends OWLClassExpression> classExpressions, Set<? extends OWLAnnotation> annotations) {
         checkNull(classExpressions, "classExpressions");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLEquivalentClassesAxiomImpl(classExpressions, annotations);
+        return share(new OWLEquivalentClassesAxiomImpl(classExpressions, annotations));
     }
 
     @Override
@@ -959,7 +1040,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLEquivalentDataPropertiesAxiom getOWLEquivalentDataPropertiesAxiom(Set<? extends OWLDataPropertyExpression> properties, Set<? extends OWLAnnotation> annotations) {
         checkNull(properties, "properties");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLEquivalentDataPropertiesAxiomImpl(properties, annotations);
+        return share(new OWLEquivalentDataPropertiesAxiomImpl(properties, annotations));
     }
 
     @Override
@@ -1014,7 +1095,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLFunctionalDataPropertyAxiom getOWLFunctionalDataPropertyAxiom(OWLDataPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLFunctionalDataPropertyAxiomImpl(property, annotations);
+        return share(new OWLFunctionalDataPropertyAxiomImpl(property, annotations));
     }
 
     @Override
@@ -1026,7 +1107,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLFunctionalObjectPropertyAxiom getOWLFunctionalObjectPropertyAxiom(OWLObjectPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLFunctionalObjectPropertyAxiomImpl(property, annotations);
+        return share(new OWLFunctionalObjectPropertyAxiomImpl(property, annotations));
     }
 
     @Override
@@ -1046,7 +1127,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(object, "object");
         checkNull(subject, "subject");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDataPropertyAssertionAxiomImpl(subject, property, object, annotations);
+        return share(new OWLDataPropertyAssertionAxiomImpl(subject, property, object, annotations));
     }
 
     @Override
@@ -1090,7 +1171,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(object, "object");
         checkNull(subject, "subject");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLNegativeDataPropertyAssertionImplAxiom(subject, property, object, annotations);
+        return share(new OWLNegativeDataPropertyAssertionImplAxiom(subject, property, object, annotations));
     }
 
     @Override
@@ -1104,7 +1185,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(object, "object");
         checkNull(subject, "subject");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLNegativeObjectPropertyAssertionAxiomImpl(subject, property, object, annotations);
+        return share(new OWLNegativeObjectPropertyAssertionAxiomImpl(subject, property, object, annotations));
     }
 
     @Override
@@ -1122,7 +1203,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(classExpression, "classExpression");
         checkNull(individual, "individual");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLClassAssertionImpl(individual, classExpression, annotations);
+        return share(new OWLClassAssertionImpl(individual, classExpression, annotations));
     }
 
     @Override
@@ -1134,14 +1215,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLInverseFunctionalObjectPropertyAxiom getOWLInverseFunctionalObjectPropertyAxiom(OWLObjectPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLInverseFunctionalObjectPropertyAxiomImpl(property, annotations);
+        return share(new OWLInverseFunctionalObjectPropertyAxiomImpl(property, annotations));
     }
 
     @Override
     public OWLIrreflexiveObjectPropertyAxiom getOWLIrreflexiveObjectPropertyAxiom(OWLObjectPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLIrreflexiveObjectPropertyAxiomImpl(property, annotations);
+        return share(new OWLIrreflexiveObjectPropertyAxiomImpl(property, annotations));
     }
 
     @Override
@@ -1159,7 +1240,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(property, "property");
         checkNull(classExpression, "classExpression");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLObjectPropertyDomainAxiomImpl(property, classExpression, annotations);
+        return share(new OWLObjectPropertyDomainAxiomImpl(property, classExpression, annotations));
     }
 
     @Override
@@ -1172,7 +1253,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(property, "property");
         checkNull(range, "range");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLObjectPropertyRangeAxiomImpl(property, range, annotations);
+        return share(new OWLObjectPropertyRangeAxiomImpl(property, range, annotations));
     }
 
     @Override
@@ -1185,7 +1266,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(subProperty, "subProperty");
         checkNull(superProperty, "superProperty");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSubObjectPropertyOfAxiomImpl(subProperty, superProperty, annotations);
+        return share(new OWLSubObjectPropertyOfAxiomImpl(subProperty, superProperty, annotations));
     }
 
     @Override
@@ -1197,14 +1278,14 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLReflexiveObjectPropertyAxiom getOWLReflexiveObjectPropertyAxiom(OWLObjectPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLReflexiveObjectPropertyAxiomImpl(property, annotations);
+        return share(new OWLReflexiveObjectPropertyAxiomImpl(property, annotations));
     }
 
     @Override
     public OWLSameIndividualAxiom getOWLSameIndividualAxiom(Set<? extends OWLIndividual> individuals, Set<? extends OWLAnnotation> annotations) {
         checkNull(individuals, "individuals");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSameIndividualAxiomImpl(individuals, annotations);
+        return share(new OWLSameIndividualAxiomImpl(individuals, annotations));
     }
 
     @Override
@@ -1225,7 +1306,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(subClass, "subclass");
         checkNull(superClass, "superclass");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSubClassOfAxiomImpl(subClass, superClass, annotations);
+        return share(new OWLSubClassOfAxiomImpl(subClass, superClass, annotations));
     }
 
     @Override
@@ -1237,7 +1318,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLSymmetricObjectPropertyAxiom getOWLSymmetricObjectPropertyAxiom(OWLObjectPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSymmetricObjectPropertyAxiomImpl(property, annotations);
+        return share(new OWLSymmetricObjectPropertyAxiomImpl(property, annotations));
     }
 
     @Override
@@ -1249,7 +1330,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLTransitiveObjectPropertyAxiom getOWLTransitiveObjectPropertyAxiom(OWLObjectPropertyExpression property, Set<? extends OWLAnnotation> annotations) {
         checkNull(property, "property");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLTransitiveObjectPropertyAxiomImpl(property, annotations);
+        return share(new OWLTransitiveObjectPropertyAxiomImpl(property, annotations));
     }
 
     @Override
@@ -1260,7 +1341,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     @Override
     public OWLObjectInverseOf getOWLObjectInverseOf(OWLObjectPropertyExpression property) {
         checkNull(property, "property");
-        return new OWLObjectInverseOfImpl(property);
+        return share(new OWLObjectInverseOfImpl(property));
     }
 
     @Override
@@ -1268,7 +1349,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(forwardProperty, "forwardProperty");
         checkNull(inverseProperty, "inverseProperty");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLInverseObjectPropertiesAxiomImpl(forwardProperty, inverseProperty, annotations);
+        return share(new OWLInverseObjectPropertiesAxiomImpl(forwardProperty, inverseProperty, annotations));
     }
 
     @Override
@@ -1281,7 +1362,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(superProperty, "superProperty");
         checkNull(chain, "chain");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSubPropertyChainAxiomImpl(chain, superProperty, annotations);
+        return share(new OWLSubPropertyChainAxiomImpl(chain, superProperty, annotations));
     }
 
     @Override
@@ -1294,7 +1375,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(ce, "ce");
         checkNull(properties, "properties");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLHasKeyAxiomImpl(ce, properties, annotations);
+        return share(new OWLHasKeyAxiomImpl(ce, properties, annotations));
     }
 
     @Override
@@ -1314,7 +1395,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(owlClass, "owlClass");
         checkNull(classExpressions, "classExpressions");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDisjointUnionAxiomImpl(owlClass, classExpressions, annotations);
+        return share(new OWLDisjointUnionAxiomImpl(owlClass, classExpressions, annotations));
     }
 
     @Override
@@ -1326,7 +1407,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
     public OWLEquivalentObjectPropertiesAxiom getOWLEquivalentObjectPropertiesAxiom(Set<? extends OWLObjectPropertyExpression> properties, Set<? extends OWLAnnotation> annotations) {
         checkNull(properties, "properties");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLEquivalentObjectPropertiesAxiomImpl(properties, annotations);
+        return share(new OWLEquivalentObjectPropertiesAxiomImpl(properties, annotations));
     }
 
     @Override
@@ -1335,7 +1416,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(individual, "individual");
         checkNull(object, "object");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLObjectPropertyAssertionAxiomImpl(individual, property, object, annotations);
+        return share(new OWLObjectPropertyAssertionAxiomImpl(individual, property, object, annotations));
     }
 
     @Override
@@ -1348,7 +1429,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(sub, "sub");
         checkNull(sup, "sup");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLSubAnnotationPropertyOfAxiomImpl(sub, sup, annotations);
+        return share(new OWLSubAnnotationPropertyOfAxiomImpl(sub, sup, annotations));
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1369,7 +1450,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(property, "property");
         checkNull(value, VALUE2);
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLAnnotationImpl(property, value, annotations);
+        return share(new OWLAnnotationImpl(property, value, annotations));
     }
 
     @Override
@@ -1398,7 +1479,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(property, "property");
         checkNull(value, VALUE2);
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLAnnotationAssertionAxiomImpl(subject, property, value, annotations);
+        return share(new OWLAnnotationAssertionAxiomImpl(subject, property, value, annotations));
     }
 
     @Override
@@ -1412,7 +1493,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(prop, "prop");
         checkNull(domain, "domain");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLAnnotationPropertyDomainAxiomImpl(prop, domain, annotations);
+        return share(new OWLAnnotationPropertyDomainAxiomImpl(prop, domain, annotations));
     }
 
     @Override
@@ -1425,7 +1506,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(prop, "prop");
         checkNull(range, "range");
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLAnnotationPropertyRangeAxiomImpl(prop, range, annotations);
+        return share(new OWLAnnotationPropertyRangeAxiomImpl(prop, range, annotations));
     }
 
     @Override
@@ -1571,7 +1652,7 @@ public class OWLDataFactoryImpl implements OWLDataFactory, Serializable {
         checkNull(datatype, DATATYPE2);
         checkNull(dataRange, DATA_RANGE);
         checkNull(annotations, ANNOTATIONS, true);
-        return new OWLDatatypeDefinitionAxiomImpl(datatype, dataRange, annotations);
+        return share(new OWLDatatypeDefinitionAxiomImpl(datatype, dataRange, annotations));
     }
 
     @Override
@@ -39,8 +39,9 @@
 
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.semanticweb.owlapi.model.DataRangeType;
 import org.semanticweb.owlapi.model.OWLDataOneOf;
@@ -67,12 +68,20 @@ public class OWLDataOneOfImpl extends OWLObjectImpl implements OWLDataOneOf {
 
 
 	private static final long serialVersionUID = 30402L;
-	private final Set<OWLLiteral> values;
+	private Set<OWLLiteral> values;
 
     @SuppressWarnings("javadoc")
     public OWLDataOneOfImpl(Set<? extends OWLLiteral> values) {
         super();
-        this.values = new TreeSet<OWLLiteral>(values);
+        this.values = new SortedArraySet<OWLLiteral>(values);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(values instanceof SortedArraySet)) {
+            values = new SortedArraySet<OWLLiteral>(values);
+        }
     }
 
     @Override
@@ -110,6 +119,9 @@ public class OWLDataOneOfImpl extends OWLObjectImpl implements OWLDataOneOf {
             if (!(obj instanceof OWLDataOneOf)) {
                 return false;
             }
+            if (obj instanceof OWLDataOneOfImpl) {
+                return values.equals(((OWLDataOneOfImpl) obj).values);
+            }
             return ((OWLDataOneOf) obj).getValues().equals(values);
         }
         return false;
@@ -150,6 +162,9 @@ public class OWLDataOneOfImpl extends OWLObjectImpl implements OWLDataOneOf {
 
     @Override
 	protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLDataOneOfImpl) {
+            return compareSets(values, ((OWLDataOneOfImpl) object).values);
+        }
         return compareSets(values, ((OWLDataOneOf) object).getValues());
     }
 }
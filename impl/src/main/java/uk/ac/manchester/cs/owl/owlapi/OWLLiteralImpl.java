@@ -39,16 +39,14 @@
 package uk.ac.manchester.cs.owl.owlapi;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.ObjectInputStream;
 import java.io.Reader;
 import java.io.Serializable;
-import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.semanticweb.owlapi.model.OWLAnnotationValueVisitor;
 import org.semanticweb.owlapi.model.OWLAnnotationValueVisitorEx;
@@ -60,6 +58,7 @@ import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.WeakCache;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 
 /**
@@ -69,7 +68,9 @@ import org.semanticweb.owlapi.vocab.OWL2Datatype;
  * Date: 26-Oct-2006<br>
  * <br>
  * <p>
- *     Implementation of {@link OWLLiteral} that uses compression of strings.  See also
+ *     Implementation of {@link OWLLiteral} that stores lexical forms compactly: short
+ *     Latin-1 strings are kept as one byte per character, all other strings are shared
+ *     through a pool, so that equal long literals are stored once. See also
  *     {@link OWLLiteralImplNoCompression}
  * </p>
  */
@@ -78,8 +79,13 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
 
     private static final long serialVersionUID = 30402L;
 
+    /** strings longer than this are pooled rather than encoded */
     private static final int COMPRESSION_LIMIT = 160;
 
+    private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+
+    private static final WeakCache<String> POOL = new WeakCache<String>();
+
     private final LiteralWrapper literal;
 
     private final OWLDatatype datatype;
@@ -98,7 +104,12 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
         this.literal = new LiteralWrapper(literal);
         if (lang == null || lang.length() == 0) {
             this.lang = "";
-            this.datatype = datatype;
+            if (datatype == null) {
+                this.datatype = new OWLDatatypeImpl(OWL2Datatype.RDF_PLAIN_LITERAL.getIRI());
+            }
+            else {
+                this.datatype = datatype;
+            }
         }
         else {
             if (datatype != null && !datatype.isRDFPlainLiteral()) {
@@ -143,16 +154,17 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
 
     @Override
     public boolean parseBoolean() throws NumberFormatException {
-        if (literal.get().equals("0")) {
+        String l = literal.get();
+        if (l.equals("0")) {
             return false;
         }
-        if (literal.get().equals("1")) {
+        if (l.equals("1")) {
             return true;
         }
-        if (literal.get().equals("true")) {
+        if (l.equals("true")) {
             return true;
         }
-        if (literal.get().equals("false")) {
+        if (l.equals("false")) {
             return false;
         }
         return false;
@@ -207,19 +219,25 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
     private int getHashCode() {
         int hashCode = 277;
         hashCode = hashCode * 37 + getDatatype().hashCode();
-        hashCode = hashCode * 37;
-        if (literal.l != null) {
-            hashCode += literal.l.hashCode();
-        }
-        else {
-            hashCode += Arrays.hashCode(literal.bytes);
-        }
+        hashCode = hashCode * 37 + literal.hashCode();
         if (hasLang()) {
             hashCode = hashCode * 37 + getLang().hashCode();
         }
         return hashCode;
     }
 
+    /**
+     * Earlier versions computed the hash code from the compressed lexical form; literals
+     * they serialized are rebuilt so that they hash like the literals of this version.
+     * @return this literal, or an equal literal with the current hash code
+     */
+    private Object readResolve() {
+        if (hashcode == getHashCode()) {
+            return this;
+        }
+        return new OWLLiteralImpl(literal.get(), lang, datatype);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (super.equals(obj)) {
@@ -227,6 +245,10 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
                 return false;
             }
             OWLLiteral other = (OWLLiteral) obj;
+            if (other instanceof OWLLiteralImpl) {
+                // compare the stored forms without decoding them
+                return literal.equals(((OWLLiteralImpl) other).literal) && datatype.equals(other.getDatatype()) && lang.equals(other.getLang());
+            }
             return literal.get().equals(other.getLiteral()) && datatype.equals(other.getDatatype()) && lang.equals(other.getLang());
         }
         return false;
@@ -255,7 +277,13 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
     @Override
     protected int compareObjectOfSameType(OWLObject object) {
         OWLLiteral other = (OWLLiteral) object;
-        int diff = literal.get().compareTo(other.getLiteral());
+        int diff;
+        if (other instanceof OWLLiteralImpl) {
+            diff = literal.compareTo(((OWLLiteralImpl) other).literal);
+        }
+        else {
+            diff = literal.get().compareTo(other.getLiteral());
+        }
         if (diff != 0) {
             return diff;
         }
@@ -288,72 +316,122 @@ public class OWLLiteralImpl extends OWLObjectImpl implements OWLLiteral {
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private static final class LiteralWrapper implements Serializable {
+    private static final class LiteralWrapper implements Serializable, Comparable<LiteralWrapper> {
 
         private static final long serialVersionUID = 30402L;
 
+        /** the pooled string, or null if the bytes are used */
         String l;
 
+        /** the Latin-1 encoding of a short string, or null */
         byte[] bytes;
 
+        private int hashCode;
+
         LiteralWrapper(String s) {
-            if (s.length() > COMPRESSION_LIMIT) {
-                try {
-                    bytes = compress(s);
-                    l = null;
-                }
-                catch (IOException e) {
-                    // some problem happened - defaulting to no compression
-                    l = s;
-                    bytes = null;
-                }
+            init(s);
+        }
+
+        private void init(String s) {
+            hashCode = s.hashCode();
+            if (s.length() <= COMPRESSION_LIMIT && isLatin1(s)) {
+                bytes = s.getBytes(LATIN_1);
+                l = null;
             }
             else {
                 bytes = null;
-                l = s;
+                l = POOL.cache(s);
             }
         }
 
+        private static boolean isLatin1(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) > 0xFF) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         String get() {
             if (l != null) {
                 return l;
             }
-            try {
-                return decompress(bytes);
+            // one byte per char; no inflation needed
+            return new String(bytes, LATIN_1);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof LiteralWrapper)) {
+                return false;
+            }
+            LiteralWrapper other = (LiteralWrapper) obj;
+            if (hashCode != other.hashCode) {
+                return false;
+            }
+            if (bytes != null && other.bytes != null) {
+                return Arrays.equals(bytes, other.bytes);
             }
-            catch (IOException e) {
-                // some problem has happened - cannot recover from this
-                e.printStackTrace();
-                return null;
+            if (l != null && other.l != null) {
+                return l.equals(other.l);
             }
+            // a string is stored in only one form
+            return false;
         }
 
-        byte[] compress(String s) throws IOException {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            GZIPOutputStream zipout;
-            zipout = new GZIPOutputStream(out);
-            Writer writer = new OutputStreamWriter(zipout, COMPRESSED_ENCODING);
-            writer.write(s);
-            writer.flush();
-            zipout.finish();
-            zipout.flush();
-            return out.toByteArray();
+        @Override
+        public int compareTo(LiteralWrapper other) {
+            if (bytes == null || other.bytes == null) {
+                return get().compareTo(other.get());
+            }
+            // unsigned byte order is char order for Latin-1
+            int length = Math.min(bytes.length, other.bytes.length);
+            for (int i = 0; i < length; i++) {
+                int diff = (bytes[i] & 0xFF) - (other.bytes[i] & 0xFF);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return bytes.length - other.bytes.length;
         }
 
-        String decompress(byte[] result) throws IOException {
-            ByteArrayInputStream in = new ByteArrayInputStream(result);
-            GZIPInputStream zipin = new GZIPInputStream(in);
-            Reader reader = new InputStreamReader(zipin, COMPRESSED_ENCODING);
+        private void readObject(ObjectInputStream in) throws IOException,
+                ClassNotFoundException {
+            ObjectInputStream.GetField fields = in.readFields();
+            String s = (String) fields.get("l", null);
+            byte[] b = (byte[]) fields.get("bytes", null);
+            if (fields.defaulted("hashCode")) {
+                // written by an earlier version, which stored long strings
+                // as gzipped UTF-16 and had no hash code field
+                init(b == null ? s : decompress(b));
+                return;
+            }
+            hashCode = fields.get("hashCode", 0);
+            bytes = b;
+            l = s == null ? null : POOL.cache(s);
+        }
+
+        private static String decompress(byte[] compressed) throws IOException {
+            Reader reader = new InputStreamReader(new GZIPInputStream(
+                    new ByteArrayInputStream(compressed)), "UTF-16");
             StringBuilder b = new StringBuilder();
-            int c = reader.read();
-            while (c > -1) {
-                b.append((char) c);
-                c = reader.read();
+            char[] buffer = new char[1024];
+            int read = reader.read(buffer);
+            while (read > -1) {
+                b.append(buffer, 0, read);
+                read = reader.read(buffer);
             }
             return b.toString();
         }
-
-        private static final String COMPRESSED_ENCODING = "UTF-16";
     }
 
 
@@ -39,10 +39,11 @@
 
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLNaryBooleanClassExpression;
@@ -60,12 +61,20 @@ public abstract class OWLNaryBooleanClassExpressionImpl extends OWLAnonymousClas
 
 
 	private static final long serialVersionUID = 30402L;
-	private final Set<OWLClassExpression> operands;
+	private Set<OWLClassExpression> operands;
 
     @SuppressWarnings("javadoc")
     public OWLNaryBooleanClassExpressionImpl(Set<? extends OWLClassExpression> operands) {
         super();
-        this.operands = new TreeSet<OWLClassExpression>(operands);
+        this.operands = new SortedArraySet<OWLClassExpression>(operands);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(operands instanceof SortedArraySet)) {
+            operands = new SortedArraySet<OWLClassExpression>(operands);
+        }
     }
 
     @Override
@@ -91,6 +100,9 @@ public abstract class OWLNaryBooleanClassExpressionImpl extends OWLAnonymousClas
             if (!(obj instanceof OWLNaryBooleanClassExpression)) {
                 return false;
             }
+            if (obj instanceof OWLNaryBooleanClassExpressionImpl) {
+                return operands.equals(((OWLNaryBooleanClassExpressionImpl) obj).operands);
+            }
             return ((OWLNaryBooleanClassExpression) obj).getOperands().equals(operands);
         }
         return false;
@@ -99,6 +111,9 @@ public abstract class OWLNaryBooleanClassExpressionImpl extends OWLAnonymousClas
 
     @Override
 	final protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryBooleanClassExpressionImpl) {
+            return compareSets(operands, ((OWLNaryBooleanClassExpressionImpl) object).operands);
+        }
         return compareSets(operands, ((OWLNaryBooleanClassExpression) object).getOperands());
     }
 }
@@ -39,12 +39,13 @@
 
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -63,12 +64,20 @@ public abstract class OWLNaryClassAxiomImpl extends OWLClassAxiomImpl implements
 
 
 	private static final long serialVersionUID = 30402L;
-	private final Set<OWLClassExpression> classExpressions;
+	private Set<OWLClassExpression> classExpressions;
 
     @SuppressWarnings("javadoc")
     public OWLNaryClassAxiomImpl(Set<? extends OWLClassExpression> classExpressions, Collection<? extends OWLAnnotation> annotations) {
         super(annotations);
-        this.classExpressions = new TreeSet<OWLClassExpression>(classExpressions);
+        this.classExpressions = new SortedArraySet<OWLClassExpression>(classExpressions);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(classExpressions instanceof SortedArraySet)) {
+            classExpressions = new SortedArraySet<OWLClassExpression>(classExpressions);
+        }
     }
 
 
@@ -104,6 +113,9 @@ public abstract class OWLNaryClassAxiomImpl extends OWLClassAxiomImpl implements
             if (!(obj instanceof OWLNaryClassAxiom)) {
                 return false;
             }
+            if (obj instanceof OWLNaryClassAxiomImpl) {
+                return classExpressions.equals(((OWLNaryClassAxiomImpl) obj).classExpressions);
+            }
             return ((OWLNaryClassAxiom) obj).getClassExpressions().equals(classExpressions);
         }
         return false;
@@ -112,6 +124,9 @@ public abstract class OWLNaryClassAxiomImpl extends OWLClassAxiomImpl implements
 
     @Override
 	protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryClassAxiomImpl) {
+            return compareSets(classExpressions, ((OWLNaryClassAxiomImpl) object).classExpressions);
+        }
         return compareSets(classExpressions, ((OWLNaryClassAxiom) object).getClassExpressions());
     }
 }
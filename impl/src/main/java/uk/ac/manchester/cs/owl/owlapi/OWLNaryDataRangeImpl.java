@@ -39,8 +39,9 @@
 
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDatatype;
@@ -56,11 +57,19 @@ public abstract class OWLNaryDataRangeImpl extends OWLObjectImpl implements OWLN
 
 
 	private static final long serialVersionUID = 30402L;
-	private final Set<OWLDataRange> operands;
+	private Set<OWLDataRange> operands;
 
     protected OWLNaryDataRangeImpl(Set<? extends OWLDataRange> operands) {
         super();
-        this.operands = new TreeSet<OWLDataRange>(operands);
+        this.operands = new SortedArraySet<OWLDataRange>(operands);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(operands instanceof SortedArraySet)) {
+            operands = new SortedArraySet<OWLDataRange>(operands);
+        }
     }
 
     @Override
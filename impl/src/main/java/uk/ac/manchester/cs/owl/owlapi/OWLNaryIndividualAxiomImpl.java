@@ -39,11 +39,12 @@
 
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLIndividual;
@@ -62,12 +63,20 @@ public abstract class OWLNaryIndividualAxiomImpl extends OWLIndividualAxiomImpl
 
 
 	private static final long serialVersionUID = 30402L;
-	private final Set<OWLIndividual> individuals;
+	private Set<OWLIndividual> individuals;
 
     @SuppressWarnings("javadoc")
     public OWLNaryIndividualAxiomImpl(Set<? extends OWLIndividual> individuals, Collection<? extends OWLAnnotation> annotations) {
         super(annotations);
-        this.individuals = new TreeSet<OWLIndividual>(individuals);
+        this.individuals = new SortedArraySet<OWLIndividual>(individuals);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(individuals instanceof SortedArraySet)) {
+            individuals = new SortedArraySet<OWLIndividual>(individuals);
+        }
     }
 
 
@@ -87,6 +96,9 @@ public abstract class OWLNaryIndividualAxiomImpl extends OWLIndividualAxiomImpl
             if (!(obj instanceof OWLNaryIndividualAxiom)) {
                 return false;
             }
+            if (obj instanceof OWLNaryIndividualAxiomImpl) {
+                return individuals.equals(((OWLNaryIndividualAxiomImpl) obj).individuals);
+            }
             return ((OWLNaryIndividualAxiom) obj).getIndividuals().equals(individuals);
         }
         return false;
@@ -95,6 +107,9 @@ public abstract class OWLNaryIndividualAxiomImpl extends OWLIndividualAxiomImpl
 
     @Override
 	protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryIndividualAxiomImpl) {
+            return compareSets(individuals, ((OWLNaryIndividualAxiomImpl) object).individuals);
+        }
         return compareSets(individuals, ((OWLNaryIndividualAxiom) object).getIndividuals());
     }
 }
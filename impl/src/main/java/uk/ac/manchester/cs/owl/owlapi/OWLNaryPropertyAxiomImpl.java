@@ -39,6 +39,8 @@
 
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Collection;
 import java.util.Set;
 import java.util.TreeSet;
@@ -61,12 +63,20 @@ public abstract class OWLNaryPropertyAxiomImpl<P extends OWLPropertyExpression<?
 
 
 	private static final long serialVersionUID = 30402L;
-	private final Set<P> properties;
+	private Set<P> properties;
 
     @SuppressWarnings("javadoc")
     public OWLNaryPropertyAxiomImpl(Set<? extends P> properties, Collection<? extends OWLAnnotation> annotations) {
         super(annotations);
-        this.properties = new TreeSet<P>(properties);
+        this.properties = new SortedArraySet<P>(properties);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException,
+            ClassNotFoundException {
+        in.defaultReadObject();
+        if (!(properties instanceof SortedArraySet)) {
+            properties = new SortedArraySet<P>(properties);
+        }
     }
 
 
@@ -88,6 +98,9 @@ public abstract class OWLNaryPropertyAxiomImpl<P extends OWLPropertyExpression<?
             if (!(obj instanceof OWLNaryPropertyAxiom)) {
                 return false;
             }
+            if (obj instanceof OWLNaryPropertyAxiomImpl) {
+                return properties.equals(((OWLNaryPropertyAxiomImpl<?>) obj).properties);
+            }
             return ((OWLNaryPropertyAxiom<?>) obj).getProperties().equals(properties);
         }
         return false;
@@ -96,6 +109,9 @@ public abstract class OWLNaryPropertyAxiomImpl<P extends OWLPropertyExpression<?
 
     @Override
 	final protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryPropertyAxiomImpl) {
+            return compareSets(properties, ((OWLNaryPropertyAxiomImpl<?>) object).properties);
+        }
         return compareSets(properties, ((OWLNaryPropertyAxiom<?>) object).getProperties());
     }
 }
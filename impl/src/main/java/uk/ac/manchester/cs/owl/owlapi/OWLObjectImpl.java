@@ -72,8 +72,11 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
 
     private static final long serialVersionUID = 30402L;
     private int hashCode = 0;
-    private WeakReference<Set<OWLEntity>> signature = null;
-    private WeakReference<Set<OWLAnonymousIndividual>> anons;
+    /** the type index of this object, 0 until computed */
+    private transient int typeIndex = 0;
+    /** an ObjectSignature if the signature is retained, otherwise a weak
+     * reference to one */
+    private transient Object signature = null;
 
     /** */
     public OWLObjectImpl() {}
@@ -94,30 +97,61 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
         f = factory;
     }
 
-    @Override
-    public Set<OWLEntity> getSignature() {
-        Set<OWLEntity> set = null;
-        if (signature != null) {
-            set = signature.get();
+    /** @return true if the signature of this object, once computed, should be
+     *         kept for the lifetime of the object; otherwise it is only weakly
+     *         referenced */
+    protected boolean retainSignature() {
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectSignature getObjectSignature() {
+        Object cached = signature;
+        ObjectSignature sig;
+        if (cached instanceof WeakReference) {
+            sig = ((WeakReference<ObjectSignature>) cached).get();
+        } else {
+            sig = (ObjectSignature) cached;
         }
-        if (set == null) {
-            set = new HashSet<OWLEntity>();
+        if (sig == null) {
+            Set<OWLEntity> entities = new HashSet<OWLEntity>();
             Set<OWLAnonymousIndividual> anon = new HashSet<OWLAnonymousIndividual>();
             OWLEntityCollectionContainerCollector collector = new OWLEntityCollectionContainerCollector(
-                    set, anon);
+                    entities, anon);
             accept(collector);
-            signature = new WeakReference<Set<OWLEntity>>(set);
-            anons = new WeakReference<Set<OWLAnonymousIndividual>>(anon);
+            sig = new ObjectSignature(entities, anon);
+            if (retainSignature()) {
+                signature = sig;
+            } else {
+                signature = new WeakReference<ObjectSignature>(sig);
+            }
         }
-        return CollectionFactory.getCopyOnRequestSetFromImmutableCollection(set);
+        return sig;
+    }
+
+    @Override
+    public Set<OWLEntity> getSignature() {
+        return CollectionFactory
+                .getCopyOnRequestSetFromImmutableCollection(getObjectSignature().entities);
     }
 
     @Override
     public Set<OWLAnonymousIndividual> getAnonymousIndividuals() {
-        if (signature == null || signature.get() == null) {
-            getSignature();
+        return CollectionFactory
+                .getCopyOnRequestSetFromImmutableCollection(getObjectSignature().anonymousIndividuals);
+    }
+
+    /** The entities and anonymous individuals of an object, stored compactly. */
+    private static final class ObjectSignature {
+        final Set<OWLEntity> entities;
+        final Set<OWLAnonymousIndividual> anonymousIndividuals;
+
+        ObjectSignature(Set<OWLEntity> entities,
+                Set<OWLAnonymousIndividual> anonymousIndividuals) {
+            this.entities = new SortedArraySet<OWLEntity>(entities);
+            this.anonymousIndividuals = new SortedArraySet<OWLAnonymousIndividual>(
+                    anonymousIndividuals);
         }
-        return CollectionFactory.getCopyOnRequestSetFromImmutableCollection(anons.get());
     }
 
     @Override
@@ -183,7 +217,15 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
 
     @Override
     public boolean equals(Object obj) {
-        return obj == this || obj != null && obj instanceof OWLObject;
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof OWLObject)) {
+            return false;
+        }
+        // objects of the same class hash alike if they are equal; cached hash
+        // codes rule out most unequal pairs before the fields are compared
+        return obj.getClass() != getClass() || obj.hashCode() == hashCode();
     }
 
     @Override
@@ -194,12 +236,27 @@ public abstract class OWLObjectImpl implements OWLObject, Serializable {
         return hashCode;
     }
 
+    /** @return the type index of this object, computed once */
+    private int getTypeIndex() {
+        if (typeIndex == 0) {
+            typeIndex = new OWLObjectTypeIndexProvider().getTypeIndex(this);
+        }
+        return typeIndex;
+    }
+
+    private static int getTypeIndex(OWLObject o) {
+        if (o instanceof OWLObjectImpl) {
+            return ((OWLObjectImpl) o).getTypeIndex();
+        }
+        return new OWLObjectTypeIndexProvider().getTypeIndex(o);
+    }
+
     @Override
     final public int compareTo(OWLObject o) {
-        OWLObjectTypeIndexProvider typeIndexProvider = new OWLObjectTypeIndexProvider();
-        int thisTypeIndex = typeIndexProvider.getTypeIndex(this);
-        int otherTypeIndex = typeIndexProvider.getTypeIndex(o);
-        int diff = thisTypeIndex - otherTypeIndex;
+        if (o == this) {
+            return 0;
+        }
+        int diff = getTypeIndex() - getTypeIndex(o);
         if (diff == 0) {
             // Objects are the same type
             return compareObjectOfSameType(o);
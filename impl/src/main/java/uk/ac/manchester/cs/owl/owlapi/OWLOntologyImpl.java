@@ -42,6 +42,8 @@ import static org.semanticweb.owlapi.util.CollectionFactory.createSet;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -58,6 +60,7 @@ import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -94,6 +97,7 @@ import org.semanticweb.owlapi.model.OWLIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLLogicalAxiom;
 import org.semanticweb.owlapi.model.OWLMutableOntology;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
@@ -128,6 +132,7 @@ import org.semanticweb.owlapi.model.RemoveImport;
 import org.semanticweb.owlapi.model.RemoveOntologyAnnotation;
 import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.model.UnknownOWLOntologyException;
+import org.semanticweb.owlapi.util.CollectionFactory.ConditionalCopySet;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 
 /*
@@ -152,6 +157,16 @@ Serializable {
     //
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////
     protected Internals internals;
+    /** counts the changes applied to the axioms and annotations of this
+     * ontology; cached signatures record the counts they were computed at */
+    private transient int contentVersion;
+    /** the signature, kept up to date by the changes once it is computed */
+    private transient Set<OWLEntity> signature;
+    /** true if the signature has been handed out since it last changed */
+    private transient boolean signatureShared;
+    private transient SignatureSnapshot closureSignatureSnapshot;
+    private transient int closureLookupCost;
+    private transient ImportsClosure importsClosure;
 
     @SuppressWarnings("javadoc")
     public OWLOntologyImpl(OWLOntologyManager manager, OWLOntologyID ontologyID) {
@@ -211,7 +226,7 @@ Serializable {
             return getAxiomCount(axiomType);
         }
         int result = 0;
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             result += ont.getAxiomCount(axiomType);
         }
         return result;
@@ -244,7 +259,7 @@ Serializable {
             boolean includeImportsClosure) {
         if (includeImportsClosure) {
             Set<T> toReturn = createSet();
-            for (OWLOntology o : getImportsClosure()) {
+            for (OWLOntology o : getImportsClosureArray()) {
                 toReturn.addAll(o.getAxioms(axiomType));
             }
             return toReturn;
@@ -312,6 +327,27 @@ Serializable {
                 subject);
     }
 
+    @Override
+    public Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxioms(
+            OWLAnnotationProperty property, OWLAnnotationValue value) {
+        return internals.getValues(internals.getAnnotationAssertionAxiomsByValue(),
+                new OWLAnnotationImpl(property, value, Collections.<OWLAnnotation> emptySet()));
+    }
+
+    @Override
+    public Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxiomsByLexicalForm(
+            OWLAnnotationProperty property, String lexicalForm, boolean ignoreCase) {
+        return internals.getAnnotationLexicalIndex().getAxioms(property, lexicalForm,
+                ignoreCase);
+    }
+
+    @Override
+    public Set<OWLAnnotationAssertionAxiom> getAnnotationAssertionAxiomsByPrefix(
+            OWLAnnotationProperty property, String prefix, boolean ignoreCase, int limit) {
+        return internals.getAnnotationLexicalIndex().getAxiomsByPrefix(property, prefix,
+                ignoreCase, limit);
+    }
+
     @Override
     public Set<OWLClassAxiom> getGeneralClassAxioms() {
         return internals.getGeneralClassAxioms();
@@ -322,7 +358,7 @@ Serializable {
         if (!includeImportsClosure) {
             return containsAxiom(axiom);
         }
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsAxiom(axiom)) {
                 return true;
             }
@@ -332,14 +368,8 @@ Serializable {
 
     @Override
     public boolean containsAxiomIgnoreAnnotations(OWLAxiom axiom) {
-        Set<OWLAxiom> set = internals.getValues(internals.getAxiomsByType(),
-                axiom.getAxiomType());
-        for (OWLAxiom ax : set) {
-            if (ax.equalsIgnoreAnnotations(axiom)) {
-                return true;
-            }
-        }
-        return false;
+        return internals.hasValues(internals.getAxiomsByAnnotationFreeForm(),
+                axiom.getAxiomWithoutAnnotations());
     }
 
     @Override
@@ -348,7 +378,7 @@ Serializable {
         if (!includeImportsClosure) {
             return containsAxiomIgnoreAnnotations(axiom);
         } else {
-            for (OWLOntology ont : getImportsClosure()) {
+            for (OWLOntology ont : getImportsClosureArray()) {
                 if (ont.containsAxiomIgnoreAnnotations(axiom)) {
                     return true;
                 }
@@ -363,13 +393,8 @@ Serializable {
         if (containsAxiom(axiom)) {
             result.add(axiom);
         }
-        Set<OWLAxiom> set = internals.getValues(internals.getAxiomsByType(),
-                axiom.getAxiomType());
-        for (OWLAxiom ax : set) {
-            if (ax.equalsIgnoreAnnotations(axiom)) {
-                result.add(ax);
-            }
-        }
+        result.addAll(internals.getValues(internals.getAxiomsByAnnotationFreeForm(),
+                axiom.getAxiomWithoutAnnotations()));
         return result;
     }
 
@@ -380,7 +405,7 @@ Serializable {
             return getAxiomsIgnoreAnnotations(axiom);
         }
         Set<OWLAxiom> result = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             result.addAll(ont.getAxiomsIgnoreAnnotations(axiom));
         }
         return result;
@@ -397,7 +422,11 @@ Serializable {
         if (!includeImportsClosure) {
             return containsClassInSignature(owlClassIRI);
         }
-        for (OWLOntology ont : manager.getImportsClosure(this)) {
+        Boolean contained = closureSignatureContains(manager.getOWLDataFactory().getOWLClass(owlClassIRI));
+        if (contained != null) {
+            return contained;
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsClassInSignature(owlClassIRI)) {
                 return true;
             }
@@ -417,7 +446,11 @@ Serializable {
         if (!includeImportsClosure) {
             return containsObjectPropertyInSignature(propIRI);
         }
-        for (OWLOntology ont : manager.getImportsClosure(this)) {
+        Boolean contained = closureSignatureContains(manager.getOWLDataFactory().getOWLObjectProperty(propIRI));
+        if (contained != null) {
+            return contained;
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsObjectPropertyInSignature(propIRI)) {
                 return true;
             }
@@ -437,7 +470,11 @@ Serializable {
         if (!includeImportsClosure) {
             return containsDataPropertyInSignature(propIRI);
         }
-        for (OWLOntology ont : manager.getImportsClosure(this)) {
+        Boolean contained = closureSignatureContains(manager.getOWLDataFactory().getOWLDataProperty(propIRI));
+        if (contained != null) {
+            return contained;
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsDataPropertyInSignature(propIRI)) {
                 return true;
             }
@@ -469,7 +506,11 @@ Serializable {
         if (!includeImportsClosure) {
             return containsAnnotationPropertyInSignature(propIRI);
         }
-        for (OWLOntology ont : manager.getImportsClosure(this)) {
+        Boolean contained = closureSignatureContains(manager.getOWLDataFactory().getOWLAnnotationProperty(propIRI));
+        if (contained != null) {
+            return contained;
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsAnnotationPropertyInSignature(propIRI)) {
                 return true;
             }
@@ -489,7 +530,11 @@ Serializable {
         if (!includeImportsClosure) {
             return containsIndividualInSignature(individualIRI);
         }
-        for (OWLOntology ont : manager.getImportsClosure(this)) {
+        Boolean contained = closureSignatureContains(manager.getOWLDataFactory().getOWLNamedIndividual(individualIRI));
+        if (contained != null) {
+            return contained;
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsIndividualInSignature(individualIRI)) {
                 return true;
             }
@@ -509,7 +554,11 @@ Serializable {
         if (!includeImportsClosure) {
             return containsDatatypeInSignature(datatypeIRI);
         }
-        for (OWLOntology ont : manager.getImportsClosure(this)) {
+        Boolean contained = closureSignatureContains(manager.getOWLDataFactory().getOWLDatatype(datatypeIRI));
+        if (contained != null) {
+            return contained;
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsDatatypeInSignature(datatypeIRI)) {
                 return true;
             }
@@ -547,7 +596,7 @@ Serializable {
             return getEntitiesInSignature(iri);
         } else {
             Set<OWLEntity> result = createSet(6);
-            for (OWLOntology ont : getImportsClosure()) {
+            for (OWLOntology ont : getImportsClosureArray()) {
                 result.addAll(ont.getEntitiesInSignature(iri));
             }
             return result;
@@ -689,7 +738,7 @@ Serializable {
             return true;
         }
         if (includeImportsClosure) {
-            for (OWLOntology ont : manager.getImportsClosure(this)) {
+            for (OWLOntology ont : getImportsClosureArray()) {
                 if (!ont.equals(this) && ont.isDeclared(owlEntity)) {
                     return true;
                 }
@@ -710,7 +759,15 @@ Serializable {
         if (!includeImportsClosure) {
             return containsEntityInSignature(owlEntity);
         }
-        for (OWLOntology ont : getImportsClosure()) {
+        // the signature includes the properties of ontology annotations, which
+        // containsEntityInSignature(OWLEntity) does not look at
+        if (!owlEntity.isOWLAnnotationProperty()) {
+            Boolean contained = closureSignatureContains(owlEntity);
+            if (contained != null) {
+                return contained;
+            }
+        }
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsEntityInSignature(owlEntity)) {
                 return true;
             }
@@ -746,7 +803,7 @@ Serializable {
         if (!includeImportsClosure) {
             return containsEntityInSignature(entityIRI);
         }
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             if (ont.containsEntityInSignature(entityIRI)) {
                 return true;
             }
@@ -767,7 +824,7 @@ Serializable {
             return getReferencingAxioms(owlEntity);
         }
         Set<OWLAxiom> result = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             result.addAll(ont.getReferencingAxioms(owlEntity));
         }
         return result;
@@ -875,29 +932,195 @@ Serializable {
 
     @Override
     public Set<OWLEntity> getSignature() {
-        // We might want to cache this for performance reasons,
-        // but I'm not sure right now.
-        Set<OWLEntity> entities = createSet();
-        entities.addAll(getClassesInSignature());
-        entities.addAll(getObjectPropertiesInSignature());
-        entities.addAll(getDataPropertiesInSignature());
-        entities.addAll(getIndividualsInSignature());
-        entities.addAll(getDatatypesInSignature());
-        entities.addAll(getAnnotationPropertiesInSignature());
-        return entities;
+        Set<OWLEntity> entities = signature;
+        if (entities == null) {
+            entities = createSet();
+            entities.addAll(getClassesInSignature());
+            entities.addAll(getObjectPropertiesInSignature());
+            entities.addAll(getDataPropertiesInSignature());
+            entities.addAll(getIndividualsInSignature());
+            entities.addAll(getDatatypesInSignature());
+            entities.addAll(getAnnotationPropertiesInSignature());
+            signature = entities;
+        }
+        signatureShared = true;
+        // copied only if the caller changes it
+        return new ConditionalCopySet<OWLEntity>(entities, false);
+    }
+
+    /** Updates the signature, if it has been computed, for entities that may
+     * have been added to or removed from the ontology. Sets handed out by
+     * {@link #getSignature()} are not changed: the signature is copied before
+     * its first change after being handed out.
+     *
+     * @param entities
+     *            the signature of the added or removed axiom or annotation */
+    private void updateSignature(Collection<? extends OWLEntity> entities) {
+        if (signature == null) {
+            return;
+        }
+        for (OWLEntity entity : entities) {
+            boolean contained = isInSignature(entity);
+            if (contained != signature.contains(entity)) {
+                if (signatureShared) {
+                    signature = createSet(signature);
+                    signatureShared = false;
+                }
+                if (contained) {
+                    signature.add(entity);
+                } else {
+                    signature.remove(entity);
+                }
+            }
+        }
+    }
+
+    private boolean isInSignature(OWLEntity entity) {
+        if (entity.isOWLAnnotationProperty()) {
+            // includes the properties of ontology annotations
+            return containsAnnotationPropertyInSignature(entity.getIRI());
+        }
+        return containsEntityInSignature(entity);
     }
 
     @Override
     public Set<OWLEntity> getSignature(boolean includeImportsClosure) {
-        Set<OWLEntity> entities = getSignature();
-        if (includeImportsClosure) {
-            for (OWLOntology ont : getImportsClosure()) {
-                if (!ont.equals(this)) {
+        if (!includeImportsClosure) {
+            return getSignature();
+        }
+        OWLOntology[] closure = getImportsClosureArray();
+        if (closure.length == 1) {
+            return getSignature();
+        }
+        SignatureSnapshot snapshot = closureSignatureSnapshot;
+        if (snapshot == null || !snapshot.isCurrent(closure)) {
+            snapshot = buildClosureSignature(closure);
+            if (snapshot == null) {
+                Set<OWLEntity> entities = createSet();
+                for (OWLOntology ont : closure) {
                     entities.addAll(ont.getSignature());
                 }
+                return entities;
             }
         }
-        return entities;
+        return new ConditionalCopySet<OWLEntity>(snapshot.signature, false);
+    }
+
+    /** Looks an entity up in the merged signature of the imports closure. A
+     * merged signature that is out of date is only rebuilt once the lookups
+     * made ontology by ontology since it went out of date have cost about as
+     * much as rebuilding it, so that alternating changes and lookups do not
+     * rebuild it every time.
+     * 
+     * @param entity
+     *            the entity to look up
+     * @return whether the merged signature contains the entity, or null if the
+     *         ontologies of the closure should be searched one by one */
+    private Boolean closureSignatureContains(OWLEntity entity) {
+        OWLOntology[] closure = getImportsClosureArray();
+        if (closure.length == 1) {
+            return null;
+        }
+        SignatureSnapshot snapshot = closureSignatureSnapshot;
+        if (snapshot == null || !snapshot.isCurrent(closure)) {
+            int rebuildCost = snapshot == null ? 0 : snapshot.signature.size();
+            if (closureLookupCost < rebuildCost) {
+                closureLookupCost += closure.length;
+                return null;
+            }
+            closureLookupCost = 0;
+            snapshot = buildClosureSignature(closure);
+            if (snapshot == null) {
+                return null;
+            }
+        }
+        return Boolean.valueOf(snapshot.signature.contains(entity));
+    }
+
+    /** @return the merged signature of the ontologies, or null if it cannot be
+     *         cached because some of them are not instances of this class */
+    private SignatureSnapshot buildClosureSignature(OWLOntology[] closure) {
+        int[] versions = new int[closure.length];
+        for (int i = 0; i < closure.length; i++) {
+            versions[i] = getContentVersion(closure[i]);
+            if (versions[i] < 0) {
+                return null;
+            }
+        }
+        Set<OWLEntity> entities = createSet();
+        for (OWLOntology ont : closure) {
+            entities.addAll(ont.getSignature());
+        }
+        SignatureSnapshot snapshot = new SignatureSnapshot(closure, versions, entities);
+        closureSignatureSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /** @return the content version of an ontology, or -1 if it is not an
+     *         instance of this class and has no content version */
+    static int getContentVersion(OWLOntology ontology) {
+        if (ontology instanceof OWLOntologyImpl) {
+            return ((OWLOntologyImpl) ontology).contentVersion;
+        }
+        return -1;
+    }
+
+    /** @return the ontologies in the imports closure of this ontology. The
+     *         array is shared, and kept for as long as the manager keeps the
+     *         closure cached */
+    private OWLOntology[] getImportsClosureArray() {
+        if (!(manager instanceof OWLOntologyManagerImpl)) {
+            Set<OWLOntology> closure = manager.getImportsClosure(this);
+            return closure.toArray(new OWLOntology[closure.size()]);
+        }
+        Set<OWLOntology> closure = ((OWLOntologyManagerImpl) manager)
+                .getImportsClosureSet(this);
+        ImportsClosure memo = importsClosure;
+        if (memo == null || memo.closure != closure) {
+            memo = new ImportsClosure(closure);
+            importsClosure = memo;
+        }
+        return memo.ontologies;
+    }
+
+    /** The imports closure handed out by the manager, as an array. */
+    private static final class ImportsClosure {
+        final Set<OWLOntology> closure;
+        final OWLOntology[] ontologies;
+
+        ImportsClosure(Set<OWLOntology> closure) {
+            this.closure = closure;
+            ontologies = closure.toArray(new OWLOntology[closure.size()]);
+        }
+    }
+
+    /** A signature, with the ontologies it was computed from and their
+     * content versions at the time. */
+    private static final class SignatureSnapshot {
+        final OWLOntology[] ontologies;
+        final int[] versions;
+        final Set<OWLEntity> signature;
+
+        SignatureSnapshot(OWLOntology[] ontologies, int[] versions,
+                Set<OWLEntity> signature) {
+            this.ontologies = ontologies;
+            this.versions = versions;
+            this.signature = signature;
+        }
+
+        /** @return true if the ontologies are the same array as the
+         *         snapshot's, and have not changed since */
+        boolean isCurrent(OWLOntology[] closure) {
+            if (closure != ontologies) {
+                return false;
+            }
+            for (int i = 0; i < ontologies.length; i++) {
+                if (versions[i] != getContentVersion(ontologies[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     @Override
@@ -936,7 +1159,7 @@ Serializable {
             return getClassesInSignature();
         }
         Set<OWLClass> results = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             results.addAll(ont.getClassesInSignature());
         }
         return results;
@@ -949,7 +1172,7 @@ Serializable {
             return getObjectPropertiesInSignature();
         }
         Set<OWLObjectProperty> results = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             results.addAll(ont.getObjectPropertiesInSignature());
         }
         return results;
@@ -961,7 +1184,7 @@ Serializable {
             return getDataPropertiesInSignature();
         }
         Set<OWLDataProperty> results = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             results.addAll(ont.getDataPropertiesInSignature());
         }
         return results;
@@ -973,7 +1196,7 @@ Serializable {
             return getIndividualsInSignature();
         }
         Set<OWLNamedIndividual> results = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             results.addAll(ont.getIndividualsInSignature());
         }
         return results;
@@ -990,7 +1213,7 @@ Serializable {
             return getDatatypesInSignature();
         }
         Set<OWLDatatype> results = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             results.addAll(ont.getDatatypesInSignature());
         }
         return results;
@@ -1015,7 +1238,7 @@ Serializable {
             return getAnnotationPropertiesInSignature();
         }
         Set<OWLAnnotationProperty> results = createSet();
-        for (OWLOntology ont : getImportsClosure()) {
+        for (OWLOntology ont : getImportsClosureArray()) {
             results.addAll(ont.getAnnotationPropertiesInSignature());
         }
         return results;
@@ -1245,6 +1468,19 @@ Serializable {
                 individual);
     }
 
+    @Override
+    public Set<OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(
+            OWLLiteral value) {
+        return internals.getValues(internals.getDataPropertyAssertionsByValue(), value);
+    }
+
+    @Override
+    public Set<OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(
+            OWLDataPropertyExpression property, OWLLiteral value) {
+        return internals.getValues(internals.getDataPropertyAssertionsByPropertyValue(),
+                new OWLDataHasValueImpl(property, value));
+    }
+
     @Override
     public Set<OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertionAxioms(
             OWLIndividual individual) {
@@ -1375,6 +1611,8 @@ Serializable {
         @Override
         public void visit(RemoveAxiom change) {
             if (internals.removeAxiom(change.getAxiom())) {
+                contentVersion++;
+                updateSignature(change.getAxiom().getSignature());
                 appliedChanges.add(change);
             }
         }
@@ -1391,6 +1629,8 @@ Serializable {
         @Override
         public void visit(AddAxiom change) {
             if (internals.addAxiom(change.getAxiom())) {
+                contentVersion++;
+                updateSignature(change.getAxiom().getSignature());
                 appliedChanges.add(change);
             }
         }
@@ -1413,6 +1653,9 @@ Serializable {
         @Override
         public void visit(AddOntologyAnnotation change) {
             if (internals.addOntologyAnnotation(change.getAnnotation())) {
+                contentVersion++;
+                updateSignature(Collections.singleton(change.getAnnotation()
+                        .getProperty()));
                 appliedChanges.add(change);
             }
         }
@@ -1420,6 +1663,9 @@ Serializable {
         @Override
         public void visit(RemoveOntologyAnnotation change) {
             if (internals.removeOntologyAnnotation(change.getAnnotation())) {
+                contentVersion++;
+                updateSignature(Collections.singleton(change.getAnnotation()
+                        .getProperty()));
                 appliedChanges.add(change);
             }
         }
@@ -50,6 +50,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -106,6 +107,7 @@ import org.semanticweb.owlapi.model.OWLOntologyRenameException;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
 import org.semanticweb.owlapi.model.OWLOntologyStorer;
 import org.semanticweb.owlapi.model.OWLOntologyStorerNotFoundException;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.RemoveAxiom;
 import org.semanticweb.owlapi.model.RemoveImport;
 import org.semanticweb.owlapi.model.SetOntologyID;
@@ -146,6 +148,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
     protected final AtomicLong autoGeneratedURICounter = new AtomicLong();
     protected OWLOntologyChangeBroadcastStrategy defaultChangeBroadcastStrategy;
     protected final ImpendingOWLOntologyChangeBroadcastStrategy defaultImpendingChangeBroadcastStrategy;
+    private transient ParallelImportsLoader importsLoader;
 
     @SuppressWarnings("javadoc")
     public OWLOntologyManagerImpl(OWLDataFactory dataFactory) {
@@ -327,6 +330,13 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
 
     @Override
     public OWLOntology getImportedOntology(OWLImportsDeclaration declaration) {
+        if (importsLoader != null) {
+            UnloadableImportException failure = importsLoader.join();
+            if (failure != null) {
+                // unwrapped in loadOntology()
+                throw new ImportFailure(failure);
+            }
+        }
         OWLOntologyID ontologyID = ontologyIDsByImportsDeclaration.get(declaration);
         if (ontologyID == null) {
             // No such ontology
@@ -380,16 +390,31 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
 
     @Override
     public Set<OWLOntology> getImportsClosure(OWLOntology ontology) {
+        // the returned set can be mutated, but changes will not be propagated
+        // back
+        return CollectionFactory
+                .getCopyOnRequestSetFromMutableCollection(getImportsClosureSet(ontology));
+    }
+
+    /** Closures in which every imports declaration resolves to a loaded
+     * ontology are cached until the imports of one of their ontologies change,
+     * or one of their ontologies is removed, replaced or renamed. Other
+     * closures are computed on each call, since their missing imports can be
+     * loaded at any time.
+     *
+     * @param ontology
+     *            the ontology
+     * @return the imports closure of the ontology; the set is shared and must
+     *         not be changed */
+    Set<OWLOntology> getImportsClosureSet(OWLOntology ontology) {
         Set<OWLOntology> ontologies = importsClosureCache.get(ontology.getOntologyID());
         if (ontologies == null) {
             ontologies = new HashSet<OWLOntology>();
-            getImportsClosure(ontology, ontologies);
-            // store the wrapped set
-            importsClosureCache.put(ontology.getOntologyID(), ontologies);
+            if (getImportsClosure(ontology, ontologies)) {
+                importsClosureCache.put(ontology.getOntologyID(), ontologies);
+            }
         }
-        // the returned set can be mutated, but changes will not be propagated
-        // back
-        return CollectionFactory.getCopyOnRequestSetFromMutableCollection(ontologies);
+        return ontologies;
     }
 
     /** A recursive method that gets the reflexive transitive closure of the
@@ -399,14 +424,24 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
      *            The ontology whose reflexive transitive closure is to be
      *            retrieved
      * @param ontologies
-     *            a place to store the result */
-    private void getImportsClosure(OWLOntology ontology, Set<OWLOntology> ontologies) {
+     *            a place to store the result
+     * @return true if all the imports declarations in the closure refer to
+     *         loaded ontologies */
+    private boolean getImportsClosure(OWLOntology ontology, Set<OWLOntology> ontologies) {
+        if (!contains(ontology)) {
+            throw new UnknownOWLOntologyException(ontology.getOntologyID());
+        }
         ontologies.add(ontology);
-        for (OWLOntology ont : getDirectImports(ontology)) {
-            if (!ontologies.contains(ont)) {
-                getImportsClosure(ont, ontologies);
+        boolean complete = true;
+        for (OWLImportsDeclaration declaration : ontology.getImportsDeclarations()) {
+            OWLOntology importedOntology = getImportedOntology(declaration);
+            if (importedOntology == null) {
+                complete = false;
+            } else if (!ontologies.contains(importedOntology)) {
+                complete &= getImportsClosure(importedOntology, ontologies);
             }
         }
+        return complete;
     }
 
     @Override
@@ -527,7 +562,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
 
     private void checkForImportsChange(OWLOntologyChange change) {
         if (change.isImportChange()) {
-            resetImportsClosureCache();
+            resetImportsClosureCache(change.getOntology().getOntologyID());
             if (change instanceof AddImport) {
                 OWLImportsDeclaration addImportDeclaration = ((AddImport) change)
                         .getImportDeclaration();
@@ -575,7 +610,6 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
                 }
             }
             renameOntology(setID.getOriginalOntologyID(), setID.getNewOntologyID());
-            resetImportsClosureCache();
         }
     }
 
@@ -750,7 +784,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
                 configuration);
     }
 
-    private OWLOntology getOntologyByDocumentIRI(IRI documentIRI) {
+    OWLOntology getOntologyByDocumentIRI(IRI documentIRI) {
         for (OWLOntologyID ontID : documentIRIsByID.keySet()) {
             IRI docIRI = documentIRIsByID.get(ontID);
             if (docIRI != null && docIRI.equals(documentIRI)) {
@@ -828,6 +862,9 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
                         // when the ontology is created.
                         OWLOntology ontology = factory.loadOWLOntology(documentSource,
                                 this, configuration);
+                        if (loadCount == 1) {
+                            joinImports(ontology);
+                        }
                         idOfLoadedOntology = ontology.getOntologyID();
                         // Store the ontology to the document IRI mapping
                         documentIRIsByID.put(ontology.getOntologyID(),
@@ -844,11 +881,22 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
         } catch (OWLOntologyCreationException e) {
             ex = e;
             throw e;
+        } catch (RuntimeException e) {
+            UnloadableImportException failure = ImportFailure.find(e);
+            if (failure == null) {
+                throw e;
+            }
+            ex = failure;
+            throw failure;
         } finally {
             loadCount--;
             if (loadCount == 0) {
                 broadcastChanges = true;
                 // Completed loading ontology and imports
+                if (importsLoader != null) {
+                    importsLoader.shutdown();
+                    importsLoader = null;
+                }
             }
             fireFinishedLoadingEvent(idOfLoadedOntology, documentSource.getDocumentIRI(),
                     loadCount > 0, ex);
@@ -866,12 +914,12 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
         ontologiesByID.remove(ontologyID);
         ontologyFormatsByOntology.remove(ontologyID);
         documentIRIsByID.remove(ontologyID);
-        resetImportsClosureCache();
+        resetImportsClosureCache(ontologyID);
     }
 
     private void addOntology(OWLOntology ont) {
         ontologiesByID.put(ont.getOntologyID(), ont);
-        resetImportsClosureCache();
+        resetImportsClosureCache(ont.getOntologyID());
     }
 
     @Override
@@ -914,13 +962,32 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
         if (documentIRI != null) {
             documentIRIsByID.put(newID, documentIRI);
         }
-        resetImportsClosureCache();
+        resetImportsClosureCache(oldID);
+        resetImportsClosureCache(newID);
     }
 
     protected void resetImportsClosureCache() {
         importsClosureCache.clear();
     }
 
+    /** Removes the cached imports closures that contain an ontology; the
+     * closures of other ontologies are not affected by changes to it.
+     * 
+     * @param ontologyID
+     *            the id of the ontology */
+    protected void resetImportsClosureCache(OWLOntologyID ontologyID) {
+        importsClosureCache.remove(ontologyID);
+        Iterator<Set<OWLOntology>> it = importsClosureCache.values().iterator();
+        while (it.hasNext()) {
+            for (OWLOntology ont : it.next()) {
+                if (ont.getOntologyID().equals(ontologyID)) {
+                    it.remove();
+                    break;
+                }
+            }
+        }
+    }
+
     // /////////////////////////////////////////////////////////////////////////////////////////////////////////
     //
     // Methods to save ontologies
@@ -1065,7 +1132,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
      *            is thrown.
      * @return The document IRI that corresponds to the ontology IRI, or
      *         <code>null</code> if no physical URI can be found. */
-    private IRI getDocumentIRIFromMappers(OWLOntologyID ontologyID, boolean quiet) {
+    IRI getDocumentIRIFromMappers(OWLOntologyID ontologyID, boolean quiet) {
         IRI defIRI = ontologyID.getDefaultDocumentIRI();
         if (defIRI == null) {
             return null;
@@ -1253,6 +1320,11 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
         IRI iri = declaration.getIRI();
         if (!configuration.isIgnoredImport(iri) && !importedIRIs.contains(iri)) {
             importedIRIs.add(iri);
+            if (isParallelImportsLoading(configuration) && !contains(iri)) {
+                // loaded concurrently, see joinImports()
+                importsLoader.submit(declaration, configuration, true);
+                return;
+            }
                 try {
                     OWLOntology ont = loadImports(declaration, configuration);
                     if (ont != null) {
@@ -1267,6 +1339,58 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager,
         }
 
 
+    private boolean isParallelImportsLoading(OWLOntologyLoaderConfiguration configuration) {
+        if (configuration.getImportsLoadingThreads() <= 0 || loadCount == 0) {
+            return false;
+        }
+        if (importsLoader == null) {
+            importsLoader = ParallelImportsLoader.create(this,
+                    configuration.getImportsLoadingThreads());
+        }
+        return importsLoader != null;
+    }
+
+    /** Waits for the imports that are being loaded concurrently and adds them to
+     * this manager.
+     * 
+     * @param ontology
+     *            the ontology being loaded, removed if an import cannot be
+     *            loaded
+     * @throws UnloadableImportException
+     *             if an import could not be loaded and missing imports are not
+     *             ignored */
+    private void joinImports(OWLOntology ontology) throws UnloadableImportException {
+        if (importsLoader == null) {
+            return;
+        }
+        UnloadableImportException failure = importsLoader.join();
+        if (failure != null) {
+            removeOntology(ontology);
+            throw failure;
+        }
+    }
+
+    /** Carries an import that could not be loaded concurrently out of
+     * {@link #getImportedOntology(OWLImportsDeclaration)}, which parsers call
+     * while loading. */
+    private static class ImportFailure extends OWLRuntimeException {
+        private static final long serialVersionUID = 30402L;
+
+        ImportFailure(UnloadableImportException cause) {
+            super(cause);
+        }
+
+        /** @return the failure in the causes of the exception, or null */
+        static UnloadableImportException find(Throwable e) {
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof ImportFailure) {
+                    return (UnloadableImportException) t.getCause();
+                }
+            }
+            return null;
+        }
+    }
+
     @Override
     public void setSilentMissingImportsHandling(boolean b) {
         silentMissingImportsHandling = b;
@@ -0,0 +1,405 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OntologyIRIMappingNotFoundException;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportEvent;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyFactory;
+import org.semanticweb.owlapi.model.OWLOntologyFormat;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.UnloadableImportException;
+
+/** Loads imported ontologies concurrently. Each imported document is parsed on
+ * an executor into a scratch manager, whose own import requests are submitted
+ * to the same executor; {@link #join()} waits for the results and adds them to
+ * the importing manager, imported ontologies first.
+ * <p>
+ * RDF based parsers read the imports closure at the end of the document. A
+ * scratch manager asked for an imported ontology waits for it, running its
+ * task on the current thread if it has not started, and then shares the
+ * parsed ontology, so that the closure is the same as in the importing
+ * manager. When waiting would close a cycle of imports, the ontology is not
+ * available to the parser, and the importing document is parsed again in the
+ * importing manager once its imports are in place.
+ *
+ * @since 3.4.6 */
+class ParallelImportsLoader {
+    private final OWLOntologyManagerImpl manager;
+    private final List<Class<? extends OWLOntologyFactory>> factoryTypes;
+    private final ExecutorService executor;
+    private final Map<IRI, Future<ImportResult>> futures = new HashMap<IRI, Future<ImportResult>>();
+    private final List<OWLImportsDeclaration> requests = new ArrayList<OWLImportsDeclaration>();
+    private final Map<OWLImportsDeclaration, OWLOntologyLoaderConfiguration> configurations = new HashMap<OWLImportsDeclaration, OWLOntologyLoaderConfiguration>();
+    private final Set<IRI> joined = new HashSet<IRI>();
+    private final Map<IRI, OWLOntologyID> loaded = new HashMap<IRI, OWLOntologyID>();
+    // import being parsed -> import it is waiting for
+    private final Map<IRI, IRI> waitsFor = new HashMap<IRI, IRI>();
+    private int nextRequest = 0;
+    private UnloadableImportException failure;
+
+    private static class ImportResult {
+        final IRI iri;
+        final IRI documentIRI;
+        final List<OWLImportsDeclaration> imports = new ArrayList<OWLImportsDeclaration>();
+        OWLOntology ontology;
+        OWLOntologyFormat format;
+        OWLOntologyCreationException error;
+        /** false if the parser asked for an import that could not be shared */
+        volatile boolean complete = true;
+
+        ImportResult(IRI iri, IRI documentIRI) {
+            this.iri = iri;
+            this.documentIRI = documentIRI;
+        }
+    }
+
+    private ParallelImportsLoader(OWLOntologyManagerImpl manager,
+            List<Class<? extends OWLOntologyFactory>> factoryTypes, int threads) {
+        this.manager = manager;
+        this.factoryTypes = factoryTypes;
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "OWLAPI imports loader");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /** @param manager
+     *            the importing manager
+     * @param threads
+     *            the number of threads to use
+     * @return a new loader, or null if the ontology factories of the manager
+     *         cannot be replicated in scratch managers */
+    static ParallelImportsLoader create(OWLOntologyManagerImpl manager, int threads) {
+        List<Class<? extends OWLOntologyFactory>> types = new ArrayList<Class<? extends OWLOntologyFactory>>();
+        for (OWLOntologyFactory factory : manager.getOntologyFactories()) {
+            try {
+                factory.getClass().newInstance();
+            } catch (InstantiationException e) {
+                return null;
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+            types.add(factory.getClass());
+        }
+        return new ParallelImportsLoader(manager, types, threads);
+    }
+
+    /** Starts loading an imported ontology, unless it is already being loaded.
+     *
+     * @param declaration
+     *            the imports declaration
+     * @param configuration
+     *            the loader configuration
+     * @param direct
+     *            true if the request comes from the importing manager */
+    synchronized void submit(OWLImportsDeclaration declaration,
+            final OWLOntologyLoaderConfiguration configuration, boolean direct) {
+        if (!configurations.containsKey(declaration)) {
+            configurations.put(declaration, configuration);
+        }
+        if (direct) {
+            requests.add(declaration);
+        }
+        final IRI iri = declaration.getIRI();
+        if (futures.containsKey(iri)) {
+            return;
+        }
+        final IRI documentIRI = manager.getDocumentIRIFromMappers(new OWLOntologyID(iri),
+                true);
+        futures.put(iri, executor.submit(new Callable<ImportResult>() {
+            @Override
+            public ImportResult call() {
+                return load(iri, documentIRI, configuration);
+            }
+        }));
+    }
+
+    private ImportResult load(IRI iri, IRI documentIRI,
+            OWLOntologyLoaderConfiguration configuration) {
+        ImportResult result = new ImportResult(iri, documentIRI);
+        if (documentIRI == null) {
+            result.error = new OntologyIRIMappingNotFoundException(iri);
+            return result;
+        }
+        try {
+            OWLOntologyManagerImpl scratch = createScratchManager(result);
+            result.ontology = scratch.loadOntologyFromOntologyDocument(
+                    new IRIDocumentSource(documentIRI), configuration);
+            result.format = scratch.getOntologyFormat(result.ontology);
+        } catch (OWLOntologyCreationException e) {
+            result.error = e;
+        }
+        return result;
+    }
+
+    private OWLOntologyManagerImpl createScratchManager(final ImportResult result)
+            throws OWLOntologyCreationException {
+        OWLOntologyManagerImpl scratch = new OWLOntologyManagerImpl(
+                manager.getOWLDataFactory()) {
+            private static final long serialVersionUID = 30402L;
+
+            @Override
+            public void makeLoadImportRequest(OWLImportsDeclaration declaration,
+                    OWLOntologyLoaderConfiguration configuration) {
+                if (!configuration.isIgnoredImport(declaration.getIRI())) {
+                    result.imports.add(declaration);
+                    submit(declaration, configuration, false);
+                }
+            }
+
+            @Override
+            public OWLOntology getImportedOntology(OWLImportsDeclaration declaration) {
+                OWLOntology ontology = super.getImportedOntology(declaration);
+                if (ontology == null) {
+                    ontology = share(this, declaration, result);
+                }
+                return ontology;
+            }
+        };
+        // factories are added at the front
+        for (int i = factoryTypes.size() - 1; i >= 0; i--) {
+            try {
+                scratch.addOntologyFactory(factoryTypes.get(i).newInstance());
+            } catch (InstantiationException e) {
+                throw new OWLOntologyCreationException(e);
+            } catch (IllegalAccessException e) {
+                throw new OWLOntologyCreationException(e);
+            }
+        }
+        return scratch;
+    }
+
+    /** Makes an imported ontology available to the scratch manager parsing
+     * another import.
+     *
+     * @return the imported ontology, or null if it could not be loaded or
+     *         waiting for it would close a cycle */
+    private OWLOntology share(OWLOntologyManagerImpl scratch,
+            OWLImportsDeclaration declaration, ImportResult waiting) {
+        IRI iri = declaration.getIRI();
+        Future<ImportResult> future;
+        synchronized (this) {
+            future = futures.get(iri);
+            if (future == null) {
+                return null;
+            }
+            for (IRI i = iri; i != null; i = waitsFor.get(i)) {
+                if (i.equals(waiting.iri)) {
+                    waiting.complete = false;
+                    return null;
+                }
+            }
+            waitsFor.put(waiting.iri, iri);
+        }
+        ImportResult result;
+        try {
+            // runs the task here unless it has started; a no-op otherwise
+            ((RunnableFuture<ImportResult>) future).run();
+            result = get(future);
+        } finally {
+            synchronized (this) {
+                waitsFor.remove(waiting.iri);
+            }
+        }
+        if (!result.complete) {
+            waiting.complete = false;
+        }
+        OWLOntology ontology = result.ontology;
+        if (ontology == null) {
+            return null;
+        }
+        // the parsed ontology is no longer changed, and is only read from now on
+        scratch.ontologiesByID.put(ontology.getOntologyID(), ontology);
+        scratch.ontologyFormatsByOntology.put(ontology.getOntologyID(), result.format);
+        scratch.ontologyIDsByImportsDeclaration.put(declaration, ontology.getOntologyID());
+        return ontology;
+    }
+
+    /** Waits for all imports requested so far and adds them to the importing
+     * manager. Can be called again while joining, e.g., by the parser of an
+     * ontology that is parsed again.
+     *
+     * @return the first import that could not be loaded and must not be
+     *         ignored, or null */
+    UnloadableImportException join() {
+        OWLImportsDeclaration declaration = nextRequest();
+        while (declaration != null) {
+            install(declaration);
+            declaration = nextRequest();
+        }
+        return failure;
+    }
+
+    private synchronized OWLImportsDeclaration nextRequest() {
+        if (nextRequest < requests.size()) {
+            return requests.get(nextRequest++);
+        }
+        return null;
+    }
+
+    private synchronized Future<ImportResult> getFuture(IRI iri) {
+        return futures.get(iri);
+    }
+
+    private synchronized OWLOntologyLoaderConfiguration getConfiguration(
+            OWLImportsDeclaration declaration) {
+        return configurations.get(declaration);
+    }
+
+    private void install(OWLImportsDeclaration declaration) {
+        IRI iri = declaration.getIRI();
+        if (!joined.add(iri)) {
+            OWLOntologyID id = loaded.get(iri);
+            if (id != null) {
+                manager.ontologyIDsByImportsDeclaration.put(declaration, id);
+            }
+            return;
+        }
+        ImportResult result = get(getFuture(iri));
+        if (result.error == null) {
+            for (OWLImportsDeclaration imported : result.imports) {
+                install(imported);
+            }
+        }
+        OWLOntologyLoaderConfiguration configuration = getConfiguration(declaration);
+        OWLOntology ontology = manager.getOntology(iri);
+        if (ontology == null && result.documentIRI != null) {
+            ontology = manager.getOntologyByDocumentIRI(result.documentIRI);
+        }
+        if (ontology == null) {
+            if (result.error != null) {
+                missingImport(declaration, configuration, result.error);
+            } else if (result.complete) {
+                ontology = copy(declaration, configuration, result);
+                if (ontology != null) {
+                    removeIncludedImports(result);
+                }
+            } else {
+                try {
+                    ontology = manager.loadImports(declaration, configuration);
+                } catch (OWLOntologyCreationException e) {
+                    fail(declaration, e);
+                }
+            }
+        }
+        if (ontology != null) {
+            loaded.put(iri, ontology.getOntologyID());
+            manager.ontologyIDsByImportsDeclaration.put(declaration,
+                    ontology.getOntologyID());
+        }
+    }
+
+    /** Anonymous imports merged into the importing ontology by the parser are
+     * removed from the importing manager, as when the import is loaded in
+     * there. */
+    private void removeIncludedImports(ImportResult result) {
+        Set<OWLImportsDeclaration> declared = result.ontology.getImportsDeclarations();
+        for (OWLImportsDeclaration imported : result.imports) {
+            OWLOntologyID id = loaded.get(imported.getIRI());
+            if (id != null && id.isAnonymous() && !declared.contains(imported)) {
+                OWLOntology included = manager.getOntology(id);
+                if (included != null) {
+                    manager.removeOntology(included);
+                }
+                loaded.remove(imported.getIRI());
+            }
+        }
+    }
+
+    private ImportResult get(Future<ImportResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ImportResult result = new ImportResult(null, null);
+            result.error = new OWLOntologyCreationException(e);
+            return result;
+        } catch (ExecutionException e) {
+            ImportResult result = new ImportResult(null, null);
+            result.error = new OWLOntologyCreationException(e.getCause());
+            return result;
+        }
+    }
+
+    private OWLOntology copy(OWLImportsDeclaration declaration,
+            OWLOntologyLoaderConfiguration configuration, ImportResult result) {
+        OWLOntology source = result.ontology;
+        manager.fireStartedLoadingEvent(source.getOntologyID(), result.documentIRI, true);
+        OWLOntologyCreationException ex = null;
+        try {
+            OWLOntology ontology = manager.createOntology(source.getOntologyID());
+            manager.setOntologyDocumentIRI(ontology, result.documentIRI);
+            List<OWLOntologyChange> changes = new ArrayList<OWLOntologyChange>();
+            for (OWLImportsDeclaration imported : source.getImportsDeclarations()) {
+                changes.add(new AddImport(ontology, imported));
+            }
+            for (OWLAnnotation annotation : source.getAnnotations()) {
+                changes.add(new AddOntologyAnnotation(ontology, annotation));
+            }
+            for (OWLAxiom axiom : source.getAxioms()) {
+                changes.add(new AddAxiom(ontology, axiom));
+            }
+            manager.applyChanges(changes);
+            manager.setOntologyFormat(ontology, result.format);
+            return ontology;
+        } catch (OWLOntologyCreationException e) {
+            ex = e;
+            missingImport(declaration, configuration, e);
+            return null;
+        } finally {
+            manager.fireFinishedLoadingEvent(source.getOntologyID(), result.documentIRI,
+                    true, ex);
+        }
+    }
+
+    private void missingImport(OWLImportsDeclaration declaration,
+            OWLOntologyLoaderConfiguration configuration, OWLOntologyCreationException e) {
+        // same policy as OWLOntologyManagerImpl.loadImports()
+        if (configuration.getMissingImportHandlingStrategy() == MissingImportHandlingStrategy.THROW_EXCEPTION
+                && !manager.isSilentMissingImportsHandling()) {
+            fail(declaration, e);
+        } else {
+            manager.fireMissingImportEvent(new MissingImportEvent(declaration.getIRI(), e));
+        }
+    }
+
+    private void fail(OWLImportsDeclaration declaration, OWLOntologyCreationException e) {
+        if (failure == null) {
+            failure = new UnloadableImportException(e, declaration);
+        }
+    }
+
+    /** Stops loading imports that have not been joined. */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
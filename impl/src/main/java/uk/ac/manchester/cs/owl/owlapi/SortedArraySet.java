@@ -0,0 +1,204 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+import org.semanticweb.owlapi.model.OWLObject;
+
+/** An immutable sorted set of OWL objects stored as an array in natural order;
+ * lookups are binary searches. It replaces the TreeSets holding the operands
+ * of n-ary expressions and axioms, whose entries cost several times the
+ * memory of an array slot, and holds the cached signatures of objects. Like a
+ * TreeSet, it treats elements that compare as equal as duplicates, and
+ * iterates in the same order. Sub set views share the array.
+ * <p>
+ * The n-ary implementations still declare their operand fields as sets, so
+ * that their serialized form is unchanged; when they read a stream written by
+ * an earlier version, they replace the TreeSet it contains with a
+ * SortedArraySet.
+ *
+ * @param <E>
+ *            the element type
+ * @since 3.4.6 */
+final class SortedArraySet<E extends OWLObject> extends AbstractSet<E> implements
+        SortedSet<E>, Serializable {
+    private static final long serialVersionUID = 30402L;
+    private static final Object[] NO_ELEMENTS = new Object[0];
+    private final Object[] elements;
+    private final int from;
+    private final int to;
+
+    /** @param source
+     *            the elements */
+    SortedArraySet(Collection<? extends E> source) {
+        if (source.isEmpty()) {
+            elements = NO_ELEMENTS;
+        } else if (source instanceof SortedArraySet) {
+            elements = ((SortedArraySet<?>) source).toArray();
+        } else {
+            Object[] sorted = source.toArray();
+            Arrays.sort(sorted);
+            // drop elements comparing as equal to their predecessor
+            int size = 1;
+            for (int i = 1; i < sorted.length; i++) {
+                if (compare(sorted[size - 1], sorted[i]) != 0) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+            elements = size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+        }
+        from = 0;
+        to = elements.length;
+    }
+
+    private SortedArraySet(Object[] elements, int from, int to) {
+        this.elements = elements;
+        this.from = from;
+        this.to = to;
+    }
+
+    private static int compare(Object o1, Object o2) {
+        return ((OWLObject) o1).compareTo((OWLObject) o2);
+    }
+
+    /** @return the index of o, or (-(insertion point) - 1) */
+    private int indexOf(Object o) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int diff = compare(elements[mid], o);
+            if (diff < 0) {
+                low = mid + 1;
+            } else if (diff > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int insertionPoint(Object o) {
+        int i = indexOf(o);
+        return i < 0 ? -i - 1 : i;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof OWLObject)) {
+            return false;
+        }
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(elements, from, to);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof SortedArraySet) {
+            // both are sorted: compare element by element
+            SortedArraySet<?> other = (SortedArraySet<?>) o;
+            if (other.size() != size()) {
+                return false;
+            }
+            for (int i = from, j = other.from; i < to; i++, j++) {
+                if (!elements[i].equals(other.elements[j])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < to;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (next >= to) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[next++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (E) elements[from];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return (E) elements[to - 1];
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement > toElement");
+        }
+        return new SortedArraySet<E>(elements, insertionPoint(fromElement),
+                insertionPoint(toElement));
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return new SortedArraySet<E>(elements, from, insertionPoint(toElement));
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return new SortedArraySet<E>(elements, insertionPoint(fromElement), to);
+    }
+}
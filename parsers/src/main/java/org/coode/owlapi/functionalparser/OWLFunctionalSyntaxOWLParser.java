@@ -46,6 +46,8 @@ import java.io.Reader;
 import org.semanticweb.owlapi.io.AbstractOWLParser;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
+import org.semanticweb.owlapi.io.OWLStreamingParser;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChangeException;
 import org.semanticweb.owlapi.model.OWLOntologyFormat;
@@ -59,7 +61,7 @@ import org.semanticweb.owlapi.model.UnloadableImportException;
  * Bio-Health Informatics Group<br>
  * Date: 14-Nov-2006<br><br>
  */
-public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
+public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser implements OWLStreamingParser {
 
     @Override
     public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology) throws OWLParserException, IOException, UnloadableImportException {
@@ -68,6 +70,11 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
 
     @Override
     public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, OWLOntologyChangeException, UnloadableImportException {
+        return parse(documentSource, ontology, null, configuration);
+    }
+
+    @Override
+    public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLParserStreamHandler handler, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, UnloadableImportException {
         Reader reader = null;
         InputStream is = null;
         try {
@@ -85,6 +92,7 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
                 parser = new OWLFunctionalSyntaxParser(is);
             }
             parser.setUp(ontology, configuration);
+            parser.setStreamHandler(handler);
             return parser.parse();
         }
         catch (ParseException e) {
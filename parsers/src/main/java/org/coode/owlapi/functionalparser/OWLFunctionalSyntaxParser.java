@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.semanticweb.owlapi.io.OWLFunctionalSyntaxOntologyFormat;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
@@ -94,6 +95,8 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
 
     private Set<OWLAnnotation> currentAnnotations;
 
+    private OWLParserStreamHandler streamHandler;
+
     @Deprecated
     public void setUp(OWLOntologyManager man, OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) {
         setUp(ontology, configuration);
@@ -150,10 +153,51 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
         }
     }
 
+    /**
+     * @param handler the handler that receives the parsed axioms instead of the ontology; header changes are
+     * passed to the handler and applied to the ontology. Can be null.
+     */
+    public void setStreamHandler(OWLParserStreamHandler handler) {
+        streamHandler = handler;
+    }
+
     protected void addAxiom(OWLAxiom ax) {
         if (!(ax instanceof OWLAnnotationAxiom) || configuration.isLoadAnnotationAxioms()) {
-            AddAxiom addAxiom = new AddAxiom(ontology, ax);
-            applyChange(addAxiom);
+            if (streamHandler != null) {
+                streamHandler.handleAxiom(ax);
+            }
+            else {
+                AddAxiom addAxiom = new AddAxiom(ontology, ax);
+                applyChange(addAxiom);
+            }
+        }
+    }
+
+    protected void setOntologyID(OWLOntologyID id) {
+        applyChange(new SetOntologyID(ontology, id));
+        if (streamHandler != null) {
+            streamHandler.handleOntologyID(id);
+        }
+    }
+
+    protected void addImport(OWLImportsDeclaration decl) {
+        applyChange(new AddImport(ontology, decl));
+        if (streamHandler != null) {
+            streamHandler.handleImportsDeclaration(decl);
+        }
+    }
+
+    protected void addOntologyAnnotation(OWLAnnotation anno) {
+        applyChange(new AddOntologyAnnotation(ontology, anno));
+        if (streamHandler != null) {
+            streamHandler.handleOntologyAnnotation(anno);
+        }
+    }
+
+    protected void addPrefix(String prefixName, String prefix) {
+        prefixMap.put(prefixName, prefix);
+        if (streamHandler != null) {
+            streamHandler.handlePrefix(prefixName, prefix);
         }
     }
 
@@ -199,7 +243,7 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
         } else {
         }
         OWLOntologyID id = new OWLOntologyID(ontologyIRI, versionIRI);
-        applyChange(new SetOntologyID(ontology, id));
+        setOntologyID(id);
         label_2:
             while (true) {
                 if (jj_2_4(2)) {
@@ -208,11 +252,11 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
                 }
                 if (jj_2_5(2)) {
                     decl = ImportsDeclaration();
-                    applyChange(new AddImport(ontology, decl));
+                    addImport(decl);
                     man.makeLoadImportRequest(decl, configuration);
                 } else if (jj_2_6(2)) {
                     anno = Annotation();
-                    applyChange(new AddOntologyAnnotation(ontology, anno));
+                    addOntologyAnnotation(anno);
                     currentAnnotations.clear();
                 } else {
                     jj_consume_token(-1);
@@ -241,7 +285,7 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
         jj_consume_token(EQUALS);
         iri = FullIRI();
         jj_consume_token(CLOSEPAR);
-        prefixMap.put(prefixName, iri.toString());
+        addPrefix(prefixName, iri.toString());
     }
 
     final public IRI IRI() throws ParseException {
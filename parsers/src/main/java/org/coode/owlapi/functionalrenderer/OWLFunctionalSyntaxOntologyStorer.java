@@ -84,6 +84,10 @@ public class OWLFunctionalSyntaxOntologyStorer extends AbstractOWLOntologyStorer
                 }
                 ren.setPrefixManager(man);
             }
+            if (format instanceof OWLFunctionalSyntaxOntologyFormat) {
+                ren.setRenderingThreads(((OWLFunctionalSyntaxOntologyFormat) format)
+                        .getRenderingThreads());
+            }
             ontology.accept(ren);
             writer.flush();
         } catch (IOException e) {
@@ -47,8 +47,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
@@ -70,6 +76,9 @@ public class OWLObjectRenderer implements OWLObjectVisitor {
     int lastNewLinePos;
     private boolean writeEnitiesAsURIs;
     private OWLObject focusedObject;
+    private int renderingThreads;
+    /** number of axioms rendered by each task when rendering in parallel */
+    private static final int TASK_SIZE = 1000;
 
     @Deprecated
     public OWLObjectRenderer(OWLOntologyManager man, OWLOntology ontology, Writer writer) {
@@ -98,6 +107,24 @@ public class OWLObjectRenderer implements OWLObjectVisitor {
                 .getOWLThing();
     }
 
+    /** Creates a renderer with the same settings as the specified renderer,
+     * writing to a different writer */
+    private OWLObjectRenderer(OWLObjectRenderer renderer, Writer writer) {
+        ontology = renderer.ontology;
+        this.writer = writer;
+        prefixManager = renderer.prefixManager;
+        writeEnitiesAsURIs = renderer.writeEnitiesAsURIs;
+        focusedObject = renderer.focusedObject;
+    }
+
+    /** @param renderingThreads
+     *            the number of threads used to render the axioms of an
+     *            ontology; the output is the same as for a single thread
+     * @since 3.4.6 */
+    public void setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = renderingThreads;
+    }
+
     public void setPrefixManager(DefaultPrefixManager prefixManager) {
         this.prefixManager = prefixManager;
     }
@@ -185,20 +212,25 @@ public class OWLObjectRenderer implements OWLObjectVisitor {
             write("\n");
         }
         write("\n");
-        Set<OWLAxiom> writtenAxioms = new HashSet<OWLAxiom>();
         List<OWLEntity> signature = new ArrayList<OWLEntity>(ontology1.getSignature());
         Collections.sort(signature);
-        for (OWLEntity ent : signature) {
-            writeDeclarations(ent, writtenAxioms);
-        }
-        for (OWLEntity ent : signature) {
-            writeAxioms(ent, writtenAxioms);
-        }
-        List<OWLAxiom> remainingAxioms = new ArrayList<OWLAxiom>(ontology1.getAxioms());
-        remainingAxioms.removeAll(writtenAxioms);
-        for (OWLAxiom ax : remainingAxioms) {
-            ax.accept(this);
-            write("\n");
+        if (renderingThreads > 1) {
+            new ParallelWriter(renderingThreads).writeAxioms(ontology1, signature);
+        } else {
+            Set<OWLAxiom> writtenAxioms = new HashSet<OWLAxiom>();
+            for (OWLEntity ent : signature) {
+                writeDeclarations(ent, writtenAxioms);
+            }
+            for (OWLEntity ent : signature) {
+                writeAxioms(ent, writtenAxioms);
+            }
+            List<OWLAxiom> remainingAxioms = new ArrayList<OWLAxiom>(
+                    ontology1.getAxioms());
+            remainingAxioms.removeAll(writtenAxioms);
+            for (OWLAxiom ax : remainingAxioms) {
+                ax.accept(this);
+                write("\n");
+            }
         }
         write(")");
         // write("\n// ");
@@ -221,8 +253,31 @@ public class OWLObjectRenderer implements OWLObjectVisitor {
         setFocusedObject(entity);
         writtenAxioms.addAll(writeDeclarations(entity, alreadyWrittenAxioms));
         writtenAxioms.addAll(writeAnnotations(entity));
-        List<OWLAxiom> axs = new ArrayList<OWLAxiom>();
-        axs.addAll(entity.accept(new OWLEntityVisitorEx<Set<? extends OWLAxiom>>() {
+        List<OWLAxiom> axs = new ArrayList<OWLAxiom>(getAxioms(entity));
+        Collections.sort(axs);
+        for (OWLAxiom ax : axs) {
+            if (alreadyWrittenAxioms.contains(ax) || isWrittenSeparately(ax)) {
+                continue;
+            }
+            ax.accept(this);
+            writtenAxioms.add(ax);
+            write("\n");
+        }
+        alreadyWrittenAxioms.addAll(writtenAxioms);
+        return writtenAxioms;
+    }
+
+    /** @return true if the axiom is not written with the axioms of its entities */
+    private static boolean isWrittenSeparately(OWLAxiom ax) {
+        if (ax.getAxiomType().equals(AxiomType.DIFFERENT_INDIVIDUALS)) {
+            return true;
+        }
+        return ax.getAxiomType().equals(AxiomType.DISJOINT_CLASSES)
+                && ((OWLDisjointClassesAxiom) ax).getClassExpressions().size() > 2;
+    }
+
+    private Set<? extends OWLAxiom> getAxioms(OWLEntity entity) {
+        return entity.accept(new OWLEntityVisitorEx<Set<? extends OWLAxiom>>() {
             @Override
             public Set<? extends OWLAxiom> visit(OWLClass cls) {
                 return ontology.getAxioms(cls);
@@ -252,25 +307,181 @@ public class OWLObjectRenderer implements OWLObjectVisitor {
             public Set<? extends OWLAxiom> visit(OWLAnnotationProperty property) {
                 return ontology.getAxioms(property);
             }
-        }));
-        Collections.sort(axs);
-        for (OWLAxiom ax : axs) {
-            if (alreadyWrittenAxioms.contains(ax)) {
-                continue;
+        });
+    }
+
+    /** A run of axioms written with the same focused object. */
+    private static class Section {
+        final OWLObject focus;
+        final List<OWLAxiom> axioms;
+        final boolean sort;
+
+        Section(OWLObject focus, List<OWLAxiom> axioms, boolean sort) {
+            this.focus = focus;
+            this.axioms = axioms;
+            this.sort = sort;
+        }
+    }
+
+    private static class StringBuilderWriter extends Writer {
+        private final StringBuilder buffer;
+
+        StringBuilderWriter(StringBuilder buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str) {
+            buffer.append(str);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    /** Renders the axioms of an ontology on worker threads. The axioms to write
+     * for each entity are selected on the calling thread, in the same order as
+     * in {@link OWLObjectRenderer#visit(OWLOntology)}, so that the ontology is
+     * only accessed by one thread; sorting and rendering is done by tasks that
+     * each write to a pooled buffer, and the buffers are written out in the
+     * order in which the tasks were submitted. */
+    private class ParallelWriter {
+        private final ExecutorService executor;
+        private final int maxPendingTasks;
+        private final LinkedList<Future<StringBuilder>> pendingTasks = new LinkedList<Future<StringBuilder>>();
+        private final LinkedList<StringBuilder> buffers = new LinkedList<StringBuilder>();
+        private List<Section> sections = new ArrayList<Section>();
+        private int sectionsSize = 0;
+
+        ParallelWriter(int threads) {
+            executor = Executors.newFixedThreadPool(threads);
+            maxPendingTasks = threads * 4;
+        }
+
+        void writeAxioms(OWLOntology ont, List<OWLEntity> signature) {
+            try {
+                Set<OWLAxiom> writtenAxioms = new HashSet<OWLAxiom>();
+                for (OWLEntity ent : signature) {
+                    List<OWLAxiom> declarations = new ArrayList<OWLAxiom>();
+                    for (OWLAxiom ax : ont.getDeclarationAxioms(ent)) {
+                        if (writtenAxioms.add(ax)) {
+                            declarations.add(ax);
+                        }
+                    }
+                    add(focusedObject, declarations, false);
+                }
+                for (OWLEntity ent : signature) {
+                    setFocusedObject(ent);
+                    List<OWLAxiom> annotations = new ArrayList<OWLAxiom>(
+                            ent.getAnnotationAssertionAxioms(ont));
+                    List<OWLAxiom> axioms = new ArrayList<OWLAxiom>();
+                    for (OWLAxiom ax : getAxioms(ent)) {
+                        if (!writtenAxioms.contains(ax) && !isWrittenSeparately(ax)) {
+                            axioms.add(ax);
+                        }
+                    }
+                    writtenAxioms.addAll(annotations);
+                    writtenAxioms.addAll(axioms);
+                    add(ent, annotations, false);
+                    add(ent, axioms, true);
+                }
+                List<OWLAxiom> remainingAxioms = new ArrayList<OWLAxiom>(ont.getAxioms());
+                remainingAxioms.removeAll(writtenAxioms);
+                add(focusedObject, remainingAxioms, false);
+                submit();
+                while (!pendingTasks.isEmpty()) {
+                    writeNext();
+                }
+            } finally {
+                executor.shutdownNow();
             }
-            if (ax.getAxiomType().equals(AxiomType.DIFFERENT_INDIVIDUALS)) {
-                continue;
+        }
+
+        private void add(OWLObject focus, List<OWLAxiom> axioms, boolean sort) {
+            if (sort) {
+                // sorted runs cannot be split
+                add(new Section(focus, axioms, true));
+                return;
             }
-            if (ax.getAxiomType().equals(AxiomType.DISJOINT_CLASSES)
-                    && ((OWLDisjointClassesAxiom) ax).getClassExpressions().size() > 2) {
-                continue;
+            for (int i = 0; i < axioms.size(); i += TASK_SIZE) {
+                add(new Section(focus, axioms.subList(i,
+                        Math.min(i + TASK_SIZE, axioms.size())), false));
             }
-            ax.accept(this);
-            writtenAxioms.add(ax);
-            write("\n");
         }
-        alreadyWrittenAxioms.addAll(writtenAxioms);
-        return writtenAxioms;
+
+        private void add(Section section) {
+            if (section.axioms.isEmpty()) {
+                return;
+            }
+            sections.add(section);
+            sectionsSize += section.axioms.size();
+            if (sectionsSize >= TASK_SIZE) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            if (sections.isEmpty()) {
+                return;
+            }
+            final List<Section> task = sections;
+            final StringBuilder buffer = buffers.isEmpty() ? new StringBuilder()
+                    : buffers.removeFirst();
+            pendingTasks.add(executor.submit(new Callable<StringBuilder>() {
+                @Override
+                public StringBuilder call() {
+                    OWLObjectRenderer renderer = new OWLObjectRenderer(
+                            OWLObjectRenderer.this, new StringBuilderWriter(buffer));
+                    for (Section section : task) {
+                        renderer.setFocusedObject(section.focus);
+                        if (section.sort) {
+                            Collections.sort(section.axioms);
+                        }
+                        for (OWLAxiom ax : section.axioms) {
+                            ax.accept(renderer);
+                            renderer.write("\n");
+                        }
+                    }
+                    return buffer;
+                }
+            }));
+            sections = new ArrayList<Section>();
+            sectionsSize = 0;
+            while (pendingTasks.size() > maxPendingTasks) {
+                writeNext();
+            }
+        }
+
+        private void writeNext() {
+            StringBuilder buffer;
+            try {
+                buffer = pendingTasks.removeFirst().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof OWLRuntimeException) {
+                    throw (OWLRuntimeException) e.getCause();
+                }
+                throw new OWLRuntimeException(e.getCause());
+            }
+            write(buffer.toString());
+            buffer.setLength(0);
+            buffers.add(buffer);
+        }
     }
 
     /** Writes out the declaration axioms for the specified entity
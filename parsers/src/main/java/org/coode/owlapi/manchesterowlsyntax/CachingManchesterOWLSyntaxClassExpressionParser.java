@@ -0,0 +1,212 @@
+package org.coode.owlapi.manchesterowlsyntax;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.semanticweb.owlapi.expression.OWLEntityChecker;
+import org.semanticweb.owlapi.expression.OWLExpressionParser;
+import org.semanticweb.owlapi.expression.ParserException;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+
+/** A class expression parser for the Manchester OWL Syntax meant to be shared
+ * by many threads parsing the same expressions repeatedly. Each thread reuses
+ * its own {@link ManchesterOWLSyntaxEditorParser}, and parsed expressions are
+ * kept in a least recently used cache keyed by the expression text with runs
+ * of whitespace outside quotes collapsed. Failed parses are not cached.<br>
+ * The cache depends on the names known to the entity checker, so it is cleared
+ * when the entity checker is replaced, when {@link #invalidate()} is called
+ * and, if this parser is registered as a change listener with the manager of
+ * the ontologies the entity checker draws on, whenever they change.
+ *
+ * @since 3.4.6 */
+public class CachingManchesterOWLSyntaxClassExpressionParser implements
+        OWLExpressionParser<OWLClassExpression>, OWLOntologyChangeListener {
+    /** default maximum number of cached expressions */
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+    private final OWLDataFactory dataFactory;
+    private volatile OWLEntityChecker checker;
+    private final Map<String, OWLClassExpression> cache;
+    // incremented on invalidation, so that parses started before it are not
+    // cached after it
+    private long generation = 0;
+    private final ThreadLocal<ManchesterOWLSyntaxEditorParser> parsers = new ThreadLocal<ManchesterOWLSyntaxEditorParser>() {
+        @Override
+        protected ManchesterOWLSyntaxEditorParser initialValue() {
+            return new ManchesterOWLSyntaxEditorParser(dataFactory, "");
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    private final AtomicLong maxParseNanos = new AtomicLong();
+
+    /** @param dataFactory
+     *            the data factory for the parsed expressions
+     * @param checker
+     *            the entity checker resolving names */
+    public CachingManchesterOWLSyntaxClassExpressionParser(OWLDataFactory dataFactory,
+            OWLEntityChecker checker) {
+        this(dataFactory, checker, DEFAULT_CACHE_SIZE);
+    }
+
+    /** @param dataFactory
+     *            the data factory for the parsed expressions
+     * @param checker
+     *            the entity checker resolving names
+     * @param cacheSize
+     *            the maximum number of cached expressions */
+    public CachingManchesterOWLSyntaxClassExpressionParser(OWLDataFactory dataFactory,
+            OWLEntityChecker checker, final int cacheSize) {
+        this.dataFactory = dataFactory;
+        this.checker = checker;
+        cache = new LinkedHashMap<String, OWLClassExpression>(16, 0.75f, true) {
+            private static final long serialVersionUID = 30402L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OWLClassExpression> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public OWLClassExpression parse(String expression) throws ParserException {
+        String key = normalise(expression);
+        long startGeneration;
+        synchronized (cache) {
+            OWLClassExpression cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            startGeneration = generation;
+        }
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        OWLClassExpression parsed;
+        try {
+            ManchesterOWLSyntaxEditorParser parser = parsers.get();
+            parser.setOWLEntityChecker(checker);
+            parser.setStringToParse(expression);
+            parsed = parser.parseClassExpression();
+        } catch (ParserException e) {
+            failures.incrementAndGet();
+            throw e;
+        } finally {
+            recordParseTime(System.nanoTime() - start);
+        }
+        synchronized (cache) {
+            if (generation == startGeneration) {
+                cache.put(key, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    private void recordParseTime(long nanos) {
+        parseNanos.addAndGet(nanos);
+        long max = maxParseNanos.get();
+        while (nanos > max && !maxParseNanos.compareAndSet(max, nanos)) {
+            max = maxParseNanos.get();
+        }
+    }
+
+    /** Replaces the entity checker and clears the cache. */
+    @Override
+    public void setOWLEntityChecker(OWLEntityChecker entityChecker) {
+        checker = entityChecker;
+        invalidate();
+    }
+
+    /** Clears the cache; to be called when the names known to the entity
+     * checker change. */
+    public void invalidate() {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    /** Clears the cache if any change was applied. */
+    @Override
+    public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+        if (!changes.isEmpty()) {
+            invalidate();
+        }
+    }
+
+    /** @return the number of parse calls answered from the cache */
+    public long getCacheHits() {
+        return hits.get();
+    }
+
+    /** @return the number of parse calls that had to parse the expression */
+    public long getCacheMisses() {
+        return misses.get();
+    }
+
+    /** @return the number of parses that failed */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /** @return the average time of a parse, excluding cache hits, in
+     *         nanoseconds */
+    public long getAverageParseNanos() {
+        long count = misses.get();
+        return count == 0 ? 0 : parseNanos.get() / count;
+    }
+
+    /** @return the maximum time of a parse, in nanoseconds */
+    public long getMaxParseNanos() {
+        return maxParseNanos.get();
+    }
+
+    /** @return the number of cached expressions */
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /** Collapses runs of whitespace outside quoted names and literals into
+     * single spaces and trims the result, so that expressions differing only
+     * in layout share a cache entry.
+     *
+     * @param expression
+     *            the expression to normalise
+     * @return the normalised expression */
+    static String normalise(String expression) {
+        StringBuilder b = new StringBuilder(expression.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                pendingSpace = b.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                b.append(' ');
+                pendingSpace = false;
+            }
+            b.append(c);
+            if (quote == 0) {
+                if (c == '"' || c == '\'') {
+                    quote = c;
+                }
+            } else if (c == '\\' && i + 1 < expression.length()) {
+                b.append(expression.charAt(++i));
+            } else if (c == quote) {
+                quote = 0;
+            }
+        }
+        return b.toString();
+    }
+}
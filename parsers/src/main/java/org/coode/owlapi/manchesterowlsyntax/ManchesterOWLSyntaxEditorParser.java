@@ -411,6 +411,20 @@ public class ManchesterOWLSyntaxEditorParser {
         tokenIndex = 0;
     }
 
+    /** Replaces the string being parsed, so that one parser, whose construction
+     * is much more expensive than tokenizing, can be reused for many strings.
+     * The entity checker and other settings are kept.
+     *
+     * @param s
+     *            the new string to parse
+     * @since 3.4.6 */
+    public void setStringToParse(String s) {
+        tokens.clear();
+        tokens.addAll(getTokenizer(s).tokenize());
+        tokenIndex = 0;
+        potentialKeywords.clear();
+    }
+
     public String getBase() {
         return base;
     }
@@ -39,6 +39,7 @@
 package org.coode.owlapi.owlxmlparser;
 
 import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -105,6 +106,10 @@ public abstract class AbstractOWLElementHandler<O> implements OWLElementHandler<
         return handler.getDataFactory();
     }
 
+    protected OWLParserStreamHandler getStreamHandler() {
+        return handler.getStreamHandler();
+    }
+
     @Override
     public void setParentHandler(OWLElementHandler<?> handler) {
         this.parentHandler = handler;
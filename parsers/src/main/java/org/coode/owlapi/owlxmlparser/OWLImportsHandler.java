@@ -65,6 +65,9 @@ public class OWLImportsHandler extends AbstractOWLElementHandler<OWLOntology> {
         IRI ontIRI = getIRI(getText().trim());
         OWLImportsDeclaration decl = getOWLDataFactory().getOWLImportsDeclaration(ontIRI);
         getOWLOntologyManager().applyChange(new AddImport(getOntology(), decl));
+        if (getStreamHandler() != null) {
+            getStreamHandler().handleImportsDeclaration(decl);
+        }
         getOWLOntologyManager().makeLoadImportRequest(decl, getConfiguration());
     }
 
@@ -73,11 +73,18 @@ public class OWLOntologyHandler extends AbstractOWLElementHandler<OWLOntology> {
 	public void attribute(String name, String value) throws OWLParserException {
         if (name.equals("ontologyIRI")) {
             OWLOntologyID newID = new OWLOntologyID(IRI.create(value), getOntology().getOntologyID().getVersionIRI());
-            getOWLOntologyManager().applyChange(new SetOntologyID(getOntology(), newID));
+            setOntologyID(newID);
         }
         if(name.equals("versionIRI")) {
             OWLOntologyID newID = new OWLOntologyID(getOntology().getOntologyID().getOntologyIRI(), IRI.create(value));
-            getOWLOntologyManager().applyChange(new SetOntologyID(getOntology(), newID));
+            setOntologyID(newID);
+        }
+    }
+
+    private void setOntologyID(OWLOntologyID newID) {
+        getOWLOntologyManager().applyChange(new SetOntologyID(getOntology(), newID));
+        if (getStreamHandler() != null) {
+            getStreamHandler().handleOntologyID(newID);
         }
     }
 
@@ -86,7 +93,12 @@ public class OWLOntologyHandler extends AbstractOWLElementHandler<OWLOntology> {
 	public void handleChild(AbstractOWLAxiomElementHandler handler) throws OWLXMLParserException {
         OWLAxiom axiom = handler.getOWLObject();
         if(!axiom.isAnnotationAxiom() || getConfiguration().isLoadAnnotationAxioms()) {
-            getOWLOntologyManager().applyChange(new AddAxiom(getOntology(), axiom));
+            if (getStreamHandler() != null) {
+                getStreamHandler().handleAxiom(axiom);
+            }
+            else {
+                getOWLOntologyManager().applyChange(new AddAxiom(getOntology(), axiom));
+            }
         }
     }
 
@@ -104,6 +116,9 @@ public class OWLOntologyHandler extends AbstractOWLElementHandler<OWLOntology> {
     @Override
 	public void handleChild(OWLAnnotationElementHandler handler) throws OWLXMLParserException {
         getOWLOntologyManager().applyChange(new AddOntologyAnnotation(getOntology(), handler.getOWLObject()));
+        if (getStreamHandler() != null) {
+            getStreamHandler().handleOntologyAnnotation(handler.getOWLObject());
+        }
     }
 
 
@@ -50,6 +50,8 @@ import org.semanticweb.owlapi.io.AbstractOWLParser;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.io.OWLParserSAXException;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
+import org.semanticweb.owlapi.io.OWLStreamingParser;
 import org.semanticweb.owlapi.io.OWLXMLOntologyFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChangeException;
@@ -67,7 +69,7 @@ import org.xml.sax.SAXException;
  * Bio-Health Informatics Group<br>
  * Date: 13-Dec-2006<br><br>
  */
-public class OWLXMLParser extends AbstractOWLParser {
+public class OWLXMLParser extends AbstractOWLParser implements OWLStreamingParser {
 
 
     @Override
@@ -77,6 +79,11 @@ public class OWLXMLParser extends AbstractOWLParser {
 
     @Override
     public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, OWLOntologyChangeException, UnloadableImportException {
+        return parse(documentSource, ontology, null, configuration);
+    }
+
+    @Override
+    public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLParserStreamHandler streamHandler, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, UnloadableImportException {
     	InputSource isrc = null;
     	try {
             System.setProperty("entityExpansionLimit", "100000000");
@@ -86,6 +93,7 @@ public class OWLXMLParser extends AbstractOWLParser {
             SAXParser parser = factory.newSAXParser();
             isrc = getInputSource(documentSource, configuration);
             OWLXMLParserHandler handler = new OWLXMLParserHandler(ontology, configuration);
+            handler.setStreamHandler(streamHandler);
             parser.parse(isrc, handler);
             Map<String, String> prefix2NamespaceMap = handler.getPrefixName2PrefixMap();
             for(String prefix : prefix2NamespaceMap.keySet()) {
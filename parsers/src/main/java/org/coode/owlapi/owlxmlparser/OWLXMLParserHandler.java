@@ -51,6 +51,7 @@ import java.util.Map;
 import java.util.Stack;
 
 import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
 import org.semanticweb.owlapi.io.OWLParserURISyntaxException;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDataFactory;
@@ -95,6 +96,8 @@ public class OWLXMLParserHandler extends DefaultHandler {
 
     private OWLOntologyLoaderConfiguration configuration;
 
+    private OWLParserStreamHandler streamHandler;
+
 
     @Deprecated
     public OWLXMLParserHandler(OWLOntologyManager owlOntologyManager, OWLOntology ontology) {
@@ -836,6 +839,21 @@ public class OWLXMLParserHandler extends DefaultHandler {
         return configuration;
     }
 
+    /**
+     * @param streamHandler the handler that receives the parsed axioms instead of the ontology; header changes are
+     * passed to the handler and applied to the ontology. Can be null.
+     */
+    public void setStreamHandler(OWLParserStreamHandler streamHandler) {
+        this.streamHandler = streamHandler;
+    }
+
+    /**
+     * @return the stream handler, or null if the parsed axioms are added to the ontology
+     */
+    public OWLParserStreamHandler getStreamHandler() {
+        return streamHandler;
+    }
+
     /**
      * Gets the line number that the parser is at.
      *
@@ -971,10 +989,10 @@ public class OWLXMLParserHandler extends DefaultHandler {
                 String iriString = attributes.getValue(OWLXMLVocabulary.IRI_ATTRIBUTE.getShortName());
                 if (name != null && iriString != null) {
                     if (name.endsWith(":")) {
-                        prefixName2PrefixMap.put(name, iriString);
+                        addPrefix(name, iriString);
                     }
                     else {
-                        prefixName2PrefixMap.put(name + ":", iriString);
+                        addPrefix(name + ":", iriString);
                     }
                 }
                 return;
@@ -1044,7 +1062,14 @@ public class OWLXMLParserHandler extends DefaultHandler {
 
     @Override
     public void startPrefixMapping(String prefix, String uri) throws SAXException {
-        prefixName2PrefixMap.put(prefix, uri);
+        addPrefix(prefix, uri);
+    }
+
+    private void addPrefix(String prefixName, String prefix) {
+        prefixName2PrefixMap.put(prefixName, prefix);
+        if (streamHandler != null) {
+            streamHandler.handlePrefix(prefixName, prefix);
+        }
     }
 
 
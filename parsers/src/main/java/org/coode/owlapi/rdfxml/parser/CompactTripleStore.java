@@ -0,0 +1,662 @@
+package org.coode.owlapi.rdfxml.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+/** Stores the triples that the {@link OWLRDFConsumer} could not consume while
+ * streaming. IRIs are replaced with int ids from a dictionary, and the triples
+ * of a subject are kept in a block of int arrays indexed by the subject id.
+ * When the number of triples held in memory exceeds the spill threshold, whole
+ * subject blocks are written to a temporary file and read back the next time
+ * the subject is accessed. Each block takes an extent of the file whose size is
+ * a power of two; the extent is freed when the block is read back and reused
+ * by the next block of the same size class, so that subjects that are spilled
+ * repeatedly do not make the file grow.
+ * <p>
+ * Some predicates can be marked as single valued: a subject has at most one
+ * object for such a predicate, and adding a new triple replaces the old one.
+ * Triples with single valued predicates are not reported by
+ * {@link #getPredicates(IRI, boolean)} unless requested, since they are never
+ * the root triples of an axiom.
+ *
+ * @since 3.4.6 */
+class CompactTripleStore {
+    private static final int[] EMPTY_IDS = new int[0];
+    private static final OWLLiteral[] EMPTY_LITERALS = new OWLLiteral[0];
+    private final OWLDataFactory dataFactory;
+    private final int spillThreshold;
+    // open addressing table IRI -> id
+    private IRI[] keys = new IRI[1024];
+    private int[] values = new int[1024];
+    // id -> IRI
+    private IRI[] iris = new IRI[512];
+    private int iriCount = 0;
+    private final BitSet singleValuedPredicates = new BitSet();
+    // subject id -> triples
+    private Block[] blocks = new Block[512];
+    // subject id -> position in the spill file plus one, zero if not spilled
+    private long[] spillOffsets;
+    private int triplesInMemory = 0;
+    private int spillCursor = 0;
+    private File spillFile;
+    private RandomAccessFile spill;
+    // size class -> positions of the free extents of that size
+    private final List<List<Long>> freeExtents = new ArrayList<List<Long>>();
+
+    /** @param dataFactory
+     *            data factory used to recreate the spilled literals
+     * @param spillThreshold
+     *            the number of triples kept in memory before blocks are spilled
+     *            to disk; zero or a negative value disables spilling */
+    CompactTripleStore(OWLDataFactory dataFactory, int spillThreshold) {
+        this.dataFactory = dataFactory;
+        this.spillThreshold = spillThreshold;
+    }
+
+    private static final class Block {
+        // predicate and object ids, in pairs
+        int[] resources = EMPTY_IDS;
+        int resourceSize;
+        int[] literalPredicates = EMPTY_IDS;
+        OWLLiteral[] literals = EMPTY_LITERALS;
+        int literalSize;
+
+        Block() {}
+
+        int size() {
+            return resourceSize / 2 + literalSize;
+        }
+
+        void addResource(int predicate, int object) {
+            if (resourceSize + 2 > resources.length) {
+                resources = Arrays.copyOf(resources, Math.max(4, resources.length * 2));
+            }
+            resources[resourceSize++] = predicate;
+            resources[resourceSize++] = object;
+        }
+
+        void removeResource(int index) {
+            resourceSize -= 2;
+            resources[index] = resources[resourceSize];
+            resources[index + 1] = resources[resourceSize + 1];
+        }
+
+        void addLiteral(int predicate, OWLLiteral literal) {
+            if (literalSize == literals.length) {
+                int newSize = Math.max(2, literals.length * 2);
+                literalPredicates = Arrays.copyOf(literalPredicates, newSize);
+                literals = Arrays.copyOf(literals, newSize);
+            }
+            literalPredicates[literalSize] = predicate;
+            literals[literalSize++] = literal;
+        }
+
+        void removeLiteral(int index) {
+            literalSize--;
+            literalPredicates[index] = literalPredicates[literalSize];
+            literals[index] = literals[literalSize];
+            literals[literalSize] = null;
+        }
+    }
+
+    // IRI dictionary
+    private static int hash(IRI iri, int length) {
+        int h = iri.hashCode();
+        h ^= h >>> 16;
+        return h & length - 1;
+    }
+
+    private int lookup(IRI iri) {
+        if (iri == null) {
+            return -1;
+        }
+        int i = hash(iri, keys.length);
+        while (keys[i] != null) {
+            if (keys[i].equals(iri)) {
+                return values[i];
+            }
+            i = i + 1 & keys.length - 1;
+        }
+        return -1;
+    }
+
+    private int id(IRI iri) {
+        int i = hash(iri, keys.length);
+        while (keys[i] != null) {
+            if (keys[i].equals(iri)) {
+                return values[i];
+            }
+            i = i + 1 & keys.length - 1;
+        }
+        int id = iriCount++;
+        keys[i] = iri;
+        values[i] = id;
+        if (id == iris.length) {
+            iris = Arrays.copyOf(iris, iris.length * 2);
+        }
+        iris[id] = iri;
+        if (iriCount * 4 > keys.length * 3) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        IRI[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new IRI[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = hash(oldKeys[j], keys.length);
+                while (keys[i] != null) {
+                    i = i + 1 & keys.length - 1;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** @param predicate
+     *            the predicate to mark as single valued */
+    public void addSingleValuedPredicate(IRI predicate) {
+        singleValuedPredicates.set(id(predicate));
+    }
+
+    /** @param predicate
+     *            the predicate to check
+     * @return true if the predicate is single valued */
+    public boolean isSingleValuedPredicate(IRI predicate) {
+        int id = lookup(predicate);
+        return id >= 0 && singleValuedPredicates.get(id);
+    }
+
+    // blocks
+    private Block getBlock(int subject, boolean create) {
+        if (subject < 0) {
+            return null;
+        }
+        if (subject >= blocks.length) {
+            if (!create) {
+                return null;
+            }
+            blocks = Arrays.copyOf(blocks, Math.max(blocks.length * 2, subject + 1));
+        }
+        Block block = blocks[subject];
+        if (block == null) {
+            if (spillOffsets != null && subject < spillOffsets.length
+                    && spillOffsets[subject] != 0) {
+                block = readBlock(spillOffsets[subject] - 1);
+                spillOffsets[subject] = 0;
+                blocks[subject] = block;
+                triplesInMemory += block.size();
+                spillIfNeeded(subject);
+            } else if (create) {
+                block = new Block();
+                blocks[subject] = block;
+            }
+        }
+        return block;
+    }
+
+    private void releaseIfEmpty(int subject, Block block) {
+        if (block.resourceSize == 0 && block.literalSize == 0) {
+            blocks[subject] = null;
+        }
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @param object
+     *            object */
+    public void addTriple(IRI subject, IRI predicate, IRI object) {
+        int p = id(predicate);
+        int o = id(object);
+        int s = id(subject);
+        Block block = getBlock(s, true);
+        boolean singleValued = singleValuedPredicates.get(p);
+        for (int i = 0; i < block.resourceSize; i += 2) {
+            if (block.resources[i] == p) {
+                if (singleValued) {
+                    block.resources[i + 1] = o;
+                    return;
+                }
+                if (block.resources[i + 1] == o) {
+                    return;
+                }
+            }
+        }
+        block.addResource(p, o);
+        triplesInMemory++;
+        spillIfNeeded(s);
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @param object
+     *            object */
+    public void addTriple(IRI subject, IRI predicate, OWLLiteral object) {
+        int p = id(predicate);
+        int s = id(subject);
+        Block block = getBlock(s, true);
+        boolean singleValued = singleValuedPredicates.get(p);
+        for (int i = 0; i < block.literalSize; i++) {
+            if (block.literalPredicates[i] == p) {
+                if (singleValued) {
+                    block.literals[i] = object;
+                    return;
+                }
+                if (block.literals[i].equals(object)) {
+                    return;
+                }
+            }
+        }
+        block.addLiteral(p, object);
+        triplesInMemory++;
+        spillIfNeeded(s);
+    }
+
+    /** @return a snapshot of the subjects that have triples */
+    public List<IRI> getSubjects() {
+        List<IRI> subjects = new ArrayList<IRI>();
+        for (int s = 0; s < iriCount; s++) {
+            if (s < blocks.length && blocks[s] != null || spillOffsets != null
+                    && s < spillOffsets.length && spillOffsets[s] != 0) {
+                subjects.add(iris[s]);
+            }
+        }
+        return subjects;
+    }
+
+    /** @param subject
+     *            subject
+     * @param includeSingleValued
+     *            true if single valued predicates should be included
+     * @return the predicates of the triples with the specified subject */
+    public Set<IRI> getPredicates(IRI subject, boolean includeSingleValued) {
+        Set<IRI> predicates = new HashSet<IRI>();
+        Block block = getBlock(lookup(subject), false);
+        if (block != null) {
+            for (int i = 0; i < block.resourceSize; i += 2) {
+                int p = block.resources[i];
+                if (includeSingleValued || !singleValuedPredicates.get(p)) {
+                    predicates.add(iris[p]);
+                }
+            }
+            for (int i = 0; i < block.literalSize; i++) {
+                int p = block.literalPredicates[i];
+                if (includeSingleValued || !singleValuedPredicates.get(p)) {
+                    predicates.add(iris[p]);
+                }
+            }
+        }
+        return predicates;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @param consume
+     *            true if the triple should be removed
+     * @return an object for the subject and predicate, or null if there is none */
+    public IRI getResourceObject(IRI subject, IRI predicate, boolean consume) {
+        int p = lookup(predicate);
+        if (p < 0) {
+            return null;
+        }
+        int s = lookup(subject);
+        Block block = getBlock(s, false);
+        if (block == null) {
+            return null;
+        }
+        for (int i = 0; i < block.resourceSize; i += 2) {
+            if (block.resources[i] == p) {
+                IRI object = iris[block.resources[i + 1]];
+                if (consume) {
+                    block.removeResource(i);
+                    triplesInMemory--;
+                    releaseIfEmpty(s, block);
+                }
+                return object;
+            }
+        }
+        return null;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @return the objects for the subject and predicate */
+    public Set<IRI> getResourceObjects(IRI subject, IRI predicate) {
+        Set<IRI> result = new HashSet<IRI>();
+        int p = lookup(predicate);
+        Block block = p < 0 ? null : getBlock(lookup(subject), false);
+        if (block != null) {
+            for (int i = 0; i < block.resourceSize; i += 2) {
+                if (block.resources[i] == p) {
+                    result.add(iris[block.resources[i + 1]]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @param consume
+     *            true if the triple should be removed
+     * @return a literal for the subject and predicate, or null if there is none */
+    public OWLLiteral getLiteralObject(IRI subject, IRI predicate, boolean consume) {
+        int p = lookup(predicate);
+        if (p < 0) {
+            return null;
+        }
+        int s = lookup(subject);
+        Block block = getBlock(s, false);
+        if (block == null) {
+            return null;
+        }
+        for (int i = 0; i < block.literalSize; i++) {
+            if (block.literalPredicates[i] == p) {
+                OWLLiteral object = block.literals[i];
+                if (consume) {
+                    block.removeLiteral(i);
+                    triplesInMemory--;
+                    releaseIfEmpty(s, block);
+                }
+                return object;
+            }
+        }
+        return null;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @return the literals for the subject and predicate */
+    public Set<OWLLiteral> getLiteralObjects(IRI subject, IRI predicate) {
+        Set<OWLLiteral> result = new HashSet<OWLLiteral>();
+        int p = lookup(predicate);
+        Block block = p < 0 ? null : getBlock(lookup(subject), false);
+        if (block != null) {
+            for (int i = 0; i < block.literalSize; i++) {
+                if (block.literalPredicates[i] == p) {
+                    result.add(block.literals[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @param object
+     *            object
+     * @param consume
+     *            true if the triple should be removed
+     * @return true if the triple is present */
+    public boolean containsTriple(IRI subject, IRI predicate, IRI object,
+            boolean consume) {
+        int p = lookup(predicate);
+        int o = lookup(object);
+        if (p < 0 || o < 0) {
+            return false;
+        }
+        int s = lookup(subject);
+        Block block = getBlock(s, false);
+        if (block == null) {
+            return false;
+        }
+        for (int i = 0; i < block.resourceSize; i += 2) {
+            if (block.resources[i] == p && block.resources[i + 1] == o) {
+                if (consume) {
+                    block.removeResource(i);
+                    triplesInMemory--;
+                    releaseIfEmpty(s, block);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @param object
+     *            object
+     * @param consume
+     *            true if the triple should be removed
+     * @return true if the triple is present */
+    public boolean containsTriple(IRI subject, IRI predicate, OWLLiteral object,
+            boolean consume) {
+        int p = lookup(predicate);
+        if (p < 0) {
+            return false;
+        }
+        int s = lookup(subject);
+        Block block = getBlock(s, false);
+        if (block == null) {
+            return false;
+        }
+        for (int i = 0; i < block.literalSize; i++) {
+            if (block.literalPredicates[i] == p && block.literals[i].equals(object)) {
+                if (consume) {
+                    block.removeLiteral(i);
+                    triplesInMemory--;
+                    releaseIfEmpty(s, block);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** @param subject
+     *            subject
+     * @param predicate
+     *            predicate
+     * @return true if there is a triple with the specified subject and
+     *         predicate */
+    public boolean hasPredicate(IRI subject, IRI predicate) {
+        int p = lookup(predicate);
+        Block block = p < 0 ? null : getBlock(lookup(subject), false);
+        if (block == null) {
+            return false;
+        }
+        for (int i = 0; i < block.resourceSize; i += 2) {
+            if (block.resources[i] == p) {
+                return true;
+            }
+        }
+        for (int i = 0; i < block.literalSize; i++) {
+            if (block.literalPredicates[i] == p) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Removes all triples and deletes the spill file, if any. The dictionary
+     * is kept, so that single valued predicates are still recognised. */
+    public void clear() {
+        Arrays.fill(blocks, null);
+        spillOffsets = null;
+        triplesInMemory = 0;
+        spillCursor = 0;
+        freeExtents.clear();
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                // nothing to do, the file is deleted next
+            }
+            spill = null;
+            spillFile.delete();
+            spillFile = null;
+        }
+    }
+
+    // spilling
+    private void spillIfNeeded(int current) {
+        if (spillThreshold <= 0 || triplesInMemory <= spillThreshold) {
+            return;
+        }
+        if (spillOffsets == null || spillOffsets.length < blocks.length) {
+            spillOffsets = spillOffsets == null ? new long[blocks.length] : Arrays
+                    .copyOf(spillOffsets, blocks.length);
+        }
+        int target = spillThreshold / 2;
+        int checked = 0;
+        while (triplesInMemory > target && checked < blocks.length) {
+            if (spillCursor >= blocks.length) {
+                spillCursor = 0;
+            }
+            int s = spillCursor++;
+            checked++;
+            Block block = blocks[s];
+            if (block != null && s != current) {
+                spillOffsets[s] = writeBlock(block) + 1;
+                blocks[s] = null;
+                triplesInMemory -= block.size();
+            }
+        }
+    }
+
+    private long writeBlock(Block block) {
+        try {
+            if (spill == null) {
+                spillFile = File.createTempFile("owlapi-triples", ".bin");
+                spillFile.deleteOnExit();
+                spill = new RandomAccessFile(spillFile, "rw");
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(block.resourceSize);
+            for (int i = 0; i < block.resourceSize; i++) {
+                out.writeInt(block.resources[i]);
+            }
+            out.writeInt(block.literalSize);
+            for (int i = 0; i < block.literalSize; i++) {
+                OWLLiteral literal = block.literals[i];
+                out.writeInt(block.literalPredicates[i]);
+                writeString(out, literal.getLiteral());
+                writeString(out, literal.getLang());
+                out.writeInt(literal.isRDFPlainLiteral() ? -1 : id(literal
+                        .getDatatype().getIRI()));
+            }
+            out.flush();
+            int sizeClass = sizeClass(bytes.size());
+            long position;
+            List<Long> free = sizeClass < freeExtents.size() ? freeExtents
+                    .get(sizeClass) : null;
+            if (free != null && !free.isEmpty()) {
+                position = free.remove(free.size() - 1);
+            } else {
+                // reserve the whole extent, so that the next one starts after it
+                position = spill.length();
+                spill.setLength(position + (1L << sizeClass));
+            }
+            spill.seek(position);
+            spill.writeInt(bytes.size());
+            spill.write(bytes.toByteArray());
+            return position;
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    /** @return the size class of a block of the specified size: the extent
+     *         holding it, including its length, has 2^class bytes */
+    private static int sizeClass(int size) {
+        return 32 - Integer.numberOfLeadingZeros(size + 4 - 1);
+    }
+
+    /** @return the length of the spill file, zero if there is none */
+    long getSpillLength() {
+        try {
+            return spill == null ? 0 : spill.length();
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    /** Reads a block and frees its extent. */
+    private Block readBlock(long position) {
+        try {
+            spill.seek(position);
+            byte[] bytes = new byte[spill.readInt()];
+            spill.readFully(bytes);
+            int sizeClass = sizeClass(bytes.length);
+            while (freeExtents.size() <= sizeClass) {
+                freeExtents.add(new ArrayList<Long>());
+            }
+            freeExtents.get(sizeClass).add(position);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            Block block = new Block();
+            int resourceSize = in.readInt();
+            block.resources = new int[resourceSize];
+            for (int i = 0; i < resourceSize; i++) {
+                block.resources[i] = in.readInt();
+            }
+            block.resourceSize = resourceSize;
+            int literalSize = in.readInt();
+            for (int i = 0; i < literalSize; i++) {
+                int predicate = in.readInt();
+                String literal = readString(in);
+                String lang = readString(in);
+                int datatype = in.readInt();
+                if (datatype < 0) {
+                    block.addLiteral(predicate, dataFactory.getOWLLiteral(literal, lang));
+                } else {
+                    block.addLiteral(predicate, dataFactory.getOWLLiteral(literal,
+                            dataFactory.getOWLDatatype(iris[datatype])));
+                }
+            }
+            return block;
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+}
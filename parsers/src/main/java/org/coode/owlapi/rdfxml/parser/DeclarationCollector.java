@@ -0,0 +1,97 @@
+package org.coode.owlapi.rdfxml.parser;
+
+import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.rdf.syntax.RDFConsumer;
+import org.xml.sax.SAXException;
+
+/** A cheap first pass over an RDF document: collects the named resources that
+ * are explicitly typed as entities, so that the {@link OWLRDFConsumer} can be
+ * given a declaration index before the document is parsed again (see
+ * {@link OWLRDFConsumer#setDeclarationIndex(java.util.Collection)}). All other
+ * triples are discarded.
+ *
+ * @since 3.4.6 */
+public class DeclarationCollector implements RDFConsumer {
+    private static final Map<IRI, EntityType<?>> TYPES = new HashMap<IRI, EntityType<?>>();
+    static {
+        TYPES.put(OWL_CLASS.getIRI(), EntityType.CLASS);
+        TYPES.put(RDFS_DATATYPE.getIRI(), EntityType.DATATYPE);
+        TYPES.put(OWL_NAMED_INDIVIDUAL.getIRI(), EntityType.NAMED_INDIVIDUAL);
+        TYPES.put(OWL_ANNOTATION_PROPERTY.getIRI(), EntityType.ANNOTATION_PROPERTY);
+        TYPES.put(OWL_DATA_PROPERTY.getIRI(), EntityType.DATA_PROPERTY);
+        TYPES.put(OWL_OBJECT_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+        // characteristics that only apply to object properties
+        TYPES.put(OWL_INVERSE_FUNCTIONAL_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+        TYPES.put(OWL_TRANSITIVE_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+        TYPES.put(OWL_SYMMETRIC_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+        TYPES.put(OWL_ASYMMETRIC_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+        TYPES.put(OWL_REFLEXIVE_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+        TYPES.put(OWL_IRREFLEXIVE_PROPERTY.getIRI(), EntityType.OBJECT_PROPERTY);
+    }
+    private final OWLDataFactory dataFactory;
+    private final AnonymousNodeChecker checker;
+    private final Set<OWLEntity> entities = new HashSet<OWLEntity>();
+
+    /** @param dataFactory
+     *            the data factory used to create the entities
+     * @param checker
+     *            the checker used to skip anonymous nodes */
+    public DeclarationCollector(OWLDataFactory dataFactory, AnonymousNodeChecker checker) {
+        this.dataFactory = dataFactory;
+        this.checker = checker;
+    }
+
+    /** @return the entities declared in the document */
+    public Set<OWLEntity> getDeclaredEntities() {
+        return entities;
+    }
+
+    /** @param subject
+     *            the subject of an rdf:type triple
+     * @param type
+     *            the object of the rdf:type triple */
+    public void addType(IRI subject, IRI type) {
+        EntityType<?> entityType = TYPES.get(type);
+        if (entityType != null && !checker.isAnonymousNode(subject)) {
+            entities.add(dataFactory.getOWLEntity(entityType, subject));
+        }
+    }
+
+    @Override
+    public void statementWithResourceValue(String subject, String predicate,
+            String object) throws SAXException {
+        if (RDF_TYPE.getIRI().toString().equals(predicate)
+                && !checker.isAnonymousNode(subject)) {
+            addType(IRI.create(subject), IRI.create(object));
+        }
+    }
+
+    @Override
+    public void statementWithLiteralValue(String subject, String predicate,
+            String object, String language, String datatype) throws SAXException {}
+
+    @Override
+    public void startModel(String physicalURI) throws SAXException {}
+
+    @Override
+    public void endModel() throws SAXException {}
+
+    @Override
+    public void logicalURI(String logicalURI) throws SAXException {}
+
+    @Override
+    public void includeModel(String logicalURI, String physicalURI) throws SAXException {}
+
+    @Override
+    public void addModelAttribte(String key, String value) throws SAXException {}
+}
@@ -71,7 +71,8 @@ public class GTPDataPropertyAssertionHandler extends AbstractLiteralTripleHandle
 
     @Override
 	public boolean canHandleStreaming(IRI subject, IRI predicate, OWLLiteral object) {
-        return false;
+        // Only possible if the property type cannot change by the end of the document
+        return getConsumer().isDeclaredDataPropertyOnly(predicate) && !getConsumer().isAnnotationProperty(predicate) && !isAnonymous(subject) && !getConsumer().isAxiom(subject) && !getConsumer().isAnnotation(subject);
     }
 
 
@@ -71,7 +71,8 @@ public class GTPObjectPropertyAssertionHandler extends AbstractResourceTripleHan
 
     @Override
 	public boolean canHandleStreaming(IRI subject, IRI predicate, IRI object) {
-        return false;
+        // Only possible if the property type cannot change by the end of the document
+        return getConsumer().isDeclaredObjectPropertyOnly(predicate) && !getConsumer().isAnnotationProperty(predicate) && !isAnonymous(subject) && !isAnonymous(object) && !getConsumer().isAxiom(subject) && !getConsumer().isAnnotation(subject);
     }
 
 
@@ -53,6 +53,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
 import org.semanticweb.owlapi.io.RDFLiteral;
 import org.semanticweb.owlapi.io.RDFNode;
 import org.semanticweb.owlapi.io.RDFOntologyFormat;
@@ -179,16 +180,20 @@ public class OWLRDFConsumer implements RDFConsumer {
     // IRIs that had a type triple to owl:Restriction
     private Set<IRI> restrictionIRIs;
 
-    // Maps rdf:next triple subjects to objects
-    private Map<IRI, IRI> listRestTripleMap;
-
-    private Map<IRI, IRI> listFirstResourceTripleMap;
+    /**
+     * Object and data properties that are declared with a single property type in the declaration index, if one has
+     * been set.  Assertions using these properties can be translated while streaming.
+     */
+    private Set<IRI> declaredObjectPropertiesOnly = new HashSet<IRI>();
+    private Set<IRI> declaredDataPropertiesOnly = new HashSet<IRI>();
 
-    private Map<IRI, OWLLiteral> listFirstLiteralTripleMap;
+    // rdf:first and rdf:rest triples, which are consumed when the lists are translated
+    private final CompactTripleStore listTripleStore;
 
 
     private Set<IRI> axioms = new HashSet<IRI>();
 
+    // translations of shared anonymous nodes; these are objects, so they are not kept in the triple stores
     private Map<IRI, Object> sharedAnonymousNodes = new HashMap<IRI, Object>();
 
     // A translator for lists of class expressions (such lists are used
@@ -293,6 +298,8 @@ public class OWLRDFConsumer implements RDFConsumer {
 
     private TPTypeHandler nonBuiltInTypeHandler;
 
+    private TPImportsHandler importsHandler;
+
 
     /**
      * A cache of annotation axioms to be added at the end - saves some peek memory doing this
@@ -301,6 +308,11 @@ public class OWLRDFConsumer implements RDFConsumer {
 
     private Collection<OWLAxiom> axiomsToBeRemoved = new ArrayList<OWLAxiom>();
 
+    /**
+     * If not null, parsed axioms are passed to this handler instead of being added to the ontology
+     */
+    private OWLParserStreamHandler streamHandler;
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     private boolean parsedAllTriples = false;
@@ -311,6 +323,10 @@ public class OWLRDFConsumer implements RDFConsumer {
         dataFactory = owlOntologyManager.getOWLDataFactory();
         anonymousNodeChecker = checker;
         this.configuration = configuration;
+        tripleStore = new CompactTripleStore(dataFactory, configuration.getTripleSpillThreshold());
+        listTripleStore = new CompactTripleStore(dataFactory, configuration.getTripleSpillThreshold());
+        listTripleStore.addSingleValuedPredicate(RDF_FIRST.getIRI());
+        listTripleStore.addSingleValuedPredicate(RDF_REST.getIRI());
 
         classExpressionTranslators.add(new NamedClassTranslator(this));
         classExpressionTranslators.add(new ObjectIntersectionOfTranslator(this));
@@ -357,9 +373,6 @@ public class OWLRDFConsumer implements RDFConsumer {
         propertyIRIs = CollectionFactory.createSet();
         restrictionIRIs = CollectionFactory.createSet();
         ontologyIRIs = CollectionFactory.createSet();
-        listFirstLiteralTripleMap = CollectionFactory.createMap();
-        listFirstResourceTripleMap = CollectionFactory.createMap();
-        listRestTripleMap = CollectionFactory.createMap();
         classExpressionListTranslator = new OptimisedListTranslator<OWLClassExpression>(this, new ClassExpressionListItemTranslator(this));
         individualListTranslator = new OptimisedListTranslator<OWLIndividual>(this, new IndividualListItemTranslator(this));
         constantListTranslator = new OptimisedListTranslator<OWLLiteral>(this, new TypedConstantListItemTranslator(this));
@@ -446,9 +459,76 @@ public class OWLRDFConsumer implements RDFConsumer {
         this.iriProvider = iriProvider;
     }
 
+    /**
+     * @param streamHandler the handler that receives the parsed axioms instead of the ontology; header changes are
+     * passed to the handler and applied to the ontology. Can be null.
+     */
+    public void setStreamHandler(OWLParserStreamHandler streamHandler) {
+        this.streamHandler = streamHandler;
+    }
+
+    /**
+     * Sets the entities declared in the document before the document is parsed, e.g., collected by a first pass with
+     * a {@link DeclarationCollector} or supplied by the caller. The entities are recorded as if their declarations
+     * had been parsed already, and property assertions between named resources whose property is declared with
+     * only one property type are translated while streaming rather than at the end of the document.
+     * @param declaredEntities the entities declared in the document
+     */
+    public void setDeclarationIndex(Collection<? extends OWLEntity> declaredEntities) {
+        Set<IRI> annotationProperties = new HashSet<IRI>();
+        for (OWLEntity entity : declaredEntities) {
+            IRI iri = entity.getIRI();
+            if (entity.isOWLClass()) {
+                addClassExpression(iri, true);
+            }
+            else if (entity.isOWLObjectProperty()) {
+                addObjectProperty(iri, true);
+                declaredObjectPropertiesOnly.add(iri);
+            }
+            else if (entity.isOWLDataProperty()) {
+                addDataProperty(iri, true);
+                declaredDataPropertiesOnly.add(iri);
+            }
+            else if (entity.isOWLAnnotationProperty()) {
+                addAnnotationProperty(iri, true);
+                annotationProperties.add(iri);
+            }
+            else if (entity.isOWLDatatype()) {
+                addDataRange(iri, true);
+            }
+            else if (entity.isOWLNamedIndividual()) {
+                addOWLNamedIndividual(iri, true);
+            }
+        }
+        // punned properties are left to the end of the document
+        Set<IRI> punned = new HashSet<IRI>(declaredObjectPropertiesOnly);
+        punned.retainAll(declaredDataPropertiesOnly);
+        declaredObjectPropertiesOnly.removeAll(punned);
+        declaredObjectPropertiesOnly.removeAll(annotationProperties);
+        declaredDataPropertiesOnly.removeAll(punned);
+        declaredDataPropertiesOnly.removeAll(annotationProperties);
+    }
+
+    /**
+     * @param iri The IRI to check.
+     * @return <code>true</code> if the declaration index declares the IRI as an object property and not as a data or
+     *         annotation property.
+     */
+    protected boolean isDeclaredObjectPropertyOnly(IRI iri) {
+        return declaredObjectPropertiesOnly.contains(iri);
+    }
+
+    /**
+     * @param iri The IRI to check.
+     * @return <code>true</code> if the declaration index declares the IRI as a data property and not as an object or
+     *         annotation property.
+     */
+    protected boolean isDeclaredDataPropertyOnly(IRI iri) {
+        return declaredDataPropertiesOnly.contains(iri);
+    }
+
     private void addSingleValuedResPredicate(OWLRDFVocabulary v) {
-        Map<IRI, IRI> map = CollectionFactory.createMap();
-        singleValuedResTriplesByPredicate.put(v.getIRI(), map);
+        tripleStore.addSingleValuedPredicate(v.getIRI());
     }
 
     private void setupSinglePredicateMaps() {
@@ -690,7 +770,8 @@ public class OWLRDFConsumer implements RDFConsumer {
         nonBuiltInTypeHandler = new TPTypeHandler(this);
         addPredicateHandler(nonBuiltInTypeHandler);
         addPredicateHandler(new TPDistinctMembersHandler(this));
-        addPredicateHandler(new TPImportsHandler(this));
+        importsHandler = new TPImportsHandler(this);
+        addPredicateHandler(importsHandler);
         addPredicateHandler(new TPIntersectionOfHandler(this));
         addPredicateHandler(new TPUnionOfHandler(this));
         addPredicateHandler(new TPComplementOfHandler(this));
@@ -903,9 +984,17 @@ public class OWLRDFConsumer implements RDFConsumer {
 
         if(axiom.isAnnotationAxiom()) {
             if(configuration.isLoadAnnotationAxioms()) {
-                parsedAnnotationAxioms.add((OWLAnnotationAxiom) axiom);
+                if (streamHandler != null) {
+                    streamHandler.handleAxiom(axiom);
+                }
+                else {
+                    parsedAnnotationAxioms.add((OWLAnnotationAxiom) axiom);
+                }
             }
         }
+        else if (streamHandler != null) {
+            streamHandler.handleAxiom(axiom);
+        }
         else {
             owlOntologyManager.addAxiom(ontology, axiom);
         }
@@ -967,14 +1056,23 @@ public class OWLRDFConsumer implements RDFConsumer {
 
     protected void setOntologyID(OWLOntologyID ontologyID) {
         applyChange(new SetOntologyID(ontology, ontologyID));
+        if (streamHandler != null) {
+            streamHandler.handleOntologyID(ontologyID);
+        }
     }
 
     protected void addOntologyAnnotation(OWLAnnotation annotation) {
         applyChange(new AddOntologyAnnotation(ontology, annotation));
+        if (streamHandler != null) {
+            streamHandler.handleOntologyAnnotation(annotation);
+        }
     }
 
     protected void addImport(OWLImportsDeclaration declaration) {
         applyChange(new AddImport(ontology, declaration));
+        if (streamHandler != null) {
+            streamHandler.handleImportsDeclaration(declaration);
+        }
     }
 
     public OWLAxiom getLastAddedAxiom() {
@@ -1372,35 +1470,12 @@ public class OWLRDFConsumer implements RDFConsumer {
 
     protected void dumpRemainingTriples() {
         if (logger.isLoggable(Level.FINE)) {
-            for (IRI predicate : singleValuedResTriplesByPredicate.keySet()) {
-                Map<IRI, IRI> map = singleValuedResTriplesByPredicate.get(predicate);
-                for (IRI subject : map.keySet()) {
-                    IRI object = map.get(subject);
-                    printTriple(subject, predicate, object);
-                }
-            }
-            for (IRI predicate : singleValuedLitTriplesByPredicate.keySet()) {
-                Map<IRI, OWLLiteral> map = singleValuedLitTriplesByPredicate
-                        .get(predicate);
-                for (IRI subject : map.keySet()) {
-                    OWLLiteral object = map.get(subject);
-                    printTriple(subject, predicate, object);
-                }
-            }
-            for (IRI subject : new ArrayList<IRI>(resTriplesBySubject.keySet())) {
-                Map<IRI, Collection<IRI>> map = resTriplesBySubject.get(subject);
-                for (IRI predicate : new ArrayList<IRI>(map.keySet())) {
-                    Collection<IRI> objects = map.get(predicate);
-                    for (IRI object : objects) {
+            for (IRI subject : tripleStore.getSubjects()) {
+                for (IRI predicate : tripleStore.getPredicates(subject, true)) {
+                    for (IRI object : tripleStore.getResourceObjects(subject, predicate)) {
                         printTriple(subject, predicate, object);
                     }
-                }
-            }
-            for (IRI subject : new ArrayList<IRI>(litTriplesBySubject.keySet())) {
-                Map<IRI, Collection<OWLLiteral>> map = litTriplesBySubject.get(subject);
-                for (IRI predicate : new ArrayList<IRI>(map.keySet())) {
-                    Collection<OWLLiteral> objects = map.get(predicate);
-                    for (OWLLiteral object : objects) {
+                    for (OWLLiteral object : tripleStore.getLiteralObjects(subject, predicate)) {
                         printTriple(subject, predicate, object);
                     }
                 }
@@ -1438,6 +1513,7 @@ public class OWLRDFConsumer implements RDFConsumer {
 
     @Override
     public void endModel() throws SAXException {
+        importsHandler.handlePendingImports();
         parsedAllTriples = true;
         try {
 
@@ -1502,7 +1578,7 @@ public class OWLRDFConsumer implements RDFConsumer {
             IRI ontologyIRIToSet = chooseOntologyIRI();
             if (ontologyIRIToSet != null) {
                 IRI versionIRI = ontology.getOntologyID().getVersionIRI();
-                applyChange(new SetOntologyID(ontology, new OWLOntologyID(ontologyIRIToSet, versionIRI)));
+                setOntologyID(new OWLOntologyID(ontologyIRIToSet, versionIRI));
             }
 
             if (tripleProcessor.isLoggable(Level.FINE)) {
@@ -1528,7 +1604,12 @@ public class OWLRDFConsumer implements RDFConsumer {
 
     private void removeAxiomsScheduledForRemoval() {
         for(OWLAxiom axiom : axiomsToBeRemoved) {
-            owlOntologyManager.removeAxiom(ontology, axiom);
+            if (streamHandler != null) {
+                streamHandler.handleAxiomRetraction(axiom);
+            }
+            else {
+                owlOntologyManager.removeAxiom(ontology, axiom);
+            }
         }
     }
 
@@ -1650,14 +1731,11 @@ public class OWLRDFConsumer implements RDFConsumer {
         dataPropertyExpressionIRIs.clear();
         dataRangeIRIs.clear();
         restrictionIRIs.clear();
-        listFirstLiteralTripleMap.clear();
-        listFirstResourceTripleMap.clear();
-        listRestTripleMap.clear();
+        listTripleStore.clear();
         translatedClassExpression.clear();
-        resTriplesBySubject.clear();
-        litTriplesBySubject.clear();
-        singleValuedLitTriplesByPredicate.clear();
-        singleValuedResTriplesByPredicate.clear();
+        tripleStore.clear();
+        declaredObjectPropertiesOnly.clear();
+        declaredDataPropertiesOnly.clear();
     }
 
 
@@ -2094,16 +2172,7 @@ public class OWLRDFConsumer implements RDFConsumer {
 
 
     public Set<IRI> getPredicatesBySubject(IRI subject) {
-        Set<IRI> IRIs = new HashSet<IRI>();
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            IRIs.addAll(predObjMap.keySet());
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMapLit = litTriplesBySubject.get(subject);
-        if (predObjMapLit != null) {
-            IRIs.addAll(predObjMapLit.keySet());
-        }
-        return IRIs;
+        return tripleStore.getPredicates(subject, false);
     }
 
 
@@ -2113,54 +2182,11 @@ public class OWLRDFConsumer implements RDFConsumer {
 
 
     public IRI getResourceObject(IRI subject, IRI predicate, boolean consume) {
-
-        Map<IRI, IRI> subjPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            IRI obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj;
-        }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                if (!objects.isEmpty()) {
-                    IRI object = objects.iterator().next();
-                    if (consume) {
-                        objects.remove(object);
-                    }
-                    if (objects.isEmpty()) {
-                        predObjMap.remove(predicate);
-                        if (predObjMap.isEmpty()) {
-                            resTriplesBySubject.remove(subject);
-                        }
-                    }
-                    return object;
-                }
-            }
-        }
-        return null;
+        return tripleStore.getResourceObject(subject, predicate, consume);
     }
 
     public Set<IRI> getResourceObjects(IRI subject, IRI predicate) {
-        Set<IRI> result = new HashSet<IRI>();
-        Map<IRI, IRI> subjPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            IRI obj = subjPredMap.get(subject);
-            if (obj != null) {
-                result.add(obj);
-            }
-        }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
-        return result;
+        return tripleStore.getResourceObjects(subject, predicate);
     }
 
     public OWLLiteral getLiteralObject(IRI subject, OWLRDFVocabulary predicate, boolean consume) {
@@ -2168,82 +2194,20 @@ public class OWLRDFConsumer implements RDFConsumer {
     }
 
     public OWLLiteral getLiteralObject(IRI subject, IRI predicate, boolean consume) {
-        Map<IRI, OWLLiteral> subjPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            OWLLiteral obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj;
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                if (!objects.isEmpty()) {
-                    OWLLiteral object = objects.iterator().next();
-                    if (consume) {
-                        objects.remove(object);
-                    }
-                    if (objects.isEmpty()) {
-                        predObjMap.remove(predicate);
-                    }
-                    return object;
-                }
-            }
-        }
-        return null;
+        return tripleStore.getLiteralObject(subject, predicate, consume);
     }
 
     public Set<OWLLiteral> getLiteralObjects(IRI subject, IRI predicate) {
-        Set<OWLLiteral> result = new HashSet<OWLLiteral>();
-        Map<IRI, OWLLiteral> subjPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            OWLLiteral obj = subjPredMap.get(subject);
-            if (obj != null) {
-                result.add(obj);
-            }
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
-        return result;
+        return tripleStore.getLiteralObjects(subject, predicate);
     }
 
 
     public boolean isTriplePresent(IRI subject, IRI predicate, IRI object, boolean consume) {
-        Map<IRI, IRI> subjPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            IRI obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj != null;
-        }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                if (objects.contains(object)) {
-                    if (consume) {
-                        objects.remove(object);
-                        if (objects.isEmpty()) {
-                            predObjMap.remove(predicate);
-                            if (predObjMap.isEmpty()) {
-                                resTriplesBySubject.remove(subject);
-                            }
-                        }
-                    }
-                    return true;
-                }
-                return false;
-            }
+        if (tripleStore.isSingleValuedPredicate(predicate)) {
+            // single valued predicates match any object
+            return tripleStore.getResourceObject(subject, predicate, consume) != null;
         }
-        return false;// searchGeneralResourceTriples(subject, predicate, object, consume) != null;
+        return tripleStore.containsTriple(subject, predicate, object, consume);
     }
 
 
@@ -2253,100 +2217,44 @@ public class OWLRDFConsumer implements RDFConsumer {
 
 
     public boolean isTriplePresent(IRI subject, IRI predicate, OWLLiteral object, boolean consume) {
-        Map<IRI, OWLLiteral> subjPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            OWLLiteral obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj != null;
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                if (objects.contains(object)) {
-                    if (consume) {
-                        objects.remove(object);
-                        if (objects.isEmpty()) {
-                            predObjMap.remove(predicate);
-                            if (predObjMap.isEmpty()) {
-                                litTriplesBySubject.remove(subject);
-                            }
-                        }
-                    }
-                    return true;
-                }
-                return false;
-            }
-        }
-        return false;
+        return tripleStore.containsTriple(subject, predicate, object, consume);
     }
 
 
     public boolean hasPredicate(IRI subject, IRI predicate) {
-        Map<IRI, IRI> resPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (resPredMap != null) {
-            return resPredMap.containsKey(subject);
-        }
-        Map<IRI, OWLLiteral> litPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (litPredMap != null) {
-            return litPredMap.containsKey(subject);
-        }
-        Map<IRI, Collection<IRI>> resPredObjMap = resTriplesBySubject.get(subject);
-        if (resPredObjMap != null) {
-            boolean b = resPredObjMap.containsKey(predicate);
-            if (b) {
-                return true;
-            }
-        }
-        Map<IRI, Collection<OWLLiteral>> litPredObjMap = litTriplesBySubject.get(subject);
-        if (litPredObjMap != null) {
-            return litPredObjMap.containsKey(predicate);
-        }
-        return false;
+        return tripleStore.hasPredicate(subject, predicate);
     }
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////////
 
     public void addRest(IRI subject, IRI object) {
-        listRestTripleMap.put(subject, object);
+        listTripleStore.addTriple(subject, RDF_REST.getIRI(), object);
     }
 
 
     public void addFirst(IRI subject, IRI object) {
-        listFirstResourceTripleMap.put(subject, object);
+        listTripleStore.addTriple(subject, RDF_FIRST.getIRI(), object);
     }
 
 
     public IRI getFirstResource(IRI subject, boolean consume) {
-        if (consume) {
-            return listFirstResourceTripleMap.remove(subject);
-        }
-        else {
-            return listFirstResourceTripleMap.get(subject);
-        }
+        return listTripleStore.getResourceObject(subject, RDF_FIRST.getIRI(), consume);
     }
 
 
     public OWLLiteral getFirstLiteral(IRI subject) {
-        return listFirstLiteralTripleMap.get(subject);
+        return listTripleStore.getLiteralObject(subject, RDF_FIRST.getIRI(), false);
     }
 
 
     public IRI getRest(IRI subject, boolean consume) {
-        if (consume) {
-            return listRestTripleMap.remove(subject);
-        }
-        else {
-            return listRestTripleMap.get(subject);
-        }
+        return listTripleStore.getResourceObject(subject, RDF_REST.getIRI(), consume);
     }
 
 
     public void addFirst(IRI subject, OWLLiteral object) {
-        listFirstLiteralTripleMap.put(subject, object);
+        listTripleStore.addTriple(subject, RDF_FIRST.getIRI(), object);
     }
 
 
@@ -2407,17 +2315,9 @@ public class OWLRDFConsumer implements RDFConsumer {
     }
 
     public <E extends Throwable> void iterateResourceTriples(ResourceTripleIterator<E> iterator) throws E {
-        for (IRI subject : new ArrayList<IRI>(resTriplesBySubject.keySet())) {
-            Map<IRI, Collection<IRI>> map = resTriplesBySubject.get(subject);
-            if (map == null) {
-                continue;
-            }
-            for (IRI predicate : new ArrayList<IRI>(map.keySet())) {
-                Collection<IRI> objects = map.get(predicate);
-                if (objects == null) {
-                    continue;
-                }
-                for (IRI object : new ArrayList<IRI>(objects)) {
+        for (IRI subject : tripleStore.getSubjects()) {
+            for (IRI predicate : tripleStore.getPredicates(subject, false)) {
+                for (IRI object : tripleStore.getResourceObjects(subject, predicate)) {
                     iterator.handleResourceTriple(subject, predicate, object);
                 }
             }
@@ -2425,14 +2325,9 @@ public class OWLRDFConsumer implements RDFConsumer {
     }
 
     public <E extends Throwable> void iterateLiteralTriples(LiteralTripleIterator<E> iterator) throws E {
-        for (IRI subject : new ArrayList<IRI>(litTriplesBySubject.keySet())) {
-            Map<IRI, Collection<OWLLiteral>> map = litTriplesBySubject.get(subject);
-            if (map == null) {
-                continue;
-            }
-            for (IRI predicate : new ArrayList<IRI>(map.keySet())) {
-                Collection<OWLLiteral> objects = map.get(predicate);
-                for (OWLLiteral object : new ArrayList<OWLLiteral>(objects)) {
+        for (IRI subject : tripleStore.getSubjects()) {
+            for (IRI predicate : tripleStore.getPredicates(subject, false)) {
+                for (OWLLiteral object : tripleStore.getLiteralObjects(subject, predicate)) {
                     iterator.handleLiteralTriple(subject, predicate, object);
                 }
             }
@@ -2442,66 +2337,23 @@ public class OWLRDFConsumer implements RDFConsumer {
     /*
         Originally we had a special Triple class, which was specialised into ResourceTriple and
         LiteralTriple - this was used to store triples.  However, with very large ontologies this
-        proved to be inefficient in terms of memory usage.  Now we just store raw subjects, predicates and
-        object directly in varous maps.
+        proved to be inefficient in terms of memory usage.  Later the raw subjects, predicates and
+        objects were stored directly in various maps.  Now the triples are int encoded in a compact
+        store, which can spill them to disk (see OWLOntologyLoaderConfiguration#getTripleSpillThreshold()).
      */
 
-    // Resource triples
-
-    // Subject, predicate, object
-
-    private Map<IRI, Map<IRI, Collection<IRI>>> resTriplesBySubject = CollectionFactory.createMap();
-
-    // Predicate, subject, object
-    private Map<IRI, Map<IRI, IRI>> singleValuedResTriplesByPredicate = CollectionFactory.createMap();
-
-    // Literal triples
-    private Map<IRI, Map<IRI, Collection<OWLLiteral>>> litTriplesBySubject = CollectionFactory.createMap();
-
-    // Predicate, subject, object
-    private Map<IRI, Map<IRI, OWLLiteral>> singleValuedLitTriplesByPredicate = CollectionFactory.createMap();
+    private final CompactTripleStore tripleStore;
 
     public void addTriple(IRI subject, IRI predicate, IRI object) {
-        Map<IRI, IRI> subjObjMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjObjMap != null) {
-            subjObjMap.put(subject, object);
-        }
-        else {
-            Map<IRI, Collection<IRI>> map = resTriplesBySubject.get(subject);
-            if (map == null) {
-                map = CollectionFactory.createMap();
-                resTriplesBySubject.put(subject, map);
-            }
-            Collection<IRI> objects = map.get(predicate);
-            if (objects == null) {
-                objects = new HashSet<IRI>();
-                map.put(predicate, objects);
-            }
-            objects.add(object);
-        }
+        tripleStore.addTriple(subject, predicate, object);
     }
 
 
     public void addTriple(IRI subject, IRI predicate, OWLLiteral con) {
-        Map<IRI, OWLLiteral> subjObjMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjObjMap != null) {
-            subjObjMap.put(subject, con);
-        }
-        else {
-            Map<IRI, Collection<OWLLiteral>> map = litTriplesBySubject.get(subject);
-            if (map == null) {
-                map = CollectionFactory.createMap();
-                litTriplesBySubject.put(subject, map);
-            }
-            Collection<OWLLiteral> objects = map.get(predicate);
-            if (objects == null) {
-                objects = new HashSet<OWLLiteral>();
-                map.put(predicate, objects);
-            }
-            objects.add(con);
-        }
+        tripleStore.addTriple(subject, predicate, con);
     }
 
 
 
+
 }
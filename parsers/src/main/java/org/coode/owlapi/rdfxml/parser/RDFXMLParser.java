@@ -40,13 +40,17 @@
 package org.coode.owlapi.rdfxml.parser;
 
 import java.io.IOException;
+import java.util.Set;
 
 import org.semanticweb.owlapi.io.AbstractOWLParser;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
+import org.semanticweb.owlapi.io.OWLStreamingParser;
 import org.semanticweb.owlapi.io.RDFXMLOntologyFormat;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.NodeID;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChangeException;
 import org.semanticweb.owlapi.model.OWLOntologyFormat;
@@ -64,7 +68,7 @@ import org.xml.sax.SAXException;
  * Bio-Health Informatics Group<br>
  * Date: 08-Dec-2006<br><br>
  */
-public class RDFXMLParser extends AbstractOWLParser {
+public class RDFXMLParser extends AbstractOWLParser implements OWLStreamingParser {
 
 
     @Override
@@ -74,6 +78,11 @@ public class RDFXMLParser extends AbstractOWLParser {
 
     @Override
     public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, OWLOntologyChangeException, UnloadableImportException {
+        return parse(documentSource, ontology, null, configuration);
+    }
+
+    @Override
+    public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, final OWLParserStreamHandler streamHandler, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, OWLOntologyChangeException, UnloadableImportException {
         InputSource is = null;
         try {
 
@@ -83,6 +92,9 @@ public class RDFXMLParser extends AbstractOWLParser {
                 public void startPrefixMapping(String prefix, String IRI) throws SAXException {
                     super.startPrefixMapping(prefix, IRI);
                     format.setPrefix(prefix, IRI);
+                    if (streamHandler != null) {
+                        streamHandler.handlePrefix(prefix, IRI);
+                    }
                 }
 
 
@@ -97,7 +109,7 @@ public class RDFXMLParser extends AbstractOWLParser {
                     return parser.getIRI(s);
                 }
             };
-            OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, new AnonymousNodeChecker() {
+            AnonymousNodeChecker checker = new AnonymousNodeChecker() {
                         @Override
                         public boolean isAnonymousNode(IRI iri) {
                             return NodeID.isAnonymousNodeIRI(iri);
@@ -112,9 +124,14 @@ public class RDFXMLParser extends AbstractOWLParser {
                         public boolean isAnonymousNode(String iri) {
                             return NodeID.isAnonymousNodeIRI(iri);
                 }
-            }, configuration);
+            };
+            OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, checker, configuration);
             consumer.setIRIProvider(prov);
             consumer.setOntologyFormat(format);
+            consumer.setStreamHandler(streamHandler);
+            if (configuration.isPrefetchDeclarations()) {
+                consumer.setDeclarationIndex(prefetchDeclarations(documentSource, ontology, checker, configuration));
+            }
             is = getInputSource(documentSource, configuration);
             parser.parse(is, consumer);
             return format;
@@ -135,4 +152,19 @@ public class RDFXMLParser extends AbstractOWLParser {
             }
         }
     }
+
+    private Set<OWLEntity> prefetchDeclarations(OWLOntologyDocumentSource documentSource, OWLOntology ontology, AnonymousNodeChecker checker, OWLOntologyLoaderConfiguration configuration) throws SAXException, IOException {
+        DeclarationCollector collector = new DeclarationCollector(ontology.getOWLOntologyManager().getOWLDataFactory(), checker);
+        InputSource is = getInputSource(documentSource, configuration);
+        try {
+            new RDFParser().parse(is, collector);
+        } finally {
+            if (is.getByteStream() != null) {
+                is.getByteStream().close();
+            } else if (is.getCharacterStream() != null) {
+                is.getCharacterStream().close();
+            }
+        }
+        return collector.getDeclaredEntities();
+    }
 }
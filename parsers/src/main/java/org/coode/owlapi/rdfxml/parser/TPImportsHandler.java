@@ -39,9 +39,10 @@
 
 package org.coode.owlapi.rdfxml.parser;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.semanticweb.owlapi.io.RDFOntologyFormat;
-import org.semanticweb.owlapi.model.AddImport;
-import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -64,6 +65,7 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 @SuppressWarnings("javadoc")
 public class TPImportsHandler extends TriplePredicateHandler {
 
+    private final List<OWLImportsDeclaration> pendingImports = new ArrayList<OWLImportsDeclaration>();
 
     public TPImportsHandler(OWLRDFConsumer consumer) {
         super(consumer, OWLRDFVocabulary.OWL_IMPORTS.getIRI());
@@ -87,42 +89,58 @@ public class TPImportsHandler extends TriplePredicateHandler {
         if (!getConsumer().getConfiguration().isIgnoredImport(object)) {
             OWLOntologyManager man = getConsumer().getOWLOntologyManager();
             man.makeLoadImportRequest(importsDeclaration, getConsumer().getConfiguration());
+            if (getConsumer().getConfiguration().getImportsLoadingThreads() > 0) {
+                // imports are being loaded concurrently; wait for them at the end of the document
+                pendingImports.add(importsDeclaration);
+            } else {
+                handleImportedOntology(importsDeclaration);
+            }
+        }
+    }
 
+    /**
+     * Handles the imports that were loaded concurrently; called before the remaining triples are translated.
+     */
+    public void handlePendingImports() {
+        for (OWLImportsDeclaration importsDeclaration : pendingImports) {
+            handleImportedOntology(importsDeclaration);
+        }
+        pendingImports.clear();
+    }
 
-            OWLOntology importedOntology = man.getImportedOntology(importsDeclaration);
-            if (importedOntology != null) {
-                OWLOntologyFormat importedOntologyFormat = man.getOntologyFormat(importedOntology);
-                if (importedOntologyFormat instanceof RDFOntologyFormat) {
-                    if (importedOntology.isAnonymous()) {
-                        OWLOntologyLoaderConfiguration.MissingOntologyHeaderStrategy missingOntologyHeaderStrategy = getConsumer().getConfiguration().getMissingOntologyHeaderStrategy();
-                        boolean includeGraph = missingOntologyHeaderStrategy.equals(OWLOntologyLoaderConfiguration.MissingOntologyHeaderStrategy.INCLUDE_GRAPH);
-
-                        if (includeGraph) {
-                            // We should have just included the triples rather than imported them. So,
-                            // we remove the imports statement, add the axioms from the imported ontology to
-                            // out importing ontology and remove the imported ontology.
-                            // WHO EVER THOUGHT THAT THIS WAS A GOOD IDEA?
-                            man.applyChange(new RemoveImport(getConsumer().getOntology(), importsDeclaration));
-
-                            for (OWLImportsDeclaration decl : importedOntology.getImportsDeclarations()) {
-                                man.applyChange(new AddImport(getConsumer().getOntology(), decl));
-                            }
-                            for (OWLAnnotation anno : importedOntology.getAnnotations()) {
-                                man.applyChange(new AddOntologyAnnotation(getConsumer().getOntology(), anno));
-                            }
-                            for (OWLAxiom ax : importedOntology.getAxioms()) {
-                                getConsumer().addAxiom(ax);
-                            }
-                            man.removeOntology(importedOntology);
+    private void handleImportedOntology(OWLImportsDeclaration importsDeclaration) {
+        OWLOntologyManager man = getConsumer().getOWLOntologyManager();
+        OWLOntology importedOntology = man.getImportedOntology(importsDeclaration);
+        if (importedOntology != null) {
+            OWLOntologyFormat importedOntologyFormat = man.getOntologyFormat(importedOntology);
+            if (importedOntologyFormat instanceof RDFOntologyFormat) {
+                if (importedOntology.isAnonymous()) {
+                    OWLOntologyLoaderConfiguration.MissingOntologyHeaderStrategy missingOntologyHeaderStrategy = getConsumer().getConfiguration().getMissingOntologyHeaderStrategy();
+                    boolean includeGraph = missingOntologyHeaderStrategy.equals(OWLOntologyLoaderConfiguration.MissingOntologyHeaderStrategy.INCLUDE_GRAPH);
+
+                    if (includeGraph) {
+                        // We should have just included the triples rather than imported them. So,
+                        // we remove the imports statement, add the axioms from the imported ontology to
+                        // out importing ontology and remove the imported ontology.
+                        // WHO EVER THOUGHT THAT THIS WAS A GOOD IDEA?
+                        man.applyChange(new RemoveImport(getConsumer().getOntology(), importsDeclaration));
+
+                        for (OWLImportsDeclaration decl : importedOntology.getImportsDeclarations()) {
+                            getConsumer().addImport(decl);
                         }
-
+                        for (OWLAnnotation anno : importedOntology.getAnnotations()) {
+                            getConsumer().addOntologyAnnotation(anno);
+                        }
+                        for (OWLAxiom ax : importedOntology.getAxioms()) {
+                            getConsumer().addAxiom(ax);
+                        }
+                        man.removeOntology(importedOntology);
                     }
+
                 }
             }
-
-            getConsumer().importsClosureChanged();
-
         }
 
+        getConsumer().importsClosureChanged();
     }
 }
@@ -41,7 +41,6 @@ package org.coode.owlapi.rdfxml.parser;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntologyID;
-import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.model.UnloadableImportException;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
@@ -69,8 +68,7 @@ public class TypeOntologyHandler extends BuiltInTypeHandler {
             if (getConsumer().getOntology().getOntologyID().getOntologyIRI() == null) {
                 OWLOntologyID id = new OWLOntologyID(subject, getConsumer().getOntology()
                         .getOntologyID().getVersionIRI());
-                getConsumer().applyChange(
-                        new SetOntologyID(getConsumer().getOntology(), id));
+                getConsumer().setOntologyID(id);
             }
         }
         getConsumer().addOntology(subject);
@@ -0,0 +1,85 @@
+package org.semanticweb.owlapi.expression;
+
+import org.semanticweb.owlapi.model.EntityType;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.util.TrieBidirectionalShortFormProvider;
+
+/** An entity checker resolving names through a
+ * {@link TrieBidirectionalShortFormProvider}. Names are matched exactly
+ * first; if case insensitive matching is enabled, names without an exact match
+ * are then matched ignoring case.
+ *
+ * @since 3.4.6 */
+public class TrieShortFormEntityChecker implements OWLEntityChecker {
+    private final TrieBidirectionalShortFormProvider shortFormProvider;
+    private final boolean ignoreCase;
+
+    /** @param shortFormProvider
+     *            the short form provider mapping names to entities
+     * @param ignoreCase
+     *            true if names without an exact match should be matched
+     *            ignoring case */
+    public TrieShortFormEntityChecker(
+            TrieBidirectionalShortFormProvider shortFormProvider, boolean ignoreCase) {
+        this.shortFormProvider = shortFormProvider;
+        this.ignoreCase = ignoreCase;
+    }
+
+    private OWLEntity getEntity(String name, EntityType<?> type) {
+        for (OWLEntity ent : shortFormProvider.getEntities(name, false)) {
+            if (ent.isType(type)) {
+                return ent;
+            }
+        }
+        if (ignoreCase) {
+            for (OWLEntity ent : shortFormProvider.getEntities(name, true)) {
+                if (ent.isType(type)) {
+                    return ent;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public OWLClass getOWLClass(String name) {
+        OWLEntity ent = getEntity(name, EntityType.CLASS);
+        return ent == null ? null : ent.asOWLClass();
+    }
+
+    @Override
+    public OWLObjectProperty getOWLObjectProperty(String name) {
+        OWLEntity ent = getEntity(name, EntityType.OBJECT_PROPERTY);
+        return ent == null ? null : ent.asOWLObjectProperty();
+    }
+
+    @Override
+    public OWLDataProperty getOWLDataProperty(String name) {
+        OWLEntity ent = getEntity(name, EntityType.DATA_PROPERTY);
+        return ent == null ? null : ent.asOWLDataProperty();
+    }
+
+    @Override
+    public OWLNamedIndividual getOWLIndividual(String name) {
+        OWLEntity ent = getEntity(name, EntityType.NAMED_INDIVIDUAL);
+        return ent == null ? null : ent.asOWLNamedIndividual();
+    }
+
+    @Override
+    public OWLDatatype getOWLDatatype(String name) {
+        OWLEntity ent = getEntity(name, EntityType.DATATYPE);
+        return ent == null ? null : ent.asOWLDatatype();
+    }
+
+    @Override
+    public OWLAnnotationProperty getOWLAnnotationProperty(String name) {
+        OWLEntity ent = getEntity(name, EntityType.ANNOTATION_PROPERTY);
+        return ent == null ? null : ent.asOWLAnnotationProperty();
+    }
+}
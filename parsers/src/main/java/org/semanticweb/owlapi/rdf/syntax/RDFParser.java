@@ -79,7 +79,11 @@ public class RDFParser extends DefaultHandler implements RDFConstants {
     protected static final Locator s_nullDocumentLocator = new LocatorImpl();
     protected static final SAXParserFactory s_parserFactory = SAXParserFactory
             .newInstance();
-    private Map<String, String> resolvedIRIs = new HashMap<String, String>();
+    /** Resolved IRIs, keyed by base IRI and relative reference. */
+    private Map<IRI, Map<String, String>> resolvedIRIsByBase = new HashMap<IRI, Map<String, String>>();
+    /** Resolved IRIs for the current base IRI. */
+    private Map<String, String> resolvedIRIs;
+    private IRI resolvedIRIsBase;
     protected Map<String, IRI> uriCache = new HashMap<String, IRI>();
     static {
         s_parserFactory.setNamespaceAware(true);
@@ -144,6 +148,9 @@ public class RDFParser extends DefaultHandler implements RDFConstants {
             m_states.clear();
             m_documentLocator = null;
             m_baseIRIs.clear();
+            resolvedIRIsByBase.clear();
+            resolvedIRIs = null;
+            resolvedIRIsBase = null;
         }
     }
 
@@ -322,7 +329,6 @@ public class RDFParser extends DefaultHandler implements RDFConstants {
         if (value != null) {
             try {
                 m_baseIRI = resolveFromDelegate(m_baseIRI, value);
-                resolvedIRIs.clear();
             } catch (IllegalArgumentException e) {
                 RDFParserException exception = new RDFParserException("New base IRI '"
                         + value + "' cannot be resolved against curent base IRI "
@@ -365,13 +371,40 @@ public class RDFParser extends DefaultHandler implements RDFConstants {
             }
         } else {
             try {
+                if (resolvedIRIsBase != m_baseIRI) {
+                    // the base changes with xml:base declarations
+                    resolvedIRIs = resolvedIRIsByBase.get(m_baseIRI);
+                    if (resolvedIRIs == null) {
+                        resolvedIRIs = new HashMap<String, String>();
+                        resolvedIRIsByBase.put(m_baseIRI, resolvedIRIs);
+                    }
+                    resolvedIRIsBase = m_baseIRI;
+                }
                 String resolved = resolvedIRIs.get(uri);
                 if (resolved != null) {
                     return resolved;
                 } else {
-                    IRI theIRI = resolveFromDelegate(m_baseIRI, uri);
-                    String u = theIRI.toString();
-                    uriCache.put(u, theIRI);
+                    IRI theIRI;
+                    String u;
+                    if (isAbsoluteIRI(uri)) {
+                        // no need to resolve, and no need to check the syntax
+                        // through java.net.URI
+                        u = uri;
+                        theIRI = uriCache.get(u);
+                        if (theIRI == null) {
+                            theIRI = IRI.create(u);
+                        }
+                    } else {
+                        theIRI = resolveFromDelegate(m_baseIRI, uri);
+                        u = theIRI.toString();
+                    }
+                    // share the same string and IRI instances for all bases
+                    IRI cached = uriCache.get(u);
+                    if (cached == null) {
+                        uriCache.put(u, theIRI);
+                    } else {
+                        u = cached.toString();
+                    }
                     resolvedIRIs.put(uri, u);
                     return u;
                 }
@@ -385,6 +418,77 @@ public class RDFParser extends DefaultHandler implements RDFConstants {
         }
     }
 
+    /** Checks whether a reference is an absolute IRI that java.net.URI would
+     * accept and leave unchanged when resolving it against any base: it must
+     * start with a scheme and contain no spaces, control characters, invalid
+     * escapes, more than one fragment or characters that are not allowed in
+     * URIs. References that fail the check go through java.net.URI as usual.
+     * 
+     * @param uri
+     *            the reference
+     * @return true if the reference can be used as it is */
+    protected static boolean isAbsoluteIRI(String uri) {
+        int length = uri.length();
+        if (length == 0 || !isASCIILetter(uri.charAt(0))) {
+            return false;
+        }
+        int i = 1;
+        while (i < length && uri.charAt(i) != ':') {
+            char c = uri.charAt(i);
+            if (!isASCIILetter(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-'
+                    && c != '.') {
+                return false;
+            }
+            i++;
+        }
+        if (i == length || i + 1 == length) {
+            return false;
+        }
+        boolean fragment = false;
+        for (i++; i < length; i++) {
+            char c = uri.charAt(i);
+            switch (c) {
+                case '#':
+                    if (fragment) {
+                        return false;
+                    }
+                    fragment = true;
+                    break;
+                case '%':
+                    if (i + 2 >= length || !isHexDigit(uri.charAt(i + 1))
+                            || !isHexDigit(uri.charAt(i + 2))) {
+                        return false;
+                    }
+                    break;
+                case '"':
+                case '<':
+                case '>':
+                case '[':
+                case ']':
+                case '\\':
+                case '^':
+                case '`':
+                case '{':
+                case '|':
+                case '}':
+                    return false;
+                default:
+                    if (c <= ' ' || Character.isISOControl(c) || Character.isSpaceChar(c)) {
+                        return false;
+                    }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isASCIILetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
     /** Returns an absolute IRI from an ID. */
     protected String getIRIFromID(String id) throws SAXException {
         return resolveIRI("#" + id);
@@ -43,18 +43,25 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.Set;
 
+import org.coode.owlapi.rdfxml.parser.DeclarationCollector;
 import org.coode.owlapi.turtle.TurtleOntologyFormat;
 import org.semanticweb.owlapi.io.AbstractOWLParser;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.io.OWLParserIOException;
+import org.semanticweb.owlapi.io.OWLParserStreamHandler;
+import org.semanticweb.owlapi.io.OWLStreamingParser;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChangeException;
 import org.semanticweb.owlapi.model.OWLOntologyFormat;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.UnloadableImportException;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
 
 /**
@@ -63,7 +70,7 @@ import org.semanticweb.owlapi.util.DefaultPrefixManager;
  * Bio-Health Informatics Group<br>
  * Date: 23-Feb-2008<br><br>
  */
-public class TurtleOntologyParser extends AbstractOWLParser {
+public class TurtleOntologyParser extends AbstractOWLParser implements OWLStreamingParser {
 
     @Override
     public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology) throws OWLParserException, UnloadableImportException, IOException {
@@ -72,23 +79,26 @@ public class TurtleOntologyParser extends AbstractOWLParser {
 
     @Override
     public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, OWLOntologyChangeException, UnloadableImportException {
+        return parse(documentSource, ontology, null, configuration);
+    }
+
+    @Override
+    public OWLOntologyFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology, OWLParserStreamHandler streamHandler, OWLOntologyLoaderConfiguration configuration) throws OWLParserException, IOException, OWLOntologyChangeException, UnloadableImportException {
         Reader reader = null;
         InputStream is = null;
         try {
+            Set<OWLEntity> declarations = null;
+            if (configuration.isPrefetchDeclarations()) {
+                declarations = prefetchDeclarations(documentSource, ontology);
+            }
             TurtleParser parser;
             if(documentSource.isReaderAvailable()) {
                 reader = documentSource.getReader();
                 parser = new TurtleParser(reader, new ConsoleTripleHandler(),
                         documentSource.getDocumentIRI().toString());
             }
-            else if(documentSource.isInputStreamAvailable()) {
-                is = documentSource.getInputStream();
-                parser = new TurtleParser(is, new ConsoleTripleHandler(), documentSource
-                        .getDocumentIRI().toString());
-            }
             else {
-                is = new BufferedInputStream(documentSource.getDocumentIRI().toURI()
-                        .toURL().openStream());
+                is = getInputStream(documentSource);
                 parser = new TurtleParser(is, new ConsoleTripleHandler(), documentSource
                         .getDocumentIRI().toString());
             }
@@ -96,11 +106,18 @@ public class TurtleOntologyParser extends AbstractOWLParser {
             OWLRDFConsumerAdapter consumer = new OWLRDFConsumerAdapter(ontology, parser, configuration);
             TurtleOntologyFormat format = new TurtleOntologyFormat();
             consumer.setOntologyFormat(format);
+            consumer.setStreamHandler(streamHandler);
+            if (declarations != null) {
+                consumer.setDeclarationIndex(declarations);
+            }
             parser.setTripleHandler(consumer);
             parser.parseDocument();
             DefaultPrefixManager prefixManager = parser.getPrefixManager();
             for(String prefixName : prefixManager.getPrefixNames()) {
                 format.setPrefix(prefixName, prefixManager.getPrefix(prefixName));
+                if (streamHandler != null) {
+                    streamHandler.handlePrefix(prefixName, prefixManager.getPrefix(prefixName));
+                }
             }
             return format;
 
@@ -118,4 +135,65 @@ public class TurtleOntologyParser extends AbstractOWLParser {
             }
         }
     }
+
+    private InputStream getInputStream(OWLOntologyDocumentSource documentSource) throws IOException {
+        if(documentSource.isInputStreamAvailable()) {
+            return documentSource.getInputStream();
+        }
+        return new BufferedInputStream(documentSource.getDocumentIRI().toURI().toURL().openStream());
+    }
+
+    private Set<OWLEntity> prefetchDeclarations(OWLOntologyDocumentSource documentSource, OWLOntology ontology) throws IOException, ParseException {
+        Reader reader = null;
+        InputStream is = null;
+        try {
+            final TurtleParser parser;
+            if(documentSource.isReaderAvailable()) {
+                reader = documentSource.getReader();
+                parser = new TurtleParser(reader, new ConsoleTripleHandler(), documentSource.getDocumentIRI().toString());
+            }
+            else {
+                is = getInputStream(documentSource);
+                parser = new TurtleParser(is, new ConsoleTripleHandler(), documentSource.getDocumentIRI().toString());
+            }
+            final DeclarationCollector collector = new DeclarationCollector(ontology.getOWLOntologyManager().getOWLDataFactory(), parser);
+            parser.setTripleHandler(new TripleHandler() {
+                @Override
+                public void handleTriple(IRI subject, IRI predicate, IRI object) {
+                    if(predicate.equals(OWLRDFVocabulary.RDF_TYPE.getIRI())) {
+                        collector.addType(subject, object);
+                    }
+                }
+
+                @Override
+                public void handleTriple(IRI subject, IRI predicate, String object) {}
+
+                @Override
+                public void handleTriple(IRI subject, IRI predicate, String object, String lang) {}
+
+                @Override
+                public void handleTriple(IRI subject, IRI predicate, String object, IRI datatype) {}
+
+                @Override
+                public void handlePrefixDirective(String prefixName, String prefix) {}
+
+                @Override
+                public void handleBaseDirective(String base) {}
+
+                @Override
+                public void handleComment(String comment) {}
+
+                @Override
+                public void handleEnd() {}
+            });
+            parser.parseDocument();
+            return collector.getDeclaredEntities();
+        } finally {
+            if (is != null) {
+                is.close();
+            } else if (reader != null) {
+                reader.close();
+            }
+        }
+    }
 }
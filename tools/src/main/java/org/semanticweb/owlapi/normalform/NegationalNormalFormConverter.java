@@ -39,6 +39,8 @@
 
 package org.semanticweb.owlapi.normalform;
 
+import java.util.List;
+
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.util.NNF;
@@ -87,4 +89,16 @@ public class NegationalNormalFormConverter implements NormalFormRewriter {
     }
 
 
+    /**
+     * Converts class expressions on several threads; see
+     * {@link NNF#getNNFClassExpressions(List, int)}.
+     * @param classExpressions the class expressions to convert
+     * @param threads the number of threads to use
+     * @return the converted class expressions, in the order of the input
+     */
+    public List<OWLClassExpression> convertToNormalForm(List<? extends OWLClassExpression> classExpressions, int threads) {
+        return nnf.getNNFClassExpressions(classExpressions, threads);
+    }
+
+
 }